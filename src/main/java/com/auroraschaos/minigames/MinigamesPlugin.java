@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.util.Vector;
@@ -12,24 +13,41 @@ import com.auroraschaos.minigames.arena.ArenaRegistry;
 import com.auroraschaos.minigames.arena.ArenaResetService;
 import com.auroraschaos.minigames.arena.ArenaService;
 import com.auroraschaos.minigames.arena.GridSlotAllocator;
+import com.auroraschaos.minigames.arena.SchematicCache;
 import com.auroraschaos.minigames.arena.SchematicLoader;
 import com.auroraschaos.minigames.commands.CommandManager;
 import com.auroraschaos.minigames.config.ConfigManager;
 import com.auroraschaos.minigames.config.ConfigurationException;
+import com.auroraschaos.minigames.config.MetricsConfig;
+import com.auroraschaos.minigames.config.SkyWarsArenaSpec;
 import com.auroraschaos.minigames.game.GameManager;
 import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.game.MoveDispatcher;
+import com.auroraschaos.minigames.game.race.GhostStore;
+import com.auroraschaos.minigames.game.race.RaceAssetRegistry;
+import com.auroraschaos.minigames.game.ttt.KarmaTable;
+import com.auroraschaos.minigames.game.ttt.TTTShopService;
 import com.auroraschaos.minigames.gui.GUIManager;
 import com.auroraschaos.minigames.integrations.MinigamesPlaceholderExpansion;
+import com.auroraschaos.minigames.logging.EventLog;
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
+import com.auroraschaos.minigames.metrics.MetricsServer;
 import com.auroraschaos.minigames.party.PartyManager;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.scoreboard.QueueScoreboardManager;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 import com.auroraschaos.minigames.stats.StatsManager;
 import com.auroraschaos.minigames.util.CountdownTimer;
+import com.auroraschaos.minigames.util.SpectatorService;
+import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.arena.SlotAllocator;
 import com.auroraschaos.minigames.arena.WorldEditSchematicLoader;
 
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.io.File;
+import java.io.IOException;
+
 /**
  * The main class for the MinigamesPlugin. This plugin provides a framework
  * for creating and managing various minigames on a Spigot server. It handles
@@ -40,6 +58,9 @@ public class MinigamesPlugin extends JavaPlugin {
 
     private static MinigamesPlugin instance;
 
+    /** How often the race asset folders are checked for changes (5 seconds). */
+    private static final long RACE_ASSET_POLL_TICKS = 100L;
+
     private GameManager gameManager;
     private ArenaService arenaService;
     private PartyManager partyManager;
@@ -49,6 +70,19 @@ public class MinigamesPlugin extends JavaPlugin {
     private ScoreboardManager scoreboardManager;
     private CountdownTimer countdownTimer;
     private QueueScoreboardManager queueSB;
+    private SchematicCache schematicCache;
+    private RaceAssetRegistry raceAssets;
+    /** Null when PlaceholderAPI is not installed */
+    private MinigamesPlaceholderExpansion placeholders;
+    private GhostStore raceGhosts;
+    private KarmaTable tttKarma;
+    private TTTShopService tttShops;
+    private SpectatorService spectators;
+    private MoveDispatcher moveDispatcher;
+    private TickProfiler profiler;
+    private MetricsRegistry metrics;
+    private MetricsServer metricsServer;
+    private final EventLog eventLog = new EventLog();
 
     private ConfigManager configManager;
 
@@ -87,12 +121,22 @@ public class MinigamesPlugin extends JavaPlugin {
      */
     @Override
     public void onDisable() {
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        if (raceAssets != null) {
+            raceAssets.stopWatching();
+        }
         if (arenaService != null) {
             arenaService.shutdownAll();
         }
         if (statsManager != null) {
             statsManager.save();
         }
+        eventLog.close();
+        if (tttKarma != null) {
+            tttKarma.save();
+        }
         getLogger().info("MinigamesPlugin has been disabled!");
     }
 
@@ -107,12 +151,32 @@ public class MinigamesPlugin extends JavaPlugin {
             getServer().getPluginManager().disablePlugin(this);
             return;
         }
+
+        // Off until an admin runs /minigamesadmin profile on
+        profiler = new TickProfiler();
+        metrics = new MetricsRegistry();
+        eventLog.start(new File(getDataFolder(), "logs"), configManager.getLoggingConfig(),
+                configManager::isVerboseLogging, getLogger());
+
+        // Race tracks and karts: compiled once, hot-reloaded when the files change
+        raceAssets = new RaceAssetRegistry(this);
+        raceAssets.loadAll();
+        raceAssets.startWatching(RACE_ASSET_POLL_TICKS);
+        raceGhosts = new GhostStore(this);
+        raceGhosts.loadAll();
+        tttKarma = new KarmaTable(this);
+        tttKarma.load();
+        tttShops = new TTTShopService(this);
+        spectators = new SpectatorService(this);
+        moveDispatcher = new MoveDispatcher(this);
     
         // 2) Prepare the arena dependencies
         ArenaRegistry arenaRegistry = new ArenaRegistry();
         ArenaResetService arenaResetService = new ArenaResetService(this, arenaRegistry);
         SlotAllocator slotAllocator = new GridSlotAllocator(new Vector(0, 64, 0), /*columns*/5, /*spacingX*/300, /*spacingZ*/300);
-        SchematicLoader schematicLoader = new WorldEditSchematicLoader(this);
+        schematicCache = new SchematicCache();
+        SchematicLoader schematicLoader = createSchematicLoader(schematicCache);
+        preloadSkyWarsSchematics();
     
         // 3) Construct the ArenaService with everything it needs
         arenaService = new ArenaService(
@@ -144,6 +208,84 @@ public class MinigamesPlugin extends JavaPlugin {
 
         // Load and register arenas from configuration
         arenaService.initializeAll();
+        raceAssets.prepareSurfaces(raceArenas());
+
+        startMetricsServer();
+    }
+
+    /**
+     * Serve /metrics if enabled in config.yml. Gauges are sampled here on the
+     * main thread once a second; scrapes only read the last sample.
+     */
+    private void startMetricsServer() {
+        MetricsConfig cfg = configManager.getMetricsConfig();
+        if (!cfg.isEnabled()) return;
+        metricsServer = new MetricsServer(metrics);
+        try {
+            metricsServer.start(cfg.getHost(), cfg.getPort());
+        } catch (IOException e) {
+            getLogger().warning("[Metrics] Could not bind " + cfg.getHost() + ":" + cfg.getPort()
+                    + ": " + e.getMessage());
+            metricsServer = null;
+            return;
+        }
+        getServer().getScheduler().runTaskTimer(this, metrics::sample, 0L, 20L);
+        getLogger().info("[Metrics] Serving http://" + cfg.getHost() + ":" + cfg.getPort() + "/metrics");
+    }
+
+    /**
+     * Re-read the per-minigame config files and race assets, drop cached schematics
+     * and compiled placeholders, and rebuild the menus.
+     * Games already running keep the configuration they started with.
+     *
+     * @throws ConfigurationException if any file is invalid; nothing is replaced then
+     */
+    public void reloadGameConfigs() throws ConfigurationException {
+        configManager.loadGameConfigs();
+        raceAssets.loadAll();
+        schematicCache.clear();
+        preloadSkyWarsSchematics();
+        guiManager.reload();
+        if (placeholders != null) {
+            placeholders.reload();
+        }
+    }
+
+    /** @return the arenas kart races run in, whose track surfaces are sampled ahead of time */
+    private List<Arena> raceArenas() {
+        List<Arena> arenas = new ArrayList<>();
+        for (Arena arena : arenaService.getAllArenas().values()) {
+            if (arena.getName().equalsIgnoreCase("RACE")) {
+                arenas.add(arena);
+            }
+        }
+        return arenas;
+    }
+
+    /**
+     * Creates the loader that pastes arena schematics. Headless harnesses
+     * override this to run without WorldEdit.
+     */
+    protected SchematicLoader createSchematicLoader(SchematicCache cache) {
+        return new WorldEditSchematicLoader(this, cache);
+    }
+
+    /**
+     * Decode every SkyWars arena schematic up front so match start never
+     * touches the disk.
+     */
+    private void preloadSkyWarsSchematics() {
+        File dir = new File(getDataFolder(), "SkyWars/schematics");
+        List<SkyWarsArenaSpec> specs = new ArrayList<>(configManager.getSkyWarsConfig().getArenaSpecs());
+        specs.add(configManager.getSkyWarsConfig().getDefaults());
+        for (SkyWarsArenaSpec spec : specs) {
+            if (!spec.hasSchematic()) continue;
+            if (!schematicCache.preload(new File(dir, spec.getSchematic()))) {
+                getLogger().warning("Schematic " + spec.getSchematic()
+                        + " could not be loaded for SkyWars arena " + spec.getName());
+            }
+        }
+        logVerbose("[MinigamesPlugin] Schematic cache holds " + schematicCache.size() + " clipboards");
     }
 
     private Map<String, List<GameMode>> modesPerGame = new HashMap<>();
@@ -182,7 +324,8 @@ public class MinigamesPlugin extends JavaPlugin {
     private void hookIntoAPIs(){
     // Register PlaceholderAPI expansion if available
     if (getServer().getPluginManager().getPlugin("PlaceholderAPI") != null) {
-        new MinigamesPlaceholderExpansion().register();
+        placeholders = new MinigamesPlaceholderExpansion();
+        placeholders.register();
         getLogger().info("Registered Minigames PlaceholderAPI expansion.");
     } else {
         getLogger().warning("PlaceholderAPI not found: placeholders will not be available.");
@@ -265,6 +408,86 @@ public class MinigamesPlugin extends JavaPlugin {
         return queueSB;
     }
 
+    /**
+     * Gets the in-memory cache of decoded schematics.
+     * @return The SchematicCache instance.
+     */
+    public SchematicCache getSchematicCache() {
+        return schematicCache;
+    }
+
+    /**
+     * Gets the compiled race tracks and kart stats.
+     * @return The RaceAssetRegistry instance.
+     */
+    public RaceAssetRegistry getRaceAssets() {
+        return raceAssets;
+    }
+
+    /**
+     * Gets the best-lap ghosts of every race track.
+     * @return The GhostStore instance.
+     */
+    public GhostStore getRaceGhosts() {
+        return raceGhosts;
+    }
+
+    /**
+     * Gets the persistent TTT karma of every player.
+     * @return The KarmaTable instance.
+     */
+    public KarmaTable getTTTKarma() {
+        return tttKarma;
+    }
+
+    /**
+     * Gets the shared TTT shop listener and item catalogs.
+     * @return The TTTShopService instance.
+     */
+    public TTTShopService getTTTShops() {
+        return tttShops;
+    }
+
+    /**
+     * Gets the listener that keeps eliminated players inside their arena.
+     * @return The SpectatorService instance.
+     */
+    public SpectatorService getSpectators() {
+        return spectators;
+    }
+
+    /**
+     * Gets the shared listener that passes block-changing moves to games.
+     * @return The MoveDispatcher instance.
+     */
+    public MoveDispatcher getMoveDispatcher() {
+        return moveDispatcher;
+    }
+
+    /**
+     * Gets the structured verbose log written to logs/events.jsonl.
+     * @return The EventLog instance.
+     */
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Gets the registry behind the Prometheus metrics endpoint.
+     * @return The MetricsRegistry instance.
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the main-thread profiler used by /minigamesadmin profile.
+     * @return The TickProfiler instance.
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
     /**
      * Provides access to the central ConfigManager containing all plugin settings.
      */
@@ -278,8 +501,22 @@ public class MinigamesPlugin extends JavaPlugin {
      * @param message text to log
      */
     public void logVerbose(String message) {
-        if (configManager != null && configManager.isVerboseLogging()) {
+        if (eventLog.isRunning()) {
+            eventLog.verbose(message);
+        } else if (configManager != null && configManager.isVerboseLogging()) {
             getLogger().info("[VERBOSE] " + message);
         }
     }
+
+    /**
+     * Like {@link #logVerbose(String)}, but the message is only built when
+     * verbose logging is on.
+     */
+    public void logVerbose(Supplier<String> message) {
+        if (eventLog.isRunning()) {
+            eventLog.verbose(message);
+        } else if (configManager != null && configManager.isVerboseLogging()) {
+            getLogger().info("[VERBOSE] " + message.get());
+        }
+    }
 }
@@ -2,6 +2,7 @@
 package com.auroraschaos.minigames.arena;
 
 import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
 import com.sk89q.worldedit.math.BlockVector3;
 
 import java.util.Map;
@@ -17,10 +18,12 @@ public class Arena {
     private final String schematic;
     private final Map<String, String> flags;
     private final long resetIntervalTicks;
+    private final BoundingBox bounds;
     private boolean inUse;
 
     /**
-     * Constructs a new Arena.
+     * Constructs a new Arena whose bounds are assumed to be a 100×50×100
+     * slot starting at {@code origin}.
      *
      * @param name               unique identifier
      * @param world              world where the arena is placed
@@ -35,12 +38,36 @@ public class Arena {
                  String schematic,
                  Map<String, String> flags,
                  long resetIntervalTicks) {
+        this(name, world, origin, schematic, flags, resetIntervalTicks,
+             new BoundingBox(origin.getX(), origin.getY(), origin.getZ(),
+                             origin.getX() + 100, origin.getY() + 50, origin.getZ() + 100));
+    }
+
+    /**
+     * Constructs a new Arena with the bounds of its pasted schematic.
+     *
+     * @param name               unique identifier
+     * @param world              world where the arena is placed
+     * @param origin             origin point for pasting schematic
+     * @param schematic          schematic filename
+     * @param flags              custom flags
+     * @param resetIntervalTicks ticks before auto-reset
+     * @param bounds             world-space box covering every pasted block
+     */
+    public Arena(String name,
+                 World world,
+                 BlockVector3 origin,
+                 String schematic,
+                 Map<String, String> flags,
+                 long resetIntervalTicks,
+                 BoundingBox bounds) {
         this.name               = name;
         this.world              = world;
         this.origin             = origin;
         this.schematic          = schematic;
         this.flags              = Map.copyOf(flags);
         this.resetIntervalTicks = resetIntervalTicks;
+        this.bounds             = bounds.clone();
         this.inUse              = false;
     }
 
@@ -50,6 +77,8 @@ public class Arena {
     public String getSchematic()            { return schematic; }
     public Map<String, String> getFlags()   { return flags; }
     public long getResetIntervalTicks()     { return resetIntervalTicks; }
+    /** @return a copy of the box covering the pasted schematic */
+    public BoundingBox getBounds()          { return bounds.clone(); }
     public boolean isInUse()                { return inUse; }
     public void setInUse(boolean inUse)     { this.inUse = inUse; }
 
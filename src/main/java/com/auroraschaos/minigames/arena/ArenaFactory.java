@@ -5,6 +5,7 @@ import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.config.ArenaDefinition;
 import com.sk89q.worldedit.math.BlockVector3;
 import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 /**
@@ -29,23 +30,19 @@ public class ArenaFactory {
             );
         }
 
-        plugin.logVerbose(String.format(
-            "[ArenaFactory] Allocating slot for '%s' in world '%s'",
-            def.getKey(), world.getName()
-        ));
+        plugin.getEventLog().event("arena.allocate", "arena", def.getKey(), "world", world.getName());
 
         Vector originVec = slotAllocator.nextSlot(world);
         BlockVector3 origin = BlockVector3.at(
             originVec.getBlockX(), originVec.getBlockY(), originVec.getBlockZ()
         );
 
-        plugin.logVerbose(String.format(
-            "[ArenaFactory] Pasting schematic '%s' at %s",
-            def.getSchematic(), originVec
-        ));
+        plugin.getEventLog().event("arena.paste", "arena", def.getKey(), "schematic", def.getSchematic(),
+                "origin", originVec.toString());
 
+        BoundingBox bounds;
         try {
-            schematicLoader.loadSchematic(def.getSchematic(), world, originVec);
+            bounds = schematicLoader.loadSchematic(def.getSchematic(), world, originVec);
         } catch (Exception e) {
             plugin.getLogger().log(
                 java.util.logging.Level.WARNING,
@@ -64,7 +61,8 @@ public class ArenaFactory {
             origin,
             def.getSchematic(),
             def.getFlags(),
-            def.getResetIntervalTicks()
+            def.getResetIntervalTicks(),
+            bounds
         );
     }
 }
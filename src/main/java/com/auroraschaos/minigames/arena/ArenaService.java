@@ -4,6 +4,7 @@ package com.auroraschaos.minigames.arena;
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.config.ArenaConfig;
 import com.auroraschaos.minigames.config.ArenaDefinition;
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
 
 import java.util.Map;
 
@@ -22,6 +23,8 @@ public class ArenaService {
     private final ArenaFactory arenaFactory;
     private final ArenaRegistry registry;
     private final ArenaResetService resetService;
+    private final MetricsRegistry.Gauge arenaGauge;
+    private final MetricsRegistry.Counter creationFailures;
 
     public ArenaService(MinigamesPlugin plugin,
                         ArenaConfig config,
@@ -35,6 +38,12 @@ public class ArenaService {
         this.arenaFactory  = new ArenaFactory(slotAllocator, schematicLoader);
         this.registry      = new ArenaRegistry();
         this.resetService  = resetService;
+
+        MetricsRegistry metrics = plugin.getMetrics();
+        this.arenaGauge = metrics.gauge("minigames_arenas", "Registered arenas by state.", "arena", "state");
+        this.creationFailures = metrics.counter("minigames_arena_creation_failures_total",
+                "Arenas that failed to load at startup.");
+        metrics.onSample(this::sampleMetrics);
     }
 
     /**
@@ -62,6 +71,7 @@ public class ArenaService {
                     arena.getName(), arena.getOrigin()
                 ));
             } catch (ArenaCreationException ex) {
+                creationFailures.inc();
                 plugin.getLogger().log(
                     java.util.logging.Level.WARNING,
                     String.format(
@@ -104,6 +114,15 @@ public class ArenaService {
         resetService.scheduleReset(arena, arena.getResetIntervalTicks());  
     }
 
+    /** Publish free and in-use arena counts; main thread only. */
+    private void sampleMetrics() {
+        MetricsRegistry.Gauge.Update update = arenaGauge.update();
+        for (Arena arena : registry.getAll().values()) {
+            update.add(1, arena.getName(), arena.isInUse() ? "in_use" : "free");
+        }
+        update.publish();
+    }
+
     public Arena getArena(String name) {
         return registry.get(name).orElse(null);
     }
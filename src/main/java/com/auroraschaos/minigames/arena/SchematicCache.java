@@ -0,0 +1,77 @@
+package com.auroraschaos.minigames.arena;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps parsed schematic clipboards in memory so each file is read and
+ * decoded once per load/reload instead of once per paste.
+ *
+ * Clipboards are only ever read by paste operations, so one instance can
+ * back any number of concurrent arenas.
+ */
+public class SchematicCache {
+    private final Map<String, Clipboard> clipboards = new ConcurrentHashMap<>();
+
+    /**
+     * Return the clipboard for {@code file}, reading it on first use.
+     *
+     * @throws IOException if the file is missing, has an unknown format or
+     *                     cannot be decoded
+     */
+    public Clipboard get(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        Clipboard cached = clipboards.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Clipboard loaded = read(file);
+        Clipboard raced = clipboards.putIfAbsent(key, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    /**
+     * Read {@code file} into the cache ahead of time.
+     *
+     * @return true if the clipboard is now cached
+     */
+    public boolean preload(File file) {
+        try {
+            get(file);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Drop every cached clipboard; the next {@link #get(File)} reads from disk. */
+    public void clear() {
+        clipboards.clear();
+    }
+
+    /** @return number of cached clipboards */
+    public int size() {
+        return clipboards.size();
+    }
+
+    private static Clipboard read(File file) throws IOException {
+        if (!file.isFile()) {
+            throw new IOException("Schematic not found: " + file.getAbsolutePath());
+        }
+        ClipboardFormat format = ClipboardFormats.findByFile(file);
+        if (format == null) {
+            throw new IOException("Unknown schematic format for file: " + file.getName());
+        }
+        try (ClipboardReader reader = format.getReader(new FileInputStream(file))) {
+            return reader.read();
+        }
+    }
+}
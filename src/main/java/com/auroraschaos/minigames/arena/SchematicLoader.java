@@ -1,6 +1,7 @@
 package com.auroraschaos.minigames.arena;
 
 import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 /**
@@ -15,7 +16,8 @@ public interface SchematicLoader {
      * @param schematicName filename (or key) of the schematic to load
      * @param world         the Bukkit World instance
      * @param origin        the origin Vector where the schematic is pasted
+     * @return the world-space box covering the pasted clipboard region
      * @throws ArenaCreationException if loading or pasting fails
      */
-    void loadSchematic(String schematicName, World world, Vector origin) throws ArenaCreationException;
+    BoundingBox loadSchematic(String schematicName, World world, Vector origin) throws ArenaCreationException;
 }
\ No newline at end of file
@@ -2,12 +2,10 @@
 package com.auroraschaos.minigames.arena;
 
 import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.session.ClipboardHolder;  // correct for 7.2.x :contentReference[oaicite:0]{index=0}
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
@@ -15,23 +13,29 @@ import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 
 import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.IOException;
 
 /**
  * Loads and pastes WorldEdit schematics into a Bukkit world.
  */
 public class WorldEditSchematicLoader implements SchematicLoader {
     private final MinigamesPlugin plugin;
+    private final SchematicCache cache;
+    private final MetricsRegistry.Histogram pasteTime;
 
-    public WorldEditSchematicLoader(MinigamesPlugin plugin) {
+    public WorldEditSchematicLoader(MinigamesPlugin plugin, SchematicCache cache) {
         this.plugin = plugin;
+        this.cache = cache;
+        this.pasteTime = plugin.getMetrics().histogram("minigames_schematic_paste_seconds",
+                "Time to paste an arena schematic.", MetricsRegistry.LATENCY_BUCKETS);
     }
 
     @Override
-    public void loadSchematic(String schematicName, World bukkitWorld, Vector originVec)
+    public BoundingBox loadSchematic(String schematicName, World bukkitWorld, Vector originVec)
             throws ArenaCreationException {
         File baseDir = new File(plugin.getDataFolder(), "schematics");
         File schemFile = new File(baseDir, schematicName);
@@ -54,16 +58,12 @@ public class WorldEditSchematicLoader implements SchematicLoader {
         }
 
         try {
-            // 1) Determine format
-            ClipboardFormat format = ClipboardFormats.findByFile(schemFile);
-            if (format == null) {
-                throw new ArenaCreationException("Unknown schematic format for file: " + schematicName);
-            }
-
-            // 2) Read into a WorldEdit Clipboard
+            // 1-2) Read (or reuse) the WorldEdit Clipboard
             Clipboard clipboard;
-            try (ClipboardReader reader = format.getReader(new FileInputStream(schemFile))) {
-                clipboard = reader.read();
+            try {
+                clipboard = cache.get(schemFile);
+            } catch (IOException e) {
+                throw new ArenaCreationException(e.getMessage(), e);
             }
 
             // 3) Prepare a paste operation
@@ -75,6 +75,7 @@ public class WorldEditSchematicLoader implements SchematicLoader {
             ClipboardHolder holder = new ClipboardHolder(clipboard);
 
             // 4) Create and run an EditSession, then paste
+            long pasteStart = System.nanoTime();
             try (EditSession editSession = WorldEdit.getInstance()
                     .newEditSessionBuilder()
                     .world(BukkitAdapter.adapt(bukkitWorld))
@@ -87,6 +88,16 @@ public class WorldEditSchematicLoader implements SchematicLoader {
                                      .build();
                 Operations.complete(op);
             }
+            pasteTime.observeNanos(System.nanoTime() - pasteStart);
+
+            // 5) The clipboard origin lands on pasteOrigin; shift its region to match
+            BlockVector3 offset = pasteOrigin.subtract(clipboard.getOrigin());
+            BlockVector3 min = clipboard.getRegion().getMinimumPoint().add(offset);
+            BlockVector3 max = clipboard.getRegion().getMaximumPoint().add(offset);
+            return new BoundingBox(
+                min.getX(), min.getY(), min.getZ(),
+                max.getX() + 1, max.getY() + 1, max.getZ() + 1
+            );
 
         } catch (ArenaCreationException e) {
             throw e;
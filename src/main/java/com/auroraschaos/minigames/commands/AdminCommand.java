@@ -2,8 +2,11 @@ package com.auroraschaos.minigames.commands;
 
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.config.ConfigManager;
+import com.auroraschaos.minigames.config.ConfigurationException;
 import com.auroraschaos.minigames.game.GameManager;
 import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.profiling.LatencyHistogram;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -54,6 +57,12 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
             case "dumpconfig":
                 handleDumpConfig(sender);
                 break;
+            case "reload":
+                handleReload(sender);
+                break;
+            case "profile":
+                handleProfile(sender, args);
+                break;
             default:
                 sender.sendMessage(ChatColor.RED + "Unknown subcommand. Use /" + label + " for help.");
                 break;
@@ -102,11 +111,81 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.GREEN + "Configuration dumped to console.");
     }
 
+    private void handleReload(CommandSender sender) {
+        try {
+            plugin.reloadGameConfigs();
+            sender.sendMessage(ChatColor.GREEN + "Minigame configs reloaded. Running games keep their current settings.");
+        } catch (ConfigurationException e) {
+            plugin.getLogger().warning("[Config] Reload failed: " + e.getMessage());
+            sender.sendMessage(ChatColor.RED + "Reload failed, previous configs kept: " + e.getMessage());
+        }
+    }
+
+    private void handleProfile(CommandSender sender, String[] args) {
+        TickProfiler profiler = plugin.getProfiler();
+        if (args.length >= 2) {
+            switch (args[1].toLowerCase()) {
+                case "on":
+                    profiler.setEnabled(true);
+                    sender.sendMessage(ChatColor.GREEN + "Profiling enabled. Use /minigamesadmin profile for results.");
+                    return;
+                case "off":
+                    profiler.setEnabled(false);
+                    sender.sendMessage(ChatColor.GREEN + "Profiling disabled. Results are kept until the next start.");
+                    return;
+                case "reset":
+                    profiler.reset();
+                    sender.sendMessage(ChatColor.GREEN + "Profiler results cleared.");
+                    return;
+                default:
+                    sender.sendMessage(ChatColor.YELLOW + "Usage: /minigamesadmin profile [on|off|reset]");
+                    return;
+            }
+        }
+
+        long seconds = (System.nanoTime() - profiler.getEnabledAt()) / 1_000_000_000L;
+        sender.sendMessage(ChatColor.AQUA + "------ Minigames Profile ------");
+        sender.sendMessage(ChatColor.YELLOW + "Profiling is " + (profiler.isEnabled() ? "ON" : "OFF")
+                + (profiler.getEnabledAt() == 0 ? "" : ", results cover " + seconds + "s")
+                + (profiler.isCountingAllocations() ? "" : ", allocations not counted"));
+        List<TickProfiler.Section> sections = profiler.getRecordedSections();
+        if (sections.isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "No samples. Use /minigamesadmin profile on");
+            return;
+        }
+        String group = null;
+        for (TickProfiler.Section s : sections) {
+            if (!s.getGroup().equals(group)) {
+                group = s.getGroup();
+                sender.sendMessage(ChatColor.GOLD + group);
+            }
+            LatencyHistogram h = s.getHistogram();
+            String line = ChatColor.YELLOW + "  " + s.getName() + ChatColor.WHITE
+                    + " n=" + h.getCount()
+                    + " p50=" + formatNanos(h.percentile(50))
+                    + " p99=" + formatNanos(h.percentile(99))
+                    + " max=" + formatNanos(h.getMax());
+            if (profiler.isCountingAllocations()) {
+                line += " alloc=" + (s.getAllocatedBytes() / h.getCount()) + "B/call";
+            }
+            sender.sendMessage(line);
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000L) {
+            return String.format("%.1fus", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
     private void sendHelp(CommandSender sender) {
         sender.sendMessage(ChatColor.AQUA + "------ Minigames Admin Help ------");
         sender.sendMessage(ChatColor.YELLOW + "/minigamesadmin forcestart <type> <mode>" + ChatColor.WHITE + " - Force start a queued game");
         sender.sendMessage(ChatColor.YELLOW + "/minigamesadmin verbose <on|off>" + ChatColor.WHITE + " - Toggle verbose logging");
         sender.sendMessage(ChatColor.YELLOW + "/minigamesadmin dumpconfig" + ChatColor.WHITE + " - Dump config to console");
+        sender.sendMessage(ChatColor.YELLOW + "/minigamesadmin reload" + ChatColor.WHITE + " - Reload minigame configs and schematics");
+        sender.sendMessage(ChatColor.YELLOW + "/minigamesadmin profile [on|off|reset]" + ChatColor.WHITE + " - Show main-thread time per game and task");
         sender.sendMessage(ChatColor.AQUA + "---------------------------------");
     }
 
@@ -115,7 +194,7 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         if (!sender.hasPermission("minigames.admin")) return Collections.emptyList();
 
         if (args.length == 1) {
-            return partialMatches(args[0], "forcestart", "verbose", "dumpconfig");
+            return partialMatches(args[0], "forcestart", "verbose", "dumpconfig", "reload", "profile");
         }
         if (args.length == 2 && args[0].equalsIgnoreCase("forcestart")) {
             return partialMatches(args[1], plugin.getConfig().getConfigurationSection("minigames").getKeys(false).toArray(new String[0]));
@@ -127,6 +206,9 @@ public class AdminCommand implements CommandExecutor, TabCompleter {
         if (args.length == 2 && args[0].equalsIgnoreCase("verbose")) {
             return partialMatches(args[1], "on", "off");
         }
+        if (args.length == 2 && args[0].equalsIgnoreCase("profile")) {
+            return partialMatches(args[1], "on", "off", "reset");
+        }
         return Collections.emptyList();
     }
 
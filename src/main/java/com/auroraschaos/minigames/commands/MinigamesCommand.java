@@ -16,6 +16,7 @@ import java.util.*;
  *   /minigames join <gameType> <mode>
  *   /minigames leave
  *   /minigames stats [player]
+ *   /minigames spectate
  */
 public class MinigamesCommand implements CommandExecutor, TabCompleter {
 
@@ -75,6 +76,9 @@ public class MinigamesCommand implements CommandExecutor, TabCompleter {
             case "stats":
                 handleStats(player, args);
                 break;
+            case "spectate":
+                handleSpectate(player);
+                break;
             default:
                 player.sendMessage(ChatColor.RED + "Unknown subcommand. Use /minigames for help.");
                 break;
@@ -187,6 +191,25 @@ public class MinigamesCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * Handles the "/minigames spectate" subcommand.
+     * Moves an eliminated player's camera on to the next alive player.
+     *
+     * @param player The player executing the command.
+     */
+    private void handleSpectate(Player player) {
+        if (!plugin.getSpectators().isSpectating(player)) {
+            player.sendMessage(ChatColor.RED + "You are not spectating a game.");
+            return;
+        }
+        if (plugin.getSpectators().cycleCamera(player)) {
+            player.sendMessage(ChatColor.GRAY + "Spectating " + player.getSpectatorTarget().getName()
+                    + ". Sneak to fly freely.");
+        } else {
+            player.sendMessage(ChatColor.YELLOW + "There is nobody left to watch.");
+        }
+    }
+
     /**
      * Sends the help text for the /minigames command to the specified player.
      *
@@ -200,6 +223,8 @@ public class MinigamesCommand implements CommandExecutor, TabCompleter {
                 "- Leave your current queue or game");
         player.sendMessage(ChatColor.YELLOW + "/minigames stats [player] " + ChatColor.WHITE +
                 "- View stats");
+        player.sendMessage(ChatColor.YELLOW + "/minigames spectate " + ChatColor.WHITE +
+                "- Watch the next alive player");
         player.sendMessage(ChatColor.AQUA + "----------------------------");
     }
 
@@ -217,8 +242,8 @@ public class MinigamesCommand implements CommandExecutor, TabCompleter {
         if (!(sender instanceof Player)) return Collections.emptyList();
 
         if (args.length == 1) {
-            // Suggest subcommands: join, leave, stats
-            return partialMatches(args[0], "join", "leave", "stats");
+            // Suggest subcommands: join, leave, stats, spectate
+            return partialMatches(args[0], "join", "leave", "stats", "spectate");
         }
 
         if (args.length == 2 && args[0].equalsIgnoreCase("join")) {
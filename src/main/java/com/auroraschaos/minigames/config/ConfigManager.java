@@ -17,8 +17,12 @@ public class ConfigManager {
     private GameModeConfig gameModeConfig;
     private PartyConfig partyConfig;
     private StatsConfig statsConfig;
+    private MetricsConfig metricsConfig;
+    private LoggingConfig loggingConfig;
     private SpleefConfig spleefConfig;
+    private TNTRunConfig tntRunConfig;
     private TTTConfig tttConfig;
+    private SkyWarsConfig skyWarsConfig;
     //private GuiConfig guiConfig;
     //private ScoreboardConfig scoreboardConfig;
     //private CountdownConfig countdownConfig;
@@ -56,11 +60,13 @@ public class ConfigManager {
         statsConfig       = parseStatsConfig();
         plugin.logVerbose("[ConfigManager] Stats config loaded");
 
-        spleefConfig      = parseSpleefConfig();
-        plugin.logVerbose("[ConfigManager] Spleef config loaded");
+        metricsConfig     = MetricsConfig.from(config.getConfigurationSection("metrics"));
+        plugin.logVerbose("[ConfigManager] Metrics config loaded");
 
-        tttConfig         = parseTTTConfig();
-        plugin.logVerbose("[ConfigManager] TTT config loaded");
+        loggingConfig     = LoggingConfig.from(config.getConfigurationSection("logging"));
+        plugin.logVerbose("[ConfigManager] Logging config loaded");
+
+        loadGameConfigs();
         //guiConfig         = parseGuiConfig();
         //scoreboardConfig  = parseScoreboardConfig();
         //countdownConfig   = parseCountdownConfig();
@@ -72,6 +78,28 @@ public class ConfigManager {
         plugin.logVerbose("[ConfigManager] verboseLogging=" + verboseLogging);
     }
 
+    /**
+     * (Re)load the per-minigame files (Spleef.yml, TNTRun.yml, TTT.yml, SkyWars/). The
+     * previous objects are only replaced once every file parsed, so running
+     * games keep the snapshot they started with and a bad edit changes nothing.
+     */
+    public void loadGameConfigs() throws ConfigurationException {
+        SpleefConfig spleef = parseSpleefConfig();
+        TNTRunConfig tntRun = parseTNTRunConfig();
+        TTTConfig ttt = parseTTTConfig();
+        SkyWarsConfig skyWars = parseSkyWarsConfig();
+
+        spleefConfig = spleef;
+        plugin.logVerbose("[ConfigManager] Spleef config loaded");
+        tntRunConfig = tntRun;
+        plugin.logVerbose("[ConfigManager] TNT Run config loaded");
+        tttConfig = ttt;
+        plugin.logVerbose("[ConfigManager] TTT config loaded");
+        skyWarsConfig = skyWars;
+        plugin.logVerbose("[ConfigManager] SkyWars config loaded with "
+                + skyWars.getArenaSpecs().size() + " arena specs");
+    }
+
     private ArenaConfig parseArenaConfig() throws ConfigurationException {
         final String path = "arenas";
         if (!config.isConfigurationSection(path)) {
@@ -111,6 +139,16 @@ public class ConfigManager {
         return SpleefConfig.from(cfg);
     }
 
+    private TNTRunConfig parseTNTRunConfig() throws ConfigurationException {
+        java.io.File file = new java.io.File(plugin.getDataFolder(), "TNTRun.yml");
+        if (!file.exists()) {
+            plugin.saveResource("TNTRun.yml", false);
+        }
+        org.bukkit.configuration.file.YamlConfiguration cfg =
+            org.bukkit.configuration.file.YamlConfiguration.loadConfiguration(file);
+        return TNTRunConfig.from(cfg);
+    }
+
     private TTTConfig parseTTTConfig() throws ConfigurationException {
         java.io.File file = new java.io.File(plugin.getDataFolder(), "TTT.yml");
         if (!file.exists()) {
@@ -120,6 +158,38 @@ public class ConfigManager {
             org.bukkit.configuration.file.YamlConfiguration.loadConfiguration(file);
         return TTTConfig.from(cfg);
     }
+
+    private SkyWarsConfig parseSkyWarsConfig() throws ConfigurationException {
+        java.io.File file = new java.io.File(plugin.getDataFolder(), "SkyWars.yml");
+        if (!file.exists()) {
+            plugin.saveResource("SkyWars.yml", false);
+        }
+        java.io.File dir = new java.io.File(plugin.getDataFolder(), "SkyWars");
+        for (String bundled : new String[] {"Defaults.yml", "Arena1.yml", "Arena2.yml"}) {
+            if (!new java.io.File(dir, bundled).exists()) {
+                plugin.saveResource("SkyWars/" + bundled, false);
+            }
+        }
+
+        SkyWarsArenaSpec defaults = null;
+        java.util.List<SkyWarsArenaSpec> arenas = new java.util.ArrayList<>();
+        java.io.File[] files = dir.listFiles((d, n) -> n.endsWith(".yml"));
+        if (files != null) {
+            for (java.io.File f : files) {
+                String name = f.getName().substring(0, f.getName().length() - ".yml".length());
+                SkyWarsArenaSpec spec = SkyWarsArenaSpec.from(name,
+                    org.bukkit.configuration.file.YamlConfiguration.loadConfiguration(f));
+                if (name.equalsIgnoreCase("Defaults")) {
+                    defaults = spec;
+                } else {
+                    arenas.add(spec);
+                }
+            }
+        }
+        org.bukkit.configuration.file.YamlConfiguration cfg =
+            org.bukkit.configuration.file.YamlConfiguration.loadConfiguration(file);
+        return SkyWarsConfig.from(cfg, arenas, defaults);
+    }
 /**
     private GuiConfig parseGuiConfig() throws ConfigurationException {
         final String path = "gui";
@@ -159,8 +229,12 @@ public class ConfigManager {
     public GameModeConfig getGameModeConfig() { return gameModeConfig; }
     public PartyConfig getPartyConfig() { return partyConfig; }
     public StatsConfig getStatsConfig() { return statsConfig; }
+    public MetricsConfig getMetricsConfig() { return metricsConfig; }
+    public LoggingConfig getLoggingConfig() { return loggingConfig; }
     public SpleefConfig getSpleefConfig() { return spleefConfig; }
+    public TNTRunConfig getTNTRunConfig() { return tntRunConfig; }
     public TTTConfig getTTTConfig() { return tttConfig; }
+    public SkyWarsConfig getSkyWarsConfig() { return skyWarsConfig; }
     /** @return true if verbose logging is enabled. */
     public boolean isVerboseLogging() { return verboseLogging; }
 
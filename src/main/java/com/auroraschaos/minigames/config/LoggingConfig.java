@@ -0,0 +1,83 @@
+package com.auroraschaos.minigames.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Parses and holds settings under the "logging" section of config.yml, for example:
+ *
+ * logging:
+ *   file: true                  # write logs/events.jsonl
+ *   console: true               # also echo verbose events to the console
+ *   maxFileSizeMb: 10
+ *   maxFiles: 5
+ *   rateLimitPerSecond: 50      # per event type
+ *
+ * A missing section uses these defaults. Events are only written while
+ * verboseLogging is on.
+ */
+public class LoggingConfig {
+    private final boolean file;
+    private final boolean console;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final int rateLimitPerSecond;
+
+    private LoggingConfig(boolean file, boolean console, long maxFileBytes, int maxFiles, int rateLimitPerSecond) {
+        this.file               = file;
+        this.console            = console;
+        this.maxFileBytes       = maxFileBytes;
+        this.maxFiles           = maxFiles;
+        this.rateLimitPerSecond = rateLimitPerSecond;
+    }
+
+    public static LoggingConfig from(ConfigurationSection section) throws ConfigurationException {
+        if (section == null) {
+            return new LoggingConfig(true, true, 10L * 1024 * 1024, 5, 50);
+        }
+
+        boolean file = section.getBoolean("file", true);
+        boolean console = section.getBoolean("console", true);
+
+        int sizeMb = section.getInt("maxFileSizeMb", 10);
+        if (sizeMb < 1) {
+            throw new ConfigurationException("'logging.maxFileSizeMb' must be at least 1 (found " + sizeMb + ")");
+        }
+
+        int maxFiles = section.getInt("maxFiles", 5);
+        if (maxFiles < 1) {
+            throw new ConfigurationException("'logging.maxFiles' must be at least 1 (found " + maxFiles + ")");
+        }
+
+        int rate = section.getInt("rateLimitPerSecond", 50);
+        if (rate < 1) {
+            throw new ConfigurationException("'logging.rateLimitPerSecond' must be at least 1 (found " + rate + ")");
+        }
+
+        return new LoggingConfig(file, console, sizeMb * 1024L * 1024L, maxFiles, rate);
+    }
+
+    /** Whether events are written to logs/events.jsonl. */
+    public boolean isFile() {
+        return file;
+    }
+
+    /** Whether verbose events are also echoed to the server console. */
+    public boolean isConsole() {
+        return console;
+    }
+
+    /** Size at which events.jsonl is rotated. */
+    public long getMaxFileBytes() {
+        return maxFileBytes;
+    }
+
+    /** Number of files kept, including the current one. */
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    /** Events of one type accepted per second; the rest are counted and dropped. */
+    public int getRateLimitPerSecond() {
+        return rateLimitPerSecond;
+    }
+}
@@ -0,0 +1,40 @@
+package com.auroraschaos.minigames.config;
+
+import com.auroraschaos.minigames.util.MaterialSet;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared parsing of material lists in the minigame config files.
+ */
+public final class Materials {
+
+    private Materials() {
+    }
+
+    /**
+     * Parse a list of material names into a {@link MaterialSet}.
+     *
+     * @param names    raw names from YAML; when empty {@code defaults} is used
+     * @param key      YAML key, used in error messages
+     * @param defaults materials to use when the list is absent or empty
+     * @throws ConfigurationException on an unknown material name
+     */
+    public static MaterialSet parse(List<String> names, String key, Material... defaults) throws ConfigurationException {
+        if (names == null || names.isEmpty()) {
+            return MaterialSet.of(defaults);
+        }
+        List<Material> materials = new ArrayList<>(names.size());
+        for (String s : names) {
+            Material m = Material.matchMaterial(s);
+            if (m == null) {
+                throw new ConfigurationException("Unknown material '" + s + "' in " + key);
+            }
+            materials.add(m);
+        }
+        return MaterialSet.copyOf(materials);
+    }
+}
@@ -0,0 +1,60 @@
+package com.auroraschaos.minigames.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Parses and holds settings under the "metrics" section of config.yml, for example:
+ *
+ * metrics:
+ *   enabled: false
+ *   host: "127.0.0.1"
+ *   port: 9464
+ *
+ * A missing section leaves the endpoint disabled.
+ */
+public class MetricsConfig {
+    private final boolean enabled;
+    private final String host;
+    private final int port;
+
+    private MetricsConfig(boolean enabled, String host, int port) {
+        this.enabled = enabled;
+        this.host    = host;
+        this.port    = port;
+    }
+
+    public static MetricsConfig from(ConfigurationSection section) throws ConfigurationException {
+        if (section == null) {
+            return new MetricsConfig(false, "127.0.0.1", 9464);
+        }
+
+        boolean enabled = section.getBoolean("enabled", false);
+
+        String host = section.getString("host", "127.0.0.1").trim();
+        if (host.isEmpty()) {
+            throw new ConfigurationException("'metrics.host' must not be empty");
+        }
+
+        int port = section.getInt("port", 9464);
+        if (port < 1 || port > 65535) {
+            throw new ConfigurationException("'metrics.port' must be between 1 and 65535 (found " + port + ")");
+        }
+
+        return new MetricsConfig(enabled, host, port);
+    }
+
+    /** Whether to serve /metrics at all. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Address the endpoint binds to; keep it local unless the scraper is remote. */
+    public String getHost() {
+        return host;
+    }
+
+    /** TCP port of the endpoint. */
+    public int getPort() {
+        return port;
+    }
+}
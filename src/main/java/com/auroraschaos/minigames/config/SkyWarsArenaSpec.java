@@ -0,0 +1,119 @@
+package com.auroraschaos.minigames.config;
+
+import com.auroraschaos.minigames.game.skywars.SkyWarsLoot;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-validated definition of one SkyWars arena, parsed once from
+ * SkyWars/&lt;arena&gt;.yml (or Defaults.yml) and shared by every match on it.
+ *
+ * Positions are stored as raw coordinates; {@link #center(World)} and
+ * {@link #spawnLocations(World)} bind them to the match world without
+ * touching the disk.
+ */
+public final class SkyWarsArenaSpec {
+    private final String name;
+    private final String displayName;
+    private final String schematic;
+    private final double centerX;
+    private final double centerY;
+    private final double centerZ;
+    /** Spawn coordinates packed as x,y,z triples. */
+    private final double[] spawns;
+    private final SkyWarsLoot loot;
+
+    private SkyWarsArenaSpec(String name, String displayName, String schematic,
+                             double centerX, double centerY, double centerZ,
+                             double[] spawns, SkyWarsLoot loot) {
+        this.name = name;
+        this.displayName = displayName;
+        this.schematic = schematic;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.spawns = spawns;
+        this.loot = loot;
+    }
+
+    /**
+     * Parse and validate an arena file.
+     *
+     * @param name arena name (file name without {@code .yml})
+     * @param cfg  contents of the arena file
+     * @throws ConfigurationException on malformed spawns or loot
+     */
+    public static SkyWarsArenaSpec from(String name, ConfigurationSection cfg) throws ConfigurationException {
+        if (cfg == null) {
+            throw new ConfigurationException("SkyWars arena '" + name + "' configuration is missing");
+        }
+        String displayName = cfg.getString("name", name);
+        String schematic = cfg.getString("schematic", "");
+
+        double cx = cfg.getDouble("center.x", 0.0);
+        double cy = cfg.getDouble("center.y", 64.0);
+        double cz = cfg.getDouble("center.z", 0.0);
+
+        List<double[]> parsed = new ArrayList<>();
+        if (cfg.isList("spawns")) {
+            int index = 0;
+            for (Object obj : cfg.getList("spawns")) {
+                if (!(obj instanceof Map)) {
+                    throw new ConfigurationException("Spawn #" + index + " in " + name + " is not an x/y/z map");
+                }
+                Map<?, ?> m = (Map<?, ?>) obj;
+                parsed.add(new double[] {
+                    coordinate(m, "x", index, name),
+                    coordinate(m, "y", index, name),
+                    coordinate(m, "z", index, name)
+                });
+                index++;
+            }
+        }
+
+        double[] spawns = new double[parsed.size() * 3];
+        for (int i = 0; i < parsed.size(); i++) {
+            System.arraycopy(parsed.get(i), 0, spawns, i * 3, 3);
+        }
+
+        SkyWarsLoot loot = SkyWarsLoot.from(cfg, name);
+        return new SkyWarsArenaSpec(name, displayName, schematic, cx, cy, cz, spawns, loot);
+    }
+
+    private static double coordinate(Map<?, ?> m, String key, int index, String arena)
+            throws ConfigurationException {
+        Object v = m.get(key);
+        if (!(v instanceof Number)) {
+            throw new ConfigurationException("Spawn #" + index + " in " + arena
+                    + " has no numeric '" + key + "'");
+        }
+        return ((Number) v).doubleValue();
+    }
+
+    /** @return a fresh center location in {@code world} */
+    public Location center(World world) {
+        return new Location(world, centerX, centerY, centerZ);
+    }
+
+    /** @return fresh spawn locations in {@code world}, in configured order */
+    public List<Location> spawnLocations(World world) {
+        List<Location> out = new ArrayList<>(spawns.length / 3);
+        for (int i = 0; i < spawns.length; i += 3) {
+            out.add(new Location(world, spawns[i], spawns[i + 1], spawns[i + 2]));
+        }
+        return out;
+    }
+
+    public String getName() { return name; }
+    public String getDisplayName() { return displayName; }
+    public String getSchematic() { return schematic; }
+    public boolean hasSchematic() { return !schematic.isEmpty(); }
+    public int getSpawnCount() { return spawns.length / 3; }
+    public SkyWarsLoot getLoot() { return loot; }
+}
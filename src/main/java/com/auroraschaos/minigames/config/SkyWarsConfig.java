@@ -0,0 +1,153 @@
+package com.auroraschaos.minigames.config;
+
+import com.auroraschaos.minigames.game.skywars.LootTable;
+import com.auroraschaos.minigames.util.MaterialSet;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Global SkyWars settings from SkyWars.yml plus every parsed arena spec from
+ * the SkyWars/ folder. Built once by {@link ConfigManager} and immutable
+ * afterwards, so games read it without any file access.
+ */
+public class SkyWarsConfig {
+    private final int eventInterval;
+    private final int eventWarningTime;
+    private final int shrinkStart;
+    private final int shrinkInterval;
+    private final int shrinkSpeed;
+    private final MaterialSet shrinkProtectedBlocks;
+    private final LootTable<EventDef> events;
+    private final Map<String, SkyWarsArenaSpec> arenas;
+    private final SkyWarsArenaSpec defaults;
+
+    private SkyWarsConfig(int eventInterval, int eventWarningTime,
+                          int shrinkStart, int shrinkInterval, int shrinkSpeed,
+                          MaterialSet shrinkProtectedBlocks,
+                          LootTable<EventDef> events,
+                          Map<String, SkyWarsArenaSpec> arenas,
+                          SkyWarsArenaSpec defaults) {
+        this.eventInterval = eventInterval;
+        this.eventWarningTime = eventWarningTime;
+        this.shrinkStart = shrinkStart;
+        this.shrinkInterval = shrinkInterval;
+        this.shrinkSpeed = shrinkSpeed;
+        this.shrinkProtectedBlocks = shrinkProtectedBlocks;
+        this.events = events;
+        this.arenas = Map.copyOf(arenas);
+        this.defaults = defaults;
+    }
+
+    /**
+     * Build the SkyWars configuration.
+     *
+     * @param cfg      contents of SkyWars.yml
+     * @param arenas   parsed arena specs (Defaults excluded)
+     * @param defaults spec used for arenas without their own file
+     */
+    public static SkyWarsConfig from(YamlConfiguration cfg, Collection<SkyWarsArenaSpec> arenas,
+                                     SkyWarsArenaSpec defaults) throws ConfigurationException {
+        if (cfg == null) {
+            throw new ConfigurationException("SkyWars configuration is missing");
+        }
+        if (defaults == null) {
+            throw new ConfigurationException("SkyWars/Defaults.yml is missing");
+        }
+        int eventInterval = positive(cfg, "event_interval", 90);
+        int eventWarningTime = cfg.getInt("event_warning_time", 15);
+        if (eventWarningTime < 0) {
+            throw new ConfigurationException("event_warning_time must be >= 0");
+        }
+        int shrinkStart = cfg.getInt("shrink_start", 180);
+        if (shrinkStart < 0) {
+            throw new ConfigurationException("shrink_start must be >= 0");
+        }
+        int shrinkInterval = positive(cfg, "shrink_interval", 10);
+        int shrinkSpeed = positive(cfg, "shrink_speed", 1);
+        // Air is always "protected" so the ring pass skips it with the same bit test
+        MaterialSet shrinkProtected = Materials.parse(cfg.getStringList("shrink_protected_blocks"),
+                "shrink_protected_blocks", Material.BEDROCK, Material.BARRIER)
+                .with(Material.AIR, Material.CAVE_AIR, Material.VOID_AIR);
+
+        List<EventDef> defs = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        ConfigurationSection section = cfg.getConfigurationSection("events");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                String path = key + ".";
+                int weight = section.getInt(path + "weight", 1);
+                int duration = section.getInt(path + "duration", 10);
+                if (weight <= 0) {
+                    throw new ConfigurationException("Weight of event '" + key + "' must be > 0");
+                }
+                if (duration <= 0) {
+                    throw new ConfigurationException("Duration of event '" + key + "' must be > 0");
+                }
+                defs.add(new EventDef(key, duration, section.getString(path + "announce", "")));
+                weights.add(weight);
+            }
+        }
+
+        Map<String, SkyWarsArenaSpec> byName = new HashMap<>();
+        for (SkyWarsArenaSpec spec : arenas) {
+            byName.put(spec.getName().toLowerCase(Locale.ROOT), spec);
+        }
+        return new SkyWarsConfig(eventInterval, eventWarningTime, shrinkStart, shrinkInterval,
+                shrinkSpeed, shrinkProtected, LootTable.compile(defs, weights, 1, 1), byName, defaults);
+    }
+
+    private static int positive(YamlConfiguration cfg, String path, int def) throws ConfigurationException {
+        int value = cfg.getInt(path, def);
+        if (value <= 0) {
+            throw new ConfigurationException(path + " must be > 0");
+        }
+        return value;
+    }
+
+    /**
+     * @return the spec for {@code arenaName} (case-insensitive), or the
+     *         Defaults spec when the arena has no file of its own
+     */
+    public SkyWarsArenaSpec getArenaSpec(String arenaName) {
+        SkyWarsArenaSpec spec = arenaName == null ? null : arenas.get(arenaName.toLowerCase(Locale.ROOT));
+        return spec != null ? spec : defaults;
+    }
+
+    public Collection<SkyWarsArenaSpec> getArenaSpecs() { return arenas.values(); }
+    public SkyWarsArenaSpec getDefaults() { return defaults; }
+    public int getEventInterval() { return eventInterval; }
+    public int getEventWarningTime() { return eventWarningTime; }
+    public int getShrinkStart() { return shrinkStart; }
+    public int getShrinkInterval() { return shrinkInterval; }
+    public int getShrinkSpeed() { return shrinkSpeed; }
+    /** @return block types the shrinking ring leaves in place (always includes air) */
+    public MaterialSet getShrinkProtectedBlocks() { return shrinkProtectedBlocks; }
+    /** @return random events compiled for weighted O(1) selection */
+    public LootTable<EventDef> getEvents() { return events; }
+
+    /** A random SkyWars event (name, duration in seconds, warning text). */
+    public static class EventDef {
+        private final String name;
+        private final int duration;
+        private final String announceText;
+
+        public EventDef(String name, int duration, String announceText) {
+            this.name = name;
+            this.duration = duration;
+            this.announceText = announceText;
+        }
+
+        public String getName() { return name; }
+        public int getDuration() { return duration; }
+        public String getAnnounceText() { return announceText; }
+    }
+}
@@ -1,9 +1,9 @@
 package com.auroraschaos.minigames.config;
 
+import com.auroraschaos.minigames.util.MaterialSet;
+
 import org.bukkit.Material;
 import org.bukkit.configuration.file.YamlConfiguration;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Configuration values for the Spleef minigame loaded from Spleef.yml.
@@ -12,14 +12,16 @@ public class SpleefConfig {
     private final int spawnYOffset;
     private final int gameDuration;
     private final int snowballCooldown;
-    private final List<Material> breakableBlocks;
+    private final MaterialSet breakableBlocks;
+    private final MaterialSet shovelBreakableBlocks;
 
     private SpleefConfig(int spawnYOffset, int gameDuration, int snowballCooldown,
-                         List<Material> breakableBlocks) {
+                         MaterialSet breakableBlocks, MaterialSet shovelBreakableBlocks) {
         this.spawnYOffset = spawnYOffset;
         this.gameDuration = gameDuration;
         this.snowballCooldown = snowballCooldown;
-        this.breakableBlocks = List.copyOf(breakableBlocks);
+        this.breakableBlocks = breakableBlocks;
+        this.shovelBreakableBlocks = shovelBreakableBlocks;
     }
 
     /**
@@ -32,23 +34,18 @@ public class SpleefConfig {
         int offset = cfg.getInt("spawn_y_offset", 10);
         int duration = cfg.getInt("game_duration", 300);
         int cooldown = cfg.getInt("snowball_cooldown", 1);
-        List<String> rawBlocks = cfg.getStringList("breakable_blocks");
-        if (rawBlocks.isEmpty()) {
-            rawBlocks = List.of("SNOW_BLOCK", "SNOW");
-        }
-        List<Material> blocks = new ArrayList<>();
-        for (String s : rawBlocks) {
-            Material m = Material.matchMaterial(s);
-            if (m == null) {
-                throw new ConfigurationException("Unknown material '" + s + "' in breakable_blocks");
-            }
-            blocks.add(m);
-        }
-        return new SpleefConfig(offset, duration, cooldown, blocks);
+        MaterialSet blocks = Materials.parse(cfg.getStringList("breakable_blocks"),
+                "breakable_blocks", Material.SNOW_BLOCK, Material.SNOW);
+        MaterialSet shovelBlocks = Materials.parse(cfg.getStringList("shovel_breakable_blocks"),
+                "shovel_breakable_blocks", Material.SNOW_BLOCK, Material.SNOW);
+        return new SpleefConfig(offset, duration, cooldown, blocks, shovelBlocks);
     }
 
     public int getSpawnYOffset() { return spawnYOffset; }
     public int getGameDuration() { return gameDuration; }
     public int getSnowballCooldown() { return snowballCooldown; }
-    public List<Material> getBreakableBlocks() { return breakableBlocks; }
+    /** @return blocks a snowball removes on impact */
+    public MaterialSet getBreakableBlocks() { return breakableBlocks; }
+    /** @return blocks players may mine by hand; every other break is cancelled */
+    public MaterialSet getShovelBreakableBlocks() { return shovelBreakableBlocks; }
 }
@@ -0,0 +1,58 @@
+package com.auroraschaos.minigames.config;
+
+import com.auroraschaos.minigames.util.MaterialSet;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Configuration values for the TNT Run minigame loaded from TNTRun.yml.
+ */
+public class TNTRunConfig {
+    private final int spawnYOffset;
+    private final int gameDuration;
+    private final int decayDelayTicks;
+    private final int decayBudgetPerTick;
+    private final MaterialSet decayableBlocks;
+
+    private TNTRunConfig(int spawnYOffset, int gameDuration, int decayDelayTicks,
+                         int decayBudgetPerTick, MaterialSet decayableBlocks) {
+        this.spawnYOffset = spawnYOffset;
+        this.gameDuration = gameDuration;
+        this.decayDelayTicks = decayDelayTicks;
+        this.decayBudgetPerTick = decayBudgetPerTick;
+        this.decayableBlocks = decayableBlocks;
+    }
+
+    /**
+     * Parse the supplied YAML configuration to a {@code TNTRunConfig} instance.
+     */
+    public static TNTRunConfig from(YamlConfiguration cfg) throws ConfigurationException {
+        if (cfg == null) {
+            throw new ConfigurationException("TNT Run configuration is missing");
+        }
+        int offset = cfg.getInt("spawn_y_offset", 10);
+        int duration = cfg.getInt("game_duration", 300);
+        int delay = cfg.getInt("decay_delay_ticks", 8);
+        if (delay < 0) {
+            throw new ConfigurationException("decay_delay_ticks must be >= 0");
+        }
+        int budget = cfg.getInt("decay_budget_per_tick", 256);
+        if (budget <= 0) {
+            throw new ConfigurationException("decay_budget_per_tick must be > 0");
+        }
+        MaterialSet blocks = Materials.parse(cfg.getStringList("decayable_blocks"), "decayable_blocks",
+                Material.WHITE_WOOL, Material.RED_WOOL, Material.YELLOW_WOOL, Material.BLUE_WOOL,
+                Material.GREEN_WOOL, Material.ORANGE_WOOL, Material.PINK_WOOL, Material.LIGHT_BLUE_WOOL);
+        return new TNTRunConfig(offset, duration, delay, budget, blocks);
+    }
+
+    public int getSpawnYOffset() { return spawnYOffset; }
+    public int getGameDuration() { return gameDuration; }
+    /** @return ticks between stepping on a block and its removal */
+    public int getDecayDelayTicks() { return decayDelayTicks; }
+    /** @return maximum blocks removed per tick */
+    public int getDecayBudgetPerTick() { return decayBudgetPerTick; }
+    /** @return blocks that decay when stepped on */
+    public MaterialSet getDecayableBlocks() { return decayableBlocks; }
+}
@@ -1,5 +1,7 @@
 package com.auroraschaos.minigames.config;
 
+import com.auroraschaos.minigames.game.ttt.TTTRole;
+
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -8,20 +10,25 @@ import org.bukkit.configuration.file.YamlConfiguration;
  * Holds configuration for the Trouble in Terrorist Town minigame.
  */
 public class TTTConfig {
+    /** Shop slots available: a double chest. */
+    public static final int MAX_SHOP_SLOTS = 54;
+
     private final int spawnYOffset;
     private final int gameDuration;
     private final double traitorRatio;
     private final double detectiveRatio;
     private final java.util.List<ShopItem> shopItems;
+    private final Karma karma;
 
     private TTTConfig(int spawnYOffset, int gameDuration,
                       double traitorRatio, double detectiveRatio,
-                      java.util.List<ShopItem> shopItems) {
+                      java.util.List<ShopItem> shopItems, Karma karma) {
         this.spawnYOffset = spawnYOffset;
         this.gameDuration = gameDuration;
         this.traitorRatio = traitorRatio;
         this.detectiveRatio = detectiveRatio;
         this.shopItems = java.util.List.copyOf(shopItems);
+        this.karma = karma;
     }
 
     /**
@@ -56,10 +63,36 @@ public class TTTConfig {
                 String name = sec.getString("name", matName);
                 java.util.List<String> lore = sec.getStringList("lore");
                 int cost = sec.getInt("cost", 1);
-                items.add(new ShopItem(slot, mat, name, lore, cost));
+                if (slot < 0 || slot >= MAX_SHOP_SLOTS) {
+                    throw new ConfigurationException("slot of shop item '" + key + "' must be 0-" + (MAX_SHOP_SLOTS - 1));
+                }
+                java.util.Set<TTTRole> roles = java.util.EnumSet.noneOf(TTTRole.class);
+                java.util.List<String> roleNames = sec.getStringList("roles");
+                if (roleNames.isEmpty()) {
+                    roles.add(TTTRole.TRAITOR);
+                    roles.add(TTTRole.DETECTIVE);
+                }
+                for (String roleName : roleNames) {
+                    try {
+                        roles.add(TTTRole.valueOf(roleName.toUpperCase(java.util.Locale.ROOT)));
+                    } catch (IllegalArgumentException ex) {
+                        throw new ConfigurationException("Unknown role '" + roleName + "' in shop item '" + key + "'");
+                    }
+                }
+                items.add(new ShopItem(slot, mat, name, lore, cost, roles));
             }
         }
-        return new TTTConfig(offset, duration, tRatio, dRatio, items);
+        int kMin = cfg.getInt("karma.min", 100);
+        int kMax = cfg.getInt("karma.max", 1500);
+        int kStart = cfg.getInt("karma.start", 1000);
+        if (kMin < 1 || kMax < kMin || kStart < kMin || kStart > kMax) {
+            throw new ConfigurationException("karma must satisfy 1 <= min <= start <= max");
+        }
+        Karma karma = new Karma(kStart, kMin, kMax,
+                cfg.getInt("karma.team_kill_penalty", 100),
+                cfg.getInt("karma.enemy_kill_reward", 20),
+                cfg.getInt("karma.round_reward", 10));
+        return new TTTConfig(offset, duration, tRatio, dRatio, items, karma);
     }
 
     public int getSpawnYOffset() { return spawnYOffset; }
@@ -67,6 +100,40 @@ public class TTTConfig {
     public double getTraitorRatio() { return traitorRatio; }
     public double getDetectiveRatio() { return detectiveRatio; }
     public java.util.List<ShopItem> getShopItems() { return shopItems; }
+    public Karma getKarma() { return karma; }
+
+    /** Karma limits and adjustments; karma weights the chance of a special role. */
+    public static class Karma {
+        private final int start;
+        private final int min;
+        private final int max;
+        private final int teamKillPenalty;
+        private final int enemyKillReward;
+        private final int roundReward;
+
+        public Karma(int start, int min, int max, int teamKillPenalty, int enemyKillReward, int roundReward) {
+            this.start = start;
+            this.min = min;
+            this.max = max;
+            this.teamKillPenalty = teamKillPenalty;
+            this.enemyKillReward = enemyKillReward;
+            this.roundReward = roundReward;
+        }
+
+        /** @return karma of a player with no record */
+        public int getStart() { return start; }
+        public int getMin() { return min; }
+        public int getMax() { return max; }
+        public int getTeamKillPenalty() { return teamKillPenalty; }
+        public int getEnemyKillReward() { return enemyKillReward; }
+        /** @return karma every participant regains at the end of a round */
+        public int getRoundReward() { return roundReward; }
+
+        /** @return {@code value} limited to [min, max] */
+        public int clamp(int value) {
+            return Math.max(min, Math.min(max, value));
+        }
+    }
 
     /** Item definition for the TTT shop. */
     public static class ShopItem {
@@ -75,14 +142,16 @@ public class TTTConfig {
         private final String name;
         private final java.util.List<String> lore;
         private final int cost;
+        private final java.util.Set<TTTRole> roles;
 
         public ShopItem(int slot, Material material, String name,
-                        java.util.List<String> lore, int cost) {
+                        java.util.List<String> lore, int cost, java.util.Set<TTTRole> roles) {
             this.slot = slot;
             this.material = material;
             this.name = name;
             this.lore = java.util.List.copyOf(lore);
             this.cost = cost;
+            this.roles = java.util.Set.copyOf(roles);
         }
 
         public int getSlot() { return slot; }
@@ -90,5 +159,7 @@ public class TTTConfig {
         public String getName() { return name; }
         public java.util.List<String> getLore() { return lore; }
         public int getCost() { return cost; }
+        /** @return roles whose shop offers this item */
+        public java.util.Set<TTTRole> getRoles() { return roles; }
     }
 }
@@ -0,0 +1,42 @@
+package com.auroraschaos.minigames.game;
+
+import org.bukkit.Location;
+
+/**
+ * A move that took a player into a different block.
+ *
+ * Built by {@link MoveDispatcher} only after the block coordinates of the
+ * two positions were found to differ, so games can react to these without
+ * first filtering out the much more common look-around and sub-block moves.
+ */
+public final class BlockMove {
+
+    private final Location from;
+    private final Location to;
+    private final int toX, toY, toZ;
+
+    private BlockMove(Location from, Location to, int toX, int toY, int toZ) {
+        this.from = from;
+        this.to = to;
+        this.toX = toX;
+        this.toY = toY;
+        this.toZ = toZ;
+    }
+
+    /** @return the move, or null if both positions lie in the same block */
+    public static BlockMove of(Location from, Location to) {
+        int x = to.getBlockX(), y = to.getBlockY(), z = to.getBlockZ();
+        if (x == from.getBlockX() && y == from.getBlockY() && z == from.getBlockZ()) {
+            return null;
+        }
+        return new BlockMove(from, to, x, y, z);
+    }
+
+    /** @return the exact position before the move; do not modify */
+    public Location getFrom() { return from; }
+    /** @return the exact position after the move; do not modify */
+    public Location getTo()   { return to; }
+    public int toX()          { return toX; }
+    public int toY()          { return toY; }
+    public int toZ()          { return toZ; }
+}
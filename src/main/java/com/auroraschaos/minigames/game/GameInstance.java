@@ -9,6 +9,7 @@ import org.bukkit.scheduler.BukkitTask;
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.stats.StatsManager;
 import com.sk89q.worldedit.math.BlockVector3;
 
@@ -31,6 +32,9 @@ public abstract class GameInstance {
     /** BukkitTask handle if the game requires periodic tick updates */
     private BukkitTask task;
 
+    /** Set by {@link #stop()}; a game may end itself while starting */
+    private boolean stopped;
+
     /** Reference to the main plugin */
     protected final MinigamesPlugin plugin;
 
@@ -46,6 +50,12 @@ public abstract class GameInstance {
     /** List of participants (players or party members) */
     protected final List<Player> participants = new ArrayList<>();
 
+    /**
+     * Slot-indexed per-player state (alive, role, cooldown, points, kills),
+     * keyed by UUID. Subclasses use this instead of their own lists/maps.
+     */
+    protected final ParticipantTable roster;
+
     /** StatsManager reference for recording results */
     protected final StatsManager statsManager;
 
@@ -74,6 +84,10 @@ public abstract class GameInstance {
         this.type = type;
         this.gameMode = gameMode;
         this.participants.addAll(participants);
+        this.roster = new ParticipantTable(participants.size());
+        for (Player p : participants) {
+            roster.add(p);
+        }
         this.id = UUID.randomUUID().toString();
         this.statsManager = plugin.getStatsManager();
     }
@@ -133,12 +147,24 @@ public abstract class GameInstance {
             p.getInventory().clear(); // clear inventory (minigame should kit them later)
         }
 
-        // 2) Initialize game-specific logic
+        // 2) Start receiving block moves, then initialize game-specific logic.
+        //    Registering first means a game that ends itself in onGameStart()
+        //    is unregistered again by stop().
+        plugin.getMoveDispatcher().register(this);
         onGameStart();
+        if (stopped) return;
 
         // 3) If subclass requires per-tick updates, schedule a repeating task
         if (requiresTicks()) {
-            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+            TickProfiler.Section tickSection = profileSection("tick");
+            task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+                tickSection.begin();
+                try {
+                    tick();
+                } finally {
+                    tickSection.end();
+                }
+            }, 20L, 20L);
         }
     }
 
@@ -151,12 +177,16 @@ public abstract class GameInstance {
      *  - Record stats via StatsManager
      */
     public void stop() {
+        stopped = true;
+
         // 1) Cancel tick task if running
         if (task != null && !task.isCancelled()) {
             task.cancel();
         }
 
-        // 2) Game-specific cleanup
+        // 2) Release spectators from their arena, then game-specific cleanup
+        plugin.getMoveDispatcher().unregister(this);
+        plugin.getSpectators().removeAll(roster);
         onGameEnd();
 
         // 3) Teleport participants back to their original location (or main spawn if missing)
@@ -176,6 +206,25 @@ public abstract class GameInstance {
         statsManager.recordGameResult(this);
     }
 
+    /**
+     * @param name what the section measures, e.g. "decay" or "loop"
+     * @return the profiler section {@code name} of this game's type, shared by
+     *         every game of the type; wrap main-thread work in begin()/end()
+     */
+    protected TickProfiler.Section profileSection(String name) {
+        return plugin.getProfiler().section(type, name);
+    }
+
+    /**
+     * Called by the {@link MoveDispatcher} when a participant (alive or
+     * spectating) moves into a different block. Default: nothing.
+     *
+     * @param player the participant who moved
+     * @param move   where the player came from and went to
+     */
+    protected void onBlockMove(Player player, BlockMove move) {
+    }
+
     /**
      * Per-tick update (called every second by default, if requiresTicks() == true).
      * Concrete subclasses override this to implement timers, score checks, etc.
@@ -234,6 +283,12 @@ public abstract class GameInstance {
 
         // 2) Remove from the participants list
         participants.remove(player);
+        int slot = roster.slotOf(player);
+        if (slot != ParticipantTable.NO_SLOT) {
+            roster.markLeft(slot);
+        }
+        plugin.getMoveDispatcher().remove(player, this);
+        plugin.getSpectators().remove(player);
 
         // 3) Cancel any scheduled task we had for this player (if subclasses use such tasks)
         if (task != null) {
@@ -271,7 +326,7 @@ public abstract class GameInstance {
             // Reset and free the arena
             plugin.getArenaService().resetArena(arena);
             arena.setInUse(false);
-            plugin.logVerbose("Game " + id + " (" + type + ") ended early due to too few players.");
+            plugin.getEventLog().event("game.end", "type", type, "id", id, "reason", "too_few_players");
         }
     }
 }
@@ -3,11 +3,16 @@ package com.auroraschaos.minigames.game;
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.arena.ArenaService;
+import com.auroraschaos.minigames.config.SkyWarsConfig;
+import com.auroraschaos.minigames.game.race.RaceAssetRegistry;
 import com.auroraschaos.minigames.game.race.RaceGame;
+import com.auroraschaos.minigames.game.race.TrackConfig;
 import com.auroraschaos.minigames.game.SpleefGame;
 import com.auroraschaos.minigames.game.TTTGame;
 import com.auroraschaos.minigames.gui.GUIManager;
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
 import com.auroraschaos.minigames.party.PartyManager;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.stats.StatsManager;
 import com.sk89q.worldedit.math.BlockVector3;
 import org.bukkit.Bukkit;
@@ -19,9 +24,7 @@ import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.api.ChatMessageType;
 import org.bukkit.ChatColor;
 
-import java.io.IOException;
 import java.util.*;
-import java.util.logging.Level;
 
 /**
  * GameManager is responsible for:
@@ -56,12 +59,31 @@ public class GameManager {
     /** Tracks all active GameInstance objects by their unique ID. */
     private final Map<String, GameInstance> activeGames = new HashMap<>();
 
+    /** Picks a race track when the arena has no track of its own name. */
+    private final Random random = new Random();
+
     /**
      * Tracks any running 60-second countdown task for a specific queue key.
      * Key corresponds to “<TYPE>_<MODE>”.
      */
     private final Map<String, BukkitTask> countdownTasks = new HashMap<>();
 
+    /** When each running countdown ends (epoch millis), for wait estimates. */
+    private final Map<String, Long> countdownEndsAt = new HashMap<>();
+
+    /** Queue and game counts for other threads, replaced once a second */
+    private volatile QueueSnapshot snapshot = QueueSnapshot.EMPTY;
+
+    /** Profiler sections of the queue countdowns and the action-bar heartbeat */
+    private final TickProfiler.Section countdownSection;
+    private final TickProfiler.Section heartbeatSection;
+
+    /** Exported metrics; gauges are refreshed by {@link #sampleMetrics()} */
+    private final MetricsRegistry.Counter gamesStarted;
+    private final MetricsRegistry.Counter gamesEnded;
+    private final MetricsRegistry.Gauge queuedPlayers;
+    private final MetricsRegistry.Gauge runningGames;
+
     /** Duration of the countdown (in seconds) */
     private static final int COUNTDOWN_SECONDS = 60;
 
@@ -75,6 +97,16 @@ public class GameManager {
         this.partyManager = partyManager;
         this.statsManager = statsManager;
         this.guiManager   = guiManager;
+        this.countdownSection = plugin.getProfiler().section("GameManager", "countdown");
+        this.heartbeatSection = plugin.getProfiler().section("GameManager", "heartbeat");
+
+        MetricsRegistry metrics = plugin.getMetrics();
+        this.gamesStarted  = metrics.counter("minigames_games_started_total", "Games started.", "type", "mode");
+        this.gamesEnded    = metrics.counter("minigames_games_ended_total", "Games ended through the game manager.", "type");
+        this.queuedPlayers = metrics.gauge("minigames_queue_players", "Players waiting in a queue.", "type", "mode");
+        this.runningGames  = metrics.gauge("minigames_active_games", "Games currently running.", "type");
+        metrics.onSample(this::sampleMetrics);
+        Bukkit.getScheduler().runTaskTimer(plugin, this::publishSnapshot, 0L, 20L);
 
         // Optional: periodic heartbeat to update action-bar even if no join/leave event
         startQueueHeartbeat();
@@ -103,8 +135,7 @@ public class GameManager {
         QueueEntry entry = new QueueEntry(entrants);
         queue.add(entry);
         plugin.getQueueScoreboardManager().updateQueueScoreboard(type, mode);
-        plugin.logVerbose("Enqueued " + entrants.size()
-                + " player(s) for " + type + " [" + mode + "]");
+        plugin.getEventLog().event("queue.join", "type", type, "mode", mode, "players", entrants.size());
 
         // Notify the entrants via chat
         for (Player p : entrants) {
@@ -202,8 +233,7 @@ public class GameManager {
 
         toRemove.sendMessage(ChatColor.RED + "You left the queue for "
                 + type + " [" + mode + "].");
-        plugin.logVerbose("[GameManager] " + toRemove.getName()
-                + " dequeued from " + type + " [" + mode + "]");
+        plugin.getEventLog().event("queue.leave", "type", type, "mode", mode, "player", toRemove.getName());
 
         // Update the action-bar for everyone still in queue
         updateQueueActionBar(type, queue);
@@ -254,8 +284,7 @@ public class GameManager {
         // Inform queue that countdown has begun
         broadcastToQueue(queue, ChatColor.GREEN + "Minimum players reached! "
                 + "Game starts in " + COUNTDOWN_SECONDS + " seconds...");
-        plugin.logVerbose(String.format(
-                "[GameManager] Countdown started for %s [%s]", type, mode));
+        plugin.getEventLog().event("countdown.start", "type", type, "mode", mode);
 
         // Create a repeating task that runs once per second (20 ticks)
         BukkitTask task = new BukkitRunnable() {
@@ -263,50 +292,56 @@ public class GameManager {
 
             @Override
             public void run() {
-                // If queue no longer meets minPlayers, cancel immediately
-                int currentSize = queue.size();
-                if (currentSize < getMinPlayers(type)) {
-                    broadcastToQueue(queue, ChatColor.RED + "Countdown aborted: not enough players.");
-                    plugin.logVerbose(String.format(
-                            "[GameManager] Countdown aborted for %s [%s]", type, mode));
-                    cancel();
-                    countdownTasks.remove(key);
-                    return;
-                }
+                countdownSection.begin();
+                try {
+                    // If queue no longer meets minPlayers, cancel immediately
+                    int currentSize = queue.size();
+                    if (currentSize < getMinPlayers(type)) {
+                        broadcastToQueue(queue, ChatColor.RED + "Countdown aborted: not enough players.");
+                        plugin.getEventLog().event("countdown.abort", "type", type, "mode", mode);
+                        cancel();
+                        countdownTasks.remove(key);
+                        countdownEndsAt.remove(key);
+                        return;
+                    }
+
+                    // Send action-bar message: e.g. "Starting in 45s | Joined: 3/10"
+                    String actionMessage = ChatColor.AQUA + "Starting in "
+                            + ChatColor.WHITE + secondsLeft
+                            + ChatColor.AQUA + "s  |  Joined: "
+                            + ChatColor.WHITE + currentSize
+                            + ChatColor.AQUA + "/" + getMaxPlayers(type);
+                    sendActionBarToQueue(queue, actionMessage);
+
+                    // When timer reaches 0, start the game
+                    if (secondsLeft <= 0) {
+                        cancel();
+                        countdownTasks.remove(key);
+                        countdownEndsAt.remove(key);
+
+                        // Copy the current queue entries into a new list of players
+                        List<Player> participants = new ArrayList<>();
+                        while (!queue.isEmpty()) {
+                            QueueEntry e = queue.poll();
+                            participants.addAll(e.getPlayers());
+                        }
+                        queueMap.remove(key);
 
-                // Send action-bar message: e.g. "Starting in 45s | Joined: 3/10"
-                String actionMessage = ChatColor.AQUA + "Starting in "
-                        + ChatColor.WHITE + secondsLeft
-                        + ChatColor.AQUA + "s  |  Joined: "
-                        + ChatColor.WHITE + currentSize
-                        + ChatColor.AQUA + "/" + getMaxPlayers(type);
-                sendActionBarToQueue(queue, actionMessage);
-
-                // When timer reaches 0, start the game
-                if (secondsLeft <= 0) {
-                    cancel();
-                    countdownTasks.remove(key);
-
-                    // Copy the current queue entries into a new list of players
-                    List<Player> participants = new ArrayList<>();
-                    while (!queue.isEmpty()) {
-                        QueueEntry e = queue.poll();
-                        participants.addAll(e.getPlayers());
+                        plugin.getEventLog().event("countdown.finish", "type", type, "mode", mode);
+                        startNewGame(type, mode, participants);
+                        return;
                     }
-                    queueMap.remove(key);
 
-                    plugin.logVerbose(String.format(
-                            "[GameManager] Countdown finished for %s [%s]", type, mode));
-                    startNewGame(type, mode, participants);
-                    return;
+                    secondsLeft--;
+                } finally {
+                    countdownSection.end();
                 }
-
-                secondsLeft--;
             }
         }.runTaskTimer(plugin, 0L, 20L);
 
         // Store the scheduled task so we can cancel it if needed
         countdownTasks.put(key, task);
+        countdownEndsAt.put(key, System.currentTimeMillis() + COUNTDOWN_SECONDS * 1000L);
     }
 
     /**
@@ -314,10 +349,11 @@ public class GameManager {
      */
     private void cancelCountdownForQueue(String key) {
         BukkitTask task = countdownTasks.remove(key);
+        countdownEndsAt.remove(key);
         if (task != null && !task.isCancelled()) {
             task.cancel();
         }
-        plugin.logVerbose("[GameManager] Countdown cancelled for key " + key);
+        plugin.getEventLog().event("countdown.cancel", "queue", key);
     }
 
     /**
@@ -389,14 +425,19 @@ public class GameManager {
         new BukkitRunnable() {
             @Override
             public void run() {
-                for (Map.Entry<String, Queue<QueueEntry>> entry : queueMap.entrySet()) {
-                    Queue<QueueEntry> queue = entry.getValue();
-                    if (queue.isEmpty()) continue;
-
-                    // Extract type from key (format "<TYPE>_<MODE>")
-                    String key = entry.getKey();
-                    String type = key.split("_")[0];
-                    updateQueueActionBar(type, queue);
+                heartbeatSection.begin();
+                try {
+                    for (Map.Entry<String, Queue<QueueEntry>> entry : queueMap.entrySet()) {
+                        Queue<QueueEntry> queue = entry.getValue();
+                        if (queue.isEmpty()) continue;
+
+                        // Extract type from key (format "<TYPE>_<MODE>")
+                        String key = entry.getKey();
+                        String type = key.split("_")[0];
+                        updateQueueActionBar(type, queue);
+                    }
+                } finally {
+                    heartbeatSection.end();
                 }
             }
         }.runTaskTimer(plugin, 0L, 20L * 5); // every 5 seconds
@@ -440,14 +481,26 @@ public class GameManager {
             case "TTT":
                 instance = new TTTGame(type, mode, plugin, arena, players);
                 break;
-            case "RACE":
-                try {
-                    instance = new RaceGame(type, mode, plugin, arena, players, null, null, type);
-                } catch (IOException e) {
-                    plugin.getLogger().log(Level.SEVERE, "Failed to create RaceGame instance", e);
+            case "SKY_WARS": {
+                SkyWarsConfig skyWars = plugin.getConfigManager().getSkyWarsConfig();
+                instance = new SkyWarsGame(plugin, arena, type, mode, players,
+                        skyWars, skyWars.getArenaSpec(arena.getName()));
+                break;
+            }
+            case "RACE": {
+                RaceAssetRegistry.Snapshot assets = plugin.getRaceAssets().current();
+                TrackConfig track = assets.chooseTrack(arena.getName(), random);
+                if (track == null || assets.getDefaultKart() == null) {
+                    plugin.getLogger().severe("No valid race track or kart defaults loaded; cannot start RACE");
+                    for (Player p : players) {
+                        p.sendMessage(ChatColor.RED + "Kart racing is unavailable right now. Try later.");
+                    }
+                    arena.setInUse(false);
                     return;
                 }
+                instance = new RaceGame(type, mode, plugin, arena, players, track, assets.getDefaultKart());
                 break;
+            }
             default:
                 plugin.getLogger().warning("No GameInstance class for type: " + type);
                 arena.setInUse(false);
@@ -457,7 +510,8 @@ public class GameManager {
         // 3) Register & start the instance
         activeGames.put(instance.getId(), instance);
         instance.start();
-        plugin.logVerbose("Started " + type + " [" + mode + "] with ID: " + instance.getId());
+        gamesStarted.inc(type, mode.name());
+        plugin.getEventLog().event("game.create", "type", type, "mode", mode, "id", instance.getId());
     }
 
     /**
@@ -471,19 +525,73 @@ public class GameManager {
 
         // 1) Stop the game logic
         instance.stop();
+        gamesEnded.inc(instance.getType());
 
         // 2) Reset the schematic in the arena (wipes any player modifications)
         Arena arena = instance.getArena();
         arenaService.resetArena(arena);
         arena.setInUse(false);
 
-        plugin.logVerbose("Ended game " + instanceId + " (" + instance.getType() + ")");
+        plugin.getEventLog().event("game.end", "type", instance.getType(), "id", instanceId);
+    }
+
+    /**
+     * Publish queue depth and running games to the metrics gauges.
+     * Runs on the main thread from {@link MetricsRegistry#sample()}.
+     */
+    private void sampleMetrics() {
+        MetricsRegistry.Gauge.Update queued = queuedPlayers.update();
+        for (Map.Entry<String, Queue<QueueEntry>> entry : queueMap.entrySet()) {
+            // Key format "<TYPE>_<MODE>"; mode names contain no underscore
+            String key = entry.getKey();
+            int split = key.lastIndexOf('_');
+            int players = 0;
+            for (QueueEntry e : entry.getValue()) {
+                players += e.getPlayers().size();
+            }
+            queued.set(players, key.substring(0, split), key.substring(split + 1));
+        }
+        queued.publish();
+
+        MetricsRegistry.Gauge.Update running = runningGames.update();
+        for (GameInstance instance : activeGames.values()) {
+            running.add(1, instance.getType());
+        }
+        running.publish();
+    }
+
+    /**
+     * Publish queue sizes and the running game count for
+     * {@link #getSnapshot()}. Runs on the main thread once a second.
+     */
+    private void publishSnapshot() {
+        Map<String, Integer> byType = new HashMap<>();
+        Map<String, Map<GameMode, Integer>> byMode = new HashMap<>();
+        for (Map.Entry<String, Queue<QueueEntry>> entry : queueMap.entrySet()) {
+            // Key format "<TYPE>_<MODE>"; mode names contain no underscore
+            String key = entry.getKey();
+            int split = key.lastIndexOf('_');
+            String type = key.substring(0, split);
+            GameMode mode = GameMode.valueOf(key.substring(split + 1));
+            int size = entry.getValue().size();
+            byType.merge(type, size, Integer::sum);
+            byMode.computeIfAbsent(type, t -> new EnumMap<>(GameMode.class)).put(mode, size);
+        }
+        snapshot = new QueueSnapshot(activeGames.size(), byType, byMode);
     }
 
     // ------------------------------------------------------------
     // 3) ACCESSORS & HELPERS
     // ------------------------------------------------------------
 
+    /**
+     * @return the latest published queue and game counts, at most a second
+     *   old. Safe to call from any thread; never blocks the main thread.
+     */
+    public QueueSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Returns an unmodifiable view of all active GameInstances.
      */
@@ -556,6 +664,82 @@ public class GameManager {
             return Collections.unmodifiableList(players);
         }
     }
+
+    /**
+     * Snapshot of one minigame type's lobby: players queued across its modes,
+     * games running, players still needed by the fullest queue, and seconds
+     * until the soonest countdown ends (-1 if none is running).
+     */
+    public static final class LobbyStatus {
+        private final int queuedPlayers;
+        private final int activeGames;
+        private final int playersNeeded;
+        private final int startsInSeconds;
+
+        public LobbyStatus(int queuedPlayers, int activeGames, int playersNeeded, int startsInSeconds) {
+            this.queuedPlayers = queuedPlayers;
+            this.activeGames = activeGames;
+            this.playersNeeded = playersNeeded;
+            this.startsInSeconds = startsInSeconds;
+        }
+
+        public int getQueuedPlayers()   { return queuedPlayers; }
+        public int getActiveGames()     { return activeGames; }
+        public int getPlayersNeeded()   { return playersNeeded; }
+        public int getStartsInSeconds() { return startsInSeconds; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof LobbyStatus)) return false;
+            LobbyStatus other = (LobbyStatus) o;
+            return queuedPlayers == other.queuedPlayers && activeGames == other.activeGames
+                    && playersNeeded == other.playersNeeded && startsInSeconds == other.startsInSeconds;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(queuedPlayers, activeGames, playersNeeded, startsInSeconds);
+        }
+    }
+
+    /**
+     * Immutable queue and game counts as of one main-thread sample: running
+     * games, and queued entries per type and per type and mode. Types are
+     * the upper-case queue key prefix, e.g. "TNT_RUN".
+     */
+    public static final class QueueSnapshot {
+        static final QueueSnapshot EMPTY = new QueueSnapshot(0, Map.of(), Map.of());
+
+        private final int activeGames;
+        private final Map<String, Integer> queuedByType;
+        private final Map<String, Map<GameMode, Integer>> queuedByMode;
+
+        QueueSnapshot(int activeGames, Map<String, Integer> queuedByType,
+                      Map<String, Map<GameMode, Integer>> queuedByMode) {
+            this.activeGames = activeGames;
+            this.queuedByType = Map.copyOf(queuedByType);
+            Map<String, Map<GameMode, Integer>> modes = new HashMap<>();
+            for (Map.Entry<String, Map<GameMode, Integer>> entry : queuedByMode.entrySet()) {
+                modes.put(entry.getKey(), Collections.unmodifiableMap(new EnumMap<>(entry.getValue())));
+            }
+            this.queuedByMode = Collections.unmodifiableMap(modes);
+        }
+
+        public int getActiveGames() {
+            return activeGames;
+        }
+
+        /** @return entries queued in any mode of {@code type} (upper case) */
+        public int getQueued(String type) {
+            return queuedByType.getOrDefault(type, 0);
+        }
+
+        /** @return entries queued for {@code type} (upper case) in {@code mode} */
+        public int getQueued(String type, GameMode mode) {
+            Map<GameMode, Integer> modes = queuedByMode.get(type);
+            return modes == null ? 0 : modes.getOrDefault(mode, 0);
+        }
+    }
     /**
  * Returns true if the player is currently waiting in any queue (regardless of gameType/mode).
  */
@@ -674,6 +858,39 @@ public int getQueuedCount(String gameType, GameMode mode) {
     return (queue == null) ? 0 : queue.size();
 }
 
+/**
+ * Queue and game counts for one minigame type, for the lobby menu.
+ * Main thread only.
+ */
+public LobbyStatus getLobbyStatus(String gameType) {
+    String prefix = gameType.toUpperCase() + "_";
+    int minPlayers = getMinPlayers(gameType);
+    long now = System.currentTimeMillis();
+
+    int queued = 0;
+    int needed = minPlayers;
+    int startsIn = -1;
+    for (Map.Entry<String, Queue<QueueEntry>> entry : queueMap.entrySet()) {
+        if (!entry.getKey().startsWith(prefix)) continue;
+        Queue<QueueEntry> queue = entry.getValue();
+        for (QueueEntry e : queue) {
+            queued += e.getPlayers().size();
+        }
+        needed = Math.min(needed, Math.max(0, minPlayers - queue.size()));
+        Long endsAt = countdownEndsAt.get(entry.getKey());
+        if (endsAt != null) {
+            int seconds = (int) Math.max(0, (endsAt - now + 999) / 1000);
+            startsIn = startsIn < 0 ? seconds : Math.min(startsIn, seconds);
+        }
+    }
+
+    int running = 0;
+    for (GameInstance instance : activeGames.values()) {
+        if (instance.getType().equalsIgnoreCase(gameType)) running++;
+    }
+    return new LobbyStatus(queued, running, needed, startsIn);
+}
+
 /**
  * Returns the internal Queue<QueueEntry> for a given key,
  * or null if none exists.
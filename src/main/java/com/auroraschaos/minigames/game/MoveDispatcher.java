@@ -0,0 +1,84 @@
+package com.auroraschaos.minigames.game;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.profiling.TickProfiler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The one {@link PlayerMoveEvent} listener shared by all running games.
+ *
+ * Most move packets only turn the head or shift a player within the same
+ * block. Those are dropped after comparing block coordinates, before any
+ * map lookup; the rest are handed to the owning game's
+ * {@link GameInstance#onBlockMove} as a {@link BlockMove}, and spectators
+ * among them are kept inside their arena by the
+ * {@link com.auroraschaos.minigames.util.SpectatorService}.
+ *
+ * Main-thread only.
+ */
+public final class MoveDispatcher implements Listener {
+
+    private final Map<UUID, GameInstance> gameByPlayer = new HashMap<>();
+    /** Profiler section per game type, looked up once per game rather than per move. */
+    private final Map<GameInstance, TickProfiler.Section> sectionByGame = new HashMap<>();
+    private final MinigamesPlugin plugin;
+
+    public MoveDispatcher(MinigamesPlugin plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /** Route moves of every participant of {@code game} to it. */
+    void register(GameInstance game) {
+        sectionByGame.put(game, plugin.getProfiler().section(game.getType(), "blockMove"));
+        ParticipantTable roster = game.roster;
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (!roster.hasLeft(slot)) {
+                gameByPlayer.put(roster.uuid(slot), game);
+            }
+        }
+    }
+
+    /** Stop routing moves of {@code player} to {@code game}. */
+    void remove(Player player, GameInstance game) {
+        gameByPlayer.remove(player.getUniqueId(), game);
+    }
+
+    /** Stop routing moves to a finished game. */
+    void unregister(GameInstance game) {
+        sectionByGame.remove(game);
+        ParticipantTable roster = game.roster;
+        for (int slot = 0; slot < roster.size(); slot++) {
+            gameByPlayer.remove(roster.uuid(slot), game);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        BlockMove move = BlockMove.of(event.getFrom(), event.getTo());
+        if (move == null) return;
+        GameInstance game = gameByPlayer.get(event.getPlayer().getUniqueId());
+        if (game == null) return;
+        TickProfiler.Section section = sectionByGame.get(game);
+        section.begin();
+        try {
+            game.onBlockMove(event.getPlayer(), move);
+        } finally {
+            section.end();
+        }
+        Location contained = plugin.getSpectators().contain(event.getPlayer(), move);
+        if (contained != null) {
+            event.setTo(contained);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.auroraschaos.minigames.game;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-game player state stored in dense, slot-indexed primitive arrays.
+ *
+ * Each participant gets a slot when the game is created. Event handlers turn
+ * a {@link Player} into a slot with one UUID lookup and then read or write
+ * state (alive flag, role, cooldown, points, kills) by index, without
+ * boxing or scanning lists.
+ *
+ * Slots are keyed by UUID, so a player who reconnects maps to the same slot;
+ * {@link #player(int)} swaps in the fresh {@link Player} object when the
+ * stored one has gone offline.
+ *
+ * Main-thread only.
+ */
+public final class ParticipantTable {
+
+    /** Returned by {@link #slotOf} for non-participants. */
+    public static final int NO_SLOT = -1;
+
+    private final Map<UUID, Integer> slotByUuid;
+    private final UUID[] uuids;
+    private final Player[] players;
+    private final boolean[] alive;
+    private final boolean[] left;
+    private final int[] role;
+    private final long[] cooldown;
+    private final int[] points;
+    private final int[] kills;
+
+    private int size;
+    private int aliveCount;
+
+    public ParticipantTable(int capacity) {
+        this.slotByUuid = new HashMap<>(Math.max(4, capacity * 2));
+        this.uuids = new UUID[capacity];
+        this.players = new Player[capacity];
+        this.alive = new boolean[capacity];
+        this.left = new boolean[capacity];
+        this.role = new int[capacity];
+        this.cooldown = new long[capacity];
+        this.points = new int[capacity];
+        this.kills = new int[capacity];
+    }
+
+    /**
+     * Register a participant in the next free slot, marked alive.
+     *
+     * @return the slot, or the existing slot if the player is already registered
+     * @throws IllegalStateException if the table is full
+     */
+    public int add(Player player) {
+        UUID id = player.getUniqueId();
+        Integer existing = slotByUuid.get(id);
+        if (existing != null) return existing;
+        if (size == uuids.length) {
+            throw new IllegalStateException("Participant table is full (" + size + ")");
+        }
+        int slot = size++;
+        uuids[slot] = id;
+        players[slot] = player;
+        alive[slot] = true;
+        aliveCount++;
+        slotByUuid.put(id, slot);
+        return slot;
+    }
+
+    // ---------- LOOKUP ----------
+
+    /** @return the player's slot or {@link #NO_SLOT}; refreshes a stale Player reference */
+    public int slotOf(Player player) {
+        Integer slot = slotByUuid.get(player.getUniqueId());
+        if (slot == null) return NO_SLOT;
+        int s = slot;
+        if (players[s] != player) {
+            players[s] = player;
+        }
+        return s;
+    }
+
+    /** @return the slot for {@code id} or {@link #NO_SLOT} */
+    public int slotOf(UUID id) {
+        Integer slot = slotByUuid.get(id);
+        return slot == null ? NO_SLOT : slot;
+    }
+
+    /**
+     * @return the current Player object for a slot; if the stored one is
+     *         offline and the same UUID is online again, the fresh object
+     */
+    public Player player(int slot) {
+        Player p = players[slot];
+        if (!p.isOnline()) {
+            Player fresh = Bukkit.getPlayer(uuids[slot]);
+            if (fresh != null) {
+                players[slot] = fresh;
+                return fresh;
+            }
+        }
+        return p;
+    }
+
+    public UUID uuid(int slot) { return uuids[slot]; }
+    public int size()          { return size; }
+
+    // ---------- ALIVE / SPECTATOR ----------
+
+    public boolean isAlive(int slot) {
+        return slot >= 0 && alive[slot];
+    }
+
+    /** @return true if the player is a participant and still alive */
+    public boolean isAlive(Player player) {
+        return isAlive(slotOf(player));
+    }
+
+    /** @return true if the slot was eliminated but is still in the game (spectating) */
+    public boolean isSpectator(int slot) {
+        return slot >= 0 && !alive[slot] && !left[slot];
+    }
+
+    public boolean isSpectator(Player player) {
+        return isSpectator(slotOf(player));
+    }
+
+    /** @return true if the slot had left the game */
+    public boolean hasLeft(int slot) {
+        return left[slot];
+    }
+
+    /**
+     * Mark a slot eliminated.
+     *
+     * @return true if it was alive (so callers run elimination side effects once)
+     */
+    public boolean markDead(int slot) {
+        if (slot < 0 || !alive[slot]) return false;
+        alive[slot] = false;
+        aliveCount--;
+        return true;
+    }
+
+    /** Mark a slot as having left the game; it is neither alive nor spectating afterwards. */
+    public void markLeft(int slot) {
+        markDead(slot);
+        left[slot] = true;
+    }
+
+    public int aliveCount() { return aliveCount; }
+
+    /** @return the lowest alive slot, or {@link #NO_SLOT} if none are alive */
+    public int firstAlive() {
+        for (int i = 0; i < size; i++) {
+            if (alive[i]) return i;
+        }
+        return NO_SLOT;
+    }
+
+    // ---------- PER-SLOT STATE ----------
+
+    /** @return game-defined role ordinal (0 until assigned) */
+    public int role(int slot)                 { return role[slot]; }
+    public void setRole(int slot, int ordinal) { role[slot] = ordinal; }
+
+    /** @return game-defined cooldown timestamp (0 until set) */
+    public long cooldown(int slot)                  { return cooldown[slot]; }
+    public void setCooldown(int slot, long timestamp) { cooldown[slot] = timestamp; }
+
+    public int points(int slot) { return points[slot]; }
+
+    /** @return the new point total */
+    public int addPoints(int slot, int delta) {
+        return points[slot] += delta;
+    }
+
+    public int kills(int slot) { return kills[slot]; }
+
+    /** @return the new kill total */
+    public int addKill(int slot) {
+        return ++kills[slot];
+    }
+}
@@ -2,11 +2,19 @@ package com.auroraschaos.minigames.game;
 
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
+import com.auroraschaos.minigames.config.ConfigManager;
+import com.auroraschaos.minigames.config.SkyWarsArenaSpec;
+import com.auroraschaos.minigames.config.SkyWarsConfig;
+import com.auroraschaos.minigames.config.SkyWarsConfig.EventDef;
 import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.game.skywars.LootTable;
+import com.auroraschaos.minigames.game.skywars.SkyWarsLoot;
+import com.auroraschaos.minigames.util.MaterialSet;
+import com.auroraschaos.minigames.util.SpectatorUtil;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
@@ -19,8 +27,6 @@ import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
 import org.bukkit.block.Chest;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
@@ -29,29 +35,26 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityRegainHealthEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.BoundingBox;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 import java.util.Random;
 import java.util.logging.Level;
 
 /**
  * SkyWarsGame: a full implementation of a SkyWars minigame.
  *
- * - Loads global and per-arena YAML configs (schematic, spawns, loot_table, events, timings).
+ * - Uses the pre-parsed {@link SkyWarsArenaSpec} and global {@link SkyWarsConfig}; no file I/O at start.
  * - Pastes a schematic via WorldEdit, detects all chest locations.
- * - Fills each chest with weighted-random loot.
+ * - Fills each chest from precompiled (alias-method) island/mid loot tiers.
  * - Assigns players to spawn locations and teleports them.
  * - Schedules random events (double damage, no healing, etc.) according to weights.
  * - Computes an initial shrink radius, then shrinks the arena ring by ring.
@@ -67,20 +70,19 @@ public class SkyWarsGame extends GameInstance implements Listener {
     private final Arena arena;
     private final GameMode gameMode;
 
-    // Per-arena settings (loaded from SkyWars/ArenaX.yml or Defaults.yml)
-    private String schematicFile;
+    // Immutable settings handed over by GameManager (parsed once by ConfigManager)
+    private final SkyWarsConfig settings;
+    private final SkyWarsArenaSpec spec;
+
+    // Per-match views of the spec, bound to this arena's world
     private Location shrinkCenter;
-    private List<Location> spawnLocations;
+    private int shrinkCenterX, shrinkCenterZ;
+    private List<Location> spawnLocations = Collections.emptyList();
     private List<Location> chestLocations;
-    private List<Map.Entry<ItemStack, Integer>> lootTable;
+    private SkyWarsLoot loot;
 
-    // Global SkyWars settings (loaded from SkyWars.yml)
-    private int eventInterval;
-    private int eventWarningTime;
-    private int shrinkStart;
-    private int shrinkInterval;
-    private int shrinkSpeed;
-    private Map<String, EventDef> globalEvents;
+    /** Region the island schematic was pasted into; spectators stay inside it */
+    private BoundingBox pastedBounds;
 
     // Computed at runtime
     private int shrinkRadius = -1;
@@ -89,10 +91,10 @@ public class SkyWarsGame extends GameInstance implements Listener {
     private boolean doubleDamageActive = false;
     private boolean noHealingActive = false;
 
-    // ---------- RUNTIME STATE ----------
+    /** Block types that may hold loot; checked before the (costly) getState() */
+    private static final MaterialSet CHESTS = MaterialSet.of(Material.CHEST, Material.TRAPPED_CHEST);
 
-    private final List<Player> alivePlayers = new ArrayList<>();
-    private final List<Player> spectators = new ArrayList<>();
+    // ---------- RUNTIME STATE ----------
 
     private BukkitTask eventTask;
     private BukkitTask shrinkTask;
@@ -101,11 +103,30 @@ public class SkyWarsGame extends GameInstance implements Listener {
 
     // ---------- CONSTRUCTOR ----------
 
+    /**
+     * Create a game using the SkyWars settings currently held by the plugin's ConfigManager.
+     */
     public SkyWarsGame(MinigamesPlugin plugin, Arena arena, String type, GameMode gameMode, List<Player> participants) {
+        this(plugin, arena, type, gameMode, participants, settingsOf(plugin), null);
+    }
+
+    /**
+     * @param settings global SkyWars settings (may be null only in tests)
+     * @param spec     arena spec; when null it is looked up in {@code settings} by arena name
+     */
+    public SkyWarsGame(MinigamesPlugin plugin, Arena arena, String type, GameMode gameMode,
+                       List<Player> participants, SkyWarsConfig settings, SkyWarsArenaSpec spec) {
         super(plugin, arena, type, gameMode, participants);
         this.plugin = plugin;
         this.arena = arena;
         this.gameMode = gameMode;
+        this.settings = settings;
+        this.spec = spec != null || settings == null ? spec : settings.getArenaSpec(arena.getName());
+    }
+
+    private static SkyWarsConfig settingsOf(MinigamesPlugin plugin) {
+        ConfigManager cm = plugin.getConfigManager();
+        return cm != null ? cm.getSkyWarsConfig() : null;
     }
 
     // ---------- GAME LIFECYCLE METHODS ----------
@@ -115,8 +136,13 @@ public class SkyWarsGame extends GameInstance implements Listener {
         // 1) Register event listeners
         Bukkit.getPluginManager().registerEvents(this, plugin);
 
-        // 2) Load configuration (global + per-arena)
-        loadArenaConfig();
+        // 2) Bind the pre-parsed arena spec to this world
+        if (settings == null || spec == null) {
+            plugin.getLogger().severe("No SkyWars configuration available for arena " + arena.getName());
+            plugin.getGameManager().endGame(getId());
+            return;
+        }
+        bindArenaSpec();
 
         // 3) Paste schematic & detect chest locations
         pasteSchematicAndDetectChests();
@@ -136,9 +162,8 @@ public class SkyWarsGame extends GameInstance implements Listener {
         // 8) Start event scheduling and arena shrinking
         startEventSchedule();
         startShrinkSchedule();
-        plugin.logVerbose(String.format(
-                "[SkyWarsGame] Started with %d players on %s",
-                participants.size(), arena.getName()));
+        plugin.getEventLog().event("game.start", "type", type, "id", getId(),
+                "players", participants.size(), "arena", arena.getName());
     }
 
     @Override
@@ -151,9 +176,10 @@ public class SkyWarsGame extends GameInstance implements Listener {
         if (shrinkTask != null) shrinkTask.cancel();
 
         // Return spectators to lobby spawn in first world
-        for (Player spec : spectators) {
-            spec.teleport(plugin.getServer().getWorlds().get(0).getSpawnLocation());
-            spec.setGameMode(org.bukkit.GameMode.SURVIVAL);
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (!roster.isSpectator(slot)) continue;
+            SpectatorUtil.returnToLobby(roster.player(slot),
+                    plugin.getServer().getWorlds().get(0).getSpawnLocation());
         }
         plugin.logVerbose("[SkyWarsGame] Ended on arena " + arena.getName());
     }
@@ -168,111 +194,23 @@ public class SkyWarsGame extends GameInstance implements Listener {
         // Not used
     }
 
-    // ---------- CONFIG LOADING ----------
+    // ---------- CONFIG BINDING ----------
 
     /**
-     * Load global SkyWars.yml and per-arena YAML (falling back to Defaults.yml).
+     * Resolve the immutable spec into world-bound locations for this match.
+     * Only object allocation happens here; the YAML was parsed at load time.
      */
-    private void loadArenaConfig() {
-        // 1) Load global SkyWars.yml
-        File globalFile = new File(plugin.getDataFolder(), "SkyWars.yml");
-        FileConfiguration globalCfg = YamlConfiguration.loadConfiguration(globalFile);
-
-        // 2) Load arena-specific YAML; fallback to Defaults.yml if not found
-        String arenaFileName = arena.getName() + ".yml"; // e.g. "Arena1.yml"
-        File arenaFile = new File(plugin.getDataFolder(), "SkyWars/" + arenaFileName);
-        FileConfiguration arenaCfg;
-        if (!arenaFile.exists()) {
-            File defaults = new File(plugin.getDataFolder(), "SkyWars/Defaults.yml");
-            arenaCfg = YamlConfiguration.loadConfiguration(defaults);
-        } else {
-            arenaCfg = YamlConfiguration.loadConfiguration(arenaFile);
-        }
-
-        // 3) Read schematic file name
-        String schematicName = arenaCfg.getString("schematic", "");
-        if (schematicName.isEmpty()) {
+    private void bindArenaSpec() {
+        this.shrinkCenter = spec.center(arena.getWorld());
+        this.shrinkCenterX = shrinkCenter.getBlockX();
+        this.shrinkCenterZ = shrinkCenter.getBlockZ();
+        this.spawnLocations = spec.spawnLocations(arena.getWorld());
+        this.loot = spec.getLoot();
+        if (!spec.hasSchematic()) {
             plugin.getLogger().warning("No schematic defined for arena " + arena.getName());
         }
-        this.schematicFile = schematicName;
-
-        // 4) Read shrink center location
-        double cx = arenaCfg.getDouble("center.x", 0.0);
-        double cy = arenaCfg.getDouble("center.y", 64.0);
-        double cz = arenaCfg.getDouble("center.z", 0.0);
-        this.shrinkCenter = new Location(arena.getWorld(), cx, cy, cz);
-
-        // 5) Read spawn locations
-        this.spawnLocations = new ArrayList<>();
-        if (arenaCfg.isList("spawns")) {
-            for (Object obj : arenaCfg.getList("spawns")) {
-                if (obj instanceof java.util.Map) {
-                    @SuppressWarnings("unchecked")
-                    java.util.Map<String, Object> m = (java.util.Map<String, Object>) obj;
-                    double x = ((Number) m.get("x")).doubleValue();
-                    double y = ((Number) m.get("y")).doubleValue();
-                    double z = ((Number) m.get("z")).doubleValue();
-                    this.spawnLocations.add(new Location(arena.getWorld(), x, y, z));
-                }
-            }
-        } else {
-            plugin.getLogger().warning("No spawns defined in " + arena.getName() + ".yml");
-        }
-
-        // 6) Build loot table from per-arena config
-        this.lootTable = new ArrayList<>();
-        if (arenaCfg.isList("loot_table")) {
-            for (Object raw : arenaCfg.getList("loot_table")) {
-                if (!(raw instanceof java.util.Map)) continue;
-                @SuppressWarnings("unchecked")
-                java.util.Map<String, Object> entry = (java.util.Map<String, Object>) raw;
-                String typeName = (String) entry.get("type");
-                int weight = ((Number) entry.getOrDefault("weight", 1)).intValue();
-                int amount = ((Number) entry.getOrDefault("amount", 1)).intValue();
-
-                Material mat = Material.getMaterial(typeName.toUpperCase());
-                if (mat == null) {
-                    plugin.getLogger().warning("Invalid material '" + typeName + "' in " + arena.getName());
-                    continue;
-                }
-                ItemStack stack = new ItemStack(mat, amount);
-                this.lootTable.add(new SimpleEntry<>(stack, weight));
-            }
-        }
-
-        // 7) Read global event settings
-        this.eventInterval = globalCfg.getInt("event_interval", 90);
-        this.eventWarningTime = globalCfg.getInt("event_warning_time", 15);
-        this.shrinkStart = globalCfg.getInt("shrink_start", 180);
-        this.shrinkInterval = globalCfg.getInt("shrink_interval", 10);
-        this.shrinkSpeed = globalCfg.getInt("shrink_speed", 1);
-
-        this.globalEvents = new HashMap<>();
-        if (globalCfg.isConfigurationSection("events")) {
-            for (String key : globalCfg.getConfigurationSection("events").getKeys(false)) {
-                String path = "events." + key + ".";
-                int weight = globalCfg.getInt(path + "weight", 1);
-                int duration = globalCfg.getInt(path + "duration", 10);
-                String announce = globalCfg.getString(path + "announce", "");
-                globalEvents.put(key, new EventDef(key, weight, duration, announce));
-            }
-        }
-    }
-
-    /**
-     * Simple holder for event definition (name, weight, duration, announce text).
-     */
-    private static class EventDef {
-        public final String name;
-        public final int weight;
-        public final int duration;
-        public final String announceText;
-
-        public EventDef(String name, int weight, int duration, String announceText) {
-            this.name = name;
-            this.weight = weight;
-            this.duration = duration;
-            this.announceText = announceText;
+        if (spawnLocations.isEmpty()) {
+            plugin.getLogger().warning("No spawns defined for SkyWars arena " + spec.getName());
         }
     }
 
@@ -283,20 +221,15 @@ public class SkyWarsGame extends GameInstance implements Listener {
      * for all Chest blocks and record their locations.
      */
     private void pasteSchematicAndDetectChests() {
+        if (!spec.hasSchematic()) return;
         try {
-            File schematic = new File(plugin.getDataFolder(), "SkyWars/schematics/" + schematicFile);
-            if (!schematic.exists()) {
-                plugin.getLogger().warning("Schematic " + schematicFile + " not found for arena " + arena.getName());
-                return;
-            }
-
-            // Load schematic into a WorldEdit Clipboard
+            // Clipboard was decoded at load time; this is normally a map lookup
+            File schematic = new File(plugin.getDataFolder(), "SkyWars/schematics/" + spec.getSchematic());
             Clipboard clipboard;
-            try (FileInputStream fis = new FileInputStream(schematic)) {
-                ClipboardReader reader = com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats.findByFile(schematic).getReader(fis);
-                clipboard = reader.read();
+            try {
+                clipboard = plugin.getSchematicCache().get(schematic);
             } catch (IOException e) {
-                plugin.getLogger().severe("Failed to read schematic “" + schematicFile + "”: " + e.getMessage());
+                plugin.getLogger().severe("Failed to read schematic “" + spec.getSchematic() + "”: " + e.getMessage());
                 return;
             }
 
@@ -315,27 +248,25 @@ public class SkyWarsGame extends GameInstance implements Listener {
                 Operations.complete(operation);
             }
 
-            // Determine pasted region bounds
-            int w = clipboard.getDimensions().getX();
-            int h = clipboard.getDimensions().getY();
-            int d = clipboard.getDimensions().getZ();
-
-            int minX = shrinkCenter.getBlockX();
-            int minY = shrinkCenter.getBlockY();
-            int minZ = shrinkCenter.getBlockZ();
-            int maxX = minX + w;
-            int maxY = minY + h;
-            int maxZ = minZ + d;
+            // Determine pasted region bounds: the clipboard's origin lands on
+            // shrinkCenter, so its region is offset from there
+            BlockVector3 offset = clipboard.getRegion().getMinimumPoint().subtract(clipboard.getOrigin());
+            int minX = shrinkCenter.getBlockX() + offset.getX();
+            int minY = shrinkCenter.getBlockY() + offset.getY();
+            int minZ = shrinkCenter.getBlockZ() + offset.getZ();
+            int maxX = minX + clipboard.getDimensions().getX();
+            int maxY = minY + clipboard.getDimensions().getY();
+            int maxZ = minZ + clipboard.getDimensions().getZ();
+            this.pastedBounds = new BoundingBox(minX, minY, minZ, maxX, maxY, maxZ);
 
             // Scan for chest blocks
             this.chestLocations = new ArrayList<>();
-            for (int x = minX; x <= maxX; x++) {
-                for (int y = minY; y <= maxY; y++) {
-                    for (int z = minZ; z <= maxZ; z++) {
-                        Location loc = new Location(arena.getWorld(), x, y, z);
-                        Block b = loc.getBlock();
-                        if (b.getState() instanceof Chest) {
-                            chestLocations.add(loc);
+            for (int x = minX; x < maxX; x++) {
+                for (int y = minY; y < maxY; y++) {
+                    for (int z = minZ; z < maxZ; z++) {
+                        Block b = arena.getWorld().getBlockAt(x, y, z);
+                        if (CHESTS.contains(b.getType()) && b.getState() instanceof Chest) {
+                            chestLocations.add(b.getLocation());
                         }
                     }
                 }
@@ -380,46 +311,22 @@ public class SkyWarsGame extends GameInstance implements Listener {
 
     // ---------- LOOT SELECTION & CHEST FILLING ----------
 
-    /**
-     * Select one random ItemStack from lootTable based on weights.
-     * Returns a list containing exactly one item; adjust if you want multiple items per chest.
-     */
-    private List<ItemStack> selectLootForChest() {
-        List<ItemStack> chosen = new ArrayList<>();
-        if (lootTable.isEmpty()) return chosen;
-
-        int totalWeight = 0;
-        for (Map.Entry<ItemStack, Integer> entry : lootTable) {
-            totalWeight += entry.getValue();
-        }
-
-        int r = lootRng.nextInt(totalWeight);
-        int cumulative = 0;
-        for (Map.Entry<ItemStack, Integer> entry : lootTable) {
-            cumulative += entry.getValue();
-            if (r < cumulative) {
-                chosen.add(entry.getKey().clone());
-                break;
-            }
-        }
-
-        return chosen;
-    }
-
     /**
      * Iterate through all detected chestLocations, clear each chest inventory,
-     * and fill it with selected loot.
+     * and fill it from the island or mid tier depending on its distance to the center.
+     * Each draw is O(1) thanks to the precompiled alias tables.
      */
     private void fillAllChests() {
+        if (chestLocations == null || loot == null) return;
+        double cx = shrinkCenter.getX();
+        double cz = shrinkCenter.getZ();
         for (Location loc : chestLocations) {
             Block b = loc.getBlock();
             if (b.getState() instanceof Chest) {
                 Inventory inv = ((Chest) b.getState()).getBlockInventory();
                 inv.clear();
-                List<ItemStack> loot = selectLootForChest();
-                for (ItemStack item : loot) {
-                    inv.addItem(item);
-                }
+                LootTable<ItemStack> table = loot.tableFor(loc.getX() - cx, loc.getZ() - cz);
+                table.roll(lootRng, item -> inv.addItem(item.clone()));
             }
         }
     }
@@ -428,13 +335,12 @@ public class SkyWarsGame extends GameInstance implements Listener {
 
     /**
      * Assign each participant to a spawn location (cycled if participants > spawns),
-     * add to alivePlayers, and teleport them.
+     * and teleport them.
      */
     private void assignSpawnsAndTeleportPlayers() {
+        if (spawnLocations.isEmpty()) return;
         for (int i = 0; i < participants.size(); i++) {
             Player p = participants.get(i);
-            alivePlayers.add(p);
-
             Location spawn = spawnLocations.get(i % spawnLocations.size());
             p.teleport(spawn);
             p.getInventory().clear();
@@ -445,47 +351,36 @@ public class SkyWarsGame extends GameInstance implements Listener {
     // ---------- RANDOM EVENT SCHEDULING ----------
 
     /**
-     * Kick off a repeating task that, every eventInterval seconds, picks a weighted random event.
+     * Kick off a repeating task that, every event_interval seconds, picks a weighted random event.
      */
     private void startEventSchedule() {
-        if (globalEvents.isEmpty()) return;
+        if (settings.getEvents().isEmpty()) return;
+        long interval = 20L * settings.getEventInterval();
 
+        TickProfiler.Section section = profileSection("events");
         eventTask = new BukkitRunnable() {
             @Override
             public void run() {
-                scheduleNextEvent();
+                section.begin();
+                try {
+                    scheduleNextEvent();
+                } finally {
+                    section.end();
+                }
             }
-        }.runTaskTimer(plugin, 20L * eventInterval, 20L * eventInterval);
+        }.runTaskTimer(plugin, interval, interval);
     }
 
     /**
-     * Pick a random event from globalEvents by weight, announce warning, then activate after eventWarningTime.
+     * Draw a random event by weight (O(1) via the compiled table), announce a
+     * warning, then activate it after event_warning_time seconds.
      */
     private void scheduleNextEvent() {
-        if (globalEvents.isEmpty()) return;
-
-        int totalWeight = 0;
-        for (EventDef def : globalEvents.values()) {
-            totalWeight += def.weight;
-        }
-
-        int r = lootRng.nextInt(totalWeight);
-        int cumulative = 0;
-        EventDef chosenLocal = null;
-        for (EventDef def : globalEvents.values()) {
-            cumulative += def.weight;
-            if (r < cumulative) {
-                chosenLocal = def;
-                break;
-            }
-        }
-        if (chosenLocal == null) return;
-
-        // Store in a final local for use in the inner class
-        final EventDef eventToActivate = chosenLocal;
+        final EventDef eventToActivate = settings.getEvents().sample(lootRng);
+        if (eventToActivate == null) return;
 
         // Announce warning
-        broadcastMessage(eventToActivate.announceText);
+        broadcastMessage(eventToActivate.getAnnounceText());
 
         // Activate event after warning time
         new BukkitRunnable() {
@@ -493,22 +388,22 @@ public class SkyWarsGame extends GameInstance implements Listener {
             public void run() {
                 activateEvent(eventToActivate);
             }
-        }.runTaskLater(plugin, 20L * eventWarningTime);
+        }.runTaskLater(plugin, 20L * settings.getEventWarningTime());
     }
 
     /**
      * Route to the appropriate activation logic based on event name.
      */
     private void activateEvent(EventDef def) {
-        switch (def.name.toLowerCase()) {
+        switch (def.getName().toLowerCase()) {
             case "double_damage":
-                activateDoubleDamage(def.duration);
+                activateDoubleDamage(def.getDuration());
                 break;
             case "no_healing":
-                activateNoHealing(def.duration);
+                activateNoHealing(def.getDuration());
                 break;
             default:
-                plugin.getLogger().warning("Unknown event: " + def.name);
+                plugin.getLogger().warning("Unknown event: " + def.getName());
         }
     }
 
@@ -539,15 +434,21 @@ public class SkyWarsGame extends GameInstance implements Listener {
     // ---------- ARENA SHRINKING ----------
 
     /**
-     * Schedule the shrinkArena() method to run after shrinkStart seconds, then every shrinkInterval seconds.
+     * Schedule the shrinkArena() method to run after shrink_start seconds, then every shrink_interval seconds.
      */
     private void startShrinkSchedule() {
+        TickProfiler.Section section = profileSection("shrink");
         shrinkTask = new BukkitRunnable() {
             @Override
             public void run() {
-                shrinkArena();
+                section.begin();
+                try {
+                    shrinkArena();
+                } finally {
+                    section.end();
+                }
             }
-        }.runTaskTimer(plugin, 20L * shrinkStart, 20L * shrinkInterval);
+        }.runTaskTimer(plugin, 20L * settings.getShrinkStart(), 20L * settings.getShrinkInterval());
     }
 
     /**
@@ -568,16 +469,15 @@ public class SkyWarsGame extends GameInstance implements Listener {
 
         int minY = cy - 5;
         int maxY = cy + 50;
+        org.bukkit.World world = arena.getWorld();
+        MaterialSet keep = settings.getShrinkProtectedBlocks();
 
         // Remove blocks on the ring at distance r
         // Top and bottom edges of the square
         for (int x = cx - r; x <= cx + r; x++) {
             for (int z : new int[]{cz - r, cz + r}) {
                 for (int y = minY; y <= maxY; y++) {
-                    Location loc = new Location(arena.getWorld(), x, y, z);
-                    if (loc.getBlock().getType() != Material.AIR) {
-                        loc.getBlock().setType(Material.AIR);
-                    }
+                    removeShrinkBlock(world, x, y, z, keep);
                 }
             }
         }
@@ -585,41 +485,46 @@ public class SkyWarsGame extends GameInstance implements Listener {
         for (int z = cz - r + 1; z <= cz + r - 1; z++) {
             for (int x : new int[]{cx - r, cx + r}) {
                 for (int y = minY; y <= maxY; y++) {
-                    Location loc = new Location(arena.getWorld(), x, y, z);
-                    if (loc.getBlock().getType() != Material.AIR) {
-                        loc.getBlock().setType(Material.AIR);
-                    }
+                    removeShrinkBlock(world, x, y, z, keep);
                 }
             }
         }
 
         broadcastMessage("§cArena is shrinking! New radius: " + (r - 1));
 
-        shrinkRadius -= shrinkSpeed;
+        shrinkRadius -= settings.getShrinkSpeed();
         if (shrinkRadius <= 0 && shrinkTask != null) {
             shrinkTask.cancel();
         }
     }
 
+    /** Clear one ring block unless its type is protected (air counts as protected). */
+    private static void removeShrinkBlock(org.bukkit.World world, int x, int y, int z, MaterialSet keep) {
+        Block b = world.getBlockAt(x, y, z);
+        if (!keep.contains(b.getType())) {
+            b.setType(Material.AIR, false);
+        }
+    }
+
     // ---------- EVENT HANDLERS ----------
 
     @EventHandler
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player deceased = event.getEntity();
-        if (!alivePlayers.contains(deceased)) return;
+        int slot = roster.slotOf(deceased);
+        if (!roster.markDead(slot)) return;
 
         event.getDrops().clear();
         event.setDroppedExp(0);
 
-        alivePlayers.remove(deceased);
-        spectators.add(deceased);
-
-        Location specLoc = new Location(arena.getWorld(), shrinkCenter.getX(), shrinkCenter.getY() + 30, shrinkCenter.getZ());
-        deceased.teleport(specLoc);
-        deceased.setGameMode(org.bukkit.GameMode.SPECTATOR);
+        toSpectator(deceased);
 
         Player killer = deceased.getKiller();
         if (killer != null) {
+            int killerSlot = roster.slotOf(killer);
+            if (killerSlot != ParticipantTable.NO_SLOT) {
+                roster.addKill(killerSlot);
+            }
             broadcastMessage("§c" + deceased.getName() + " was slain by " + killer.getName() + "!");
         } else {
             broadcastMessage("§c" + deceased.getName() + " died!");
@@ -628,28 +533,17 @@ public class SkyWarsGame extends GameInstance implements Listener {
         checkWinCondition();
     }
 
-    @EventHandler
-    public void onPlayerMove(PlayerMoveEvent event) {
-        Player p = event.getPlayer();
-
-        // Spectators stay in spectator mode
-        if (spectators.contains(p)) {
-            if (p.getGameMode() != org.bukkit.GameMode.SPECTATOR) {
-                p.setGameMode(org.bukkit.GameMode.SPECTATOR);
-            }
-            return;
-        }
-
-        // Alive players: check out-of-bounds (outside shrinkRadius)
-        if (alivePlayers.contains(p) && shrinkRadius > 0) {
-            double dx = p.getLocation().getX() - shrinkCenter.getX();
-            double dz = p.getLocation().getZ() - shrinkCenter.getZ();
-            int dist = (int) Math.max(Math.abs(dx), Math.abs(dz));
-            if (dist > shrinkRadius) {
-                alivePlayers.remove(p);
-                spectators.add(p);
-                p.teleport(new Location(arena.getWorld(), shrinkCenter.getX(), shrinkCenter.getY() + 30, shrinkCenter.getZ()));
-                p.setGameMode(org.bukkit.GameMode.SPECTATOR);
+    @Override
+    protected void onBlockMove(Player p, BlockMove move) {
+        if (shrinkRadius <= 0) return;
+
+        // Alive players: check out-of-bounds (outside shrinkRadius), in whole blocks
+        int dist = Math.max(Math.abs(move.toX() - shrinkCenterX), Math.abs(move.toZ() - shrinkCenterZ));
+        if (dist > shrinkRadius) {
+            int slot = roster.slotOf(p);
+            if (roster.isAlive(slot)) {
+                roster.markDead(slot);
+                toSpectator(p);
                 broadcastMessage("§c" + p.getName() + " was outside the boundary and eliminated!");
 
                 checkWinCondition();
@@ -662,7 +556,7 @@ public class SkyWarsGame extends GameInstance implements Listener {
         if (!(event.getDamager() instanceof Player) || !(event.getEntity() instanceof Player)) return;
         Player damager = (Player) event.getDamager();
         Player victim = (Player) event.getEntity();
-        if (!alivePlayers.contains(damager) || !alivePlayers.contains(victim)) return;
+        if (!roster.isAlive(damager) || !roster.isAlive(victim)) return;
 
         if (doubleDamageActive) {
             event.setDamage(event.getDamage() * 2);
@@ -672,9 +566,8 @@ public class SkyWarsGame extends GameInstance implements Listener {
     @EventHandler
     public void onEntityRegainHealth(EntityRegainHealthEvent event) {
         if (!(event.getEntity() instanceof Player)) return;
-        Player p = (Player) event.getEntity();
-        if (!alivePlayers.contains(p)) return;
-        if (noHealingActive) {
+        if (!noHealingActive) return;
+        if (roster.isAlive((Player) event.getEntity())) {
             event.setCancelled(true);
         }
     }
@@ -682,14 +575,11 @@ public class SkyWarsGame extends GameInstance implements Listener {
     @EventHandler
     public void onPlayerFall(EntityDamageEvent event) {
         if (!(event.getEntity() instanceof Player)) return;
+        if (event.getCause() != EntityDamageEvent.DamageCause.VOID) return;
         Player p = (Player) event.getEntity();
-        if (!alivePlayers.contains(p)) return;
 
-        if (event.getCause() == EntityDamageEvent.DamageCause.VOID) {
-            alivePlayers.remove(p);
-            spectators.add(p);
-            p.teleport(new Location(arena.getWorld(), shrinkCenter.getX(), shrinkCenter.getY() + 30, shrinkCenter.getZ()));
-            p.setGameMode(org.bukkit.GameMode.SPECTATOR);
+        if (roster.markDead(roster.slotOf(p))) {
+            toSpectator(p);
             broadcastMessage("§c" + p.getName() + " fell into the void and was eliminated!");
             event.setCancelled(true);
 
@@ -697,20 +587,31 @@ public class SkyWarsGame extends GameInstance implements Listener {
         }
     }
 
+    /**
+     * Move an eliminated player above the arena center in spectator mode,
+     * kept inside the pasted island rather than the arena's own schematic.
+     */
+    private void toSpectator(Player p) {
+        BoundingBox bounds = pastedBounds != null ? pastedBounds : arena.getBounds();
+        plugin.getSpectators().add(p, arena, roster,
+                new Location(arena.getWorld(), shrinkCenter.getX(), shrinkCenter.getY() + 30, shrinkCenter.getZ()),
+                bounds);
+    }
+
     // ---------- WIN CONDITION ----------
 
     /**
      * Checks if only one (or zero) players remain, announces winner or no-winner, and ends game.
      */
     private void checkWinCondition() {
-        if (alivePlayers.size() == 1) {
-            Player winner = alivePlayers.get(0);
+        if (roster.aliveCount() == 1) {
+            Player winner = roster.player(roster.firstAlive());
             broadcastMessage("§a" + winner.getName() + " is the last player standing! Congratulations!");
             winner.playSound(winner.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.0f);
-            onGameEnd();
-        } else if (alivePlayers.isEmpty()) {
+            plugin.getGameManager().endGame(getId());
+        } else if (roster.aliveCount() == 0) {
             broadcastMessage("§eAll players have been eliminated. No winners this round.");
-            onGameEnd();
+            plugin.getGameManager().endGame(getId());
         }
     }
 }
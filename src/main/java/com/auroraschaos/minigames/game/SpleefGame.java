@@ -4,9 +4,11 @@ import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 import com.auroraschaos.minigames.util.CountdownTimer;
+import com.auroraschaos.minigames.util.MaterialSet;
 import com.auroraschaos.minigames.util.SpectatorUtil;
 
 import com.auroraschaos.minigames.config.SpleefConfig;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 
 import com.sk89q.worldedit.math.BlockVector3;
 import org.bukkit.Bukkit;
@@ -22,17 +24,13 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.block.Action;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Basic Spleef implementation following the style of {@link TNTRunGame}.
@@ -52,13 +50,13 @@ public class SpleefGame extends GameInstance implements Listener {
     private final int snowballCooldown;
 
     /** Block types snowballs can break. */
-    private final List<Material> breakableBlocks = new ArrayList<>();
+    private final MaterialSet breakableBlocks;
 
-    /** Last time a player threw a snowball (ms) */
-    private final Map<Player, Long> lastThrow = new HashMap<>();
+    /** Block types players can mine; any other break is cancelled. */
+    private final MaterialSet shovelBreakableBlocks;
 
-    private final List<Player> alivePlayers = new ArrayList<>();
-    private final List<Player> spectators   = new ArrayList<>();
+    /** Players whose feet reach a block below this are out. */
+    private final int eliminationY;
 
     private final ScoreboardManager scoreboardManager;
     private final CountdownTimer countdownTimer;
@@ -80,7 +78,9 @@ public class SpleefGame extends GameInstance implements Listener {
         this.spawnYOffset = cfg.getSpawnYOffset();
         this.gameDuration = cfg.getGameDuration();
         this.snowballCooldown = cfg.getSnowballCooldown();
-        this.breakableBlocks.addAll(cfg.getBreakableBlocks());
+        this.breakableBlocks = cfg.getBreakableBlocks();
+        this.shovelBreakableBlocks = cfg.getShovelBreakableBlocks();
+        this.eliminationY = arena.getOrigin().getY() - 1;
     }
 
     @Override
@@ -102,7 +102,6 @@ public class SpleefGame extends GameInstance implements Listener {
                 "Players Left: " + participants.size(), 3);
 
         for (Player p : participants) {
-            alivePlayers.add(p);
             p.teleport(spawn);
             p.getInventory().clear();
             p.getInventory().addItem(new ItemStack(Material.DIAMOND_SHOVEL));
@@ -112,23 +111,34 @@ public class SpleefGame extends GameInstance implements Listener {
 
         countdownTimer.startCountdown(getId(), gameDuration);
 
+        TickProfiler.Section section = profileSection("check");
+        String playersLine = "players_" + getId();
         checkTask = new BukkitRunnable() {
+            private int shownAlive = participants.size();
+
             @Override
             public void run() {
-                // Update scoreboard
-                scoreboardManager.setScoreLine(getId(), "players_" + getId(),
-                        "Players Left: " + alivePlayers.size(), 3);
-
-                if (alivePlayers.size() <= 1) {
-                    announceWinner();
-                    plugin.getGameManager().endGame(getId());
-                    cancel();
+                section.begin();
+                try {
+                    // Update scoreboard
+                    if (roster.aliveCount() != shownAlive) {
+                        shownAlive = roster.aliveCount();
+                        scoreboardManager.setScoreLine(getId(), playersLine,
+                                "Players Left: " + shownAlive, 3);
+                    }
+
+                    if (roster.aliveCount() <= 1) {
+                        announceWinner();
+                        plugin.getGameManager().endGame(getId());
+                        cancel();
+                    }
+                } finally {
+                    section.end();
                 }
             }
         }.runTaskTimer(plugin, 20L, 20L);
-        plugin.logVerbose(String.format(
-                "[SpleefGame] Started with %d players on %s",
-                participants.size(), arena.getName()));
+        plugin.getEventLog().event("game.start", "type", type, "id", getId(),
+                "players", participants.size(), "arena", arena.getName());
     }
 
     @Override
@@ -140,13 +150,14 @@ public class SpleefGame extends GameInstance implements Listener {
         for (Player p : participants) {
             scoreboardManager.removeFromPlayer(p);
         }
-        for (Player p : spectators) {
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (!roster.isSpectator(slot)) continue;
+            Player p = roster.player(slot);
             scoreboardManager.removeFromPlayer(p);
             SpectatorUtil.returnToLobby(p,
                     plugin.getServer().getWorlds().get(0).getSpawnLocation());
         }
         scoreboardManager.clearArenaScoreboard(getId());
-        lastThrow.clear();
         plugin.logVerbose("[SpleefGame] Ended on arena " + arena.getName());
     }
 
@@ -161,35 +172,33 @@ public class SpleefGame extends GameInstance implements Listener {
     }
 
     private void announceWinner() {
-        if (alivePlayers.isEmpty()) {
+        int winnerSlot = roster.firstAlive();
+        if (winnerSlot == ParticipantTable.NO_SLOT) {
             broadcastMessage("§eNo winners this round.");
         } else {
-            Player winner = alivePlayers.get(0);
+            Player winner = roster.player(winnerSlot);
             broadcastMessage("§a" + winner.getName() + " wins Spleef!");
             winner.playSound(winner.getLocation(),
                     Sound.UI_TOAST_CHALLENGE_COMPLETE, 1f, 1f);
         }
     }
 
-    private void eliminatePlayer(Player p) {
-        if (!alivePlayers.remove(p)) return;
-        SpectatorUtil.makeSpectator(p, arena);
-        spectators.add(p);
+    private void eliminatePlayer(int slot) {
+        if (!roster.markDead(slot)) return;
+        Player p = roster.player(slot);
+        plugin.getSpectators().add(p, arena, roster);
         scoreboardManager.showToPlayer(getId(), p);
         p.sendMessage("§cYou were eliminated!");
         p.playSound(p.getLocation(), Sound.ENTITY_ELDER_GUARDIAN_CURSE, 1f, 0.5f);
-        plugin.logVerbose("[SpleefGame] Player eliminated: " + p.getName());
+        plugin.getEventLog().event("game.eliminate", "type", type, "id", getId(), "player", p.getName());
     }
 
     // ---------------------- Event Handlers ----------------------
 
     @EventHandler
     public void onBlockBreak(BlockBreakEvent event) {
-        Player p = event.getPlayer();
-        if (!alivePlayers.contains(p)) return;
-        Block b = event.getBlock();
-        Material type = b.getType();
-        if (type != Material.SNOW_BLOCK && type != Material.SNOW) {
+        if (!roster.isAlive(event.getPlayer())) return;
+        if (!shovelBreakableBlocks.contains(event.getBlock().getType())) {
             event.setCancelled(true);
         } else {
             event.setDropItems(false);
@@ -199,13 +208,13 @@ public class SpleefGame extends GameInstance implements Listener {
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
         Player p = event.getPlayer();
-        if (!alivePlayers.contains(p)) return;
+        int slot = roster.slotOf(p);
+        if (!roster.isAlive(slot)) return;
         if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
             if (p.getInventory().getItemInMainHand().getType() == Material.DIAMOND_SHOVEL) {
                 long now = System.currentTimeMillis();
-                long last = lastThrow.getOrDefault(p, 0L);
-                if (now - last >= snowballCooldown * 1000L) {
-                    lastThrow.put(p, now);
+                if (now - roster.cooldown(slot) >= snowballCooldown * 1000L) {
+                    roster.setCooldown(slot, now);
                     p.launchProjectile(Snowball.class);
                     p.playSound(p.getLocation(), Sound.ENTITY_SNOWBALL_THROW, 1f, 1f);
                 }
@@ -218,7 +227,7 @@ public class SpleefGame extends GameInstance implements Listener {
         if (!(event.getEntity() instanceof Snowball)) return;
         if (!(event.getEntity().getShooter() instanceof Player)) return;
         Player shooter = (Player) event.getEntity().getShooter();
-        if (!alivePlayers.contains(shooter)) return;
+        if (!roster.isAlive(shooter)) return;
 
         Block hit = event.getHitBlock();
         if (hit != null && breakableBlocks.contains(hit.getType())) {
@@ -230,18 +239,18 @@ public class SpleefGame extends GameInstance implements Listener {
     public void onVoidDamage(EntityDamageEvent event) {
         if (event.getCause() != EntityDamageEvent.DamageCause.VOID) return;
         if (!(event.getEntity() instanceof Player)) return;
-        Player p = (Player) event.getEntity();
-        if (!alivePlayers.contains(p)) return;
+        int slot = roster.slotOf((Player) event.getEntity());
+        if (!roster.isAlive(slot)) return;
         event.setCancelled(true);
-        eliminatePlayer(p);
+        eliminatePlayer(slot);
     }
 
-    @EventHandler
-    public void onPlayerMove(PlayerMoveEvent event) {
-        Player p = event.getPlayer();
-        if (!alivePlayers.contains(p)) return;
-        if (p.getLocation().getY() < arena.getOrigin().getY() - 1) {
-            eliminatePlayer(p);
+    @Override
+    protected void onBlockMove(Player player, BlockMove move) {
+        if (move.toY() >= eliminationY) return;
+        int slot = roster.slotOf(player);
+        if (roster.isAlive(slot)) {
+            eliminatePlayer(slot);
         }
     }
 }
@@ -2,9 +2,13 @@ package com.auroraschaos.minigames.game;
 
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
+import com.auroraschaos.minigames.config.TNTRunConfig;
 import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.game.tntrun.BlockDecayQueue;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 import com.auroraschaos.minigames.util.CountdownTimer;
+import com.auroraschaos.minigames.util.MaterialSet;
 import com.auroraschaos.minigames.util.SpectatorUtil;
 import com.sk89q.worldedit.math.BlockVector3;
 
@@ -12,6 +16,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -21,37 +26,58 @@ import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 /**
  * A polished TNTRunGame implementation extending GameInstance.
  * - Teleports players to a wool platform.
- * - Removes blocks under each player every second.
+ * - Queues every block under a player's hitbox as they move and removes it
+ *   a few ticks later, draining the queue with a per-tick budget.
  * - Tracks alive players and moves eliminated ones into spectator mode.
  * - Displays a per-arena scoreboard with time remaining and players left.
  * - Ends when one (or zero) players remain or time runs out.
  */
 public class TNTRunGame extends GameInstance implements Listener {
 
-    /** How high above the origin to spawn players */
-    private static final int SPAWN_Y_OFFSET = 10;
+    /** Ticks between sweeps that catch stationary players and run game checks */
+    private static final int SWEEP_INTERVAL_TICKS = 20;
+
+    /** Half the width of a player's hitbox */
+    private static final double HALF_WIDTH = 0.3;
+
+    /** Lowered from the feet so a player standing exactly on a block top resolves to that block */
+    private static final double FEET_EPSILON = 0.01;
 
-    /** Interval (in ticks) between block removal passes (20 ticks = 1 second) */
-    private static final long BLOCK_REMOVE_INTERVAL = 20L;
+    /** How high above the origin to spawn players */
+    private final int spawnYOffset;
 
     /** Total game duration in seconds (e.g., 5 minutes) */
-    private static final int GAME_DURATION = 300;
+    private final int gameDuration;
+
+    /** Maximum blocks removed per tick; the rest wait for the next tick */
+    private final int decayBudgetPerTick;
+
+    /** Blocks that decay when stepped on */
+    private final MaterialSet decayable;
 
-    /** Handles the repeating block-removal and game logic */
+    /** Per-tick task that drains the decay queue and runs the periodic sweep */
     private BukkitTask removalTask;
 
-    /** List of players still “alive” */
-    private final List<Player> alivePlayers = new ArrayList<>();
+    /** Blocks waiting to be removed, in due order */
+    private final BlockDecayQueue decayQueue;
 
-    /** List of players in spectator mode */
-    private final List<Player> spectators = new ArrayList<>();
+    /** Ticks since the game started; the decay queue's clock */
+    private long currentTick;
+
+    /** Reused for location reads during the sweep */
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /** Profiler section of the footprint move handler; set on start */
+    private TickProfiler.Section moveSection;
+
+    /** Last value written to the "Players Left" line */
+    private int shownAlive = -1;
 
     /** Manages scoreboards for this arena */
     private final ScoreboardManager scoreboardManager;
@@ -67,23 +93,30 @@ public class TNTRunGame extends GameInstance implements Listener {
         super(plugin, arena, type, gameMode, participants);
         this.scoreboardManager = plugin.getScoreboardManager();
         this.countdownTimer  = plugin.getCountdownTimer();
+
+        // Load configuration via ConfigManager
+        TNTRunConfig cfg = plugin.getConfigManager().getTNTRunConfig();
+        this.spawnYOffset = cfg.getSpawnYOffset();
+        this.gameDuration = cfg.getGameDuration();
+        this.decayBudgetPerTick = cfg.getDecayBudgetPerTick();
+        this.decayable = cfg.getDecayableBlocks();
+        this.decayQueue = new BlockDecayQueue(cfg.getDecayDelayTicks());
     }
 
     @Override
     protected void onGameStart() {
+        moveSection = profileSection("move");
         // 1) Register event listeners
         Bukkit.getPluginManager().registerEvents(this, plugin);
 
         // 2) Teleport participants and initialize alive list
         for (Player p : participants) {
-            alivePlayers.add(p);
-
             // Replace toLocation(...) with manual Location construction
             BlockVector3 originVec = arena.getOrigin();
             Location spawnLocation = new Location(
                     arena.getWorld(),
                     originVec.getX() + 0.5,
-                    originVec.getY() + SPAWN_Y_OFFSET,
+                    originVec.getY() + spawnYOffset,
                     originVec.getZ() + 0.5
             );
             p.teleport(spawnLocation);
@@ -99,16 +132,15 @@ public class TNTRunGame extends GameInstance implements Listener {
         // 3a) Initialize scoreboard lines
         scoreboardManager.setScoreLine(getId(), "title_" + getId(), "§aTNT Run", 4);
         scoreboardManager.setScoreLine(getId(), "players_" + getId(),
-                "Players Left: " + alivePlayers.size(), 3);
+                "Players Left: " + roster.aliveCount(), 3);
 
         // 4) Start countdown timer (updates scoreboard via CountdownTimer)
-        countdownTimer.startCountdown(getId(), GAME_DURATION);
+        countdownTimer.startCountdown(getId(), gameDuration);
 
         // 5) Schedule block removal & game logic
         setupRemovalTask();
-        plugin.logVerbose(String.format(
-                "[TNTRunGame] Started with %d players on %s",
-                participants.size(), arena.getName()));
+        plugin.getEventLog().event("game.start", "type", type, "id", getId(),
+                "players", participants.size(), "arena", arena.getName());
     }
 
     @Override
@@ -117,6 +149,7 @@ public class TNTRunGame extends GameInstance implements Listener {
         if (removalTask != null && !removalTask.isCancelled()) {
             removalTask.cancel();
         }
+        decayQueue.clear();
         // 2) Unregister event listeners
         EntityDamageEvent.getHandlerList().unregister(this);
         PlayerMoveEvent.getHandlerList().unregister(this);
@@ -126,15 +159,19 @@ public class TNTRunGame extends GameInstance implements Listener {
         for (Player p : participants) {
             scoreboardManager.removeFromPlayer(p);
         }
-        for (Player spec : spectators) {
-            scoreboardManager.removeFromPlayer(spec);
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (roster.isSpectator(slot)) {
+                scoreboardManager.removeFromPlayer(roster.player(slot));
+            }
         }
         scoreboardManager.clearArenaScoreboard(getId());
 
         // 4) Return spectators to lobby
-        for (Player spec : spectators) {
-            SpectatorUtil.returnToLobby(spec,
-                plugin.getServer().getWorlds().get(0).getSpawnLocation());
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (roster.isSpectator(slot)) {
+                SpectatorUtil.returnToLobby(roster.player(slot),
+                    plugin.getServer().getWorlds().get(0).getSpawnLocation());
+            }
         }
         plugin.logVerbose("[TNTRunGame] Ended on arena " + arena.getName());
     }
@@ -147,20 +184,20 @@ public class TNTRunGame extends GameInstance implements Listener {
 
     @Override
     protected void tick() {
-        // Not used; block removal and logic is in removalTask
+        // Not used; block decay and game logic run in removalTask every tick
     }
 
     /**
-     * Eliminates a player from alivePlayers:
+     * Eliminates the player in {@code slot}:
      *  - Converts them to a spectator in-arena
      *  - Shows them the arena scoreboard
      *  - Plays elimination sound & message
      */
-    private void eliminatePlayer(Player p) {
-        if (alivePlayers.remove(p)) {
+    private void eliminatePlayer(int slot) {
+        if (roster.markDead(slot)) {
+            Player p = roster.player(slot);
             // 1) Switch to spectator mode
-            SpectatorUtil.makeSpectator(p, arena);
-            spectators.add(p);
+            plugin.getSpectators().add(p, arena, roster);
 
             // 2) Show scoreboard to spectator
             scoreboardManager.showToPlayer(getId(), p);
@@ -168,7 +205,7 @@ public class TNTRunGame extends GameInstance implements Listener {
             // 3) Notify elimination
             p.sendMessage("§cYou have been eliminated! Now in Spectator mode.");
             p.playSound(p.getLocation(), Sound.ENTITY_ELDER_GUARDIAN_CURSE, 1.0f, 0.5f);
-            plugin.logVerbose("[TNTRunGame] Player eliminated: " + p.getName());
+            plugin.getEventLog().event("game.eliminate", "type", type, "id", getId(), "player", p.getName());
         }
     }
 
@@ -179,89 +216,148 @@ public class TNTRunGame extends GameInstance implements Listener {
     @EventHandler
     public void onPlayerFall(EntityDamageEvent event) {
         if (!(event.getEntity() instanceof Player)) return;
-        Player p = (Player) event.getEntity();
-        if (!alivePlayers.contains(p)) return;
+        int slot = roster.slotOf((Player) event.getEntity());
+        if (!roster.isAlive(slot)) return;
 
         if (event.getCause() == EntityDamageEvent.DamageCause.VOID) {
-            eliminatePlayer(p);
+            eliminatePlayer(slot);
             event.setCancelled(true); // Prevent default death
         }
     }
 
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
-        // Ensure spectators remain in spectator mode and cannot interact
-        Player p = event.getPlayer();
-        if (spectators.contains(p)) {
-            // Optional: keep them at a fixed Y or within region
-            // WorldGuard region should already confine them
-            p.setGameMode(org.bukkit.GameMode.SPECTATOR);
+        // Spectators are kept in the arena by the SpectatorService
+        int slot = roster.slotOf(event.getPlayer());
+        if (!roster.isAlive(slot)) return;
+
+        // Only queue work when the set of blocks under the hitbox changes
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (sameFootprint(from, to)) return;
+        moveSection.begin();
+        try {
+            queueFootprint(to.getX(), to.getY(), to.getZ());
+        } finally {
+            moveSection.end();
+        }
+    }
+
+    // ----------------------------------------
+    // Block decay
+    // ----------------------------------------
+
+    private static boolean sameFootprint(Location a, Location b) {
+        return floor(a.getY() - FEET_EPSILON) == floor(b.getY() - FEET_EPSILON)
+            && floor(a.getX() - HALF_WIDTH) == floor(b.getX() - HALF_WIDTH)
+            && floor(a.getX() + HALF_WIDTH) == floor(b.getX() + HALF_WIDTH)
+            && floor(a.getZ() - HALF_WIDTH) == floor(b.getZ() - HALF_WIDTH)
+            && floor(a.getZ() + HALF_WIDTH) == floor(b.getZ() + HALF_WIDTH);
+    }
+
+    /**
+     * Queue every block column touched by the hitbox (1, 2 or 4 blocks) on
+     * the layer directly below the feet.
+     */
+    private void queueFootprint(double x, double y, double z) {
+        int by = floor(y - FEET_EPSILON) - 1;
+        int minX = floor(x - HALF_WIDTH);
+        int maxX = floor(x + HALF_WIDTH);
+        int minZ = floor(z - HALF_WIDTH);
+        int maxZ = floor(z + HALF_WIDTH);
+        for (int bx = minX; bx <= maxX; bx++) {
+            for (int bz = minZ; bz <= maxZ; bz++) {
+                decayQueue.offer(BlockDecayQueue.pack(bx, by, bz), currentTick);
+            }
         }
     }
 
+    /** Remove a queued block if it is still decayable (no physics updates). */
+    private void decayBlock(long packedPos) {
+        World world = arena.getWorld();
+        Block block = world.getBlockAt(
+                BlockDecayQueue.unpackX(packedPos),
+                BlockDecayQueue.unpackY(packedPos),
+                BlockDecayQueue.unpackZ(packedPos));
+        if (decayable.contains(block.getType())) {
+            block.setType(Material.AIR, false);
+        }
+    }
+
+    private static int floor(double v) {
+        int i = (int) v;
+        return v < i ? i - 1 : i;
+    }
+
     private void setupRemovalTask() {
+        TickProfiler.Section section = profileSection("decay");
+        // Bound once; a method reference in run() would allocate every tick
+        LongConsumer decay = this::decayBlock;
         removalTask = new BukkitRunnable() {
             @Override
             public void run() {
-                Iterator<Player> iterator = alivePlayers.iterator();
-                while (iterator.hasNext()) {
-                    Player p = iterator.next();
-                    if (!p.isOnline()) {
-                        eliminatePlayer(p);
-                        iterator.remove();
-                        continue;
+                section.begin();
+                try {
+                    currentTick++;
+                    decayQueue.drain(currentTick, decayBudgetPerTick, decay);
+                    if (currentTick % SWEEP_INTERVAL_TICKS == 0) {
+                        sweep();
                     }
+                } finally {
+                    section.end();
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
 
-                    // Remove any wool block directly beneath the player
-                    Block beneath = p.getLocation().subtract(0, 1, 0).getBlock();
-                    Material type = beneath.getType();
-                    switch (type) {
-                        case WHITE_WOOL:
-                        case RED_WOOL:
-                        case YELLOW_WOOL:
-                        case BLUE_WOOL:
-                        case GREEN_WOOL:
-                        case ORANGE_WOOL:
-                        case PINK_WOOL:
-                        case LIGHT_BLUE_WOOL:
-                            beneath.setType(Material.AIR);
-                            break;
-                        default:
-                            // not wool—do nothing
-                    }
+    /**
+     * Once per second: queue footprints of players who have not moved,
+     * eliminate offline or fallen players and check the end condition.
+     */
+    private void sweep() {
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (!roster.isAlive(slot)) continue;
+            Player p = roster.player(slot);
+            if (!p.isOnline()) {
+                eliminatePlayer(slot);
+                continue;
+            }
 
-                    // If the player fell into the void (Y < 0), eliminate them
-                    if (p.getLocation().getY() < 0) {
-                        eliminatePlayer(p);
-                        iterator.remove();
-                    }
-                }
+            Location loc = p.getLocation(scratch);
+            // If the player fell into the void (Y < 0), eliminate them
+            if (loc.getY() < 0) {
+                eliminatePlayer(slot);
+                continue;
+            }
+            queueFootprint(loc.getX(), loc.getY(), loc.getZ());
+        }
 
-                // Update "Players Left" on the scoreboard
-                scoreboardManager.setScoreLine(
-                    getId(),
-                    "players_" + getId(),
-                    "Players Left: " + alivePlayers.size(),
-                    3
-                );
+        // Update "Players Left" on the scoreboard
+        if (roster.aliveCount() != shownAlive) {
+            shownAlive = roster.aliveCount();
+            scoreboardManager.setScoreLine(
+                getId(),
+                "players_" + getId(),
+                "Players Left: " + shownAlive,
+                3
+            );
+        }
 
-                // Check end condition: one or zero players remain
-                if (alivePlayers.size() <= 1) {
-                    if (alivePlayers.size() == 1) {
-                        Player winner = alivePlayers.get(0);
-                        broadcastMessage("§a" + winner.getName() + " wins TNT Run!");
-                        winner.playSound(
-                            winner.getLocation(),
-                            Sound.UI_TOAST_CHALLENGE_COMPLETE,
-                            1.0f, 1.0f
-                        );
-                    } else {
-                        broadcastMessage("§eNo winners this round.");
-                    }
-                    // End the game (reset arena, free slot, record stats, etc.)
-                    plugin.getGameManager().endGame(getId());
-                }
+        // Check end condition: one or zero players remain
+        if (roster.aliveCount() <= 1) {
+            if (roster.aliveCount() == 1) {
+                Player winner = roster.player(roster.firstAlive());
+                broadcastMessage("§a" + winner.getName() + " wins TNT Run!");
+                winner.playSound(
+                    winner.getLocation(),
+                    Sound.UI_TOAST_CHALLENGE_COMPLETE,
+                    1.0f, 1.0f
+                );
+            } else {
+                broadcastMessage("§eNo winners this round.");
             }
-        }.runTaskTimer(plugin, 20L, BLOCK_REMOVE_INTERVAL);
+            // End the game (reset arena, free slot, record stats, etc.)
+            plugin.getGameManager().endGame(getId());
+        }
     }
 }
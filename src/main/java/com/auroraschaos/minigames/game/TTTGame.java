@@ -5,8 +5,11 @@ import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.config.TTTConfig;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 import com.auroraschaos.minigames.util.CountdownTimer;
-import com.auroraschaos.minigames.util.SpectatorUtil;
+import com.auroraschaos.minigames.game.ttt.KarmaTable;
+import com.auroraschaos.minigames.game.ttt.RoleAssigner;
+import com.auroraschaos.minigames.game.ttt.TTTRole;
 import com.auroraschaos.minigames.game.ttt.TTTShop;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.sk89q.worldedit.math.BlockVector3;
 
 import org.bukkit.Bukkit;
@@ -19,7 +22,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
@@ -31,22 +33,26 @@ import java.util.*;
  * roles and must eliminate the opposing team. Traitors win when they equal or
  * outnumber innocents. Innocents win when all traitors are eliminated or time
  * expires.
+ *
+ * Alive players are counted per role as roles are assigned and players die
+ * or leave, so win checks are constant-time. Roles are drawn weighted by
+ * each player's persistent karma.
  */
 public class TTTGame extends GameInstance implements Listener {
 
-    private enum Role { INNOCENT, TRAITOR, DETECTIVE }
-
     private final int spawnYOffset;
     private final int gameDuration;
     private final double traitorRatio;
     private final double detectiveRatio;
+    private final TTTConfig.Karma karmaSettings;
+    private final KarmaTable karma;
+    private final Random random = new Random();
+    /** Alive participants per role ordinal. */
+    private final int[] aliveByRole = new int[TTTRole.count()];
 
     private final ScoreboardManager scoreboardManager;
     private final CountdownTimer countdownTimer;
 
-    private final Map<Player, Role> roles = new HashMap<>();
-    private final List<Player> alivePlayers = new ArrayList<>();
-    private final List<Player> spectators = new ArrayList<>();
     private final TTTShop shop;
 
     private BukkitTask loopTask;
@@ -66,7 +72,9 @@ public class TTTGame extends GameInstance implements Listener {
         this.gameDuration = cfg.getGameDuration();
         this.traitorRatio = cfg.getTraitorRatio();
         this.detectiveRatio = cfg.getDetectiveRatio();
-        this.shop = new TTTShop(plugin, cfg.getShopItems());
+        this.karmaSettings = cfg.getKarma();
+        this.karma = plugin.getTTTKarma();
+        this.shop = plugin.getTTTShops().createShop(cfg, roster);
     }
 
     @Override
@@ -88,7 +96,6 @@ public class TTTGame extends GameInstance implements Listener {
                 "Alive: " + participants.size(), 3);
 
         for (Player p : participants) {
-            alivePlayers.add(p);
             p.teleport(spawn);
             p.getInventory().clear();
             scoreboardManager.showToPlayer(getId(), p);
@@ -99,30 +106,40 @@ public class TTTGame extends GameInstance implements Listener {
 
         for (Player p : participants) {
             p.getInventory().addItem(new ItemStack(Material.STONE_SWORD));
-            Role role = roles.get(p);
-            if (role == Role.TRAITOR || role == Role.DETECTIVE) {
+            TTTRole role = roleOf(roster.slotOf(p));
+            if (role == TTTRole.TRAITOR || role == TTTRole.DETECTIVE) {
                 p.getInventory().setItem(8, shop.createOpenerItem());
             }
         }
 
         countdownTimer.startCountdown(getId(), gameDuration);
         timeLeft = gameDuration;
+        TickProfiler.Section section = profileSection("loop");
+        String playersLine = "players_" + getId();
         loopTask = new BukkitRunnable() {
+            private int shownAlive = participants.size();
+
             @Override
             public void run() {
-                scoreboardManager.setScoreLine(getId(), "players_" + getId(),
-                        "Alive: " + alivePlayers.size(), 3);
-                timeLeft--;
-                if (timeLeft <= 0) {
-                    broadcastMessage("§aTime's up! Innocents win.");
-                    plugin.getGameManager().endGame(getId());
-                    cancel();
+                section.begin();
+                try {
+                    if (roster.aliveCount() != shownAlive) {
+                        shownAlive = roster.aliveCount();
+                        scoreboardManager.setScoreLine(getId(), playersLine, "Alive: " + shownAlive, 3);
+                    }
+                    timeLeft--;
+                    if (timeLeft <= 0) {
+                        broadcastMessage("§aTime's up! Innocents win.");
+                        plugin.getGameManager().endGame(getId());
+                        cancel();
+                    }
+                } finally {
+                    section.end();
                 }
             }
         }.runTaskTimer(plugin, 20L, 20L);
-        plugin.logVerbose(String.format(
-                "[TTTGame] Started with %d players on %s",
-                participants.size(), arena.getName()));
+        plugin.getEventLog().event("game.start", "type", type, "id", getId(),
+                "players", participants.size(), "arena", arena.getName());
     }
 
     @Override
@@ -134,82 +151,125 @@ public class TTTGame extends GameInstance implements Listener {
         for (Player p : participants) {
             scoreboardManager.removeFromPlayer(p);
         }
-        for (Player p : spectators) {
-            scoreboardManager.removeFromPlayer(p);
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (roster.isSpectator(slot)) {
+                scoreboardManager.removeFromPlayer(roster.player(slot));
+            }
         }
         scoreboardManager.clearArenaScoreboard(getId());
         shop.unregister();
+        for (int slot = 0; slot < roster.size(); slot++) {
+            if (!roster.hasLeft(slot)) {
+                karma.adjust(roster.uuid(slot), karmaSettings.getRoundReward(), karmaSettings);
+            }
+        }
+        karma.saveAsync();
         plugin.logVerbose("[TTTGame] Ended on arena " + arena.getName());
     }
 
     @EventHandler
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player p = event.getEntity();
-        if (!alivePlayers.contains(p)) return;
+        int slot = roster.slotOf(p);
+        if (!roster.isAlive(slot)) return;
         event.getDrops().clear();
         event.setDroppedExp(0);
         event.setDeathMessage(null);
         Player killer = p.getKiller();
-        if (killer != null && alivePlayers.contains(killer)) {
-            Role killerRole = roles.get(killer);
-            Role victimRole = roles.get(p);
-            if (killerRole == Role.TRAITOR) {
+        int killerSlot = killer == null ? ParticipantTable.NO_SLOT : roster.slotOf(killer);
+        if (roster.isAlive(killerSlot) && killerSlot != slot) {
+            roster.addKill(killerSlot);
+            TTTRole killerRole = roleOf(killerSlot);
+            TTTRole victimRole = roleOf(slot);
+            if (killerRole == TTTRole.TRAITOR) {
                 shop.addPoint(killer);
-            } else if (killerRole == Role.DETECTIVE && victimRole == Role.TRAITOR) {
+            } else if (killerRole == TTTRole.DETECTIVE && victimRole == TTTRole.TRAITOR) {
                 shop.addPoint(killer);
             }
+            if (killerRole.sameTeam(victimRole)) {
+                int k = karma.adjust(killer.getUniqueId(), -karmaSettings.getTeamKillPenalty(), karmaSettings);
+                killer.sendMessage("§cYou killed a teammate! Karma: " + k);
+            } else {
+                karma.adjust(killer.getUniqueId(), karmaSettings.getEnemyKillReward(), karmaSettings);
+            }
         }
-        eliminatePlayer(p);
+        eliminatePlayer(slot);
     }
 
-    @EventHandler
-    public void onPlayerMove(PlayerMoveEvent event) {
-        Player p = event.getPlayer();
-        if (spectators.contains(p)) {
-            p.setGameMode(org.bukkit.GameMode.SPECTATOR);
+    private void assignRoles() {
+        int n = roster.size();
+        double[] weights = new double[n];
+        for (int slot = 0; slot < n; slot++) {
+            weights[slot] = karma.get(roster.uuid(slot), karmaSettings);
         }
-    }
+        int traitors = RoleAssigner.traitorCount(n, traitorRatio);
+        int detectives = RoleAssigner.detectiveCount(n, traitors, detectiveRatio);
+        TTTRole[] roles = RoleAssigner.assign(weights, traitors, detectives, random);
 
-    private void assignRoles() {
-        List<Player> shuffled = new ArrayList<>(participants);
-        Collections.shuffle(shuffled);
-        int traitorCount = Math.max(1, (int) Math.round(shuffled.size() * traitorRatio));
-        int detectiveCount = Math.min(shuffled.size() - traitorCount,
-                (int) Math.round(shuffled.size() * detectiveRatio));
-        int index = 0;
-        for (int i = 0; i < traitorCount; i++) {
-            Player p = shuffled.get(index++);
-            roles.put(p, Role.TRAITOR);
-            p.sendMessage("§cYou are a TRAITOR! Eliminate everyone else.");
+        // Every alive slot starts as innocent (role 0)
+        Arrays.fill(aliveByRole, 0);
+        for (int slot = 0; slot < n; slot++) {
+            roster.setRole(slot, TTTRole.INNOCENT.ordinal());
+        }
+        aliveByRole[TTTRole.INNOCENT.ordinal()] = roster.aliveCount();
+        for (int slot = 0; slot < n; slot++) {
+            setRole(slot, roles[slot]);
+        }
+
+        for (int slot = 0; slot < n; slot++) {
+            roster.player(slot).sendMessage(roleMessage(roles[slot]));
         }
-        for (int i = 0; i < detectiveCount; i++) {
-            Player p = shuffled.get(index++);
-            roles.put(p, Role.DETECTIVE);
-            p.sendMessage("§9You are the DETECTIVE! Find the traitors.");
+    }
+
+    private static String roleMessage(TTTRole role) {
+        switch (role) {
+            case TRAITOR:   return "§cYou are a TRAITOR! Eliminate everyone else.";
+            case DETECTIVE: return "§9You are the DETECTIVE! Find the traitors.";
+            default:        return "§aYou are INNOCENT. Survive and uncover the traitors.";
         }
-        while (index < shuffled.size()) {
-            Player p = shuffled.get(index++);
-            roles.put(p, Role.INNOCENT);
-            p.sendMessage("§aYou are INNOCENT. Survive and uncover the traitors.");
+    }
+
+    /** Change a slot's role, moving it between the alive counters. */
+    private void setRole(int slot, TTTRole role) {
+        if (roster.isAlive(slot)) {
+            aliveByRole[roster.role(slot)]--;
+            aliveByRole[role.ordinal()]++;
         }
+        roster.setRole(slot, role.ordinal());
+    }
+
+    private TTTRole roleOf(int slot) {
+        return TTTRole.of(roster.role(slot));
     }
 
-    private void eliminatePlayer(Player p) {
-        if (!alivePlayers.remove(p)) return;
-        SpectatorUtil.makeSpectator(p, arena);
-        spectators.add(p);
+    private void eliminatePlayer(int slot) {
+        if (!roster.markDead(slot)) return;
+        aliveByRole[roster.role(slot)]--;
+        Player p = roster.player(slot);
+        plugin.getSpectators().add(p, arena, roster);
         scoreboardManager.showToPlayer(getId(), p);
         p.sendMessage("§cYou were eliminated!");
         checkWinCondition();
-        plugin.logVerbose("[TTTGame] Player eliminated: " + p.getName());
+        plugin.getEventLog().event("game.eliminate", "type", type, "id", getId(), "player", p.getName());
     }
 
-    private void checkWinCondition() {
-        int traitors = 0;
-        for (Player p : alivePlayers) {
-            if (roles.get(p) == Role.TRAITOR) traitors++;
+    @Override
+    public void removePlayer(Player player) {
+        int slot = roster.slotOf(player);
+        boolean wasAlive = roster.isAlive(slot);
+        super.removePlayer(player);
+        if (wasAlive && !roster.isAlive(slot)) {
+            aliveByRole[roster.role(slot)]--;
+            // With one player left the base class has already ended the game
+            if (participants.size() > 1) {
+                checkWinCondition();
+            }
         }
-        int others = alivePlayers.size() - traitors;
+    }
+
+    private void checkWinCondition() {
+        int traitors = aliveByRole[TTTRole.TRAITOR.ordinal()];
+        int others = roster.aliveCount() - traitors;
         if (traitors == 0) {
             broadcastMessage("§aInnocents win!");
             plugin.getGameManager().endGame(getId());
@@ -0,0 +1,176 @@
+package com.auroraschaos.minigames.game.race;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One recorded lap: the kart state on every tick, relative to the arena
+ * origin so it can be replayed in any arena running the same track.
+ *
+ * The first tick is stored as a keyframe of quantized values; every
+ * following tick as the zigzag varint deltas of position (1/32 block), yaw
+ * (1/256 turn) and speed (1/256 block per tick). A kart moving at normal
+ * speed changes each value by less than 64 steps per tick, so a tick costs
+ * about five bytes.
+ *
+ * Immutable; {@link #playback()} returns an independent cursor.
+ */
+public final class Ghost {
+
+    static final int POS_SCALE = 32;
+    static final int SPEED_SCALE = 256;
+    static final int YAW_STEPS = 256;
+
+    private static final int MAGIC = 0x47485354; // "GHST"
+    private static final byte VERSION = 1;
+
+    private final String driver;
+    /** Recorded ticks, keyframe included. */
+    private final int samples;
+    /** Quantized x, y, z, yaw, speed of the first tick. */
+    private final int[] keyframe;
+    private final byte[] data;
+
+    Ghost(String driver, int samples, int[] keyframe, byte[] data) {
+        this.driver = driver;
+        this.samples = samples;
+        this.keyframe = keyframe;
+        this.data = data;
+    }
+
+    public String getDriver() { return driver; }
+
+    /** @return lap time in ticks */
+    public int getLapTicks() { return samples - 1; }
+
+    /** @return size of the delta stream in bytes */
+    public int getDataSize() { return data.length; }
+
+    /** @return a cursor positioned before the first tick */
+    public Playback playback() {
+        return new Playback();
+    }
+
+    // ---------- QUANTIZATION ----------
+
+    static int quantizePosition(double v) {
+        return (int) Math.round(v * POS_SCALE);
+    }
+
+    static int quantizeYaw(double degrees) {
+        return (int) Math.round(degrees * YAW_STEPS / 360.0) & (YAW_STEPS - 1);
+    }
+
+    static int quantizeSpeed(double speed) {
+        return (int) Math.round(speed * SPEED_SCALE);
+    }
+
+    /** @return the shortest signed step from yaw {@code from} to {@code to} */
+    static int yawDelta(int from, int to) {
+        return ((to - from + YAW_STEPS / 2) & (YAW_STEPS - 1)) - YAW_STEPS / 2;
+    }
+
+    static int zigzag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    static int unzigzag(int v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    // ---------- FILE FORMAT ----------
+
+    /** @return bytes {@link #write} needs */
+    public int encodedSize() {
+        return 4 + 1 + 4 + 2 + driver.getBytes(StandardCharsets.UTF_8).length + 5 * 4 + 4 + data.length;
+    }
+
+    /** Write this ghost at the buffer's position. */
+    public void write(ByteBuffer out) {
+        byte[] name = driver.getBytes(StandardCharsets.UTF_8);
+        out.putInt(MAGIC).put(VERSION).putInt(samples);
+        out.putShort((short) name.length).put(name);
+        for (int v : keyframe) out.putInt(v);
+        out.putInt(data.length).put(data);
+    }
+
+    /**
+     * Read a ghost written by {@link #write}.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a ghost
+     */
+    public static Ghost read(ByteBuffer in) {
+        try {
+            if (in.getInt() != MAGIC || in.get() != VERSION) {
+                throw new IllegalArgumentException("not a ghost file or unsupported version");
+            }
+            int samples = in.getInt();
+            byte[] name = new byte[in.getShort() & 0xFFFF];
+            in.get(name);
+            int[] keyframe = new int[5];
+            for (int i = 0; i < keyframe.length; i++) keyframe[i] = in.getInt();
+            int length = in.getInt();
+            if (samples < 1 || length < 0 || length > in.remaining()) {
+                throw new IllegalArgumentException("corrupt ghost header");
+            }
+            byte[] data = new byte[length];
+            in.get(data);
+            return new Ghost(new String(name, StandardCharsets.UTF_8), samples, keyframe, data);
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("truncated ghost file", ex);
+        }
+    }
+
+    /** Sequential decoder over a ghost's ticks. Not thread-safe. */
+    public final class Playback {
+        private int tick;
+        private int pos;
+        private int x, y, z, yaw, speed;
+
+        private Playback() {
+        }
+
+        /** Advance to the next tick; false once the lap is over. */
+        public boolean next() {
+            if (tick >= samples) return false;
+            if (tick == 0) {
+                x = keyframe[0];
+                y = keyframe[1];
+                z = keyframe[2];
+                yaw = keyframe[3];
+                speed = keyframe[4];
+            } else {
+                x += unzigzag(varint());
+                y += unzigzag(varint());
+                z += unzigzag(varint());
+                yaw = (yaw + unzigzag(varint())) & (YAW_STEPS - 1);
+                speed += unzigzag(varint());
+            }
+            tick++;
+            return true;
+        }
+
+        private int varint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        /** @return X relative to the arena origin */
+        public double x() { return (double) x / POS_SCALE; }
+        public double y() { return (double) y / POS_SCALE; }
+        public double z() { return (double) z / POS_SCALE; }
+        /** @return heading in degrees, [0, 360) */
+        public float yaw() { return yaw * 360f / YAW_STEPS; }
+        public double speed() { return (double) speed / SPEED_SCALE; }
+        /** @return ticks decoded so far */
+        public int tick() { return tick; }
+    }
+}
@@ -0,0 +1,110 @@
+package com.auroraschaos.minigames.game.race;
+
+/**
+ * Records one kart's state every tick into a fixed-size ring buffer, in the
+ * delta format described on {@link Ghost}.
+ *
+ * {@link #startLap} stores a keyframe and marks where the lap begins;
+ * {@link #finishLap} copies the bytes written since then into a
+ * {@link Ghost}. The ring is never resized: a lap longer than the buffer
+ * overwrites its own start and is dropped, which bounds memory per kart.
+ * Recording allocates nothing.
+ */
+public final class GhostRecorder {
+
+    private final byte[] ring;
+    private final int mask;
+    private final double originX;
+    private final double originY;
+    private final double originZ;
+
+    private long written;
+    private long lapStart;
+    private int samples;
+    private boolean recording;
+    private final int[] keyframe = new int[5];
+    private int x, y, z, yaw, speed;
+
+    /**
+     * @param capacity ring size in bytes, rounded up to a power of two
+     * @param originX  arena origin; recorded positions are relative to it
+     */
+    public GhostRecorder(int capacity, double originX, double originY, double originZ) {
+        int size = Math.max(16, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.ring = new byte[size];
+        this.mask = size - 1;
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+    }
+
+    /** Begin a new lap at the kart's current state, discarding any unfinished one. */
+    public void startLap(KartState s) {
+        x = Ghost.quantizePosition(s.x - originX);
+        y = Ghost.quantizePosition(s.y - originY);
+        z = Ghost.quantizePosition(s.z - originZ);
+        yaw = Ghost.quantizeYaw(s.yaw);
+        speed = Ghost.quantizeSpeed(s.speed);
+        keyframe[0] = x;
+        keyframe[1] = y;
+        keyframe[2] = z;
+        keyframe[3] = yaw;
+        keyframe[4] = speed;
+        lapStart = written;
+        samples = 1;
+        recording = true;
+    }
+
+    /** Append one tick; ignored until {@link #startLap} is called. */
+    public void record(KartState s) {
+        if (!recording) return;
+        int nx = Ghost.quantizePosition(s.x - originX);
+        int ny = Ghost.quantizePosition(s.y - originY);
+        int nz = Ghost.quantizePosition(s.z - originZ);
+        int nyaw = Ghost.quantizeYaw(s.yaw);
+        int nspeed = Ghost.quantizeSpeed(s.speed);
+        varint(Ghost.zigzag(nx - x));
+        varint(Ghost.zigzag(ny - y));
+        varint(Ghost.zigzag(nz - z));
+        varint(Ghost.zigzag(Ghost.yawDelta(yaw, nyaw)));
+        varint(Ghost.zigzag(nspeed - speed));
+        x = nx;
+        y = ny;
+        z = nz;
+        yaw = nyaw;
+        speed = nspeed;
+        samples++;
+    }
+
+    private void varint(int v) {
+        while ((v & ~0x7F) != 0) {
+            ring[(int) (written++ & mask)] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        ring[(int) (written++ & mask)] = (byte) v;
+    }
+
+    /**
+     * End the current lap.
+     *
+     * @return the recorded lap, or null if none was started or it no longer
+     *         fits in the ring
+     */
+    public Ghost finishLap(String driver) {
+        if (!recording) return null;
+        recording = false;
+        long length = written - lapStart;
+        if (length > ring.length) return null;
+        byte[] data = new byte[(int) length];
+        int from = (int) (lapStart & mask);
+        int first = Math.min(data.length, ring.length - from);
+        System.arraycopy(ring, from, data, 0, first);
+        System.arraycopy(ring, 0, data, first, data.length - first);
+        return new Ghost(driver, samples, keyframe.clone(), data);
+    }
+
+    /** @return bytes written since construction, over all laps */
+    public long getBytesWritten() {
+        return written;
+    }
+}
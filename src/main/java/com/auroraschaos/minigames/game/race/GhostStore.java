@@ -0,0 +1,114 @@
+package com.auroraschaos.minigames.game.race;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best lap per track, kept in memory and persisted as one file per track
+ * in ghosts/.
+ *
+ * Files are read at startup; a new record replaces the in-memory ghost on
+ * the main thread and is written asynchronously to a temporary file that is
+ * then moved over the old one, so a crash never leaves a half-written
+ * ghost behind. Ghosts are a few KB, so they are read and written through
+ * heap buffers: a memory-mapped file could not be replaced on Windows
+ * until the mapping was garbage collected.
+ */
+public final class GhostStore {
+
+    private static final String DIR = "ghosts";
+    private static final String EXT = ".ghost";
+
+    private final MinigamesPlugin plugin;
+    private final File folder;
+    private final Map<String, Ghost> best = new ConcurrentHashMap<>();
+
+    public GhostStore(MinigamesPlugin plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), DIR);
+    }
+
+    /** Load every saved ghost. Call on the main thread during startup. */
+    public void loadAll() {
+        best.clear();
+        File[] files = folder.listFiles((d, n) -> n.endsWith(EXT));
+        if (files == null) return;
+        for (File f : files) {
+            String track = f.getName().substring(0, f.getName().length() - EXT.length());
+            try {
+                best.put(key(track), read(f.toPath()));
+            } catch (IOException | IllegalArgumentException ex) {
+                plugin.getLogger().warning("[Races] Ignoring ghost " + f.getName() + ": " + ex.getMessage());
+            }
+        }
+        plugin.logVerbose("[GhostStore] Loaded " + best.size() + " ghosts");
+    }
+
+    /** @return the fastest recorded lap of {@code track}, or null */
+    public Ghost best(String track) {
+        return best.get(key(track));
+    }
+
+    /**
+     * Keep {@code lap} if it beats the current record of {@code track}.
+     * Main thread only.
+     *
+     * @return true if it is the new record
+     */
+    public boolean offer(String track, Ghost lap) {
+        Ghost current = best.get(key(track));
+        if (current != null && current.getLapTicks() <= lap.getLapTicks()) {
+            return false;
+        }
+        best.put(key(track), lap);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> save(track, lap));
+        return true;
+    }
+
+    private synchronized void save(String track, Ghost lap) {
+        // A faster lap may have been offered while this task was queued
+        if (best.get(key(track)) != lap) return;
+        try {
+            write(new File(folder, key(track) + EXT).toPath(), lap);
+        } catch (IOException ex) {
+            plugin.getLogger().warning("[Races] Could not save ghost of " + track + ": " + ex.getMessage());
+        }
+    }
+
+    static Ghost read(Path file) throws IOException {
+        return Ghost.read(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    static void write(Path file, Ghost lap) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocate(lap.encodedSize());
+            lap.write(buf);
+            buf.flip();
+            while (buf.hasRemaining()) {
+                ch.write(buf);
+            }
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String key(String track) {
+        return track.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,88 @@
+package com.auroraschaos.minigames.game.race;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Terrain surface heights over a rectangular area, sampled once up front
+ * and stored in a flat {@code int[]}.
+ *
+ * Lookups are pure array reads, so a heightmap can be shared between games
+ * and read from any thread. Columns outside the area report
+ * {@link #UNKNOWN}.
+ */
+public final class Heightmap {
+
+    /** Height reported for columns outside the sampled area. */
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+
+    /** Upper bound on sampled columns (~16 MB of ints). */
+    static final int MAX_COLUMNS = 4 * 1024 * 1024;
+
+    private static final Heightmap EMPTY = new Heightmap(0, 0, 0, 0, new int[0]);
+
+    private final int minX;
+    private final int minZ;
+    private final int width;
+    private final int depth;
+    private final int[] heights;
+
+    /** @param heights row-major by Z, {@code width × depth} entries; not copied */
+    Heightmap(int minX, int minZ, int width, int depth, int[] heights) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.width = width;
+        this.depth = depth;
+        this.heights = heights;
+    }
+
+    /**
+     * Sample every column in [minX, maxX] × [minZ, maxZ].
+     *
+     * @param source returns the Y of the surface block at (x, z), or {@link #UNKNOWN}
+     * @throws IllegalArgumentException if the area exceeds {@link #MAX_COLUMNS}
+     */
+    public static Heightmap sample(int minX, int minZ, int maxX, int maxZ, IntBinaryOperator source) {
+        int width = (int) Math.max(0L, (long) maxX - minX + 1);
+        int depth = (int) Math.max(0L, (long) maxZ - minZ + 1);
+        checkArea(width, depth);
+        int[] heights = new int[width * depth];
+        for (int dz = 0; dz < depth; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                heights[dz * width + dx] = source.applyAsInt(minX + dx, minZ + dz);
+            }
+        }
+        return new Heightmap(minX, minZ, width, depth, heights);
+    }
+
+    /** @throws IllegalArgumentException if a width × depth area exceeds {@link #MAX_COLUMNS} */
+    static void checkArea(int width, int depth) {
+        if ((long) width * depth > MAX_COLUMNS) {
+            throw new IllegalArgumentException("Heightmap area too large: " + width + "x" + depth);
+        }
+    }
+
+    /** @return a heightmap with no columns; every lookup is {@link #UNKNOWN} */
+    public static Heightmap empty() {
+        return EMPTY;
+    }
+
+    /** @return surface block Y at (x, z), or {@link #UNKNOWN} outside the area */
+    public int heightAt(int x, int z) {
+        int idx = indexOf(x, z);
+        return idx < 0 ? UNKNOWN : heights[idx];
+    }
+
+    /** @return the array index of column (x, z), or -1 outside the area */
+    int indexOf(int x, int z) {
+        int dx = x - minX;
+        int dz = z - minZ;
+        if (dx < 0 || dz < 0 || dx >= width || dz >= depth) {
+            return -1;
+        }
+        return dz * width + dx;
+    }
+
+    int columnCount() {
+        return heights.length;
+    }
+}
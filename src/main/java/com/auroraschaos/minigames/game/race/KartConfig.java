@@ -1,10 +1,11 @@
 package com.auroraschaos.minigames.game.race;
 
+import com.auroraschaos.minigames.config.ConfigurationException;
+
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.YamlConfiguration;
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -17,15 +18,36 @@ public class KartConfig {
     private final YamlConfiguration config;
     private final String name;
     private final Map<String, Double> stats = new HashMap<>();
+    private final KartStats compiledStats;
+
+    /**
+     * Load a kart file merged with the shared defaults file.
+     *
+     * @throws ConfigurationException if the merged stats fail {@link KartStats} validation
+     */
+    public KartConfig(File file, File defaultsFile) throws ConfigurationException {
+        this(file.getName().replaceFirst("\\.yml$", ""),
+             YamlConfiguration.loadConfiguration(file),
+             YamlConfiguration.loadConfiguration(defaultsFile));
+    }
 
-    public KartConfig(File file, File defaultsFile) throws IOException {
-        YamlConfiguration defaults = YamlConfiguration.loadConfiguration(defaultsFile);
-        this.config = YamlConfiguration.loadConfiguration(file);
-        this.config.addDefaults(defaults);
+    /**
+     * Build from already parsed YAML. Nothing is written back to disk, so
+     * this is safe to call off the main thread.
+     *
+     * @param name     internal kart name
+     * @param config   the kart's own file
+     * @param defaults shared defaults, consulted for keys the kart omits
+     * @throws ConfigurationException if the merged stats fail {@link KartStats} validation
+     */
+    public KartConfig(String name, YamlConfiguration config, YamlConfiguration defaults)
+            throws ConfigurationException {
+        this.config = config;
+        this.config.setDefaults(defaults);
         this.config.options().copyDefaults(true);
-        this.config.save(file);
-        this.name = file.getName().replaceFirst("\\.yml$", "");
+        this.name = name;
         loadStats();
+        this.compiledStats = KartStats.from(this);
     }
 
     private void loadStats() {
@@ -51,6 +73,11 @@ public class KartConfig {
         return Material.valueOf(config.getString("icon"));
     }
 
+    /** Validated stat snapshot for the per-tick loop */
+    public KartStats getStats() {
+        return compiledStats;
+    }
+
     /** Retrieve a double stat by key under the 'stats' section */
     public double getStat(String key) {
         return stats.getOrDefault(key, 0.0);
@@ -0,0 +1,136 @@
+package com.auroraschaos.minigames.game.race;
+
+/**
+ * Fixed-timestep kart simulation with no Bukkit dependencies.
+ *
+ * One {@link #step} advances a {@link KartState} by exactly one server tick:
+ * steering, throttle, slope response and position integration, using only
+ * primitive arithmetic and {@link Heightmap} lookups. Nothing is allocated,
+ * so the same code runs in the race loop, in unit tests and in benchmarks.
+ *
+ * Instances hold a kart's tuning and are immutable; share one per kart type.
+ */
+public final class KartPhysics {
+
+    // ---------- INPUT FLAGS ----------
+    public static final int ACCELERATE  = 1;
+    public static final int BRAKE       = 1 << 1;
+    public static final int STEER_LEFT  = 1 << 2;
+    public static final int STEER_RIGHT = 1 << 3;
+
+    /** Steering dead zone in degrees between where the driver looks and the kart's heading. */
+    public static final double STEER_DEAD_ZONE = 2.0;
+
+    private static final double GROUND_EPSILON = 0.05;
+
+    private final double turnRate;
+    private final double accelRate;
+    private final double decelRate;
+    private final double brakeRate;
+    private final double maxSpeed;
+    private final double slopeStep;
+    private final double climbSpeed;
+    private final double dropSpeed;
+
+    /**
+     * @param turnRate   degrees per tick
+     * @param accelRate  speed gained per tick while accelerating
+     * @param decelRate  speed lost per tick while coasting
+     * @param brakeRate  speed lost per tick while braking
+     * @param maxSpeed   top speed in blocks per tick
+     * @param slopeStep  tallest rise (blocks) the kart climbs instead of stopping at
+     * @param climbSpeed vertical speed while climbing
+     * @param dropSpeed  maximum vertical speed while dropping
+     */
+    public KartPhysics(double turnRate, double accelRate, double decelRate, double brakeRate,
+                       double maxSpeed, double slopeStep, double climbSpeed, double dropSpeed) {
+        this.turnRate = turnRate;
+        this.accelRate = accelRate;
+        this.decelRate = decelRate;
+        this.brakeRate = brakeRate;
+        this.maxSpeed = maxSpeed;
+        this.slopeStep = slopeStep;
+        this.climbSpeed = climbSpeed;
+        this.dropSpeed = dropSpeed;
+    }
+
+    /** Physics tuned by the movement stats of a compiled kart. */
+    public static KartPhysics of(KartStats stats) {
+        return new KartPhysics(stats.getTurnRate(), stats.getAccelRate(), stats.getDecelRate(),
+                stats.getBrakeRate(), stats.getMaxSpeed(), stats.getSlopeStep(),
+                stats.getClimbSpeed(), stats.getDropSpeed());
+    }
+
+    /**
+     * Turn driver controls into input flags.
+     *
+     * @param lookYaw   where the driver is looking; steering follows it
+     * @param kartYaw   the kart's current heading
+     * @param sprinting accelerator
+     * @param sneaking  brake
+     */
+    public static int input(double lookYaw, double kartYaw, boolean sprinting, boolean sneaking) {
+        int flags = 0;
+        if (sprinting) flags |= ACCELERATE;
+        if (sneaking) flags |= BRAKE;
+        double delta = KartState.wrapDegrees(lookYaw - kartYaw);
+        if (delta < -STEER_DEAD_ZONE) {
+            flags |= STEER_LEFT;
+        } else if (delta > STEER_DEAD_ZONE) {
+            flags |= STEER_RIGHT;
+        }
+        return flags;
+    }
+
+    /** Advance {@code s} by one tick. */
+    public void step(KartState s, int input, Heightmap terrain) {
+        // Steering
+        if ((input & STEER_LEFT) != 0) {
+            s.setYaw(s.yaw - turnRate);
+        } else if ((input & STEER_RIGHT) != 0) {
+            s.setYaw(s.yaw + turnRate);
+        }
+
+        // Acceleration and braking
+        boolean accel = (input & ACCELERATE) != 0;
+        boolean brake = (input & BRAKE) != 0;
+        if (accel && !brake) {
+            s.speed = Math.min(s.speed + accelRate, maxSpeed);
+        } else if (brake) {
+            s.speed = Math.max(s.speed - brakeRate, 0);
+        } else {
+            s.speed = Math.max(s.speed - decelRate, 0);
+        }
+
+        // Slope climbing and controlled drops
+        s.vy = verticalVelocity(s, terrain);
+
+        // Integrate
+        s.x += s.dirX * s.speed;
+        s.y += s.vy;
+        s.z += s.dirZ * s.speed;
+    }
+
+    private double verticalVelocity(KartState s, Heightmap terrain) {
+        int here = terrain.heightAt(floor(s.x), floor(s.z));
+        int ahead = terrain.heightAt(floor(s.x + s.dirX), floor(s.z + s.dirZ));
+        if (here == Heightmap.UNKNOWN || ahead == Heightmap.UNKNOWN) {
+            return 0;
+        }
+        int rise = ahead - here;
+        if (rise > 0 && rise <= slopeStep) {
+            return climbSpeed;
+        }
+        // Settle onto the lower of the two surfaces without sinking into it
+        double ground = Math.min(here, ahead) + 1;
+        double gap = s.y - ground;
+        return gap > GROUND_EPSILON ? -Math.min(dropSpeed, gap) : 0;
+    }
+
+    private static int floor(double v) {
+        int i = (int) v;
+        return v < i ? i - 1 : i;
+    }
+
+    public double getMaxSpeed() { return maxSpeed; }
+}
@@ -0,0 +1,62 @@
+package com.auroraschaos.minigames.game.race;
+
+/**
+ * Plain mutable simulation state of one kart.
+ *
+ * Fields are public so {@link KartPhysics} and {@link KartVehicle} can read
+ * and write them without accessor calls in the per-tick loop. Units are
+ * blocks, degrees (Minecraft yaw convention) and blocks per tick.
+ */
+public final class KartState {
+    public double x;
+    public double y;
+    public double z;
+    /** Heading in degrees, wrapped to [-180, 180). Change through {@link #setYaw(double)}. */
+    public double yaw;
+    /** Unit heading vector, kept in sync with {@link #yaw}. */
+    public double dirX;
+    public double dirZ = 1;
+    /** Forward speed, ≥ 0. */
+    public double speed;
+    /** Vertical velocity chosen by the last step. */
+    public double vy;
+
+    public KartState() {
+    }
+
+    public KartState(double x, double y, double z, double yaw) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        setYaw(yaw);
+    }
+
+    /** Set the heading and recompute the direction vector. */
+    public void setYaw(double degrees) {
+        yaw = wrapDegrees(degrees);
+        double rad = Math.toRadians(yaw);
+        dirX = -Math.sin(rad);
+        dirZ = Math.cos(rad);
+    }
+
+    /** Copy position from an external source (e.g. the entity after the server moved it). */
+    public void setPosition(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /** Horizontal velocity, X component. */
+    public double vx() { return dirX * speed; }
+
+    /** Horizontal velocity, Z component. */
+    public double vz() { return dirZ * speed; }
+
+    /** @return {@code degrees} wrapped to [-180, 180) */
+    public static double wrapDegrees(double degrees) {
+        double d = degrees % 360.0;
+        if (d >= 180.0) d -= 360.0;
+        if (d < -180.0) d += 360.0;
+        return d;
+    }
+}
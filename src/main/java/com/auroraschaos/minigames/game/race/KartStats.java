@@ -0,0 +1,171 @@
+package com.auroraschaos.minigames.game.race;
+
+import com.auroraschaos.minigames.config.ConfigurationException;
+
+import org.bukkit.Particle;
+
+import java.util.Locale;
+
+/**
+ * Immutable, validated snapshot of a kart's stats.
+ *
+ * Compiled once from a {@link KartConfig} when the kart file loads so the
+ * per-tick loop reads primitive fields instead of looking up stats by name,
+ * and particle names are resolved to enums up front.
+ */
+public final class KartStats {
+    private final String name;
+    private final String displayName;
+    private final double maxSpeed;
+    private final double accelRate;
+    private final double decelRate;
+    private final double brakeRate;
+    private final double turnRate;
+    private final double slopeStep;
+    private final double climbSpeed;
+    private final double dropSpeed;
+    private final double boostThreshold;
+    private final double checkpointRadius;
+    private final int totalLaps;
+    private final double respawnYOffset;
+    private final ParticleEffect boostParticles;
+    private final ParticleEffect driftParticles;
+
+    private KartStats(String name, String displayName,
+                      double maxSpeed, double accelRate, double decelRate, double brakeRate,
+                      double turnRate, double slopeStep, double climbSpeed, double dropSpeed,
+                      double boostThreshold, double checkpointRadius, int totalLaps,
+                      double respawnYOffset, ParticleEffect boostParticles,
+                      ParticleEffect driftParticles) {
+        this.name = name;
+        this.displayName = displayName;
+        this.maxSpeed = maxSpeed;
+        this.accelRate = accelRate;
+        this.decelRate = decelRate;
+        this.brakeRate = brakeRate;
+        this.turnRate = turnRate;
+        this.slopeStep = slopeStep;
+        this.climbSpeed = climbSpeed;
+        this.dropSpeed = dropSpeed;
+        this.boostThreshold = boostThreshold;
+        this.checkpointRadius = checkpointRadius;
+        this.totalLaps = totalLaps;
+        this.respawnYOffset = respawnYOffset;
+        this.boostParticles = boostParticles;
+        this.driftParticles = driftParticles;
+    }
+
+    /**
+     * Compile and validate the stats of {@code cfg}.
+     *
+     * @throws ConfigurationException on a negative stat, a non-integer lap
+     *         count, or a particle section with an unknown type, a type that
+     *         needs extra data, a negative count or an interval below 1
+     */
+    public static KartStats from(KartConfig cfg) throws ConfigurationException {
+        String kart = cfg.getName();
+        double totalLaps = nonNegative(cfg, "totalLaps");
+        if (totalLaps != Math.rint(totalLaps)) {
+            throw new ConfigurationException("stats.totalLaps must be a whole number in kart '" + kart + "'");
+        }
+        return new KartStats(
+                kart,
+                cfg.getDisplayName() != null ? cfg.getDisplayName() : kart,
+                nonNegative(cfg, "maxSpeed"),
+                nonNegative(cfg, "accelRate"),
+                nonNegative(cfg, "decelRate"),
+                nonNegative(cfg, "brakeRate"),
+                nonNegative(cfg, "turnRate"),
+                nonNegative(cfg, "slopeStep"),
+                nonNegative(cfg, "climbSpeed"),
+                nonNegative(cfg, "dropSpeed"),
+                cfg.getStat("boostThreshold"),
+                nonNegative(cfg, "checkpointRadius"),
+                (int) totalLaps,
+                cfg.getStat("respawnYOffset"),
+                particles(cfg, "particles.boost"),
+                particles(cfg, "particles.drift"));
+    }
+
+    private static double nonNegative(KartConfig cfg, String key) throws ConfigurationException {
+        double value = cfg.getStat(key);
+        if (!(value >= 0)) {
+            throw new ConfigurationException("stats." + key + " must be >= 0 in kart '" + cfg.getName()
+                    + "' (was " + value + ")");
+        }
+        return value;
+    }
+
+    private static ParticleEffect particles(KartConfig cfg, String path) throws ConfigurationException {
+        if (!cfg.contains(path)) {
+            return ParticleEffect.NONE;
+        }
+        int count = cfg.getInt(path + ".count");
+        if (count < 0) {
+            throw new ConfigurationException(path + ".count must be >= 0 in kart '" + cfg.getName() + "'");
+        }
+        int interval = cfg.getInt(path + ".interval");
+        if (interval < 1) {
+            throw new ConfigurationException(path + ".interval must be >= 1 in kart '" + cfg.getName() + "'");
+        }
+        String where = path + " in kart '" + cfg.getName() + "'";
+        String typeName = cfg.getString(path + ".type");
+        Particle type;
+        try {
+            type = Particle.valueOf(String.valueOf(typeName).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ConfigurationException("Unknown particle '" + typeName + "' for " + where);
+        }
+        if (type.getDataType() != Void.class) {
+            throw new ConfigurationException("Particle " + type + " needs extra data and cannot be used for "
+                    + where);
+        }
+        return new ParticleEffect(type, count, interval);
+    }
+
+    /** @return internal kart name (file name without extension) */
+    public String getName() { return name; }
+    public String getDisplayName() { return displayName; }
+    public double getMaxSpeed() { return maxSpeed; }
+    public double getAccelRate() { return accelRate; }
+    public double getDecelRate() { return decelRate; }
+    public double getBrakeRate() { return brakeRate; }
+    /** @return degrees per tick */
+    public double getTurnRate() { return turnRate; }
+    public double getSlopeStep() { return slopeStep; }
+    public double getClimbSpeed() { return climbSpeed; }
+    public double getDropSpeed() { return dropSpeed; }
+    /** @return speed above which the boost trail is shown */
+    public double getBoostThreshold() { return boostThreshold; }
+    public double getCheckpointRadius() { return checkpointRadius; }
+    public int getTotalLaps() { return totalLaps; }
+    /** @return Y below which the kart is respawned at its last checkpoint */
+    public double getRespawnYOffset() { return respawnYOffset; }
+    public ParticleEffect getBoostParticles() { return boostParticles; }
+    public ParticleEffect getDriftParticles() { return driftParticles; }
+
+    /** A resolved particle emitter: type, count, and emission interval in ticks. */
+    public static final class ParticleEffect {
+        /** Emitter for a kart without this particle section; never due. */
+        public static final ParticleEffect NONE = new ParticleEffect(null, 0, 1);
+
+        private final Particle type;
+        private final int count;
+        private final int interval;
+
+        ParticleEffect(Particle type, int count, int interval) {
+            this.type = type;
+            this.count = count;
+            this.interval = interval;
+        }
+
+        /** @return true if this emitter fires on {@code tick} */
+        public boolean isDue(int tick) {
+            return type != null && tick % interval == 0;
+        }
+
+        public Particle getType() { return type; }
+        public int getCount() { return count; }
+        public int getInterval() { return interval; }
+    }
+}
@@ -1,8 +1,7 @@
 package com.auroraschaos.minigames.game.race;
 
 import org.bukkit.Location;
-import org.bukkit.Particle;
-import org.bukkit.block.Block;
+import org.bukkit.World;
 import org.bukkit.entity.Boat;
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
@@ -10,138 +9,146 @@ import java.util.List;
 
 /**
  * Represents a player's kart (boat) with custom physics, steering, checkpoints, and particle effects.
+ *
+ * Each tick runs in three phases: read the boat and driver once, step the
+ * pure {@link KartPhysics} simulation, then write rotation and velocity
+ * back to the boat. Scratch objects are reused so the loop does not allocate.
+ * Terrain comes from the track's pre-sampled {@link TrackSurface}, so the
+ * simulation itself never reads the world.
  */
 public class KartVehicle {
     private final Player driver;
     private final Boat boat;
-    private final KartConfig cfg;
-    private final List<Location> checkpoints;
-
-    private double speed = 0;
-    private Vector direction;
+    private final World world;
+    private final KartPhysics physics;
+    private final TrackSurface surface;
+    private final Heightmap terrain;
+    private final KartState state;
+
+    private final TrackPath path;
+    private final int checkpointCount;
+    private final double checkpointRadius;
+    private final int totalLaps;
+    private final double respawnYOffset;
+    private final int offTrackGraceTicks;
+
+    private final double boostThreshold;
+    private final KartStats.ParticleEffect boostParticles;
+    private final KartStats.ParticleEffect driftParticles;
+
+    private final Location boatScratch = new Location(null, 0, 0, 0);
+    private final Location driverScratch = new Location(null, 0, 0, 0);
+    private final Location particleScratch = new Location(null, 0, 0, 0);
+    private final Vector velocityScratch = new Vector();
+
+    private float lastYaw;
     private boolean finished = false;
     private int lastCheckpoint = 0;
     private int lap = 0;
     private int tickCount = 0;
+    private int offTrackTicks = 0;
 
     public KartVehicle(Player driver, Boat boat, KartConfig cfg, List<Location> checkpoints) {
+        this(driver, boat, cfg.getStats(), TrackPath.of(checkpoints), cfg.getStats().getTotalLaps(),
+             TrackSurface.empty(), 0);
+    }
+
+    /**
+     * @param stats   compiled stats of the chosen kart
+     * @param path    compiled checkpoints of the track
+     * @param laps    laps to finish the race
+     * @param surface sampled terrain around the track; {@link TrackSurface#empty()}
+     *                disables slope handling and off-track detection
+     * @param offTrackGraceTicks ticks off the track surface before the kart is respawned
+     */
+    public KartVehicle(Player driver, Boat boat, KartStats stats, TrackPath path, int laps,
+                       TrackSurface surface, int offTrackGraceTicks) {
         this.driver = driver;
         this.boat = boat;
-        this.cfg = cfg;
-        this.checkpoints = checkpoints;
-        float initialYaw = boat.getLocation().getYaw();
-        this.direction = new Vector(-Math.sin(Math.toRadians(initialYaw)), 0,
-                                      Math.cos(Math.toRadians(initialYaw))).normalize();
+        this.world = boat.getWorld();
+        this.physics = KartPhysics.of(stats);
+        this.surface = surface;
+        this.terrain = surface.getHeights();
+
+        Location start = boat.getLocation();
+        this.lastYaw = start.getYaw();
+        this.state = new KartState(start.getX(), start.getY(), start.getZ(), lastYaw);
+
+        this.path = path;
+        this.checkpointCount = path.getCheckpointCount();
+        this.checkpointRadius = stats.getCheckpointRadius();
+        this.totalLaps = laps;
+        this.respawnYOffset = stats.getRespawnYOffset();
+        this.offTrackGraceTicks = offTrackGraceTicks;
+
+        this.boostThreshold = stats.getBoostThreshold();
+        this.boostParticles = stats.getBoostParticles();
+        this.driftParticles = stats.getDriftParticles();
     }
 
     /** Called each tick to update movement and state. */
     public void updateMovement() {
         tickCount++;
-        applySteering();
-        handleAcceleration();
-        handleSlope();
-        applyVelocity();
-        spawnParticles();
-        updateProgress();
-    }
 
-    // --- Steering via A/D strafe detection ---
-    private void applySteering() {
-        float boatYaw = boat.getLocation().getYaw();
-        float playerYaw = driver.getLocation().getYaw();
-        float delta = ((playerYaw - boatYaw + 540) % 360) - 180;
-        double turnRate = cfg.getStat("turnRate");
-        if (delta < -2) {
-            boatYaw -= turnRate;
-        } else if (delta > 2) {
-            boatYaw += turnRate;
-        }
-        boat.setRotation(boatYaw, boat.getLocation().getPitch());
-        this.direction = new Vector(-Math.sin(Math.toRadians(boatYaw)), 0,
-                                     Math.cos(Math.toRadians(boatYaw))).normalize();
-    }
+        // Read: one location per entity
+        boat.getLocation(boatScratch);
+        state.setPosition(boatScratch.getX(), boatScratch.getY(), boatScratch.getZ());
+        boolean sprinting = driver.isSprinting();
+        boolean sneaking = driver.isSneaking();
+        float lookYaw = driver.getLocation(driverScratch).getYaw();
 
-    // --- Acceleration and Braking ---
-    private void handleAcceleration() {
-        boolean accel = driver.isSprinting();
-        boolean brake = driver.isSneaking();
-        double accelRate = cfg.getStat("accelRate");
-        double decelRate = cfg.getStat("decelRate");
-        double brakeRate = cfg.getStat("brakeRate");
-        double maxSpeed  = cfg.getStat("maxSpeed");
-
-        if (accel && !brake) {
-            speed = Math.min(speed + accelRate, maxSpeed);
-        } else if (brake) {
-            speed = Math.max(speed - brakeRate, 0);
+        updateProgress();
+        if (surface.isOnTrack((int) Math.floor(state.x), (int) Math.floor(state.z))) {
+            offTrackTicks = 0;
         } else {
-            speed = Math.max(speed - decelRate, 0);
+            offTrackTicks++;
         }
-    }
 
-    // --- Slope Climbing and Controlled Drops ---
-    private void handleSlope() {
-        Location loc = boat.getLocation();
-        Vector dirFlat = direction.clone().setY(0).normalize();
-        Location front = loc.clone().add(dirFlat.multiply(1));
-        Block underFront = front.subtract(0, 1, 0).getBlock();
-
-        double stepHeight = cfg.getStat("slopeStep");
-        double climbSpeed = cfg.getStat("climbSpeed");
-        double dropSpeed  = cfg.getStat("dropSpeed");
-        Vector vel = boat.getVelocity();
-        double heightDiff = underFront.getY() - loc.getBlockY();
-
-        if (heightDiff > 0 && heightDiff <= stepHeight) {
-            vel.setY(climbSpeed);
-        } else if (heightDiff < 0) {
-            vel.setY(-dropSpeed);
-        } else {
-            vel.setY(0);
+        // Simulate
+        physics.step(state, KartPhysics.input(lookYaw, state.yaw, sprinting, sneaking), terrain);
+
+        // Write
+        float yaw = (float) state.yaw;
+        if (yaw != lastYaw) {
+            boat.setRotation(yaw, boatScratch.getPitch());
+            lastYaw = yaw;
         }
-        boat.setVelocity(vel);
-    }
+        boat.setVelocity(velocityScratch.setX(state.vx()).setY(state.vy).setZ(state.vz()));
 
-    // --- Apply final velocity vector ---
-    private void applyVelocity() {
-        Vector vel = direction.clone().multiply(speed);
-        vel.setY(boat.getVelocity().getY());
-        boat.setVelocity(vel);
+        spawnParticles(sprinting && sneaking);
     }
 
     // --- Particle Effects for Boost & Drift ---
-    private void spawnParticles() {
+    private void spawnParticles(boolean drifting) {
         // Boost trail
-        double boostThreshold = cfg.getStat("boostThreshold");
-        if (speed > boostThreshold) {
-            if (tickCount % (int)cfg.getStat("particles.boost.interval") == 0) {
-                Particle type = Particle.valueOf(cfg.getString("particles.boost.type"));
-                int count = (int)cfg.getStat("particles.boost.count");
-                Location origin = boat.getLocation().clone().subtract(direction.multiply(0.5));
-                boat.getWorld().spawnParticle(type, origin, count, 0.1, 0.1, 0.1, 0);
-            }
+        if (state.speed > boostThreshold && boostParticles.isDue(tickCount)) {
+            particleScratch.setWorld(world);
+            particleScratch.setX(state.x - state.dirX * 0.5);
+            particleScratch.setY(state.y);
+            particleScratch.setZ(state.z - state.dirZ * 0.5);
+            world.spawnParticle(boostParticles.getType(), particleScratch, boostParticles.getCount(),
+                    0.1, 0.1, 0.1, 0);
         }
         // Drift sparks
-        if (driver.isSprinting() && driver.isSneaking()) {
-            if (tickCount % (int)cfg.getStat("particles.drift.interval") == 0) {
-                Particle type = Particle.valueOf(cfg.getString("particles.drift.type"));
-                int count = (int)cfg.getStat("particles.drift.count");
-                boat.getWorld().spawnParticle(type, boat.getLocation(), count, 0, 0, 0, 0);
-            }
+        if (drifting && driftParticles.isDue(tickCount)) {
+            particleScratch.setWorld(world);
+            particleScratch.setX(state.x);
+            particleScratch.setY(state.y);
+            particleScratch.setZ(state.z);
+            world.spawnParticle(driftParticles.getType(), particleScratch, driftParticles.getCount(),
+                    0, 0, 0, 0);
         }
     }
 
     // --- Checkpoint & Lap Tracking ---
     private void updateProgress() {
         if (finished) return;
-        Location target = checkpoints.get(lastCheckpoint);
-        double radius = cfg.getStat("checkpointRadius");
-        if (boat.getLocation().distanceSquared(target) <= radius * radius) {
+        if (path.reached(lastCheckpoint, state.x, state.z, checkpointRadius)) {
             lastCheckpoint++;
-            if (lastCheckpoint >= checkpoints.size()) {
+            if (lastCheckpoint >= checkpointCount) {
                 lap++;
                 lastCheckpoint = 0;
-                if (lap >= cfg.getStat("totalLaps")) {
+                if (lap >= totalLaps) {
                     finished = true;
                 }
             }
@@ -149,20 +156,27 @@ public class KartVehicle {
     }
 
     // --- Off-track Respawn ---
+    /**
+     * Respawn at the last checkpoint if the kart fell below it or has been off
+     * the track surface for longer than the grace period, which also stops
+     * karts from cutting corners; uses the position read this tick.
+     */
     public void handleOffTrack() {
-        double minY = cfg.getStat("respawnYOffset");
-        if (boat.getLocation().getY() < minY) {
-            Location cp = getLastCheckpointLocation();
-            boat.teleport(cp.add(0, minY, 0));
-            boat.setVelocity(new Vector(0, 0, 0));
+        double minY = respawnYOffset;
+        if (state.y < minY || (!finished && offTrackTicks > offTrackGraceTicks)) {
+            // The checkpoint most recently passed; the finish line before the first one
+            int last = lastCheckpoint == 0 ? checkpointCount - 1 : lastCheckpoint - 1;
+            Location cp = new Location(world, path.checkpointX(last), path.checkpointY(last) + minY,
+                    path.checkpointZ(last), lastYaw, 0);
+            boat.teleport(cp);
+            boat.setVelocity(velocityScratch.setX(0).setY(0).setZ(0));
+            state.setPosition(cp.getX(), cp.getY(), cp.getZ());
+            state.speed = 0;
+            state.vy = 0;
+            offTrackTicks = 0;
         }
     }
 
-    private Location getLastCheckpointLocation() {
-        int idx = Math.min(lastCheckpoint, checkpoints.size() - 1);
-        return checkpoints.get(idx);
-    }
-
     public boolean hasFinishedLap() {
         return finished;
     }
@@ -178,4 +192,28 @@ public class KartVehicle {
     public int getLap() {
         return lap;
     }
-}
\ No newline at end of file
+
+    /** @return checkpoints passed since the start, counting every lap */
+    public int getCheckpointsPassed() {
+        return lap * checkpointCount + lastCheckpoint;
+    }
+
+    /**
+     * @return distance covered since the start along the track, using the
+     *         position read this tick
+     */
+    public double getProgress() {
+        double lapDistance = finished ? 0 : path.lapDistance(lastCheckpoint, state.x, state.z);
+        return lap * path.getLapLength() + lapDistance;
+    }
+
+    /** @return current forward speed in blocks per tick */
+    public double getSpeed() {
+        return state.speed;
+    }
+
+    /** @return the simulation state; read-only for callers outside the race package */
+    KartState getState() {
+        return state;
+    }
+}
@@ -0,0 +1,491 @@
+package com.auroraschaos.minigames.game.race;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.arena.Arena;
+import com.auroraschaos.minigames.config.ConfigurationException;
+import com.auroraschaos.minigames.util.MaterialSet;
+
+import com.sk89q.worldedit.math.BlockVector3;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiled race tracks and kart stats, loaded once from races/ and karts/.
+ *
+ * Every file is parsed into an immutable {@link TrackConfig} or
+ * {@link KartStats} and published together as a {@link Snapshot}; a
+ * {@link RaceGame} takes what it needs from the current snapshot, so match
+ * construction does no I/O. Malformed files are logged and skipped (or, on
+ * reload, the last good version is kept).
+ *
+ * When watching is enabled, an async task checks file timestamps and sizes
+ * and re-parses both folders off the main thread when anything changed. The
+ * new snapshot is swapped in on the main thread; running races keep the
+ * objects they started with.
+ *
+ * The terrain under a track is sampled into a {@link TrackSurface} for every
+ * race arena as soon as arenas and tracks are registered, and again after
+ * tracks are reloaded, so no race samples the world when it starts. The
+ * main thread only takes {@link ChunkSnapshot}s, a few chunks per tick;
+ * the columns are read from those snapshots off the main thread.
+ */
+public final class RaceAssetRegistry {
+
+    private static final String TRACK_DIR = "races";
+    private static final String KART_DIR = "karts";
+    private static final String DEFAULTS = "defaults.yml";
+    private static final String[] BUNDLED_TRACKS = {DEFAULTS, "example.yml"};
+    private static final String[] BUNDLED_KARTS = {DEFAULTS, "drift_king.yml", "speedster.yml", "tank.yml"};
+    /** Blocks around the start line and checkpoints covered by a track surface. */
+    private static final int SURFACE_MARGIN = 48;
+    /** Chunk snapshots taken per tick while preparing surfaces. */
+    private static final int CHUNKS_PER_TICK = 4;
+
+    private final MinigamesPlugin plugin;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long fingerprint;
+    private BukkitTask watcher;
+    /** Sampled surfaces by track, world and origin; main thread only. */
+    private final Map<String, TrackSurface> surfaces = new HashMap<>();
+
+    // Surface preparation; main thread only
+    private List<Arena> raceArenas = List.of();
+    private final ArrayDeque<SurfaceJob> jobs = new ArrayDeque<>();
+    private final Set<String> preparing = new HashSet<>();
+    /** Bumped on every publish so surfaces of replaced tracks are dropped. */
+    private int generation;
+    private BukkitTask preparer;
+
+    public RaceAssetRegistry(MinigamesPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Save the bundled files if missing and load both folders synchronously.
+     * Call on the main thread during startup.
+     */
+    public void loadAll() {
+        File tracks = new File(plugin.getDataFolder(), TRACK_DIR);
+        for (String bundled : BUNDLED_TRACKS) {
+            if (!new File(tracks, bundled).exists()) {
+                plugin.saveResource(TRACK_DIR + "/" + bundled, false);
+            }
+        }
+        File karts = new File(plugin.getDataFolder(), KART_DIR);
+        for (String bundled : BUNDLED_KARTS) {
+            if (!new File(karts, bundled).exists()) {
+                plugin.saveResource(KART_DIR + "/" + bundled, false);
+            }
+        }
+        fingerprint = fingerprint();
+        publish(parse(snapshot));
+    }
+
+    /**
+     * Poll the asset folders every {@code periodTicks} and hot-reload on change.
+     */
+    public void startWatching(long periodTicks) {
+        stopWatching();
+        watcher = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            long current = fingerprint();
+            if (current == fingerprint) return;
+            fingerprint = current;
+            Parsed parsed = parse(snapshot);
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                publish(parsed);
+                plugin.getLogger().info("[Races] Reloaded " + parsed.snapshot.tracks.size() + " tracks and "
+                        + parsed.snapshot.karts.size() + " karts");
+            });
+        }, periodTicks, periodTicks);
+    }
+
+    public void stopWatching() {
+        if (watcher != null) {
+            watcher.cancel();
+            watcher = null;
+        }
+        if (preparer != null) {
+            preparer.cancel();
+            preparer = null;
+        }
+    }
+
+    /** @return the assets currently on offer; never null */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Sample the track surfaces of these arenas now, and again whenever the
+     * tracks are reloaded. An arena only gets the track named after it, or
+     * every track if there is none. Main thread only.
+     */
+    public void prepareSurfaces(Collection<Arena> arenas) {
+        raceArenas = List.copyOf(arenas);
+        for (Arena arena : raceArenas) {
+            TrackConfig named = snapshot.getTrack(arena.getName());
+            Collection<TrackConfig> tracks = named != null ? List.of(named) : snapshot.getTracks();
+            for (TrackConfig track : tracks) {
+                prepare(track, arena.getWorld(), arena.getOrigin());
+            }
+        }
+    }
+
+    /**
+     * The terrain of {@code track} in an arena at {@code origin}. Surfaces
+     * are prepared ahead of time; one that is not ready yet is queued and
+     * this race gets {@link TrackSurface#empty()}. Main thread only.
+     */
+    public TrackSurface surfaceFor(TrackConfig track, World world, BlockVector3 origin) {
+        TrackSurface surface = surfaces.get(surfaceKey(track, world, origin));
+        if (surface != null) {
+            return surface;
+        }
+        plugin.getLogger().warning("[Races] Surface of track " + track.getName() + " at " + origin
+                + " is not ready yet; off-track detection is disabled for this race");
+        prepare(track, world, origin);
+        return TrackSurface.empty();
+    }
+
+    private static String surfaceKey(TrackConfig track, World world, BlockVector3 origin) {
+        return key(track.getName()) + '@' + world.getName() + ':'
+                + origin.getX() + ',' + origin.getY() + ',' + origin.getZ();
+    }
+
+    /** Queue sampling of one track in one arena, unless it is done or queued. */
+    private void prepare(TrackConfig track, World world, BlockVector3 origin) {
+        if (world == null) return;
+        String key = surfaceKey(track, world, origin);
+        if (surfaces.containsKey(key) || !preparing.add(key)) return;
+        int[] b = track.bounds(origin, SURFACE_MARGIN);
+        try {
+            Heightmap.checkArea(b[2] - b[0] + 1, b[3] - b[1] + 1);
+        } catch (IllegalArgumentException ex) {
+            plugin.getLogger().warning("[Races] Track " + track.getName() + " is too large to sample: "
+                    + ex.getMessage());
+            surfaces.put(key, TrackSurface.empty());
+            preparing.remove(key);
+            return;
+        }
+        jobs.add(new SurfaceJob(key, track, world, origin, b, generation));
+        if (preparer == null) {
+            preparer = Bukkit.getScheduler().runTaskTimer(plugin, this::snapshotChunks, 1L, 1L);
+        }
+    }
+
+    /**
+     * Take the next few chunk snapshots and read their columns off the main
+     * thread; the read that finishes a job builds its surface.
+     */
+    private void snapshotChunks() {
+        int budget = CHUNKS_PER_TICK;
+        while (budget > 0 && !jobs.isEmpty()) {
+            SurfaceJob job = jobs.peek();
+            List<ChunkSnapshot> batch = job.snapshotChunks(budget);
+            budget -= batch.size();
+            if (job.allTaken()) {
+                jobs.poll();
+            }
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                if (job.read(batch)) {
+                    TrackSurface surface = job.build();
+                    Bukkit.getScheduler().runTask(plugin, () -> store(job, surface));
+                }
+            });
+        }
+        if (jobs.isEmpty() && preparer != null) {
+            preparer.cancel();
+            preparer = null;
+        }
+    }
+
+    private void store(SurfaceJob job, TrackSurface surface) {
+        if (job.generation != generation) return;
+        preparing.remove(job.key);
+        surfaces.put(job.key, surface);
+        if (!surface.hasMask()) {
+            plugin.getLogger().warning("[Races] No surfaceBlocks of track " + job.track.getName()
+                    + " found in " + job.world.getName() + "; off-track detection is disabled there");
+        }
+        plugin.logVerbose("[RaceAssetRegistry] Sampled " + job.track.getName() + " at " + job.origin + ": "
+                + surface.getTrackColumns() + " track columns");
+    }
+
+    private void publish(Parsed parsed) {
+        for (String error : parsed.errors) {
+            plugin.getLogger().severe("[Races] " + error);
+        }
+        snapshot = parsed.snapshot;
+        surfaces.clear();
+        jobs.clear();
+        preparing.clear();
+        generation++;
+        prepareSurfaces(raceArenas);
+        plugin.logVerbose("[RaceAssetRegistry] " + snapshot.tracks.size() + " tracks, "
+                + snapshot.karts.size() + " karts");
+    }
+
+    // ---------- PARSING (any thread) ----------
+
+    private Parsed parse(Snapshot previous) {
+        List<String> errors = new ArrayList<>();
+        File dataFolder = plugin.getDataFolder();
+
+        YamlConfiguration trackDefaults = YamlConfiguration.loadConfiguration(
+                new File(dataFolder, TRACK_DIR + "/" + DEFAULTS));
+        Map<String, TrackConfig> tracks = new HashMap<>();
+        for (File f : ymlFiles(new File(dataFolder, TRACK_DIR))) {
+            String name = baseName(f);
+            try {
+                YamlConfiguration cfg = load(f);
+                mergeDefaults(cfg, trackDefaults);
+                tracks.put(key(name), TrackConfig.from(name, cfg));
+            } catch (ConfigurationException ex) {
+                keepPrevious(errors, "track", name, ex, previous.tracks, tracks);
+            }
+        }
+
+        YamlConfiguration kartDefaults = YamlConfiguration.loadConfiguration(
+                new File(dataFolder, KART_DIR + "/" + DEFAULTS));
+        Map<String, KartStats> karts = new HashMap<>();
+        KartStats defaultKart = previous.defaultKart;
+        try {
+            defaultKart = new KartConfig("default", kartDefaults, new YamlConfiguration()).getStats();
+        } catch (ConfigurationException ex) {
+            errors.add("Kart defaults: " + ex.getMessage()
+                    + (defaultKart != null ? " (keeping the previous version)" : ""));
+        }
+        for (File f : ymlFiles(new File(dataFolder, KART_DIR))) {
+            String name = baseName(f);
+            try {
+                karts.put(key(name), new KartConfig(name, load(f), kartDefaults).getStats());
+            } catch (ConfigurationException ex) {
+                keepPrevious(errors, "kart", name, ex, previous.karts, karts);
+            }
+        }
+        return new Parsed(new Snapshot(tracks, karts, defaultKart), errors);
+    }
+
+    private static YamlConfiguration load(File f) throws ConfigurationException {
+        YamlConfiguration cfg = new YamlConfiguration();
+        try {
+            cfg.load(f);
+        } catch (Exception ex) {
+            throw new ConfigurationException("cannot read " + f.getName() + ": " + ex.getMessage(), ex);
+        }
+        return cfg;
+    }
+
+    /**
+     * Copy every value of {@code defaults} the file does not set itself.
+     * Real values rather than {@code setDefaults}, because lookups with an
+     * explicit fallback ignore a configuration's defaults.
+     */
+    private static void mergeDefaults(YamlConfiguration cfg, YamlConfiguration defaults) {
+        for (String path : defaults.getKeys(true)) {
+            if (!defaults.isConfigurationSection(path) && !cfg.isSet(path)) {
+                cfg.set(path, defaults.get(path));
+            }
+        }
+    }
+
+    private static <T> void keepPrevious(List<String> errors, String kind, String name,
+                                         ConfigurationException ex,
+                                         Map<String, T> previous, Map<String, T> next) {
+        T old = previous.get(key(name));
+        if (old != null) {
+            next.put(key(name), old);
+            errors.add("Invalid " + kind + " '" + name + "', keeping the previous version: " + ex.getMessage());
+        } else {
+            errors.add("Invalid " + kind + " '" + name + "', skipped: " + ex.getMessage());
+        }
+    }
+
+    private static List<File> ymlFiles(File dir) {
+        List<File> out = new ArrayList<>();
+        File[] files = dir.listFiles((d, n) -> n.endsWith(".yml") && !n.equalsIgnoreCase(DEFAULTS));
+        if (files != null) {
+            for (File f : files) out.add(f);
+        }
+        return out;
+    }
+
+    /** Cheap change detector: names, sizes and modification times of every asset file. */
+    private long fingerprint() {
+        long hash = 17;
+        for (String dir : new String[] {TRACK_DIR, KART_DIR}) {
+            File[] files = new File(plugin.getDataFolder(), dir).listFiles((d, n) -> n.endsWith(".yml"));
+            if (files == null) continue;
+            for (File f : files) {
+                // Order-independent so listFiles order does not matter
+                hash += (f.getName().hashCode() * 31L + f.lastModified()) * 31L + f.length();
+            }
+        }
+        return hash;
+    }
+
+    private static String baseName(File f) {
+        return f.getName().substring(0, f.getName().length() - ".yml".length());
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One track surface being prepared: chunk snapshots are taken on the
+     * main thread a few at a time, and each batch is read into the column
+     * arrays on another thread, so only a handful of snapshots are held at
+     * once. Batches cover disjoint columns; the one that brings
+     * {@code remaining} to zero sees every write and builds the surface.
+     */
+    private static final class SurfaceJob {
+        final String key;
+        final TrackConfig track;
+        final World world;
+        final BlockVector3 origin;
+        final int generation;
+        final int minX, minZ, maxX, maxZ, width;
+        final int minChunkX, minChunkZ, chunksX, chunkCount;
+        final int[] heights;
+        final boolean[] onTrack;
+        final AtomicInteger remaining;
+        int taken;
+
+        SurfaceJob(String key, TrackConfig track, World world, BlockVector3 origin, int[] bounds, int generation) {
+            this.key = key;
+            this.track = track;
+            this.world = world;
+            this.origin = origin;
+            this.generation = generation;
+            this.minX = bounds[0];
+            this.minZ = bounds[1];
+            this.maxX = bounds[2];
+            this.maxZ = bounds[3];
+            this.width = maxX - minX + 1;
+            this.minChunkX = minX >> 4;
+            this.minChunkZ = minZ >> 4;
+            this.chunksX = (maxX >> 4) - minChunkX + 1;
+            this.chunkCount = chunksX * ((maxZ >> 4) - minChunkZ + 1);
+            this.heights = new int[width * (maxZ - minZ + 1)];
+            this.onTrack = new boolean[heights.length];
+            this.remaining = new AtomicInteger(chunkCount);
+        }
+
+        /** Snapshot up to {@code max} more chunks; main thread. */
+        List<ChunkSnapshot> snapshotChunks(int max) {
+            List<ChunkSnapshot> batch = new ArrayList<>(max);
+            while (batch.size() < max && taken < chunkCount) {
+                int cx = minChunkX + taken % chunksX;
+                int cz = minChunkZ + taken / chunksX;
+                batch.add(world.getChunkAt(cx, cz).getChunkSnapshot(true, false, false));
+                taken++;
+            }
+            return batch;
+        }
+
+        boolean allTaken() {
+            return taken == chunkCount;
+        }
+
+        /** Read the columns of {@code batch} inside the bounds; any thread. @return true if this finished the job */
+        boolean read(List<ChunkSnapshot> batch) {
+            MaterialSet surfaceBlocks = track.getSurfaceBlocks();
+            for (ChunkSnapshot chunk : batch) {
+                int baseX = chunk.getX() << 4, baseZ = chunk.getZ() << 4;
+                for (int z = Math.max(minZ, baseZ); z <= Math.min(maxZ, baseZ + 15); z++) {
+                    for (int x = Math.max(minX, baseX); x <= Math.min(maxX, baseX + 15); x++) {
+                        int y = chunk.getHighestBlockYAt(x & 15, z & 15);
+                        Material type = chunk.getBlockType(x & 15, y, z & 15);
+                        int idx = (z - minZ) * width + (x - minX);
+                        heights[idx] = y;
+                        onTrack[idx] = surfaceBlocks.isEmpty() ? type.isSolid() : surfaceBlocks.contains(type);
+                    }
+                }
+            }
+            return remaining.addAndGet(-batch.size()) == 0;
+        }
+
+        /** Build the surface once every chunk was read. */
+        TrackSurface build() {
+            return TrackSurface.sample(minX, minZ, maxX, maxZ, (x, z, out) -> {
+                int idx = (z - minZ) * width + (x - minX);
+                out.y = heights[idx];
+                out.onTrack = onTrack[idx];
+            });
+        }
+    }
+
+    private static final class Parsed {
+        final Snapshot snapshot;
+        final List<String> errors;
+
+        Parsed(Snapshot snapshot, List<String> errors) {
+            this.snapshot = snapshot;
+            this.errors = errors;
+        }
+    }
+
+    /** One consistent, immutable set of tracks and karts. */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), null);
+
+        private final Map<String, TrackConfig> tracks;
+        private final Map<String, KartStats> karts;
+        private final KartStats defaultKart;
+
+        Snapshot(Map<String, TrackConfig> tracks, Map<String, KartStats> karts, KartStats defaultKart) {
+            this.tracks = Map.copyOf(tracks);
+            this.karts = Map.copyOf(karts);
+            this.defaultKart = defaultKart;
+        }
+
+        /** @return the named track (case-insensitive), or null */
+        public TrackConfig getTrack(String name) {
+            return name == null ? null : tracks.get(key(name));
+        }
+
+        /**
+         * @return the track named {@code preferred} if it exists, otherwise a
+         *         random one; null when no track loaded
+         */
+        public TrackConfig chooseTrack(String preferred, Random rng) {
+            TrackConfig track = getTrack(preferred);
+            if (track != null || tracks.isEmpty()) {
+                return track;
+            }
+            List<TrackConfig> all = new ArrayList<>(tracks.values());
+            return all.get(rng.nextInt(all.size()));
+        }
+
+        public Collection<TrackConfig> getTracks() { return tracks.values(); }
+
+        /** @return the named kart (case-insensitive), or null */
+        public KartStats getKart(String name) {
+            return name == null ? null : karts.get(key(name));
+        }
+
+        public Collection<KartStats> getKarts() { return karts.values(); }
+
+        /** @return stats from karts/defaults.yml alone; null if it never loaded */
+        public KartStats getDefaultKart() { return defaultKart; }
+    }
+}
@@ -4,68 +4,60 @@ import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.game.GameInstance;
 import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 import com.auroraschaos.minigames.util.CountdownTimer;
 import com.auroraschaos.minigames.util.SpectatorUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * RaceGame handles a boat-based kart race, selecting a track and managing the race lifecycle.
  */
 public class RaceGame extends GameInstance {
-    private final TrackConfig trackConfig;
-    private final KartConfig defaultKartConfig;
-    private final List<KartConfig> allKartConfigs;
+    /** Ghost ring buffer per kart; at ~5 bytes per tick this holds laps of about ten minutes. */
+    private static final int GHOST_BUFFER_BYTES = 1 << 16;
+
+    private final TrackConfig track;
+    private final KartStats kart;
     private final ScoreboardManager scoreboardManager;
     private final CountdownTimer countdownTimer;
 
-    private final Map<Player, KartVehicle> karts = new HashMap<>();
+    private KartVehicle[] karts = new KartVehicle[0];
+    private RaceRanking ranking;
+    private GhostRecorder[] recorders = new GhostRecorder[0];
+    private int[] recordedLaps = new int[0];
+    private GhostRunner ghostRunner;
+    /** Best lap waiting for the first kart to cross the line on a multi-lap race */
+    private Ghost pendingGhost;
     private BukkitTask startTask;
     private BukkitTask raceLoop;
 
+    /**
+     * @param track compiled track from the {@link RaceAssetRegistry}
+     * @param kart  compiled stats every participant drives with
+     */
     public RaceGame(String type,
                     GameMode gameMode,
                     MinigamesPlugin plugin,
                     Arena arena,
                     List<Player> participants,
-                    List<File> availableTracks,
-                    Map<String, KartConfig> kartConfigs,
-                    String specifiedTrackName) throws IOException {
+                    TrackConfig track,
+                    KartStats kart) {
         super(plugin, arena, type, gameMode, participants);
         this.scoreboardManager = plugin.getScoreboardManager();
         this.countdownTimer   = plugin.getCountdownTimer();
-
-        // Load kart configs
-        this.allKartConfigs    = List.copyOf(kartConfigs.values());
-        this.defaultKartConfig = allKartConfigs.get(0);
-
-        // Choose track
-        plugin.saveResource("races/defaults.yml", false);
-        File trackDefaults = new File(plugin.getDataFolder(), "races/defaults.yml");
-        File trackFile     = chooseTrack(availableTracks, specifiedTrackName);
-        this.trackConfig   = new TrackConfig(trackFile, trackDefaults);
-    }
-
-    private File chooseTrack(List<File> tracks, String name) {
-        if (name != null) {
-            for (File f : tracks) {
-                if (f.getName().equalsIgnoreCase(name + ".yml")) {
-                    return f;
-                }
-            }
-        }
-        return tracks.get(new Random().nextInt(tracks.size()));
+        this.track = track;
+        this.kart = kart;
     }
 
     @Override
@@ -76,73 +68,269 @@ public class RaceGame extends GameInstance {
             scoreboardManager.showToPlayer(getId(), p);
         }
         // Title line
-        scoreboardManager.setScoreLine(getId(), "title_" + getId(),
-            trackConfig.getString("displayName"), 4);
+        scoreboardManager.setScoreLine(getId(), "title_" + getId(), track.getDisplayName(), 4);
 
         // Spawn karts
-        List<Location> starts      = trackConfig.getLocationList("startLine");
-        List<Location> checkpoints = trackConfig.getLocationList("checkpoints");
+        List<Location> starts = track.startLocations(arena.getWorld(), arena.getOrigin());
+        TrackPath path = track.pathAt(arena.getOrigin());
+        TrackSurface surface = plugin.getRaceAssets().surfaceFor(track, arena.getWorld(), arena.getOrigin());
+        karts = new KartVehicle[participants.size()];
         for (int i = 0; i < participants.size(); i++) {
             Player p = participants.get(i);
             Location loc = starts.get(i % starts.size());
-            var boat = p.getWorld().spawn(loc, org.bukkit.entity.Boat.class);
+            var boat = arena.getWorld().spawn(loc, org.bukkit.entity.Boat.class);
             boat.setGravity(false);
             boat.addPassenger(p);
-            karts.put(p, new KartVehicle(p, boat, defaultKartConfig, checkpoints));
+            karts[i] = new KartVehicle(p, boat, kart, path, track.getTotalLaps(), surface,
+                    track.getOffTrackGraceTicks());
+        }
+        ranking = new RaceRanking(karts.length, path.getCheckpointCount() * track.getTotalLaps());
+        recorders = new GhostRecorder[karts.length];
+        recordedLaps = new int[karts.length];
+        for (int i = 0; i < karts.length; i++) {
+            recorders[i] = new GhostRecorder(GHOST_BUFFER_BYTES,
+                    arena.getOrigin().getX(), arena.getOrigin().getY(), arena.getOrigin().getZ());
         }
 
         // Countdown then start race
-        int secs = trackConfig.getInt("countdownSeconds");
+        int secs = track.getCountdownSeconds();
         countdownTimer.startCountdown(getId(), secs);
         startTask = new BukkitRunnable() {
             @Override public void run() {
                 launchRaceLoop();
             }
         }.runTaskLater(plugin, secs * 20L);
-        plugin.logVerbose(String.format(
-                "[RaceGame] Started with %d players on %s",
-                participants.size(), arena.getName()));
+        plugin.getEventLog().event("game.start", "type", type, "id", getId(),
+                "players", participants.size(), "track", track.getName());
     }
 
     private void launchRaceLoop() {
         // Remove countdown line
         countdownTimer.cancelCountdown(getId());
         // Broadcast GO
-        String go = trackConfig.getString("messages.go");
+        String go = track.getGoMessage();
         if (go != null) Bukkit.getServer().broadcastMessage(go);
 
-        // Schedule per-tick race updates
-        int interval = trackConfig.getInt("scoreboard.updateInterval");
+        for (int i = 0; i < karts.length; i++) {
+            recorders[i].startLap(karts[i].getState());
+        }
+        // A single-lap record starts from the grid like this race; a flying
+        // lap starts at the line, so on longer races the ghost waits for it
+        Ghost best = plugin.getRaceGhosts().best(track.getName());
+        if (best != null) {
+            if (track.getTotalLaps() == 1) {
+                ghostRunner = new GhostRunner(best);
+            } else {
+                pendingGhost = best;
+            }
+        }
+
+        // Physics steps every tick; the scoreboard refreshes on its own interval
+        int interval = track.getScoreboardInterval();
+        StandingsBoard board = new StandingsBoard(karts.length, track.getTotalLaps());
+        TickProfiler.Section section = profileSection("raceLoop");
         raceLoop = new BukkitRunnable() {
+            private long tick;
+
             @Override public void run() {
-                for (KartVehicle kv : karts.values()) {
-                    kv.updateMovement();
-                    kv.handleOffTrack();
+                section.begin();
+                try {
+                    int finishedCount = 0;
+                    for (int i = 0; i < karts.length; i++) {
+                        KartVehicle kv = karts[i];
+                        kv.updateMovement();
+                        kv.handleOffTrack();
+                        recordGhost(i);
+                        ranking.update(i, kv.getCheckpointsPassed(), kv.getProgress(), tick);
+                        if (kv.hasFinishedLap()) {
+                            if (!ranking.isFinished(i)) {
+                                ranking.finish(i, tick);
+                                announceFinish(i);
+                            }
+                            finishedCount++;
+                        }
+                    }
+                    ranking.sort();
+                    if (ghostRunner != null && !ghostRunner.tick()) {
+                        ghostRunner = null;
+                    }
+                    if (tick++ % interval == 0) {
+                        board.refresh();
+                    }
+                    // Check finish
+                    if (finishedCount == karts.length) {
+                        onGameEnd();
+                        this.cancel();
+                    }
+                } finally {
+                    section.end();
                 }
-                // Update scoreboard lines
-                int line = 3;
-                for (Map.Entry<Player, KartVehicle> e : karts.entrySet()) {
-                    Player p = e.getKey();
-                    KartVehicle kv = e.getValue();
-                    String text = p.getName() + " - Lap " + kv.getLap() + "/" + trackConfig.getInt("totalLaps");
-                    scoreboardManager.setScoreLine(getId(), "lap_" + p.getName(), text, line--);
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+
+    /**
+     * Record this tick of a kart and offer each completed lap as the track's
+     * ghost. On multi-lap races only flying laps are offered, so every ghost
+     * of a track starts the way it is played back: at the line, at speed.
+     */
+    private void recordGhost(int kart) {
+        KartVehicle kv = karts[kart];
+        if (ranking.isFinished(kart)) return;
+        GhostRecorder recorder = recorders[kart];
+        recorder.record(kv.getState());
+        if (kv.getLap() == recordedLaps[kart]) return;
+
+        int finishedLap = recordedLaps[kart];
+        recordedLaps[kart] = kv.getLap();
+        if (pendingGhost != null) {
+            ghostRunner = new GhostRunner(pendingGhost);
+            pendingGhost = null;
+        }
+        boolean flying = finishedLap > 0 || track.getTotalLaps() == 1;
+        Ghost lap = recorder.finishLap(kv.getDriver().getName());
+        if (lap != null && flying && plugin.getRaceGhosts().offer(track.getName(), lap)) {
+            kv.getDriver().sendMessage("§dNew lap record on " + track.getDisplayName() + "§d: §e"
+                    + formatGap(lap.getLapTicks()) + "s");
+        }
+        if (!kv.hasFinishedLap()) {
+            recorder.startLap(kv.getState());
+        }
+    }
+
+    private void announceFinish(int kart) {
+        // Every kart that finished earlier is already ranked ahead
+        int place = 1;
+        for (int i = 0; i < karts.length; i++) {
+            if (i != kart && ranking.isFinished(i)) place++;
+        }
+        KartVehicle kv = karts[kart];
+        String text = "§aYou finished in place §e" + place + "§a!";
+        if (place > 1) {
+            text += " §7(+" + formatGap(ranking.gapTicks(kart)) + "s)";
+        }
+        kv.getDriver().sendMessage(text);
+        plugin.getEventLog().event("race.finish", "id", getId(), "player", kv.getDriver().getName(), "place", place);
+    }
+
+    /** @return ticks as seconds with one decimal */
+    private static String formatGap(long ticks) {
+        long tenths = ticks / 2;
+        return (tenths / 10) + "." + (tenths % 10);
+    }
+
+    /**
+     * Replays the track's best lap as a marker armor stand wearing a boat,
+     * shown only to this race's drivers.
+     */
+    private final class GhostRunner {
+        private final Ghost.Playback playback;
+        private final ArmorStand stand;
+        private final Location scratch;
+
+        GhostRunner(Ghost ghost) {
+            this.playback = ghost.playback();
+            playback.next();
+            this.scratch = new Location(arena.getWorld(), 0, 0, 0);
+            this.stand = arena.getWorld().spawn(position(), ArmorStand.class);
+            stand.setVisibleByDefault(false);
+            for (Player p : participants) {
+                p.showEntity(plugin, stand);
+            }
+            stand.setMarker(true);
+            stand.setInvisible(true);
+            stand.setGravity(false);
+            stand.setInvulnerable(true);
+            stand.setPersistent(false);
+            stand.setGlowing(true);
+            stand.setCustomName("§7Ghost: " + ghost.getDriver() + " §8(" + formatGap(ghost.getLapTicks()) + "s)");
+            stand.setCustomNameVisible(true);
+            stand.getEquipment().setHelmet(new ItemStack(Material.OAK_BOAT));
+        }
+
+        private Location position() {
+            scratch.setX(arena.getOrigin().getX() + playback.x());
+            scratch.setY(arena.getOrigin().getY() + playback.y());
+            scratch.setZ(arena.getOrigin().getZ() + playback.z());
+            scratch.setYaw(playback.yaw());
+            return scratch;
+        }
+
+        /** @return false once the lap is over and the stand is gone */
+        boolean tick() {
+            if (!playback.next()) {
+                remove();
+                return false;
+            }
+            stand.teleport(position());
+            return true;
+        }
+
+        void remove() {
+            stand.remove();
+        }
+    }
+
+    /**
+     * Sidebar standings: one line per place. A line is rewritten only when
+     * the kart, lap or displayed gap in that place changed.
+     */
+    private final class StandingsBoard {
+        private final int totalLaps;
+        private final int[] shownKart;
+        private final int[] shownLap;
+        private final long[] shownGapTenths;
+
+        StandingsBoard(int places, int totalLaps) {
+            this.totalLaps = totalLaps;
+            this.shownKart = new int[places];
+            this.shownLap = new int[places];
+            this.shownGapTenths = new long[places];
+            Arrays.fill(shownKart, -1);
+        }
+
+        void refresh() {
+            for (int place = 0; place < shownKart.length; place++) {
+                int kart = ranking.kartAt(place);
+                int lap = Math.min(karts[kart].getLap() + 1, totalLaps);
+                long gapTenths = place == 0 ? 0 : ranking.gapTicks(kart) / 2;
+                if (shownKart[place] == kart && shownLap[place] == lap
+                        && shownGapTenths[place] == gapTenths) {
+                    continue;
+                }
+                shownKart[place] = kart;
+                shownLap[place] = lap;
+                shownGapTenths[place] = gapTenths;
+
+                StringBuilder text = new StringBuilder(48)
+                        .append("§e").append(place + 1).append(". §f")
+                        .append(karts[kart].getDriver().getName());
+                if (ranking.isFinished(kart)) {
+                    text.append(" §aFIN");
+                } else {
+                    text.append(" §7L").append(lap).append('/').append(totalLaps);
                 }
-                // Check finish
-                if (karts.values().stream().allMatch(KartVehicle::hasFinishedLap)) {
-                    onGameEnd();
-                    this.cancel();
+                if (place > 0) {
+                    text.append(" §c+").append(formatGap(ranking.gapTicks(kart))).append('s');
                 }
+                scoreboardManager.setScoreLine(getId(), "pos_" + place, text.toString(), 3 - place);
             }
-        }.runTaskTimer(plugin, 0L, interval);
+        }
     }
 
     @Override
     protected void onGameEnd() {
         if (startTask != null) startTask.cancel();
         if (raceLoop   != null) raceLoop.cancel();
+        if (ghostRunner != null) {
+            ghostRunner.remove();
+            ghostRunner = null;
+        }
 
         // Clean up boats
-        karts.values().forEach(kv -> kv.getBoat().remove());
+        for (KartVehicle kv : karts) {
+            kv.getBoat().remove();
+        }
 
         // Return players
         Location spawn = plugin.getServer().getWorlds().get(0).getSpawnLocation();
@@ -0,0 +1,141 @@
+package com.auroraschaos.minigames.game.race;
+
+import java.util.Arrays;
+
+/**
+ * Live race order for a fixed set of karts, identified by index.
+ *
+ * Each tick the game reports every kart's progress ({@code lap × lapLength
+ * + lap distance}) and the number of checkpoints it has passed, then calls
+ * {@link #sort()}. Positions change rarely between ticks, so the order is
+ * kept in an array and repaired with insertion sort, which is linear on
+ * nearly sorted input. Finished karts rank ahead of everyone else in finish
+ * order.
+ *
+ * Gaps are measured at timing lines: the first kart to pass checkpoint
+ * number {@code m} (counted over the whole race) sets the reference tick,
+ * and every later kart's gap is its own crossing tick minus that.
+ *
+ * Main-thread only.
+ */
+public final class RaceRanking {
+
+    private static final long UNSET = -1;
+
+    private final int[] order;
+    private final int[] position;
+    private final double[] progress;
+    private final int[] passed;
+    private final long[] finishTick;
+    private final long[] gapTicks;
+    private long[] firstCrossTick;
+
+    /**
+     * @param karts                number of karts
+     * @param expectedTimingLines  checkpoints per lap × laps; grows if exceeded
+     */
+    public RaceRanking(int karts, int expectedTimingLines) {
+        order = new int[karts];
+        position = new int[karts];
+        progress = new double[karts];
+        passed = new int[karts];
+        finishTick = new long[karts];
+        gapTicks = new long[karts];
+        firstCrossTick = new long[Math.max(1, expectedTimingLines + 1)];
+        Arrays.fill(finishTick, UNSET);
+        Arrays.fill(firstCrossTick, UNSET);
+        for (int i = 0; i < karts; i++) {
+            order[i] = i;
+            position[i] = i;
+        }
+    }
+
+    /**
+     * Report a kart's state for this tick.
+     *
+     * @param checkpointsPassed checkpoints passed since the start, over all laps
+     * @param progress          distance covered since the start in blocks
+     */
+    public void update(int kart, int checkpointsPassed, double progress, long tick) {
+        if (finishTick[kart] != UNSET) return;
+        this.progress[kart] = progress;
+        if (checkpointsPassed > passed[kart]) {
+            passed[kart] = checkpointsPassed;
+            gapTicks[kart] = timingLine(checkpointsPassed, tick);
+        }
+    }
+
+    /** Record that a kart finished on {@code tick}; its place is fixed from now on. */
+    public void finish(int kart, long tick) {
+        if (finishTick[kart] == UNSET) {
+            finishTick[kart] = tick;
+        }
+    }
+
+    private long timingLine(int line, long tick) {
+        if (line >= firstCrossTick.length) {
+            int old = firstCrossTick.length;
+            firstCrossTick = Arrays.copyOf(firstCrossTick, Math.max(line + 1, old * 2));
+            Arrays.fill(firstCrossTick, old, firstCrossTick.length, UNSET);
+        }
+        if (firstCrossTick[line] == UNSET) {
+            firstCrossTick[line] = tick;
+            return 0;
+        }
+        return tick - firstCrossTick[line];
+    }
+
+    /**
+     * Restore race order after a round of {@link #update} calls.
+     *
+     * @return true if any position changed
+     */
+    public boolean sort() {
+        boolean changed = false;
+        for (int i = 1; i < order.length; i++) {
+            int kart = order[i];
+            int j = i - 1;
+            while (j >= 0 && ahead(kart, order[j])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            if (j + 1 != i) {
+                order[j + 1] = kart;
+                changed = true;
+            }
+        }
+        if (changed) {
+            for (int i = 0; i < order.length; i++) {
+                position[order[i]] = i;
+            }
+        }
+        return changed;
+    }
+
+    private boolean ahead(int a, int b) {
+        long fa = finishTick[a];
+        long fb = finishTick[b];
+        if (fa != UNSET || fb != UNSET) {
+            if (fa == UNSET) return false;
+            if (fb == UNSET) return true;
+            return fa < fb;
+        }
+        return progress[a] > progress[b];
+    }
+
+    public int size() { return order.length; }
+
+    /** @return the kart in {@code place} (0 = leader) */
+    public int kartAt(int place) { return order[place]; }
+
+    /** @return the kart's place (0 = leader) */
+    public int placeOf(int kart) { return position[kart]; }
+
+    /** @return ticks behind the first kart at the last timing line this kart passed */
+    public long gapTicks(int kart) { return gapTicks[kart]; }
+
+    public boolean isFinished(int kart) { return finishTick[kart] != UNSET; }
+
+    /** @return the tick the kart finished on, or -1 */
+    public long finishTick(int kart) { return finishTick[kart]; }
+}
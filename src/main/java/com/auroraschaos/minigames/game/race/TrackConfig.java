@@ -1,62 +1,208 @@
 package com.auroraschaos.minigames.game.race;
 
+import com.auroraschaos.minigames.config.ConfigurationException;
+import com.auroraschaos.minigames.config.Materials;
+import com.auroraschaos.minigames.util.MaterialSet;
+
+import com.sk89q.worldedit.math.BlockVector3;
+
 import org.bukkit.Location;
-import org.bukkit.Material;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
-import java.io.File;
-import java.io.IOException;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
-public class TrackConfig {
-    private final YamlConfiguration config;
+/**
+ * Immutable, validated race track parsed from a file in races/.
+ *
+ * Coordinates are relative to the arena origin, like the other minigames'
+ * spawn offsets. Start positions are stored as raw x/y/z/yaw values and
+ * checkpoints are compiled into a {@link TrackPath}; the accessors taking a
+ * world and origin bind them to a match, so building a race does no file
+ * access.
+ */
+public final class TrackConfig {
+    private final String name;
+    private final String displayName;
+    private final int totalLaps;
+    private final int countdownSeconds;
+    private final int scoreboardInterval;
+    private final String goMessage;
+    private final MaterialSet surfaceBlocks;
+    private final int offTrackGraceTicks;
+    /** Start positions packed as x,y,z,yaw quads. */
+    private final double[] starts;
+    private final TrackPath path;
 
-    public TrackConfig(File trackFile, File defaultsFile) throws IOException {
-        YamlConfiguration defaults = YamlConfiguration.loadConfiguration(defaultsFile);
-        this.config = YamlConfiguration.loadConfiguration(trackFile);
-        this.config.addDefaults(defaults);
-        this.config.options().copyDefaults(true);
-        this.config.save(trackFile);
+    private TrackConfig(String name, String displayName, int totalLaps, int countdownSeconds,
+                        int scoreboardInterval, String goMessage, MaterialSet surfaceBlocks,
+                        int offTrackGraceTicks, double[] starts, TrackPath path) {
+        this.name = name;
+        this.displayName = displayName;
+        this.totalLaps = totalLaps;
+        this.countdownSeconds = countdownSeconds;
+        this.scoreboardInterval = scoreboardInterval;
+        this.goMessage = goMessage;
+        this.surfaceBlocks = surfaceBlocks;
+        this.offTrackGraceTicks = offTrackGraceTicks;
+        this.starts = starts;
+        this.path = path;
     }
 
-    public int getInt(String path) {
-        return config.getInt(path);
-    }
-    public double getDouble(String path) {
-        return config.getDouble(path);
-    }
-    public String getString(String path) {
-        return config.getString(path);
+    /**
+     * Parse and validate a track file.
+     *
+     * @param name track name (file name without {@code .yml})
+     * @param cfg  contents of the track file, with races/defaults.yml merged in
+     * @throws ConfigurationException on missing or malformed start positions or
+     *         checkpoints, or out-of-range settings
+     */
+    public static TrackConfig from(String name, ConfigurationSection cfg) throws ConfigurationException {
+        if (cfg == null) {
+            throw new ConfigurationException("Track '" + name + "' configuration is missing");
+        }
+        String displayName = cfg.getString("displayName", name);
+        int laps = cfg.getInt("totalLaps", 3);
+        if (laps < 1) {
+            throw new ConfigurationException("totalLaps must be >= 1 in track " + name);
+        }
+        int countdown = cfg.getInt("countdownSeconds", 5);
+        if (countdown < 0) {
+            throw new ConfigurationException("countdownSeconds must be >= 0 in track " + name);
+        }
+        int interval = cfg.getInt("scoreboard.updateInterval", 10);
+        if (interval < 1) {
+            throw new ConfigurationException("scoreboard.updateInterval must be >= 1 in track " + name);
+        }
+        MaterialSet surface = Materials.parse(cfg.getStringList("surfaceBlocks"), "surfaceBlocks of track " + name);
+        int grace = cfg.getInt("offTrackGraceTicks", 40);
+        if (grace < 0) {
+            throw new ConfigurationException("offTrackGraceTicks must be >= 0 in track " + name);
+        }
+
+        double[] starts = points(cfg, "startLine", 4, name);
+        double[] cps = points(cfg, "checkpoints", 3, name);
+        int n = cps.length / 3;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = cps[i * 3];
+            ys[i] = cps[i * 3 + 1];
+            zs[i] = cps[i * 3 + 2];
+        }
+        return new TrackConfig(name, displayName, laps, countdown, interval,
+                cfg.getString("messages.go"), surface, grace, starts, new TrackPath(xs, ys, zs));
     }
-    public <T> List<T> getList(String path) {
-        return (List<T>) config.getList(path);
+
+    /**
+     * Parse a non-empty list of x/y/z maps into a packed array with
+     * {@code stride} values per point; a fourth value is the optional yaw.
+     */
+    private static double[] points(ConfigurationSection cfg, String key, int stride, String track)
+            throws ConfigurationException {
+        List<?> raw = cfg.getList(key);
+        if (raw == null || raw.isEmpty()) {
+            throw new ConfigurationException("Track " + track + " has no " + key);
+        }
+        double[] out = new double[raw.size() * stride];
+        int index = 0;
+        for (Object obj : raw) {
+            int base = index * stride;
+            if (obj instanceof Map) {
+                Map<?, ?> m = (Map<?, ?>) obj;
+                out[base]     = coordinate(m, "x", key, index, track);
+                out[base + 1] = coordinate(m, "y", key, index, track);
+                out[base + 2] = coordinate(m, "z", key, index, track);
+                if (stride > 3) {
+                    Object yaw = m.get("yaw");
+                    out[base + 3] = yaw instanceof Number ? ((Number) yaw).doubleValue() : 0;
+                }
+            } else if (obj instanceof Location) {
+                Location l = (Location) obj;
+                out[base]     = l.getX();
+                out[base + 1] = l.getY();
+                out[base + 2] = l.getZ();
+                if (stride > 3) {
+                    out[base + 3] = l.getYaw();
+                }
+            } else {
+                throw new ConfigurationException(key + " #" + index + " in track " + track
+                        + " is not an x/y/z map");
+            }
+            index++;
+        }
+        return out;
     }
-    public List<String> getStringList(String path) {
-        return config.getStringList(path);
+
+    private static double coordinate(Map<?, ?> m, String axis, String key, int index, String track)
+            throws ConfigurationException {
+        Object v = m.get(axis);
+        if (!(v instanceof Number)) {
+            throw new ConfigurationException(key + " #" + index + " in track " + track
+                    + " has no numeric '" + axis + "'");
+        }
+        return ((Number) v).doubleValue();
     }
-    public List<Material> getMaterialList(String path) {
-        List<Material> list = new ArrayList<>();
-        ConfigurationSection sec = config.getConfigurationSection(path);
-        if (sec != null) {
-            for (String key : sec.getKeys(false)) {
-                list.add(Material.valueOf(key));
-            }
+
+    /** @return fresh start locations for an arena at {@code origin}, in grid order */
+    public List<Location> startLocations(World world, BlockVector3 origin) {
+        List<Location> out = new ArrayList<>(starts.length / 4);
+        for (int i = 0; i < starts.length; i += 4) {
+            out.add(new Location(world, origin.getX() + starts[i], origin.getY() + starts[i + 1],
+                    origin.getZ() + starts[i + 2], (float) starts[i + 3], 0));
         }
-        return list;
+        return out;
     }
-    public List<Location> getLocationList(String path) {
-        List<Location> locs = new ArrayList<>();
-        List<?> raw = config.getList(path);
-        if (raw != null) {
-            for (Object obj : raw) {
-                if (obj instanceof Location) locs.add((Location) obj);
-            }
+
+    /**
+     * @return the smallest block area containing every start position and
+     *         checkpoint of an arena at {@code origin}, grown by {@code margin}
+     *         on each side, as {minX, minZ, maxX, maxZ}
+     */
+    public int[] bounds(BlockVector3 origin, int margin) {
+        double minX = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+        for (int i = 0; i < starts.length; i += 4) {
+            minX = Math.min(minX, starts[i]);
+            maxX = Math.max(maxX, starts[i]);
+            minZ = Math.min(minZ, starts[i + 2]);
+            maxZ = Math.max(maxZ, starts[i + 2]);
+        }
+        for (int k = 0; k < path.getCheckpointCount(); k++) {
+            minX = Math.min(minX, path.checkpointX(k));
+            maxX = Math.max(maxX, path.checkpointX(k));
+            minZ = Math.min(minZ, path.checkpointZ(k));
+            maxZ = Math.max(maxZ, path.checkpointZ(k));
         }
-        return locs;
+        return new int[] {
+                origin.getX() + (int) Math.floor(minX) - margin,
+                origin.getZ() + (int) Math.floor(minZ) - margin,
+                origin.getX() + (int) Math.floor(maxX) + margin,
+                origin.getZ() + (int) Math.floor(maxZ) + margin
+        };
     }
-    public boolean contains(String path) {
-        return config.contains(path);
+
+    /** @return the checkpoint path in world coordinates for an arena at {@code origin} */
+    public TrackPath pathAt(BlockVector3 origin) {
+        return path.translated(origin.getX(), origin.getY(), origin.getZ());
     }
 
+    public String getName() { return name; }
+    public String getDisplayName() { return displayName; }
+    public int getTotalLaps() { return totalLaps; }
+    public int getCountdownSeconds() { return countdownSeconds; }
+    /** @return ticks between sidebar refreshes */
+    public int getScoreboardInterval() { return scoreboardInterval; }
+    /** @return broadcast when the race starts, or null */
+    public String getGoMessage() { return goMessage; }
+    /** @return blocks that count as track surface; empty means any solid block */
+    public MaterialSet getSurfaceBlocks() { return surfaceBlocks; }
+    /** @return ticks a kart may spend off the track surface before it is respawned */
+    public int getOffTrackGraceTicks() { return offTrackGraceTicks; }
+    public int getStartCount() { return starts.length / 4; }
+    /** Checkpoints compiled into a polyline, relative to the arena origin */
+    public TrackPath getPath() { return path; }
 }
@@ -0,0 +1,134 @@
+package com.auroraschaos.minigames.game.race;
+
+import org.bukkit.Location;
+
+import java.util.List;
+
+/**
+ * A track's checkpoints compiled into a closed polyline with cumulative
+ * distances, for measuring how far along the lap a kart is.
+ *
+ * Leg {@code k} runs from the previous checkpoint (the last one for
+ * {@code k == 0}, i.e. the finish line) to checkpoint {@code k}. A kart
+ * heading for checkpoint {@code k} is projected onto that leg, so its lap
+ * progress is the distance to the start of the leg plus that projection. All
+ * geometry is in the XZ plane; elevation does not count toward distance.
+ *
+ * Immutable; safe to share between games.
+ */
+public final class TrackPath {
+
+    private final double[] cpX;
+    private final double[] cpY;
+    private final double[] cpZ;
+    /** Leg start points, leg unit directions and lengths, indexed by leg. */
+    private final double[] startX;
+    private final double[] startZ;
+    private final double[] dirX;
+    private final double[] dirZ;
+    private final double[] length;
+    /** Distance from the finish line to the start of each leg; one extra entry for the lap length. */
+    private final double[] cumulative;
+
+    /**
+     * @param xs checkpoint X coordinates in order
+     * @param ys checkpoint Y coordinates (used for respawning only)
+     * @param zs checkpoint Z coordinates in order
+     * @throws IllegalArgumentException if the arrays differ in length or are empty
+     */
+    public TrackPath(double[] xs, double[] ys, double[] zs) {
+        if (xs.length != zs.length || xs.length != ys.length || xs.length == 0) {
+            throw new IllegalArgumentException("TrackPath needs at least one checkpoint");
+        }
+        int n = xs.length;
+        cpX = xs.clone();
+        cpY = ys.clone();
+        cpZ = zs.clone();
+        startX = new double[n];
+        startZ = new double[n];
+        dirX = new double[n];
+        dirZ = new double[n];
+        length = new double[n];
+        cumulative = new double[n + 1];
+        for (int k = 0; k < n; k++) {
+            int prev = k == 0 ? n - 1 : k - 1;
+            double dx = xs[k] - xs[prev];
+            double dz = zs[k] - zs[prev];
+            double len = Math.sqrt(dx * dx + dz * dz);
+            startX[k] = xs[prev];
+            startZ[k] = zs[prev];
+            length[k] = len;
+            dirX[k] = len > 0 ? dx / len : 0;
+            dirZ[k] = len > 0 ? dz / len : 0;
+            cumulative[k + 1] = cumulative[k] + len;
+        }
+    }
+
+    /** Compile the coordinates of {@code checkpoints}. */
+    public static TrackPath of(List<Location> checkpoints) {
+        double[] xs = new double[checkpoints.size()];
+        double[] ys = new double[checkpoints.size()];
+        double[] zs = new double[checkpoints.size()];
+        for (int i = 0; i < xs.length; i++) {
+            Location cp = checkpoints.get(i);
+            xs[i] = cp.getX();
+            ys[i] = cp.getY();
+            zs[i] = cp.getZ();
+        }
+        return new TrackPath(xs, ys, zs);
+    }
+
+    /** @return this path moved by (dx, dy, dz), e.g. from arena-relative to world coordinates */
+    public TrackPath translated(double dx, double dy, double dz) {
+        double[] xs = cpX.clone();
+        double[] ys = cpY.clone();
+        double[] zs = cpZ.clone();
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] += dx;
+            ys[i] += dy;
+            zs[i] += dz;
+        }
+        return new TrackPath(xs, ys, zs);
+    }
+
+    public int getCheckpointCount() { return length.length; }
+    public double checkpointX(int k) { return cpX[k]; }
+    public double checkpointY(int k) { return cpY[k]; }
+    public double checkpointZ(int k) { return cpZ[k]; }
+
+    /** @return length of one lap in blocks */
+    public double getLapLength() { return cumulative[length.length]; }
+
+    /**
+     * @return distance along the lap for a kart at (x, z) heading for
+     *         checkpoint {@code target}; always within that leg
+     */
+    public double lapDistance(int target, double x, double z) {
+        double along = (x - startX[target]) * dirX[target] + (z - startZ[target]) * dirZ[target];
+        if (along < 0) along = 0;
+        if (along > length[target]) along = length[target];
+        return cumulative[target] + along;
+    }
+
+    /**
+     * Whether a kart at (x, z) has reached checkpoint {@code target}: it is
+     * within {@code radius} of the checkpoint, or it has crossed the line
+     * through the checkpoint perpendicular to the leg no further than
+     * {@code radius} to either side. The second case catches fast karts that
+     * would otherwise skip over the radius between two ticks.
+     */
+    public boolean reached(int target, double x, double z, double radius) {
+        double rx = x - startX[target];
+        double rz = z - startZ[target];
+        double along = rx * dirX[target] + rz * dirZ[target];
+        double len = length[target];
+        if (len == 0 || along < len) {
+            // Before the line: only the radius around the checkpoint counts
+            double ex = rx - dirX[target] * len;
+            double ez = rz - dirZ[target] * len;
+            return ex * ex + ez * ez <= radius * radius;
+        }
+        double lateral = rx * dirZ[target] - rz * dirX[target];
+        return Math.abs(lateral) <= radius;
+    }
+}
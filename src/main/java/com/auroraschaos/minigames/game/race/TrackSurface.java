@@ -0,0 +1,100 @@
+package com.auroraschaos.minigames.game.race;
+
+/**
+ * Terrain around a track, sampled from the world once and kept as two flat
+ * arrays over the same grid: the surface height of every column (a
+ * {@link Heightmap}, used for slopes) and a bitmask of the columns that
+ * belong to the driving surface (used for off-track detection).
+ *
+ * Once built every query is an array read, so karts never touch the world
+ * while simulating and the surface can be shared by every race on the same
+ * arena. A surface without a mask treats every column as on track.
+ */
+public final class TrackSurface {
+
+    private static final TrackSurface EMPTY = new TrackSurface(Heightmap.empty(), null);
+
+    /** Scratch result for one column, filled by a {@link Sampler}. */
+    public static final class Column {
+        public int y;
+        public boolean onTrack;
+    }
+
+    /** Reads one column from the world. */
+    @FunctionalInterface
+    public interface Sampler {
+        /** Store the surface Y of (x, z) (or {@link Heightmap#UNKNOWN}) and whether it is track in {@code out}. */
+        void sample(int x, int z, Column out);
+    }
+
+    private final Heightmap heights;
+    /** One bit per heightmap index; null when no column was marked as track. */
+    private final long[] onTrack;
+    private final int trackColumns;
+
+    private TrackSurface(Heightmap heights, long[] onTrack) {
+        this.heights = heights;
+        this.onTrack = onTrack;
+        int count = 0;
+        if (onTrack != null) {
+            for (long word : onTrack) count += Long.bitCount(word);
+        }
+        this.trackColumns = count;
+    }
+
+    /**
+     * Sample every column in [minX, maxX] × [minZ, maxZ] once.
+     *
+     * @throws IllegalArgumentException if the area exceeds {@link Heightmap#MAX_COLUMNS}
+     */
+    public static TrackSurface sample(int minX, int minZ, int maxX, int maxZ, Sampler sampler) {
+        int width = (int) Math.max(0L, (long) maxX - minX + 1);
+        int depth = (int) Math.max(0L, (long) maxZ - minZ + 1);
+        Heightmap.checkArea(width, depth);
+        int[] heights = new int[width * depth];
+        long[] mask = new long[(heights.length + 63) >>> 6];
+        boolean any = false;
+        Column column = new Column();
+        for (int dz = 0; dz < depth; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                column.y = Heightmap.UNKNOWN;
+                column.onTrack = false;
+                sampler.sample(minX + dx, minZ + dz, column);
+                int idx = dz * width + dx;
+                heights[idx] = column.y;
+                if (column.onTrack) {
+                    mask[idx >>> 6] |= 1L << idx;
+                    any = true;
+                }
+            }
+        }
+        return new TrackSurface(new Heightmap(minX, minZ, width, depth, heights), any ? mask : null);
+    }
+
+    /** @return a surface with no terrain data: flat physics and no off-track detection */
+    public static TrackSurface empty() {
+        return EMPTY;
+    }
+
+    /** @return surface heights for {@link KartPhysics} */
+    public Heightmap getHeights() {
+        return heights;
+    }
+
+    /** @return false if a mask exists and (x, z) is outside it or outside the sampled area */
+    public boolean isOnTrack(int x, int z) {
+        if (onTrack == null) return true;
+        int idx = heights.indexOf(x, z);
+        return idx >= 0 && (onTrack[idx >>> 6] & (1L << idx)) != 0;
+    }
+
+    /** @return whether off-track detection is active */
+    public boolean hasMask() {
+        return onTrack != null;
+    }
+
+    /** @return number of columns marked as track */
+    public int getTrackColumns() {
+        return trackColumns;
+    }
+}
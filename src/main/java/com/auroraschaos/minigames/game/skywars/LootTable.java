@@ -0,0 +1,170 @@
+package com.auroraschaos.minigames.game.skywars;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Immutable weighted loot table compiled with Vose's alias method.
+ *
+ * Compilation is O(n) and happens once per arena configuration. Every draw
+ * afterwards costs one {@code nextInt}, one {@code nextDouble} and two array
+ * reads, regardless of how many entries the table holds.
+ *
+ * A table also carries its roll range, so a single chest can receive
+ * between {@code minRolls} and {@code maxRolls} draws. All randomness comes
+ * from the {@link Random} passed in, which keeps fills reproducible when a
+ * seeded generator is used (e.g. in tests).
+ *
+ * @param <T> entry type (ItemStack templates in SkyWars)
+ */
+public final class LootTable<T> {
+
+    private final Object[] entries;
+    private final double[] probability;
+    private final int[] alias;
+    private final int minRolls;
+    private final int maxRolls;
+
+    private LootTable(Object[] entries, double[] probability, int[] alias, int minRolls, int maxRolls) {
+        this.entries = entries;
+        this.probability = probability;
+        this.alias = alias;
+        this.minRolls = minRolls;
+        this.maxRolls = maxRolls;
+    }
+
+    /**
+     * Compile a table from parallel entry/weight lists.
+     *
+     * @param entries  loot entries (templates, never mutated by the table)
+     * @param weights  positive weight for each entry
+     * @param minRolls minimum draws per chest (≥ 0)
+     * @param maxRolls maximum draws per chest (≥ minRolls)
+     * @throws IllegalArgumentException if the lists differ in size, a weight is
+     *                                  not positive or the roll range is invalid
+     */
+    public static <T> LootTable<T> compile(List<T> entries, List<Integer> weights,
+                                           int minRolls, int maxRolls) {
+        if (entries.size() != weights.size()) {
+            throw new IllegalArgumentException("entries (" + entries.size()
+                    + ") and weights (" + weights.size() + ") differ in size");
+        }
+        if (minRolls < 0 || maxRolls < minRolls) {
+            throw new IllegalArgumentException("invalid roll range " + minRolls + ".." + maxRolls);
+        }
+
+        int n = entries.size();
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            int w = weights.get(i);
+            if (w <= 0) {
+                throw new IllegalArgumentException("weight of entry " + i + " must be > 0 (found " + w + ")");
+            }
+            total += w;
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+
+        // Scale weights so that the average bucket holds exactly 1.0
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (double) weights.get(i) * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        // Pair each under-full bucket with an over-full one
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // Whatever remains is full up to floating-point error
+        while (largeSize > 0) {
+            int i = large[--largeSize];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+        while (smallSize > 0) {
+            int i = small[--smallSize];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+
+        return new LootTable<>(entries.toArray(), probability, alias, minRolls, maxRolls);
+    }
+
+    /** @return an empty table that never produces loot */
+    public static <T> LootTable<T> empty() {
+        return new LootTable<>(new Object[0], new double[0], new int[0], 0, 0);
+    }
+
+    /**
+     * Draw a single entry index in O(1).
+     *
+     * @return index into the compiled entries, or -1 if the table is empty
+     */
+    public int sampleIndex(Random rng) {
+        int n = entries.length;
+        if (n == 0) return -1;
+        int column = rng.nextInt(n);
+        return rng.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Draw a single entry in O(1).
+     *
+     * @return the drawn entry, or null if the table is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T sample(Random rng) {
+        int i = sampleIndex(rng);
+        return i < 0 ? null : (T) entries[i];
+    }
+
+    /** @return number of draws to make for one chest, within the configured range */
+    public int rollCount(Random rng) {
+        if (entries.length == 0) return 0;
+        if (maxRolls == minRolls) return minRolls;
+        return minRolls + rng.nextInt(maxRolls - minRolls + 1);
+    }
+
+    /**
+     * Draw {@link #rollCount(Random)} entries and hand each to {@code sink}.
+     * Entries are the shared templates; callers that mutate them must copy first.
+     */
+    @SuppressWarnings("unchecked")
+    public void roll(Random rng, Consumer<? super T> sink) {
+        int rolls = rollCount(rng);
+        for (int r = 0; r < rolls; r++) {
+            sink.accept((T) entries[sampleIndex(rng)]);
+        }
+    }
+
+    /** @return entry at a compiled index */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) entries[index];
+    }
+
+    public int size()        { return entries.length; }
+    public boolean isEmpty() { return entries.length == 0; }
+    public int getMinRolls() { return minRolls; }
+    public int getMaxRolls() { return maxRolls; }
+}
@@ -0,0 +1,107 @@
+package com.auroraschaos.minigames.game.skywars;
+
+import com.auroraschaos.minigames.config.ConfigurationException;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled loot tiers for one SkyWars arena:
+ *  - island chests use {@code loot_table}
+ *  - chests within {@code mid_radius} blocks (horizontal) of the arena center
+ *    use {@code mid_loot_table}, falling back to the island table if absent
+ *
+ * Each tier may define its own roll range via {@code loot_rolls} /
+ * {@code mid_loot_rolls} ({@code min}/{@code max}). Instances are immutable
+ * and safe to share between matches on the same arena.
+ */
+public final class SkyWarsLoot {
+
+    private final LootTable<ItemStack> island;
+    private final LootTable<ItemStack> mid;
+    private final double midRadiusSquared;
+
+    private SkyWarsLoot(LootTable<ItemStack> island, LootTable<ItemStack> mid, double midRadius) {
+        this.island = island;
+        this.mid = mid;
+        this.midRadiusSquared = midRadius * midRadius;
+    }
+
+    /**
+     * Parse and compile the loot tiers of an arena YAML file.
+     *
+     * @param cfg       arena configuration (SkyWars/&lt;arena&gt;.yml or Defaults.yml)
+     * @param arenaName arena name, used in error messages
+     * @throws ConfigurationException on unknown materials, non-positive weights
+     *                                or an invalid roll range
+     */
+    public static SkyWarsLoot from(ConfigurationSection cfg, String arenaName) throws ConfigurationException {
+        LootTable<ItemStack> island = compileTier(cfg, "loot_table", "loot_rolls", arenaName);
+        LootTable<ItemStack> mid = cfg.isList("mid_loot_table")
+                ? compileTier(cfg, "mid_loot_table", "mid_loot_rolls", arenaName)
+                : island;
+        double midRadius = cfg.getDouble("mid_radius", 0.0);
+        if (midRadius < 0) {
+            throw new ConfigurationException("mid_radius must be >= 0 in " + arenaName);
+        }
+        return new SkyWarsLoot(island, mid, midRadius);
+    }
+
+    private static LootTable<ItemStack> compileTier(ConfigurationSection cfg, String listPath,
+                                                    String rollsPath, String arenaName)
+            throws ConfigurationException {
+        List<ItemStack> items = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        if (cfg.isList(listPath)) {
+            for (Object raw : cfg.getList(listPath)) {
+                if (!(raw instanceof Map)) continue;
+                Map<?, ?> entry = (Map<?, ?>) raw;
+                Object typeName = entry.get("type");
+                int weight = entry.get("weight") instanceof Number ? ((Number) entry.get("weight")).intValue() : 1;
+                int amount = entry.get("amount") instanceof Number ? ((Number) entry.get("amount")).intValue() : 1;
+
+                Material mat = typeName == null ? null : Material.getMaterial(typeName.toString().toUpperCase());
+                if (mat == null) {
+                    throw new ConfigurationException("Unknown material '" + typeName + "' in "
+                            + listPath + " of " + arenaName);
+                }
+                if (weight <= 0) {
+                    throw new ConfigurationException("Weight for '" + typeName + "' in "
+                            + listPath + " of " + arenaName + " must be > 0");
+                }
+                if (amount <= 0) {
+                    throw new ConfigurationException("Amount for '" + typeName + "' in "
+                            + listPath + " of " + arenaName + " must be > 0");
+                }
+                items.add(new ItemStack(mat, amount));
+                weights.add(weight);
+            }
+        }
+
+        int minRolls = cfg.getInt(rollsPath + ".min", 1);
+        int maxRolls = cfg.getInt(rollsPath + ".max", minRolls);
+        if (minRolls < 0 || maxRolls < minRolls) {
+            throw new ConfigurationException("Invalid " + rollsPath + " range " + minRolls + ".."
+                    + maxRolls + " in " + arenaName);
+        }
+        return LootTable.compile(items, weights, minRolls, maxRolls);
+    }
+
+    /**
+     * Pick the tier for a chest by its horizontal offset from the arena center.
+     *
+     * @param dx chest X minus center X
+     * @param dz chest Z minus center Z
+     */
+    public LootTable<ItemStack> tableFor(double dx, double dz) {
+        return (dx * dx + dz * dz) <= midRadiusSquared ? mid : island;
+    }
+
+    public LootTable<ItemStack> getIslandTable() { return island; }
+    public LootTable<ItemStack> getMidTable()    { return mid; }
+}
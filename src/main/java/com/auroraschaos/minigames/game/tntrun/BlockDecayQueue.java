@@ -0,0 +1,119 @@
+package com.auroraschaos.minigames.game.tntrun;
+
+import com.auroraschaos.minigames.util.LongHashSet;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Time-ordered queue of block positions waiting to decay.
+ *
+ * Every entry is scheduled a fixed {@code delayTicks} after it was offered,
+ * so insertion order is also due order and a plain ring buffer suffices: no
+ * heap, no per-entry objects. Positions are packed into a {@code long} with
+ * {@link #pack(int, int, int)}; a position that is already waiting is not
+ * queued twice.
+ *
+ * Not thread-safe; owned by a single game on the main thread.
+ */
+public final class BlockDecayQueue {
+
+    private final int delayTicks;
+
+    private long[] positions;
+    private long[] dueTicks;
+    private int head;
+    private int size;
+
+    private final LongHashSet pending = new LongHashSet(256);
+
+    /**
+     * @param delayTicks ticks between a block being stepped on and its removal (≥ 0)
+     */
+    public BlockDecayQueue(int delayTicks) {
+        if (delayTicks < 0) {
+            throw new IllegalArgumentException("delayTicks must be >= 0");
+        }
+        this.delayTicks = delayTicks;
+        this.positions = new long[256];
+        this.dueTicks = new long[256];
+    }
+
+    /**
+     * Schedule a position to decay {@code delayTicks} after {@code nowTick}.
+     *
+     * @return false if the position was already waiting
+     */
+    public boolean offer(long packedPos, long nowTick) {
+        if (!pending.add(packedPos)) return false;
+        if (size == positions.length) grow();
+        int tail = (head + size) & (positions.length - 1);
+        positions[tail] = packedPos;
+        dueTicks[tail] = nowTick + delayTicks;
+        size++;
+        return true;
+    }
+
+    /**
+     * Hand every position due at or before {@code nowTick} to {@code sink},
+     * stopping after {@code budget} entries. Anything left over stays at the
+     * front of the queue for the next call.
+     *
+     * @return number of positions handed out
+     */
+    public int drain(long nowTick, int budget, LongConsumer sink) {
+        int drained = 0;
+        int capMask = positions.length - 1;
+        while (size > 0 && drained < budget && dueTicks[head] <= nowTick) {
+            long pos = positions[head];
+            head = (head + 1) & capMask;
+            size--;
+            pending.remove(pos);
+            sink.accept(pos);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size()            { return size; }
+    public boolean isEmpty()     { return size == 0; }
+    public int getDelayTicks()   { return delayTicks; }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        pending.clear();
+    }
+
+    private void grow() {
+        int capacity = positions.length;
+        long[] newPositions = new long[capacity << 1];
+        long[] newDue = new long[capacity << 1];
+        for (int i = 0; i < size; i++) {
+            int from = (head + i) & (capacity - 1);
+            newPositions[i] = positions[from];
+            newDue[i] = dueTicks[from];
+        }
+        positions = newPositions;
+        dueTicks = newDue;
+        head = 0;
+    }
+
+    // ---------- POSITION PACKING ----------
+    // 26 bits X, 26 bits Z, 12 bits Y (same layout as vanilla BlockPos#asLong)
+
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+}
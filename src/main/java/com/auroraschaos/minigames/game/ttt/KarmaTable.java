@@ -0,0 +1,104 @@
+package com.auroraschaos.minigames.game.ttt;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.config.TTTConfig;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Persistent TTT karma per player, stored in ttt_karma.yml.
+ *
+ * Values live in memory and are read and changed on the main thread; a
+ * save copies the changed table and writes it asynchronously.
+ */
+public final class KarmaTable {
+
+    private static final String FILE = "ttt_karma.yml";
+
+    private final MinigamesPlugin plugin;
+    private final File file;
+    private final Map<UUID, Integer> karma = new HashMap<>();
+    private final Object fileLock = new Object();
+    private boolean dirty;
+    /** Increases with every save; a queued write older than the last one written is skipped. */
+    private long version;
+    private long writtenVersion;
+
+    public KarmaTable(MinigamesPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE);
+    }
+
+    /** Read the karma file, if any. Call on the main thread during startup. */
+    public void load() {
+        karma.clear();
+        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection section = cfg.getConfigurationSection("karma");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                try {
+                    karma.put(UUID.fromString(key), section.getInt(key));
+                } catch (IllegalArgumentException ex) {
+                    plugin.getLogger().warning("[TTT] Ignoring karma of invalid UUID " + key);
+                }
+            }
+        }
+        dirty = false;
+        plugin.logVerbose("[KarmaTable] Loaded karma for " + karma.size() + " players");
+    }
+
+    /** @return the player's karma, or the configured start value */
+    public int get(UUID player, TTTConfig.Karma settings) {
+        Integer value = karma.get(player);
+        return value == null ? settings.getStart() : settings.clamp(value);
+    }
+
+    /** @return the player's new karma after adding {@code delta}, within the configured limits */
+    public int adjust(UUID player, int delta, TTTConfig.Karma settings) {
+        int value = settings.clamp(get(player, settings) + delta);
+        karma.put(player, value);
+        dirty = true;
+        return value;
+    }
+
+    /** Write changes in the background. Main thread only. */
+    public void saveAsync() {
+        if (!dirty) return;
+        Map<UUID, Integer> copy = new HashMap<>(karma);
+        long v = ++version;
+        dirty = false;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> write(copy, v));
+    }
+
+    /** Write changes now; used on shutdown. */
+    public void save() {
+        if (!dirty) return;
+        dirty = false;
+        write(karma, ++version);
+    }
+
+    private void write(Map<UUID, Integer> values, long v) {
+        YamlConfiguration cfg = new YamlConfiguration();
+        for (Map.Entry<UUID, Integer> e : values.entrySet()) {
+            cfg.set("karma." + e.getKey(), e.getValue());
+        }
+        synchronized (fileLock) {
+            if (v < writtenVersion) return;
+            writtenVersion = v;
+            try {
+                cfg.save(file);
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.SEVERE, "Could not save TTT karma to " + file, ex);
+            }
+        }
+    }
+}
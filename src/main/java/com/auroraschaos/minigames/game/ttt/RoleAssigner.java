@@ -0,0 +1,63 @@
+package com.auroraschaos.minigames.game.ttt;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Chooses TTT roles by weighted sampling without replacement.
+ *
+ * Every player draws a key {@code ln(u) / weight} for a uniform {@code u};
+ * the highest keys become traitors, the next highest detectives and the
+ * rest innocents. A player with twice the weight is twice as likely to be
+ * drawn first, so weighting by karma makes well-behaved players more likely
+ * to get the special roles. Equal weights give a uniform shuffle.
+ */
+public final class RoleAssigner {
+
+    private RoleAssigner() {
+    }
+
+    /**
+     * @param weights    positive weight per participant slot
+     * @param traitors   number of traitors
+     * @param detectives number of detectives
+     * @return role per slot
+     * @throws IllegalArgumentException if there are more special roles than players
+     */
+    public static TTTRole[] assign(double[] weights, int traitors, int detectives, Random rng) {
+        int n = weights.length;
+        if (traitors < 0 || detectives < 0 || traitors + detectives > n) {
+            throw new IllegalArgumentException("Cannot pick " + traitors + " traitors and "
+                    + detectives + " detectives from " + n + " players");
+        }
+        double[] keys = new double[n];
+        for (int i = 0; i < n; i++) {
+            double u = 1.0 - rng.nextDouble(); // (0, 1]
+            keys[i] = Math.log(u) / Math.max(weights[i], Double.MIN_NORMAL);
+        }
+        // Slots by key, highest first
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(keys[b], keys[a]));
+
+        TTTRole[] roles = new TTTRole[n];
+        Arrays.fill(roles, TTTRole.INNOCENT);
+        for (int i = 0; i < traitors; i++) {
+            roles[order[i]] = TTTRole.TRAITOR;
+        }
+        for (int i = traitors; i < traitors + detectives; i++) {
+            roles[order[i]] = TTTRole.DETECTIVE;
+        }
+        return roles;
+    }
+
+    /** @return traitors for {@code players}: the ratio rounded, at least one */
+    public static int traitorCount(int players, double ratio) {
+        return Math.max(1, (int) Math.round(players * ratio));
+    }
+
+    /** @return detectives for {@code players}, limited to those not already traitors */
+    public static int detectiveCount(int players, int traitors, double ratio) {
+        return Math.max(0, Math.min(players - traitors, (int) Math.round(players * ratio)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.auroraschaos.minigames.game.ttt;
+
+/**
+ * Hidden roles in Trouble in Terrorist Town. Stored in a
+ * {@link com.auroraschaos.minigames.game.ParticipantTable} by ordinal.
+ */
+public enum TTTRole {
+    INNOCENT,
+    TRAITOR,
+    DETECTIVE;
+
+    private static final TTTRole[] VALUES = values();
+
+    /** @return the role with this ordinal */
+    public static TTTRole of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /** @return number of roles, for per-role arrays */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /** @return true if both roles play for the same side */
+    public boolean sameTeam(TTTRole other) {
+        return (this == TRAITOR) == (other == TRAITOR);
+    }
+}
@@ -1,136 +1,72 @@
 package com.auroraschaos.minigames.game.ttt;
 
-import com.auroraschaos.minigames.MinigamesPlugin;
-import com.auroraschaos.minigames.config.TTTConfig;
-import org.bukkit.Bukkit;
+import com.auroraschaos.minigames.game.ParticipantTable;
 import org.bukkit.ChatColor;
-import org.bukkit.Material;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
-import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
- * Handles the shop system for the Trouble in Terrorist Town minigame.
- * Players earn points to buy configured items via a simple GUI.
+ * One game's view of the shop system for the Trouble in Terrorist Town
+ * minigame. Players earn points to buy items from their role's catalog.
+ * Points live in the owning game's {@link ParticipantTable}, so only that
+ * game's participants can open or buy from this shop; events are handled
+ * by the shared {@link TTTShopService}.
  */
-public class TTTShop implements Listener {
+public class TTTShop {
 
-    /** Title for the shop inventory. */
-    private static final String SHOP_TITLE = ChatColor.DARK_GREEN + "TTT Shop";
+    private final TTTShopService service;
+    private final ParticipantTable roster;
+    private final Map<TTTRole, TTTShopService.Catalog> catalogs;
 
-    /** Material that opens the shop when right-clicked. */
-    private static final Material OPEN_MATERIAL = Material.EMERALD;
-
-    private final Map<Integer, ShopEntry> shopItems = new HashMap<>();
-    private final Map<Player, Integer> points = new HashMap<>();
-    private final MinigamesPlugin plugin;
-
-    public TTTShop(MinigamesPlugin plugin, List<TTTConfig.ShopItem> items) {
-        this.plugin = plugin;
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-        loadItems(items);
-    }
-
-    private void loadItems(List<TTTConfig.ShopItem> items) {
-        shopItems.clear();
-        for (TTTConfig.ShopItem cfg : items) {
-            ItemStack item = new ItemStack(cfg.getMaterial());
-            ItemMeta meta = item.getItemMeta();
-            meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', cfg.getName()));
-            List<String> lore = new ArrayList<>();
-            for (String line : cfg.getLore()) {
-                lore.add(ChatColor.translateAlternateColorCodes('&', line));
-            }
-            if (!lore.isEmpty()) {
-                meta.setLore(lore);
-            }
-            item.setItemMeta(meta);
-            shopItems.put(cfg.getSlot(), new ShopEntry(item, cfg.getCost()));
-        }
+    TTTShop(TTTShopService service, ParticipantTable roster, Map<TTTRole, TTTShopService.Catalog> catalogs) {
+        this.service = service;
+        this.roster = roster;
+        this.catalogs = catalogs;
     }
 
     /** Create the inventory opener item. */
     public ItemStack createOpenerItem() {
-        ItemStack item = new ItemStack(OPEN_MATERIAL);
-        ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName(ChatColor.GOLD + "Open Shop");
-        item.setItemMeta(meta);
-        return item;
+        return service.createOpenerItem();
     }
 
     /** Give a player a point to spend in the shop. */
     public void addPoint(Player player) {
-        int newPts = points.getOrDefault(player, 0) + 1;
-        points.put(player, newPts);
+        int slot = roster.slotOf(player);
+        if (slot == ParticipantTable.NO_SLOT) return;
+        int newPts = roster.addPoints(slot, 1);
         player.sendMessage(ChatColor.GREEN + "Shop points: " + newPts);
     }
 
-    /** Open the shop GUI for a player. */
+    /** Open the shop GUI for a player, showing their role's catalog. */
     public void openShop(Player player) {
-        Inventory inv = Bukkit.createInventory(player, 9, SHOP_TITLE);
-        for (Map.Entry<Integer, ShopEntry> e : shopItems.entrySet()) {
-            inv.setItem(e.getKey(), e.getValue().item);
+        int slot = roster.slotOf(player);
+        if (!roster.isAlive(slot)) return;
+        TTTShopService.Catalog catalog = catalogs.get(TTTRole.of(roster.role(slot)));
+        if (catalog.isEmpty()) {
+            player.sendMessage(ChatColor.RED + "The shop has nothing for your role.");
+            return;
         }
-        player.openInventory(inv);
+        player.openInventory(new TTTShopService.ShopView(this, catalog).open());
     }
 
-    /** Handle buying an item when clicking inside the shop inventory. */
-    @EventHandler
-    public void onShopClick(InventoryClickEvent event) {
-        if (!event.getView().getTitle().equals(SHOP_TITLE)) return;
-        event.setCancelled(true);
-        if (!(event.getWhoClicked() instanceof Player)) return;
-        Player p = (Player) event.getWhoClicked();
-        int slot = event.getRawSlot();
-        ShopEntry entry = shopItems.get(slot);
-        if (entry == null) return;
-        int pts = points.getOrDefault(p, 0);
-        if (pts < entry.cost) {
+    /** Charge the player for {@code entry} and hand it over. */
+    void buy(Player p, TTTShopService.ShopEntry entry) {
+        int playerSlot = roster.slotOf(p);
+        if (!roster.isAlive(playerSlot)) return;
+        if (roster.points(playerSlot) < entry.cost) {
             p.sendMessage(ChatColor.RED + "Not enough points!");
             return;
         }
-        points.put(p, pts - entry.cost);
+        roster.addPoints(playerSlot, -entry.cost);
         p.getInventory().addItem(entry.item.clone());
-        String name = ChatColor.stripColor(entry.item.getItemMeta().getDisplayName());
-        p.sendMessage(ChatColor.GREEN + "Purchased " + name + "!");
+        p.sendMessage(ChatColor.GREEN + "Purchased " + entry.name + "!");
         p.closeInventory();
     }
 
-    /** Detect right-click with the opener item to show the shop. */
-    @EventHandler
-    public void onInteract(PlayerInteractEvent event) {
-        Player p = event.getPlayer();
-        ItemStack item = event.getItem();
-        if (item != null && item.getType() == OPEN_MATERIAL) {
-            event.setCancelled(true);
-            openShop(p);
-        }
-    }
-
-    /** Stop listening for events when the game ends. */
+    /** Detach this game's players from the shop when the game ends. */
     public void unregister() {
-        HandlerList.unregisterAll(this);
-        points.clear();
-    }
-
-    private static class ShopEntry {
-        final ItemStack item;
-        final int cost;
-        ShopEntry(ItemStack item, int cost) {
-            this.item = item;
-            this.cost = cost;
-        }
+        service.remove(this, roster);
     }
 }
-
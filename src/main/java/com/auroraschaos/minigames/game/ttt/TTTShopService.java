@@ -0,0 +1,229 @@
+package com.auroraschaos.minigames.game.ttt;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.config.TTTConfig;
+import com.auroraschaos.minigames.game.ParticipantTable;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One listener for every TTT shop on the server.
+ *
+ * Shop items are built once per {@link TTTConfig} into a catalog per role.
+ * An open shop is an inventory owned by a {@link ShopView}, which points at
+ * the game's {@link TTTShop} and the catalog shown, so a click is routed by
+ * its holder rather than by comparing titles. The opener item carries a
+ * persistent data tag and only works for players in a running TTT game.
+ */
+public final class TTTShopService implements Listener {
+
+    private static final String SHOP_TITLE = ChatColor.DARK_GREEN + "TTT Shop";
+    private static final Material OPEN_MATERIAL = Material.EMERALD;
+
+    private final NamespacedKey openerKey;
+    private final Map<UUID, TTTShop> shopByPlayer = new HashMap<>();
+
+    private TTTConfig builtFrom;
+    private Map<TTTRole, Catalog> catalogs;
+
+    public TTTShopService(MinigamesPlugin plugin) {
+        this.openerKey = new NamespacedKey(plugin, "ttt_shop_opener");
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Start a shop for one game; its points live in {@code roster}.
+     * Main thread only.
+     */
+    public TTTShop createShop(TTTConfig cfg, ParticipantTable roster) {
+        TTTShop shop = new TTTShop(this, roster, catalogsFor(cfg));
+        for (int slot = 0; slot < roster.size(); slot++) {
+            shopByPlayer.put(roster.uuid(slot), shop);
+        }
+        return shop;
+    }
+
+    /** Forget a finished game's players. */
+    void remove(TTTShop shop, ParticipantTable roster) {
+        for (int slot = 0; slot < roster.size(); slot++) {
+            shopByPlayer.remove(roster.uuid(slot), shop);
+        }
+    }
+
+    /** @return catalogs for {@code cfg}, rebuilt only after a config reload */
+    private Map<TTTRole, Catalog> catalogsFor(TTTConfig cfg) {
+        if (cfg != builtFrom) {
+            Map<TTTRole, Catalog> built = new EnumMap<>(TTTRole.class);
+            for (TTTRole role : TTTRole.values()) {
+                built.put(role, Catalog.build(cfg.getShopItems(), role));
+            }
+            catalogs = built;
+            builtFrom = cfg;
+        }
+        return catalogs;
+    }
+
+    /** @return a fresh opener item tagged for this plugin */
+    ItemStack createOpenerItem() {
+        ItemStack item = new ItemStack(OPEN_MATERIAL);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(ChatColor.GOLD + "Open Shop");
+        meta.getPersistentDataContainer().set(openerKey, PersistentDataType.BYTE, (byte) 1);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private boolean isOpener(ItemStack item) {
+        if (item == null || item.getType() != OPEN_MATERIAL || !item.hasItemMeta()) return false;
+        return item.getItemMeta().getPersistentDataContainer().has(openerKey, PersistentDataType.BYTE);
+    }
+
+    // ---------- EVENTS ----------
+
+    @EventHandler
+    public void onInteract(PlayerInteractEvent event) {
+        if (!isOpener(event.getItem())) return;
+        TTTShop shop = shopByPlayer.get(event.getPlayer().getUniqueId());
+        if (shop == null) return;
+        event.setCancelled(true);
+        shop.openShop(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onClick(InventoryClickEvent event) {
+        if (!(event.getInventory().getHolder() instanceof ShopView)) return;
+        event.setCancelled(true);
+        if (!(event.getWhoClicked() instanceof Player)) return;
+        ShopView view = (ShopView) event.getInventory().getHolder();
+        ShopEntry entry = view.catalog.entry(event.getRawSlot());
+        if (entry != null) {
+            view.shop.buy((Player) event.getWhoClicked(), entry);
+        }
+    }
+
+    @EventHandler
+    public void onDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder() instanceof ShopView) {
+            event.setCancelled(true);
+        }
+    }
+
+    // ---------- CATALOG ----------
+
+    /** Items one role can buy, laid out by inventory slot. */
+    static final class Catalog {
+        private final int size;
+        private final ShopEntry[] entries;
+        private final ItemStack[] contents;
+        private final boolean empty;
+
+        private Catalog(int size, ShopEntry[] entries, ItemStack[] contents, boolean empty) {
+            this.size = size;
+            this.entries = entries;
+            this.contents = contents;
+            this.empty = empty;
+        }
+
+        static Catalog build(List<TTTConfig.ShopItem> items, TTTRole role) {
+            List<TTTConfig.ShopItem> offered = new ArrayList<>();
+            int maxSlot = -1;
+            for (TTTConfig.ShopItem item : items) {
+                if (item.getRoles().contains(role)) {
+                    offered.add(item);
+                    maxSlot = Math.max(maxSlot, item.getSlot());
+                }
+            }
+            int size = Math.max(9, (maxSlot / 9 + 1) * 9);
+            ShopEntry[] entries = new ShopEntry[size];
+            ItemStack[] contents = new ItemStack[size];
+            for (TTTConfig.ShopItem cfg : offered) {
+                ShopEntry entry = new ShopEntry(cfg);
+                entries[cfg.getSlot()] = entry;
+                contents[cfg.getSlot()] = entry.item;
+            }
+            return new Catalog(size, entries, contents, offered.isEmpty());
+        }
+
+        /** @return the entry in inventory slot {@code rawSlot}, or null */
+        ShopEntry entry(int rawSlot) {
+            return rawSlot >= 0 && rawSlot < size ? entries[rawSlot] : null;
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+
+        Inventory open(ShopView view) {
+            Inventory inv = Bukkit.createInventory(view, size, SHOP_TITLE);
+            inv.setContents(contents);
+            return inv;
+        }
+    }
+
+    /** A purchasable item, built once from config. */
+    static final class ShopEntry {
+        final ItemStack item;
+        final String name;
+        final int cost;
+
+        ShopEntry(TTTConfig.ShopItem cfg) {
+            ItemStack built = new ItemStack(cfg.getMaterial());
+            ItemMeta meta = built.getItemMeta();
+            meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', cfg.getName()));
+            List<String> lore = new ArrayList<>();
+            for (String line : cfg.getLore()) {
+                lore.add(ChatColor.translateAlternateColorCodes('&', line));
+            }
+            if (!lore.isEmpty()) {
+                meta.setLore(lore);
+            }
+            built.setItemMeta(meta);
+            this.item = built;
+            this.name = ChatColor.stripColor(meta.getDisplayName());
+            this.cost = cfg.getCost();
+        }
+    }
+
+    /** Owner of an open shop inventory: which game and which catalog it shows. */
+    static final class ShopView implements InventoryHolder {
+        final TTTShop shop;
+        final Catalog catalog;
+        private Inventory inventory;
+
+        ShopView(TTTShop shop, Catalog catalog) {
+            this.shop = shop;
+            this.catalog = catalog;
+        }
+
+        Inventory open() {
+            inventory = catalog.open(this);
+            return inventory;
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+}
@@ -4,17 +4,18 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
+import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.game.GameManager;
 import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 
 import java.util.*;
 
@@ -24,100 +25,145 @@ import java.util.*;
  *  2) Mode Selection Menu (one item per enabled GameMode of the clicked minigame)
  *
  * Clicking on a GameMode item runs "/minigames join <gameType> <mode>" for that player.
+ *
+ * Both menus are built from the "minigames" section of config.yml when the
+ * plugin loads and again on {@link #reload()}; opening a menu or clicking in
+ * one never re-reads the config. Clicks are routed by the inventory's
+ * {@link Menu} holder, so other inventories on the server are left alone.
+ *
+ * Each game icon on the main menu also shows its queue size, running games
+ * and estimated wait. These are recomputed once a second, and only while
+ * someone has the main menu open (or when it is opened after a quiet spell);
+ * only icons whose counts changed are replaced, and the server sends just
+ * those slots to the players viewing the menu.
  */
 public class GUIManager implements Listener {
 
     private final MinigamesPlugin plugin;
 
-    /** Inventory titles must be unique per menu */
     private static final String MAIN_MENU_TITLE = ChatColor.DARK_GREEN + "Select Minigame";
     private static final String MODE_MENU_TITLE_PREFIX = ChatColor.DARK_BLUE + "Select Mode: ";
 
-    /** Cache the built main menu so we don't rebuild each time */
-    private Inventory mainMenuInventory;
+    /** Live lobby counts are refreshed at most this often */
+    private static final long REFRESH_MILLIS = 1000L;
+
+    /** Built menus, replaced as a whole on reload */
+    private Menu mainMenu;
+    private Map<String, Menu> modeMenus = Collections.emptyMap();
 
-    /** Temporarily store which player opened which mode menu for which gameType */
-    private final Map<UUID, String> playerToGameType = new HashMap<>();
+    /** Main-menu icons that show live counts, and when they were last refreshed */
+    private List<LobbySlot> lobbySlots = Collections.emptyList();
+    private long refreshedAt;
+
+    private final TickProfiler.Section refreshSection;
 
     public GUIManager(MinigamesPlugin plugin) {
         this.plugin = plugin;
+        this.refreshSection = plugin.getProfiler().section("GUI", "lobby");
+        reload();
         Bukkit.getPluginManager().registerEvents(this, plugin);
+        Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            if (mainMenu.hasViewers()) refreshLobby();
+        }, 20L, 20L);
     }
 
     /**
-     * Opens the main minigame selection menu for the given player.
+     * Rebuild every menu from the current config. Players with an old menu
+     * open can still use it; the next open shows the new one.
      */
-    public void openMainMenu(Player player) {
-        if (mainMenuInventory == null) {
-            mainMenuInventory = buildMainMenu();
+    public void reload() {
+        Map<String, Menu> modes = new LinkedHashMap<>();
+        ConfigurationSection mgSection = plugin.getConfig().getConfigurationSection("minigames");
+        if (mgSection == null) {
+            plugin.getLogger().warning("No 'minigames' section found in config.yml");
+        } else {
+            for (String gameKey : mgSection.getKeys(false)) {
+                ConfigurationSection gameCfg = mgSection.getConfigurationSection(gameKey);
+                if (gameCfg != null) {
+                    modes.put(gameKey, buildModeMenu(gameKey, gameCfg));
+                }
+            }
         }
-        player.openInventory(mainMenuInventory);
+        modeMenus = modes;
+        List<LobbySlot> slots = new ArrayList<>();
+        mainMenu = buildMainMenu(mgSection, slots);
+        lobbySlots = slots;
+        refreshedAt = 0;
+        plugin.logVerbose("[GUIManager] Built main menu and " + modes.size() + " mode menus.");
     }
 
     /**
-     * Builds the main menu Inventory based on config.yml entries under "minigames".
+     * Opens the main minigame selection menu for the given player.
      */
-    private Inventory buildMainMenu() {
-        FileConfiguration cfg = plugin.getConfig();
-        ConfigurationSection mgSection = cfg.getConfigurationSection("minigames");
-        if (mgSection == null) {
-            plugin.getLogger().warning("No 'minigames' section found in config.yml");
-            // Create an empty 9-slot inventory
-            return Bukkit.createInventory(null, 9, MAIN_MENU_TITLE);
+    public void openMainMenu(Player player) {
+        if (System.currentTimeMillis() - refreshedAt >= REFRESH_MILLIS) {
+            refreshLobby();
         }
+        mainMenu.open(player);
+    }
 
-        Set<String> gameKeys = mgSection.getKeys(false);
-        int size = ((gameKeys.size() - 1) / 9 + 1) * 9; // round up to multiple of 9
-        Inventory inv = Bukkit.createInventory(null, size, MAIN_MENU_TITLE);
+    /** Re-read each game's lobby counts and replace the icons whose counts changed. */
+    private void refreshLobby() {
+        GameManager games = plugin.getGameManager();
+        if (games == null) return;
+        refreshSection.begin();
+        try {
+            for (LobbySlot slot : lobbySlots) {
+                GameManager.LobbyStatus status = games.getLobbyStatus(slot.gameKey);
+                if (status.equals(slot.shown)) continue;
+                slot.shown = status;
+                mainMenu.setItem(slot.slot, slot.render(status));
+            }
+            refreshedAt = System.currentTimeMillis();
+        } finally {
+            refreshSection.end();
+        }
+    }
 
+    // ---------- BUILDING ----------
+
+    /**
+     * Builds the main menu: one icon per game that has a mode menu. Each
+     * icon is also added to {@code slots} for live counts.
+     */
+    private Menu buildMainMenu(ConfigurationSection mgSection, List<LobbySlot> slots) {
+        Menu.Builder menu = new Menu.Builder(MAIN_MENU_TITLE, Menu.rowsFor(modeMenus.size()));
         int slot = 0;
-        for (String gameKey : gameKeys) {
+        for (Map.Entry<String, Menu> game : modeMenus.entrySet()) {
+            if (slot >= menu.size()) {
+                plugin.getLogger().warning("Too many minigames for one menu; '" + game.getKey() + "' is not shown.");
+                break;
+            }
+            String gameKey = game.getKey();
             ConfigurationSection gameCfg = mgSection.getConfigurationSection(gameKey);
-            if (gameCfg == null) continue;
 
             String displayName = ChatColor.translateAlternateColorCodes('&', gameCfg.getString("display_name", gameKey));
             String iconName = gameCfg.getString("icon", "STONE");
-            Material iconMat;
-            try { iconMat = Material.valueOf(iconName.toUpperCase()); }
-            catch (IllegalArgumentException ex) {
+            Material iconMat = Material.matchMaterial(iconName);
+            if (iconMat == null) {
                 plugin.getLogger().warning("Invalid icon '" + iconName + "' for game " + gameKey + ". Using STONE.");
                 iconMat = Material.STONE;
             }
 
-            List<String> loreRaw = gameCfg.getStringList("lore");
             List<String> lore = new ArrayList<>();
-            for (String line : loreRaw) {
+            for (String line : gameCfg.getStringList("lore")) {
                 lore.add(ChatColor.translateAlternateColorCodes('&', line));
             }
 
-            ItemStack item = new ItemStack(iconMat);
-            ItemMeta meta = item.getItemMeta();
-            meta.setDisplayName(displayName);
-            meta.setLore(lore);
-            item.setItemMeta(meta);
-
-            // Store the gameKey in the item's persistent data or use slot mapping
-            inv.setItem(slot, item);
-            slot++;
+            Menu modeMenu = game.getValue();
+            ItemStack icon = item(iconMat, displayName, lore);
+            slots.add(new LobbySlot(slot, gameKey, icon, lore));
+            menu.set(slot++, icon, modeMenu::open);
         }
-
-        return inv;
+        return menu.build();
     }
 
     /**
-     * Builds a mode selection inventory for a specific gameType, based on config.yml.
+     * Builds the mode selection menu for one game: its enabled modes, then a back button.
      */
-    private Inventory buildModeMenu(String gameType) {
-        FileConfiguration cfg = plugin.getConfig();
-        ConfigurationSection mgSection = cfg.getConfigurationSection("minigames." + gameType);
-        if (mgSection == null) {
-            plugin.getLogger().warning("No config found for gameType: " + gameType);
-            return Bukkit.createInventory(null, 9, MODE_MENU_TITLE_PREFIX + gameType);
-        }
-
-        List<String> modeListCfg = mgSection.getStringList("enabled_modes");
+    private Menu buildModeMenu(String gameType, ConfigurationSection gameCfg) {
         List<GameMode> modes = new ArrayList<>();
-        for (String modeStr : modeListCfg) {
+        for (String modeStr : gameCfg.getStringList("enabled_modes")) {
             try {
                 modes.add(GameMode.valueOf(modeStr.toUpperCase()));
             } catch (IllegalArgumentException ex) {
@@ -125,118 +171,115 @@ public class GUIManager implements Listener {
             }
         }
 
-        int size = ((modes.size() - 1) / 9 + 1) * 9;
-        Inventory inv = Bukkit.createInventory(null, size, MODE_MENU_TITLE_PREFIX + gameType);
-
+        Menu.Builder menu = new Menu.Builder(MODE_MENU_TITLE_PREFIX + gameType, Menu.rowsFor(modes.size() + 1));
+        int back = menu.size() - 1;
         int slot = 0;
         for (GameMode mode : modes) {
-            // Use a corresponding Material for each mode, or fallback to PAPER
-            Material icon;
-            switch (mode) {
-                case CLASSIC:  icon = Material.PAPER; break;
-                case HARDCORE: icon = Material.IRON_SWORD; break;
-                case TEAMS:    icon = Material.WHITE_BANNER; break;
-                case SOLO:     icon = Material.FEATHER; break;
-                case TIMED:    icon = Material.CLOCK; break;
-                case INSANE:   icon = Material.TNT; break;
-                default:       icon = Material.PAPER; break;
-            }
+            if (slot >= back) break;
+            String command = "minigames join " + gameType + " " + mode.name();
+            menu.set(slot++,
+                    item(iconFor(mode), ChatColor.GREEN + mode.name().replace("_", " "),
+                            List.of(ChatColor.YELLOW + "Click to join")),
+                    player -> {
+                        player.closeInventory();
+                        Bukkit.dispatchCommand(player, command);
+                    });
+        }
 
-            ItemStack item = new ItemStack(icon);
-            ItemMeta meta = item.getItemMeta();
-            meta.setDisplayName(ChatColor.GREEN + mode.name().replace("_", " "));
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.YELLOW + "Click to join");
-            meta.setLore(lore);
-            item.setItemMeta(meta);
+        // Back button in the final slot
+        menu.set(back,
+                item(Material.BARRIER, ChatColor.RED + "Go Back",
+                        List.of(ChatColor.YELLOW + "Return to previous menu")),
+                this::openMainMenu);
+        return menu.build();
+    }
 
-            inv.setItem(slot, item);
-            slot++;
+    /** Use a corresponding Material for each mode, or fallback to PAPER */
+    private static Material iconFor(GameMode mode) {
+        switch (mode) {
+            case CLASSIC:  return Material.PAPER;
+            case HARDCORE: return Material.IRON_SWORD;
+            case TEAMS:    return Material.WHITE_BANNER;
+            case SOLO:     return Material.FEATHER;
+            case TIMED:    return Material.CLOCK;
+            case INSANE:   return Material.TNT;
+            default:       return Material.PAPER;
         }
+    }
 
-
-        // Back button in the final slot
-        ItemStack item = new ItemStack(Material.BARRIER);
+    private static ItemStack item(Material material, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material);
         ItemMeta meta = item.getItemMeta();
-        meta.setDisplayName(ChatColor.RED + "Go Back");
-
-        List<String> lore = new ArrayList<>();
-        lore.add(ChatColor.YELLOW + "Return to previous menu");
+        meta.setDisplayName(name);
         meta.setLore(lore);
         item.setItemMeta(meta);
+        return item;
+    }
 
-        inv.setItem(8, item);
+    /** A game icon on the main menu and the counts it currently shows. */
+    private static final class LobbySlot {
+        final int slot;
+        final String gameKey;
+        final ItemStack base;
+        final List<String> baseLore;
+        GameManager.LobbyStatus shown;
+
+        LobbySlot(int slot, String gameKey, ItemStack base, List<String> baseLore) {
+            this.slot = slot;
+            this.gameKey = gameKey;
+            this.base = base;
+            this.baseLore = baseLore;
+        }
 
+        /** @return the configured icon with the counts appended to its lore */
+        ItemStack render(GameManager.LobbyStatus status) {
+            List<String> lore = new ArrayList<>(baseLore);
+            lore.add("");
+            lore.add(ChatColor.GRAY + "In queue: " + ChatColor.WHITE + status.getQueuedPlayers());
+            lore.add(ChatColor.GRAY + "Games running: " + ChatColor.WHITE + status.getActiveGames());
+            lore.add(ChatColor.GRAY + "Est. wait: " + ChatColor.WHITE + waitText(status));
+            ItemStack item = base.clone();
+            ItemMeta meta = item.getItemMeta();
+            meta.setLore(lore);
+            item.setItemMeta(meta);
+            return item;
+        }
 
-        return inv;
+        private static String waitText(GameManager.LobbyStatus status) {
+            if (status.getStartsInSeconds() >= 0) {
+                return status.getStartsInSeconds() + "s";
+            }
+            int needed = status.getPlayersNeeded();
+            if (needed > 0) {
+                return needed + " more player" + (needed == 1 ? "" : "s");
+            }
+            return "starting soon";
+        }
     }
 
+    // ---------- EVENTS ----------
+
     /**
-     * Handle clicks in both main menu and mode menu.
+     * Handle clicks in any of our menus; other inventories are not touched.
      */
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) return;
-        Player p = (Player) event.getWhoClicked();
-        
-        String title = event.getView().getTitle();
-        Inventory inv  = event.getInventory();
-
+        if (!(event.getInventory().getHolder() instanceof Menu)) return;
         // Prevent taking items
         event.setCancelled(true);
+        if (!(event.getWhoClicked() instanceof Player)) return;
 
-        // 1) Handle Main Menu clicks
-        if (title.equals(MAIN_MENU_TITLE)) {
-            int slot = event.getRawSlot();
-            if (slot < 0 || slot >= inv.getSize()) return;
-
-            ItemStack clicked = inv.getItem(slot);
-            if (clicked == null || !clicked.hasItemMeta()) return;
-
-            String displayName = clicked.getItemMeta().getDisplayName();
-            // Reverse‐lookup the gameType from displayName or slot index:
-            FileConfiguration cfg = plugin.getConfig();
-            for (String gameKey : cfg.getConfigurationSection("minigames").getKeys(false)) {
-                String configuredName = ChatColor.translateAlternateColorCodes('&',
-                        cfg.getString("minigames." + gameKey + ".display_name", gameKey));
-                if (configuredName.equals(displayName)) {
-                    // Found the gameKey
-                    openModeMenu(p, gameKey);
-                    return;
-                }
-            }
-        }
-
-        // 2) Handle Mode Menu clicks
-        if (title.startsWith(MODE_MENU_TITLE_PREFIX)) {
-            int slot = event.getRawSlot();
-            if (slot < 0 || slot >= inv.getSize()) return;
-
-            ItemStack clicked = inv.getItem(slot);
-            if (clicked == null || !clicked.hasItemMeta()) return;
-
-            // If the user wishes to go back to the previous menu
-            if (clicked.getItemMeta().getDisplayName().equals(ChatColor.RED + "Go Back")) {
-                openMainMenu(p);
-                return;
-            }
-
-            String modeName = ChatColor.stripColor(clicked.getItemMeta().getDisplayName()).replace(" ", "_");
-            String gameType = playerToGameType.get(p.getUniqueId());
-            if (gameType == null) return;
-
-            // Execute join command
-            p.closeInventory();
-            Bukkit.dispatchCommand(p, "minigames join " + gameType + " " + modeName);
+        Menu menu = (Menu) event.getInventory().getHolder();
+        Menu.Action action = menu.action(event.getRawSlot());
+        if (action != null) {
+            action.run((Player) event.getWhoClicked());
         }
     }
 
-    /**
-     * Opens the mode selection menu for the given gameType and stores the mapping.
-     */
-    private void openModeMenu(Player player, String gameType) {
-        playerToGameType.put(player.getUniqueId(), gameType);
-        Inventory modeMenu = buildModeMenu(gameType);
-        player.openInventory(modeMenu);
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder() instanceof Menu) {
+            event.setCancelled(true);
+        }
     }
 }
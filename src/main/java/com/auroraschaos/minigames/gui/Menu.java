@@ -0,0 +1,94 @@
+package com.auroraschaos.minigames.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A prebuilt, read-only chest menu.
+ *
+ * The menu owns one inventory, built with its items when the menu is
+ * built and shown to every player who opens it. A click is recognised by
+ * the inventory's holder being a Menu and resolved by indexing the slot
+ * into an array of actions, so nothing is rebuilt or looked up by name.
+ * Clicks are always cancelled, so players never change the contents; the
+ * owner may replace an item with {@link #setItem}, which the server sends
+ * to current viewers as a single slot update.
+ */
+public final class Menu implements InventoryHolder {
+
+    /** What clicking a slot does. */
+    @FunctionalInterface
+    public interface Action {
+        void run(Player player);
+    }
+
+    private final Action[] actions;
+    private final Inventory inventory;
+
+    private Menu(String title, ItemStack[] contents, Action[] actions) {
+        this.actions = actions;
+        this.inventory = Bukkit.createInventory(this, contents.length, title);
+        this.inventory.setContents(contents);
+    }
+
+    /** Show the menu to {@code player}. */
+    public void open(Player player) {
+        player.openInventory(inventory);
+    }
+
+    /** Replace the item shown in {@code slot}; the action stays. */
+    public void setItem(int slot, ItemStack item) {
+        inventory.setItem(slot, item);
+    }
+
+    /** @return true if any player has this menu open */
+    public boolean hasViewers() {
+        return !inventory.getViewers().isEmpty();
+    }
+
+    /** @return the action in inventory slot {@code rawSlot}, or null */
+    public Action action(int rawSlot) {
+        return rawSlot >= 0 && rawSlot < actions.length ? actions[rawSlot] : null;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /** @return the smallest chest size (a multiple of 9, at most 54) holding {@code items} */
+    static int rowsFor(int items) {
+        return Math.min(54, Math.max(1, (items + 8) / 9) * 9);
+    }
+
+    /** Lays out items and actions by slot. */
+    public static final class Builder {
+        private final String title;
+        private final ItemStack[] contents;
+        private final Action[] actions;
+
+        public Builder(String title, int size) {
+            this.title = title;
+            this.contents = new ItemStack[size];
+            this.actions = new Action[size];
+        }
+
+        public int size() {
+            return contents.length;
+        }
+
+        /** Put {@code item} in {@code slot}; {@code action} may be null for decoration. */
+        public Builder set(int slot, ItemStack item, Action action) {
+            contents[slot] = item;
+            actions[slot] = action;
+            return this;
+        }
+
+        public Menu build() {
+            return new Menu(title, contents.clone(), actions.clone());
+        }
+    }
+}
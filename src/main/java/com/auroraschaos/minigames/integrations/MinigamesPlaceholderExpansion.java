@@ -9,7 +9,14 @@ import com.auroraschaos.minigames.game.GameManager;
 import com.auroraschaos.minigames.game.GameMode;
 import com.auroraschaos.minigames.stats.StatsManager;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntBiFunction;
 
 /**
  * PlaceholderAPI expansion for:
@@ -24,17 +31,77 @@ import java.util.UUID;
  *   %minigames_wins_tnt_run%                      → wins in TNT_RUN (existing)
  *   %minigames_losses_tnt_run%                    → losses in TNT_RUN (existing)
  *   %minigames_plays_tnt_run%                     → total plays in TNT_RUN (existing)
+ *
+ * Scoreboard and hologram plugins ask for the same few identifiers many
+ * times a second, so each identifier is parsed once into a {@link Resolver}
+ * and kept. Game types are matched against the types in config.yml, longest
+ * first, so types containing underscores (TNT_RUN, SKY_WARS) split correctly
+ * from the mode. Only identifiers that resolve are kept, so placeholders in
+ * player-written text cannot grow the cache; the set is rebuilt by
+ * {@link #reload()}. Stats are read from storage at most once per
+ * {@link #STATS_TTL_MILLIS} per player and placeholder.
+ *
+ * PlaceholderAPI may call this from any thread (chat formatting, tab
+ * lists). Queue and game counts come from the snapshot the GameManager
+ * publishes once a second, and stats from the StatsManager's concurrent
+ * counts, so a request never touches main-thread state or waits on a lock.
  */
 public class MinigamesPlaceholderExpansion extends PlaceholderExpansion {
 
+    /** How long a player's stat stays cached */
+    private static final long STATS_TTL_MILLIS = 2000L;
+
+    /** Expired stats are dropped this often (ticks) */
+    private static final long EVICT_INTERVAL_TICKS = 20L * 60;
+
+    /** At most this many spellings (letter case) of identifiers are remembered */
+    private static final int MAX_SPELLINGS = 1024;
+
     private final MinigamesPlugin plugin;
     private final StatsManager statsManager;
     private final GameManager gameManager;
 
+    /** Known game types, upper case, longest first */
+    private volatile List<String> gameTypes;
+
+    /**
+     * Compiled identifiers (the part after "minigames_"), upper case. Only
+     * valid identifiers are added, so this is bounded by types and modes.
+     */
+    private final Map<String, Resolver> compiled = new ConcurrentHashMap<>();
+
+    /** The same resolvers by identifier as requested, so a hit skips normalizing */
+    private final Map<String, Resolver> resolvers = new ConcurrentHashMap<>();
+
     public MinigamesPlaceholderExpansion() {
-        this.plugin = MinigamesPlugin.getInstance();
+        this(MinigamesPlugin.getInstance());
+    }
+
+    public MinigamesPlaceholderExpansion(MinigamesPlugin plugin) {
+        this.plugin = plugin;
         this.statsManager = plugin.getStatsManager();
         this.gameManager = plugin.getGameManager();
+
+        this.gameTypes = loadGameTypes();
+
+        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+                this::evictExpiredStats, EVICT_INTERVAL_TICKS, EVICT_INTERVAL_TICKS);
+    }
+
+    /** Re-read the configured game types and forget every compiled identifier. */
+    public void reload() {
+        gameTypes = loadGameTypes();
+        resolvers.clear();
+        compiled.clear();
+    }
+
+    private List<String> loadGameTypes() {
+        List<String> types = new ArrayList<>();
+        for (String key : plugin.getConfigManager().getGameModeConfig().getAll().keySet()) {
+            types.add(key.toUpperCase(Locale.ROOT));
+        }
+        types.sort(Comparator.comparingInt(String::length).reversed());
+        return List.copyOf(types);
     }
 
     @Override
@@ -73,67 +140,17 @@ public class MinigamesPlaceholderExpansion extends PlaceholderExpansion {
         if (identifier == null || identifier.isEmpty()) {
             return "";
         }
-
-        // 1) Check for "active_games"
-        if (identifier.equalsIgnoreCase("active_games")) {
-            int count = gameManager.getActiveGameCount();
-            return String.valueOf(count);
-        }
-
-        // 2) Check for "queue_" patterns
-        if (identifier.startsWith("queue_")) {
-            // Remove "queue_" prefix, split remainder by "_"
-            String remainder = identifier.substring("queue_".length());
-            String[] parts = remainder.split("_");
-
-            if (parts.length == 1) {
-                // Pattern: queue_<gameType>
-                String gameType = parts[0].toUpperCase();
-                int totalQueued = gameManager.getTotalQueuedForType(gameType);
-                return String.valueOf(totalQueued);
-
-            } else if (parts.length == 2) {
-                // Pattern: queue_<gameType>_<mode>
-                String gameType = parts[0].toUpperCase();
-                String modeStr  = parts[1].toUpperCase();
-                try {
-                    GameMode mode = GameMode.valueOf(modeStr);
-                    int queued = gameManager.getQueuedCount(gameType, mode);
-                    return String.valueOf(queued);
-                } catch (IllegalArgumentException e) {
-                    // invalid GameMode
-                    return "";
-                }
-            } else {
-                // Too many underscores (invalid)
+        Resolver resolver = resolvers.get(identifier);
+        if (resolver == null) {
+            resolver = lookup(identifier.toUpperCase(Locale.ROOT));
+            if (resolver == null) {
                 return "";
             }
-        }
-
-        // 3) Check for stats-related placeholders: wins_, losses_, plays_
-        if (identifier.startsWith("wins_") || identifier.startsWith("losses_") || identifier.startsWith("plays_")) {
-            String[] parts = identifier.split("_", 2);
-            if (parts.length != 2) {
-                return "";
-            }
-            String statType = parts[0].toLowerCase();   // "wins", "losses", or "plays"
-            String gameType = parts[1].toUpperCase();   // e.g. "TNT_RUN"
-            UUID uuid = offlinePlayer.getUniqueId();
-
-            switch (statType) {
-                case "wins":
-                    return String.valueOf(statsManager.getWins(uuid, gameType));
-                case "losses":
-                    return String.valueOf(statsManager.getLosses(uuid, gameType));
-                case "plays":
-                    return String.valueOf(statsManager.getTotalPlays(uuid, gameType));
-                default:
-                    return "";
+            if (resolvers.size() < MAX_SPELLINGS) {
+                resolvers.put(identifier, resolver);
             }
         }
-
-        // 4) No matching pattern
-        return "";
+        return resolver.resolve(offlinePlayer);
     }
 
     @Override
@@ -147,4 +164,129 @@ public class MinigamesPlaceholderExpansion extends PlaceholderExpansion {
         // Only register if PlaceholderAPI is present
         return plugin.getServer().getPluginManager().getPlugin("PlaceholderAPI") != null;
     }
-}
\ No newline at end of file
+
+    // ---------- COMPILING ----------
+
+    /** A parsed identifier. */
+    @FunctionalInterface
+    private interface Resolver {
+        String resolve(OfflinePlayer player);
+    }
+
+    /** @return the compiled resolver of upper-case {@code id}, or null if it matches no pattern */
+    private Resolver lookup(String id) {
+        Resolver resolver = compiled.get(id);
+        if (resolver == null) {
+            resolver = compile(id);
+            if (resolver == null) return null;
+            Resolver raced = compiled.putIfAbsent(id, resolver);
+            if (raced != null) resolver = raced;
+        }
+        return resolver;
+    }
+
+    /**
+     * Parse one upper-case identifier.
+     *
+     * @return its resolver, or null if it matches no pattern
+     */
+    private Resolver compile(String id) {
+        List<String> gameTypes = this.gameTypes;
+
+        // 1) "active_games"
+        if (id.equals("ACTIVE_GAMES")) {
+            return player -> String.valueOf(gameManager.getSnapshot().getActiveGames());
+        }
+
+        // 2) "queue_<gameType>" and "queue_<gameType>_<mode>"
+        if (id.startsWith("QUEUE_")) {
+            String rest = id.substring("QUEUE_".length());
+            for (String type : gameTypes) {
+                if (rest.equals(type)) {
+                    return player -> String.valueOf(gameManager.getSnapshot().getQueued(type));
+                }
+                if (rest.startsWith(type + "_")) {
+                    GameMode mode = parseMode(rest.substring(type.length() + 1));
+                    if (mode != null) {
+                        return player -> String.valueOf(gameManager.getSnapshot().getQueued(type, mode));
+                    }
+                }
+            }
+            return null;
+        }
+
+        // 3) Stats: "wins_", "losses_", "plays_" of a configured type
+        if (id.startsWith("WINS_")) {
+            return statResolver(gameTypes, id.substring("WINS_".length()), statsManager::getWins);
+        }
+        if (id.startsWith("LOSSES_")) {
+            return statResolver(gameTypes, id.substring("LOSSES_".length()), statsManager::getLosses);
+        }
+        if (id.startsWith("PLAYS_")) {
+            return statResolver(gameTypes, id.substring("PLAYS_".length()), statsManager::getTotalPlays);
+        }
+
+        // 4) No matching pattern
+        return null;
+    }
+
+    private static Resolver statResolver(List<String> gameTypes, String gameType,
+                                         ToIntBiFunction<UUID, String> stat) {
+        return gameTypes.contains(gameType) ? new StatResolver(gameType, stat) : null;
+    }
+
+    private static GameMode parseMode(String name) {
+        try {
+            return GameMode.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ---------- STATS CACHE ----------
+
+    /** Drop cached stats that have expired, so players who left are forgotten. */
+    private void evictExpiredStats() {
+        long now = System.currentTimeMillis();
+        for (Resolver resolver : compiled.values()) {
+            if (resolver instanceof StatResolver) {
+                ((StatResolver) resolver).values.values().removeIf(v -> v.expiresAt <= now);
+            }
+        }
+    }
+
+    /** One stat for one game type, cached per player for {@link #STATS_TTL_MILLIS}. */
+    private static final class StatResolver implements Resolver {
+        final String gameType;
+        final ToIntBiFunction<UUID, String> stat;
+        final Map<UUID, CachedValue> values = new ConcurrentHashMap<>();
+
+        StatResolver(String gameType, ToIntBiFunction<UUID, String> stat) {
+            this.gameType = gameType;
+            this.stat = stat;
+        }
+
+        @Override
+        public String resolve(OfflinePlayer player) {
+            if (player == null) return "";
+            UUID uuid = player.getUniqueId();
+            long now = System.currentTimeMillis();
+            CachedValue cached = values.get(uuid);
+            if (cached == null || cached.expiresAt <= now) {
+                cached = new CachedValue(String.valueOf(stat.applyAsInt(uuid, gameType)), now + STATS_TTL_MILLIS);
+                values.put(uuid, cached);
+            }
+            return cached.value;
+        }
+    }
+
+    private static final class CachedValue {
+        final String value;
+        final long expiresAt;
+
+        CachedValue(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.auroraschaos.minigames.logging;
+
+import com.auroraschaos.minigames.config.LoggingConfig;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Structured verbose log, written as JSON lines off the main thread.
+ *
+ * Callers pass an event type and up to four key/value fields, or a
+ * message supplier for free text. While verbose logging is off every call
+ * returns after one check, before any argument is formatted. While it is
+ * on, an accepted event is queued in a fixed-size buffer and a background
+ * thread renders it into {@code logs/events.jsonl}, rotating the file at
+ * the configured size, and optionally echoes it to the console.
+ *
+ * Each event type is rate-limited per second; events over the limit are
+ * only counted, and the count is attached to the next accepted event of
+ * that type as {@code "suppressed"}. If the buffer is full the event is
+ * dropped and an {@code eventlog.dropped} line reports how many.
+ *
+ * Field values are rendered on the writer thread, so pass immutable
+ * values (strings, numbers, enums, UUIDs) rather than live game objects.
+ */
+public final class EventLog {
+
+    /** Events held for the writer before new ones are dropped. */
+    static final int CAPACITY = 8192;
+
+    /** Type of free-text messages from {@link #verbose(String)}. */
+    public static final String VERBOSE = "verbose";
+
+    private static final Object[] NO_FIELDS = new Object[0];
+    private static final Entry STOP = new Entry(0, null, NO_FIELDS, null, 0);
+
+    private Logger console;
+    private final BlockingQueue<Entry> buffer = new ArrayBlockingQueue<>(CAPACITY);
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile BooleanSupplier verbose = () -> false;
+    private volatile boolean running;
+    private volatile int rateLimit;
+    private Thread writer;
+
+    /**
+     * Start the writer thread.
+     *
+     * @param dir     folder for events.jsonl and its rotations
+     * @param config  file, console and rate-limit settings
+     * @param verbose whether events are currently wanted
+     * @param console logger for echoed events and write errors
+     */
+    public synchronized void start(File dir, LoggingConfig config, BooleanSupplier verbose, Logger console) {
+        if (running) return;
+        if (!config.isFile() && !config.isConsole()) return;
+        this.console = console;
+        this.verbose = verbose;
+        this.rateLimit = config.getRateLimitPerSecond();
+        writer = new Thread(new Drain(dir, config), "Minigames-EventLog");
+        writer.setDaemon(true);
+        running = true;
+        writer.start();
+    }
+
+    /** Write out what is buffered and stop the writer thread. */
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        try {
+            buffer.put(STOP);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    /** @return true if the writer is running; otherwise callers should log elsewhere */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** @return true if events are currently recorded */
+    public boolean isEnabled() {
+        return running && verbose.getAsBoolean();
+    }
+
+    // ---------- API ----------
+
+    public void verbose(String message) {
+        if (!isEnabled()) return;
+        long now = System.currentTimeMillis();
+        long suppressed = admit(VERBOSE, now);
+        if (suppressed >= 0) offer(new Entry(now, VERBOSE, NO_FIELDS, message, suppressed));
+    }
+
+    /** Like {@link #verbose(String)}, but the message is only built if it is written. */
+    public void verbose(Supplier<String> message) {
+        if (!isEnabled()) return;
+        long now = System.currentTimeMillis();
+        long suppressed = admit(VERBOSE, now);
+        if (suppressed >= 0) offer(new Entry(now, VERBOSE, NO_FIELDS, message.get(), suppressed));
+    }
+
+    public void event(String type) {
+        if (!isEnabled()) return;
+        record(type, NO_FIELDS);
+    }
+
+    public void event(String type, String k1, Object v1) {
+        if (!isEnabled()) return;
+        record(type, new Object[] {k1, v1});
+    }
+
+    public void event(String type, String k1, Object v1, String k2, Object v2) {
+        if (!isEnabled()) return;
+        record(type, new Object[] {k1, v1, k2, v2});
+    }
+
+    public void event(String type, String k1, Object v1, String k2, Object v2,
+                      String k3, Object v3) {
+        if (!isEnabled()) return;
+        record(type, new Object[] {k1, v1, k2, v2, k3, v3});
+    }
+
+    public void event(String type, String k1, Object v1, String k2, Object v2,
+                      String k3, Object v3, String k4, Object v4) {
+        if (!isEnabled()) return;
+        record(type, new Object[] {k1, v1, k2, v2, k3, v3, k4, v4});
+    }
+
+    private void record(String type, Object[] fields) {
+        long now = System.currentTimeMillis();
+        long suppressed = admit(type, now);
+        if (suppressed >= 0) offer(new Entry(now, type, fields, null, suppressed));
+    }
+
+    /** @return events of {@code type} suppressed since the last accepted one, or -1 to reject */
+    private long admit(String type, long now) {
+        return limiters.computeIfAbsent(type, k -> new Limiter()).admit(now / 1000, rateLimit);
+    }
+
+    private void offer(Entry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // ---------- FORMAT ----------
+
+    /** @return {@code entry} as one JSON object, without a line break */
+    static String toJson(Entry entry) {
+        StringBuilder out = new StringBuilder(96);
+        out.append("{\"time\":\"").append(Instant.ofEpochMilli(entry.time)).append("\",\"event\":");
+        appendString(out, entry.type);
+        if (entry.message != null) {
+            out.append(",\"msg\":");
+            appendString(out, entry.message);
+        }
+        for (int i = 0; i + 1 < entry.fields.length; i += 2) {
+            out.append(',');
+            appendString(out, String.valueOf(entry.fields[i]));
+            out.append(':');
+            appendValue(out, entry.fields[i + 1]);
+        }
+        if (entry.suppressed > 0) {
+            out.append(",\"suppressed\":").append(entry.suppressed);
+        }
+        return out.append('}').toString();
+    }
+
+    /** @return {@code entry} as one console line */
+    static String toText(Entry entry) {
+        StringBuilder out = new StringBuilder("[VERBOSE] ");
+        if (entry.message != null) {
+            out.append(entry.message);
+        } else {
+            out.append(entry.type);
+            for (int i = 0; i + 1 < entry.fields.length; i += 2) {
+                out.append(' ').append(entry.fields[i]).append('=').append(entry.fields[i + 1]);
+            }
+        }
+        if (entry.suppressed > 0) {
+            out.append(" (+").append(entry.suppressed).append(" suppressed)");
+        }
+        return out.toString();
+    }
+
+    private static void appendValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Boolean
+                || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            out.append(value);
+        } else if (value instanceof Number && Double.isFinite(((Number) value).doubleValue())) {
+            out.append(value);
+        } else {
+            appendString(out, String.valueOf(value));
+        }
+    }
+
+    private static void appendString(StringBuilder out, String s) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':  out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    // ---------- INTERNALS ----------
+
+    /** One buffered event. */
+    static final class Entry {
+        final long time;
+        final String type;
+        final Object[] fields;
+        final String message;
+        final long suppressed;
+
+        Entry(long time, String type, Object[] fields, String message, long suppressed) {
+            this.time = time;
+            this.type = type;
+            this.fields = fields;
+            this.message = message;
+            this.suppressed = suppressed;
+        }
+    }
+
+    /** Fixed one-second window for one event type. */
+    static final class Limiter {
+        private long second = Long.MIN_VALUE;
+        private int accepted;
+        private long suppressed;
+
+        synchronized long admit(long nowSecond, int limit) {
+            if (nowSecond != second) {
+                second = nowSecond;
+                accepted = 0;
+            }
+            if (accepted >= limit) {
+                suppressed++;
+                return -1;
+            }
+            accepted++;
+            long count = suppressed;
+            suppressed = 0;
+            return count;
+        }
+    }
+
+    /** Drains the buffer into the rotating file and the console. */
+    private final class Drain implements Runnable {
+        private final File dir;
+        private final LoggingConfig config;
+        private BufferedWriter out;
+        private long bytes;
+        private boolean warned;
+
+        Drain(File dir, LoggingConfig config) {
+            this.dir = dir;
+            this.config = config;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Entry entry = buffer.take();
+                    if (entry == STOP) break;
+                    write(entry);
+                    if (buffer.isEmpty()) flush();
+                }
+                Entry rest;
+                while ((rest = buffer.poll()) != null) {
+                    if (rest != STOP) write(rest);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                flush();
+                closeFile();
+            }
+        }
+
+        private void write(Entry entry) {
+            if (config.isConsole()) {
+                console.info(toText(entry));
+            }
+            if (config.isFile()) {
+                appendLine(toJson(entry));
+            }
+        }
+
+        private void flush() {
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                write(new Entry(System.currentTimeMillis(), "eventlog.dropped",
+                        new Object[] {"count", lost}, null, 0));
+            }
+            if (out != null) {
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+
+        private void appendLine(String line) {
+            try {
+                if (out == null) open();
+                if (bytes >= config.getMaxFileBytes()) {
+                    closeFile();
+                    rotate();
+                    open();
+                }
+                out.write(line);
+                out.write('\n');
+                // Close enough for rotation; lines are almost always ASCII
+                bytes += line.length() + 1;
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void open() throws IOException {
+            if (!dir.exists()) dir.mkdirs();
+            File file = new File(dir, "events.jsonl");
+            bytes = file.length();
+            out = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        }
+
+        /** events.jsonl becomes events.1.jsonl, and so on; the oldest is deleted. */
+        private void rotate() {
+            int keep = config.getMaxFiles();
+            File oldest = new File(dir, "events." + (keep - 1) + ".jsonl");
+            if (keep == 1) oldest = new File(dir, "events.jsonl");
+            oldest.delete();
+            for (int i = keep - 2; i >= 1; i--) {
+                new File(dir, "events." + i + ".jsonl").renameTo(new File(dir, "events." + (i + 1) + ".jsonl"));
+            }
+            if (keep > 1) {
+                new File(dir, "events.jsonl").renameTo(new File(dir, "events.1.jsonl"));
+            }
+        }
+
+        private void closeFile() {
+            if (out == null) return;
+            try {
+                out.close();
+            } catch (IOException e) {
+                fail(e);
+            }
+            out = null;
+        }
+
+        private void fail(IOException e) {
+            if (!warned) {
+                console.log(Level.WARNING, "[EventLog] Could not write " + dir + "/events.jsonl", e);
+                warned = true;
+            }
+            out = null;
+        }
+    }
+}
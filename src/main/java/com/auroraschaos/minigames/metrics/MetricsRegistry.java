@@ -0,0 +1,241 @@
+package com.auroraschaos.minigames.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, gauges and histograms rendered in the Prometheus text
+ * exposition format by {@link MetricsServer}.
+ *
+ * Counters and histograms are updated where the work happens, from any
+ * thread. Gauges describe main-thread state (queues, games, arenas), so
+ * they are not read by a scrape: subsystems register a sampler with
+ * {@link #onSample(Runnable)}, the plugin runs {@link #sample()} on the
+ * main thread once a second while the endpoint is up, and the sampler
+ * replaces the gauge's values in one step. A scrape only reads what the
+ * last sample published.
+ */
+public final class MetricsRegistry {
+
+    /** Histogram buckets in seconds, from 1 ms to 5 s. */
+    public static final double[] LATENCY_BUCKETS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5
+    };
+
+    private final Map<String, Family> families = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<Runnable> samplers = new CopyOnWriteArrayList<>();
+
+    public Counter counter(String name, String help, String... labelNames) {
+        return register(new Counter(name, help, labelNames));
+    }
+
+    public Gauge gauge(String name, String help, String... labelNames) {
+        return register(new Gauge(name, help, labelNames));
+    }
+
+    public Histogram histogram(String name, String help, double... bucketsSeconds) {
+        return register(new Histogram(name, help, bucketsSeconds));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <F extends Family> F register(F family) {
+        Family existing = families.putIfAbsent(family.name, family);
+        if (existing == null) return family;
+        if (existing.getClass() != family.getClass()) {
+            throw new IllegalArgumentException("Metric " + family.name + " is already a " + existing.type());
+        }
+        return (F) existing;
+    }
+
+    /** Run {@code sampler} on every {@link #sample()}; it should only set gauges. */
+    public void onSample(Runnable sampler) {
+        samplers.add(sampler);
+    }
+
+    /** Refresh gauges from main-thread state. Main thread only. */
+    public void sample() {
+        for (Runnable sampler : samplers) {
+            sampler.run();
+        }
+    }
+
+    /** Append every metric in the Prometheus text format (version 0.0.4). */
+    public void writeTo(StringBuilder out) {
+        List<Family> snapshot;
+        synchronized (families) {
+            snapshot = new ArrayList<>(families.values());
+        }
+        for (Family family : snapshot) {
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type()).append('\n');
+            family.write(out);
+        }
+    }
+
+    // ---------- FAMILIES ----------
+
+    /** A named metric and its series. */
+    public abstract static class Family {
+        final String name;
+        final String help;
+        final String[] labelNames;
+
+        Family(String name, String help, String[] labelNames) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = labelNames;
+        }
+
+        abstract String type();
+
+        abstract void write(StringBuilder out);
+
+        List<String> key(String[] labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException(name + " expects labels " + Arrays.toString(labelNames));
+            }
+            return List.of(labelValues);
+        }
+
+        void writeSample(StringBuilder out, String suffix, List<String> labelValues,
+                         String extraName, String extraValue, String value) {
+            out.append(name).append(suffix);
+            if (!labelValues.isEmpty() || extraName != null) {
+                out.append('{');
+                for (int i = 0; i < labelValues.size(); i++) {
+                    if (i > 0) out.append(',');
+                    appendLabel(out, labelNames[i], labelValues.get(i));
+                }
+                if (extraName != null) {
+                    if (!labelValues.isEmpty()) out.append(',');
+                    appendLabel(out, extraName, extraValue);
+                }
+                out.append('}');
+            }
+            out.append(' ').append(value).append('\n');
+        }
+
+        private static void appendLabel(StringBuilder out, String name, String value) {
+            out.append(name).append("=\"");
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' || c == '"') out.append('\\').append(c);
+                else if (c == '\n') out.append("\\n");
+                else out.append(c);
+            }
+            out.append('"');
+        }
+    }
+
+    /** Monotonic count of events, safe to increment from any thread. */
+    public static final class Counter extends Family {
+        private final Map<List<String>, LongAdder> series = new ConcurrentHashMap<>();
+
+        Counter(String name, String help, String[] labelNames) {
+            super(name, help, labelNames);
+        }
+
+        public void inc(String... labelValues) {
+            series.computeIfAbsent(key(labelValues), k -> new LongAdder()).increment();
+        }
+
+        @Override String type() { return "counter"; }
+
+        @Override
+        void write(StringBuilder out) {
+            series.forEach((labels, count) ->
+                    writeSample(out, "", labels, null, null, Long.toString(count.sum())));
+        }
+    }
+
+    /** Current values, published as a whole by a sampler. */
+    public static final class Gauge extends Family {
+        private volatile Map<List<String>, Long> values = Map.of();
+
+        Gauge(String name, String help, String[] labelNames) {
+            super(name, help, labelNames);
+        }
+
+        /** Start a new set of values; nothing is visible until {@link Update#publish()}. */
+        public Update update() {
+            return new Update();
+        }
+
+        @Override String type() { return "gauge"; }
+
+        @Override
+        void write(StringBuilder out) {
+            values.forEach((labels, value) ->
+                    writeSample(out, "", labels, null, null, Long.toString(value)));
+        }
+
+        /** Values for one sample; series left out disappear from the next scrape. */
+        public final class Update {
+            private final Map<List<String>, Long> next = new HashMap<>();
+
+            public Update set(long value, String... labelValues) {
+                next.put(key(labelValues), value);
+                return this;
+            }
+
+            public Update add(long delta, String... labelValues) {
+                next.merge(key(labelValues), delta, Long::sum);
+                return this;
+            }
+
+            public void publish() {
+                values = Collections.unmodifiableMap(next);
+            }
+        }
+    }
+
+    /** Distribution of durations in fixed second buckets, safe from any thread. */
+    public static final class Histogram extends Family {
+        private final double[] bounds;
+        private final LongAdder[] buckets;
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Histogram(String name, String help, double[] bounds) {
+            super(name, help, new String[0]);
+            this.bounds = bounds.clone();
+            Arrays.sort(this.bounds);
+            this.buckets = new LongAdder[this.bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observeNanos(long nanos) {
+            double seconds = nanos / 1e9;
+            int i = 0;
+            while (i < bounds.length && seconds > bounds[i]) i++;
+            buckets[i].increment();
+            sum.add(seconds);
+        }
+
+        @Override String type() { return "histogram"; }
+
+        @Override
+        void write(StringBuilder out) {
+            List<String> none = List.of();
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += buckets[i].sum();
+                writeSample(out, "_bucket", none, "le", Double.toString(bounds[i]), Long.toString(cumulative));
+            }
+            cumulative += buckets[bounds.length].sum();
+            writeSample(out, "_bucket", none, "le", "+Inf", Long.toString(cumulative));
+            writeSample(out, "_sum", none, null, null, Double.toString(sum.sum()));
+            writeSample(out, "_count", none, null, null, Long.toString(cumulative));
+        }
+    }
+}
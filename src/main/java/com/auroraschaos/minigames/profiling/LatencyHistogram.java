@@ -0,0 +1,83 @@
+package com.auroraschaos.minigames.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of non-negative durations in the style of
+ * HdrHistogram: values below 32 get a bucket each, and every power of two
+ * above that is split into 16 buckets, so any recorded value is known to
+ * within 1/16 (about 6%) of itself. Values above 2^40 (about 18 minutes
+ * in nanoseconds) land in the last bucket.
+ *
+ * Recording is an index computation and an array increment; nothing is
+ * allocated after construction. Not thread-safe.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final long MAX_TRACKABLE = 1L << 40;
+    private static final int BUCKETS = indexOf(MAX_TRACKABLE) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /** Record one value; negatives count as zero. */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[indexOf(Math.min(v, MAX_TRACKABLE))]++;
+        count++;
+        total += v;
+        if (v > max) max = v;
+    }
+
+    static int indexOf(long v) {
+        if (v < 2 * SUB_BUCKETS) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        return shift * SUB_BUCKETS + (int) (v >>> shift);
+    }
+
+    /** @return the largest value that falls into bucket {@code index} */
+    static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the value below or at which {@code percentile} percent of the
+     *         recorded values fall, never above the exact maximum; 0 if empty
+     */
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() { return count; }
+    public long getTotal() { return total; }
+    public long getMax()   { return max; }
+
+    /** @return mean of the recorded values, or 0 if empty */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.auroraschaos.minigames.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Main-thread time spent per subsystem, for /minigamesadmin profile.
+ *
+ * Code that runs on the server thread (scheduled tasks, event handlers)
+ * asks once for a {@link Section} named after its group (a game type or a
+ * service) and wraps its work in {@link Section#begin()} and
+ * {@link Section#end()}. While profiling is off both calls return after
+ * reading one field. While it is on, each call records its duration into
+ * the section's {@link LatencyHistogram} and, where the JVM can count
+ * per-thread allocations, the bytes allocated in between.
+ *
+ * Main-thread only.
+ */
+public final class TickProfiler {
+
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    private final com.sun.management.ThreadMXBean allocations;
+    private boolean enabled;
+    private long enabledAt;
+
+    public TickProfiler() {
+        this.allocations = allocationBean();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+        if (!sun.isThreadAllocatedMemorySupported()) return null;
+        try {
+            if (!sun.isThreadAllocatedMemoryEnabled()) {
+                sun.setThreadAllocatedMemoryEnabled(true);
+            }
+        } catch (UnsupportedOperationException | SecurityException ex) {
+            return null;
+        }
+        return sun;
+    }
+
+    /** @return the section for {@code group}/{@code name}, created on first use */
+    public Section section(String group, String name) {
+        return sections.computeIfAbsent(group + '/' + name, k -> new Section(this, group, name));
+    }
+
+    /** Start or stop recording; starting clears earlier results. */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            reset();
+        }
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** @return true if sections also count allocated bytes */
+    public boolean isCountingAllocations() {
+        return allocations != null;
+    }
+
+    /** @return nanoTime when the current results started */
+    public long getEnabledAt() {
+        return enabledAt;
+    }
+
+    /** Clear every section's results. */
+    public void reset() {
+        for (Section s : sections.values()) {
+            s.histogram.reset();
+            s.allocatedBytes = 0;
+        }
+        enabledAt = System.nanoTime();
+    }
+
+    /** @return sections that recorded at least one call, grouped in creation order */
+    public List<Section> getRecordedSections() {
+        List<Section> result = new ArrayList<>();
+        for (Section s : sections.values()) {
+            if (s.histogram.getCount() > 0) result.add(s);
+        }
+        result.sort((a, b) -> a.group.compareTo(b.group));
+        return result;
+    }
+
+    private long allocatedBytes() {
+        return allocations == null ? 0 : allocations.getCurrentThreadAllocatedBytes();
+    }
+
+    /** One instrumented piece of main-thread work. */
+    public static final class Section {
+        private final TickProfiler profiler;
+        private final String group;
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long allocatedBytes;
+
+        // Nested begin() calls of the same section only count the outermost
+        private int depth;
+        private long startNanos;
+        private long startBytes;
+
+        private Section(TickProfiler profiler, String group, String name) {
+            this.profiler = profiler;
+            this.group = group;
+            this.name = name;
+        }
+
+        public void begin() {
+            if (!profiler.enabled) return;
+            if (depth++ == 0) {
+                startBytes = profiler.allocatedBytes();
+                startNanos = System.nanoTime();
+            }
+        }
+
+        public void end() {
+            if (depth == 0) return;
+            if (--depth > 0) return;
+            long elapsed = System.nanoTime() - startNanos;
+            if (!profiler.enabled) return;
+            histogram.record(elapsed);
+            allocatedBytes += profiler.allocatedBytes() - startBytes;
+        }
+
+        public String getGroup()                 { return group; }
+        public String getName()                  { return name; }
+        public LatencyHistogram getHistogram()   { return histogram; }
+        /** @return bytes allocated by the main thread inside this section since the last reset */
+        public long getAllocatedBytes()          { return allocatedBytes; }
+    }
+}
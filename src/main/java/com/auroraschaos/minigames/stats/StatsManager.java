@@ -3,6 +3,7 @@ package com.auroraschaos.minigames.stats;
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.config.StatsConfig;
 import com.auroraschaos.minigames.game.GameInstance;
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
 
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -11,7 +12,9 @@ import org.bukkit.entity.Player;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -30,12 +33,27 @@ public class StatsManager {
     /** Lock used to protect concurrent access to {@code statsStorage}. */
     private final Object storageLock = new Object();
 
+    /**
+     * Copy of the stored counts keyed by storage path, kept in step with
+     * {@code statsStorage} under {@code storageLock}. Reads go here, so
+     * any thread can read stats without taking the lock.
+     */
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+    /** Time spent writing the stats file, and writes that failed. */
+    private final MetricsRegistry.Histogram writeTime;
+    private final MetricsRegistry.Counter writeErrors;
+
     // MySQL storage (stubbed—replace with your preferred DataSource)
     // private DataSource mysqlDataSource;
 
     public StatsManager(MinigamesPlugin plugin, StatsConfig statsConfig) {
         this.plugin = plugin;
         this.statsConfig = statsConfig;
+        this.writeTime = plugin.getMetrics().histogram("minigames_stats_write_seconds",
+                "Time to write the stats file.", MetricsRegistry.LATENCY_BUCKETS);
+        this.writeErrors = plugin.getMetrics().counter("minigames_stats_write_errors_total",
+                "Stats file writes that failed.");
 
         // Ensure plugin data folder exists
         if (!plugin.getDataFolder().exists()) {
@@ -71,6 +89,11 @@ public class StatsManager {
         }
 
         statsStorage = YamlConfiguration.loadConfiguration(statsFile);
+        for (String path : statsStorage.getKeys(true)) {
+            if (statsStorage.isInt(path)) {
+                counts.put(path, statsStorage.getInt(path));
+            }
+        }
         plugin.logVerbose("[StatsManager] Flatfile storage initialized at " + statsFile);
     }
 
@@ -123,10 +146,11 @@ public class StatsManager {
                 String path = "stats." + playerUUID + "." + gameType + ".wins";
                 int current = statsStorage.getInt(path, 0);
                 statsStorage.set(path, current + 1);
+                counts.put(path, current + 1);
                 saveFlatfile();
             }
         } else {
-            plugin.logVerbose("[StatsManager] (MySQL) recordWin for " + playerUUID + " in " + gameType);
+            plugin.getEventLog().event("stats.record", "player", playerUUID, "type", gameType, "result", "win");
         }
     }
 
@@ -136,17 +160,18 @@ public class StatsManager {
                 String path = "stats." + playerUUID + "." + gameType + ".losses";
                 int current = statsStorage.getInt(path, 0);
                 statsStorage.set(path, current + 1);
+                counts.put(path, current + 1);
                 saveFlatfile();
             }
         } else {
-            plugin.logVerbose("[StatsManager] (MySQL) recordLoss for " + playerUUID + " in " + gameType);
+            plugin.getEventLog().event("stats.record", "player", playerUUID, "type", gameType, "result", "loss");
         }
     }
 
     public int getWins(UUID playerUUID, String gameType) {
         if (statsConfig.getStorageType() == StatsConfig.StorageType.FLATFILE) {
             String path = "stats." + playerUUID + "." + gameType + ".wins";
-            return statsStorage.getInt(path, 0);
+            return counts.getOrDefault(path, 0);
         } else {
             return 0;
         }
@@ -155,7 +180,7 @@ public class StatsManager {
     public int getLosses(UUID playerUUID, String gameType) {
         if (statsConfig.getStorageType() == StatsConfig.StorageType.FLATFILE) {
             String path = "stats." + playerUUID + "." + gameType + ".losses";
-            return statsStorage.getInt(path, 0);
+            return counts.getOrDefault(path, 0);
         } else {
             return 0;
         }
@@ -183,9 +208,12 @@ public class StatsManager {
 
     private void saveFlatfile() {
         synchronized (storageLock) {
+            long start = System.nanoTime();
             try {
                 statsStorage.save(statsFile);
+                writeTime.observeNanos(System.nanoTime() - start);
             } catch (IOException e) {
+                writeErrors.inc();
                 plugin.getLogger().log(Level.SEVERE,
                     "[StatsManager] Error saving stats file: " + statsFile.getAbsolutePath(), e);
             }
@@ -3,6 +3,7 @@ package com.auroraschaos.minigames.util;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 
 import java.util.HashMap;
@@ -16,7 +17,6 @@ public class CountdownTimer {
 
     private final MinigamesPlugin plugin;
     private final ScoreboardManager scoreboardManager;
-    private final Map<String, Integer> timeLeftMap = new HashMap<>();
     private final Map<String, BukkitRunnable> tasks = new HashMap<>();
 
     public CountdownTimer(MinigamesPlugin plugin, ScoreboardManager sbm) {
@@ -33,26 +33,29 @@ public class CountdownTimer {
      */
     public void startCountdown(String arenaId, int durationSecs) {
         cancelCountdown(arenaId);
-        timeLeftMap.put(arenaId, durationSecs);
+        TickProfiler.Section section = plugin.getProfiler().section("Countdown", "timer");
+        String lineKey = "timer_" + arenaId;
 
         BukkitRunnable task = new BukkitRunnable() {
+            private int timeLeft = durationSecs;
+
             @Override
             public void run() {
-                int timeLeft = timeLeftMap.getOrDefault(arenaId, 0);
-                if (timeLeft <= 0) {
-                    // Time’s up: stop timer and cancel
-                    cancelCountdown(arenaId);
-                    return;
+                section.begin();
+                try {
+                    if (timeLeft <= 0) {
+                        // Time’s up: stop timer and cancel
+                        cancelCountdown(arenaId);
+                        return;
+                    }
+                    // Update scoreboard line, e.g. “Time Left: 00:59”
+                    scoreboardManager.setScoreLine(arenaId, lineKey, formatTimeLeft(timeLeft),
+                            2  // score position
+                    );
+                    timeLeft--;
+                } finally {
+                    section.end();
                 }
-                // Update scoreboard line, e.g. “Time Left: 00:59”
-                String minutes = String.format("%02d", timeLeft / 60);
-                String seconds = String.format("%02d", timeLeft % 60);
-                scoreboardManager.setScoreLine(arenaId,
-                        "timer_" + arenaId,
-                        "Time Left: " + minutes + ":" + seconds,
-                        2  // score position
-                );
-                timeLeftMap.put(arenaId, timeLeft - 1);
             }
         };
 
@@ -60,13 +63,23 @@ public class CountdownTimer {
         tasks.put(arenaId, task);
     }
 
+    /** @return "Time Left: mm:ss", built without String.format */
+    static String formatTimeLeft(int secs) {
+        int minutes = secs / 60;
+        int seconds = secs % 60;
+        StringBuilder out = new StringBuilder(16).append("Time Left: ");
+        if (minutes < 10) out.append('0');
+        out.append(minutes).append(':');
+        if (seconds < 10) out.append('0');
+        return out.append(seconds).toString();
+    }
+
     /** Cancel and remove the countdown for a given arena ID */
     public void cancelCountdown(String arenaId) {
         BukkitRunnable task = tasks.remove(arenaId);
         if (task != null) {
             task.cancel();
         }
-        timeLeftMap.remove(arenaId);
         // Optionally clear the scoreboard line
         scoreboardManager.setScoreLine(arenaId, "timer_" + arenaId, "", 2);
     }
@@ -0,0 +1,94 @@
+package com.auroraschaos.minigames.util;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of {@link Material}s stored as a bitmap over
+ * {@link Material#ordinal()}. Membership is a single shift-and-mask, which
+ * makes it suitable for per-event block checks (breaking, decay, shrinking).
+ */
+public final class MaterialSet {
+    private static final Material[] MATERIALS = Material.values();
+    private static final int WORDS = (MATERIALS.length + 63) >>> 6;
+    private static final MaterialSet EMPTY = new MaterialSet(new long[WORDS], 0);
+
+    private final long[] bits;
+    private final int size;
+
+    private MaterialSet(long[] bits, int size) {
+        this.bits = bits;
+        this.size = size;
+    }
+
+    public static MaterialSet empty() {
+        return EMPTY;
+    }
+
+    public static MaterialSet of(Material... materials) {
+        long[] bits = new long[WORDS];
+        for (Material m : materials) {
+            set(bits, m);
+        }
+        return new MaterialSet(bits, count(bits));
+    }
+
+    public static MaterialSet copyOf(Collection<Material> materials) {
+        long[] bits = new long[WORDS];
+        for (Material m : materials) {
+            set(bits, m);
+        }
+        return new MaterialSet(bits, count(bits));
+    }
+
+    /** @return a new set containing this set's materials plus {@code extra} */
+    public MaterialSet with(Material... extra) {
+        long[] copy = bits.clone();
+        for (Material m : extra) {
+            set(copy, m);
+        }
+        return new MaterialSet(copy, count(copy));
+    }
+
+    public boolean contains(Material material) {
+        int ordinal = material.ordinal();
+        return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public int size()        { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /** @return the members in ordinal order (allocates; not for hot paths) */
+    public List<Material> toList() {
+        List<Material> out = new ArrayList<>(size);
+        for (int w = 0; w < WORDS; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                out.add(MATERIALS[(w << 6) + bit]);
+                word &= word - 1;
+            }
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    private static void set(long[] bits, Material m) {
+        int ordinal = m.ordinal();
+        bits[ordinal >>> 6] |= 1L << ordinal;
+    }
+
+    private static int count(long[] bits) {
+        int n = 0;
+        for (long word : bits) n += Long.bitCount(word);
+        return n;
+    }
+}
@@ -0,0 +1,245 @@
+package com.auroraschaos.minigames.util;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.arena.Arena;
+import com.auroraschaos.minigames.game.BlockMove;
+import com.auroraschaos.minigames.game.MoveDispatcher;
+import com.auroraschaos.minigames.game.ParticipantTable;
+import com.auroraschaos.minigames.profiling.TickProfiler;
+import com.sk89q.worldedit.math.BlockVector3;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.util.BoundingBox;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps eliminated players spectating inside their arena.
+ *
+ * Each spectator gets a session holding the arena's bounds as plain
+ * doubles, taken once from {@link Arena#getBounds()} (or the region the
+ * game pasted its map into) and raised by
+ * {@link #HEADROOM} so spectators can fly above the build. Moves reach
+ * {@link #contain} through the game's {@link MoveDispatcher}, so only moves
+ * into another block are checked; a spectator who leaves the box is
+ * clamped back to its edge. Game mode is set once on entry and
+ * guarded by cancelling any change away from spectator, so nothing has to
+ * re-apply it per move.
+ *
+ * A spectator can also lock their camera onto an alive player and cycle
+ * through them with {@link #cycleCamera(Player)}.
+ *
+ * Main-thread only.
+ */
+public final class SpectatorService implements Listener {
+
+    /** Blocks of open air allowed above an arena's schematic. */
+    public static final int HEADROOM = 32;
+
+    private final MinigamesPlugin plugin;
+    private final Map<UUID, Session> sessions = new HashMap<>();
+    private final TickProfiler.Section moveSection;
+
+    public SpectatorService(MinigamesPlugin plugin) {
+        this.plugin = plugin;
+        this.moveSection = plugin.getProfiler().section("Spectators", "move");
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Put an eliminated player into spectator mode 10 blocks above the
+     * arena origin.
+     *
+     * @param p      the eliminated player
+     * @param arena  the arena they must stay in
+     * @param roster the game's participants, used for the camera
+     */
+    public void add(Player p, Arena arena, ParticipantTable roster) {
+        BlockVector3 origin = arena.getOrigin();
+        add(p, arena, roster, new Location(arena.getWorld(),
+                origin.getX() + 0.5, origin.getY() + 10, origin.getZ() + 0.5));
+    }
+
+    /**
+     * Put an eliminated player into spectator mode at {@code spawn},
+     * clamped into the arena's bounds.
+     */
+    public void add(Player p, Arena arena, ParticipantTable roster, Location spawn) {
+        add(p, arena, roster, spawn, arena.getBounds());
+    }
+
+    /**
+     * Put an eliminated player into spectator mode at {@code spawn},
+     * clamped into {@code bounds} (plus {@link #HEADROOM}). For games that
+     * paste their map somewhere other than the arena's schematic.
+     */
+    public void add(Player p, Arena arena, ParticipantTable roster, Location spawn, BoundingBox bounds) {
+        Session session = new Session(arena.getWorld(), bounds, roster);
+        sessions.put(p.getUniqueId(), session);
+
+        p.teleport(session.clamp(spawn.clone()));
+        if (p.getGameMode() != GameMode.SPECTATOR) {
+            p.setGameMode(GameMode.SPECTATOR);
+        }
+        p.setCollidable(false);
+
+        // Anyone watching the newly eliminated player moves on to the next one
+        int slot = roster.slotOf(p);
+        for (int i = 0; i < roster.size(); i++) {
+            if (!roster.isSpectator(i)) continue;
+            Session watcher = sessions.get(roster.uuid(i));
+            if (watcher != null && watcher.roster == roster && watcher.cameraSlot == slot) {
+                cycleCamera(roster.player(i));
+            }
+        }
+        plugin.getEventLog().event("spectator.add", "player", p.getName(), "arena", arena.getName());
+    }
+
+    /**
+     * Release a spectator, returning them to survival mode. No-op for
+     * players without a session.
+     *
+     * @return true if the player was spectating
+     */
+    public boolean remove(Player p) {
+        Session session = sessions.remove(p.getUniqueId());
+        if (session == null) return false;
+        if (p.getSpectatorTarget() != null) {
+            p.setSpectatorTarget(null);
+        }
+        if (p.getGameMode() != GameMode.SURVIVAL) {
+            p.setGameMode(GameMode.SURVIVAL);
+        }
+        p.setCollidable(true);
+        return true;
+    }
+
+    /** Release every spectator of a finished game. */
+    public void removeAll(ParticipantTable roster) {
+        for (int slot = 0; slot < roster.size(); slot++) {
+            Session session = sessions.get(roster.uuid(slot));
+            if (session != null && session.roster == roster) {
+                remove(roster.player(slot));
+            }
+        }
+    }
+
+    /** @return true if the player is spectating a game */
+    public boolean isSpectating(Player p) {
+        return sessions.containsKey(p.getUniqueId());
+    }
+
+    /**
+     * Point the spectator's camera at the next alive player of their game.
+     *
+     * @return false if the player is not spectating or nobody is alive
+     */
+    public boolean cycleCamera(Player p) {
+        Session session = sessions.get(p.getUniqueId());
+        if (session == null) return false;
+        ParticipantTable roster = session.roster;
+        int n = roster.size();
+        for (int step = 1; step <= n; step++) {
+            int slot = Math.floorMod(session.cameraSlot + step, n);
+            if (!roster.isAlive(slot)) continue;
+            Player target = roster.player(slot);
+            if (!target.isOnline()) continue;
+            session.cameraSlot = slot;
+            p.setSpectatorTarget(target);
+            return true;
+        }
+        session.cameraSlot = ParticipantTable.NO_SLOT;
+        if (p.getSpectatorTarget() != null) {
+            p.setSpectatorTarget(null);
+        }
+        return false;
+    }
+
+    /**
+     * Keep a spectator inside their box. Called by the {@link MoveDispatcher}
+     * for every block move of a game participant.
+     *
+     * @return where to put the player instead, or null if the move is
+     *         allowed (including players who are not spectating)
+     */
+    public Location contain(Player p, BlockMove move) {
+        Session session = sessions.get(p.getUniqueId());
+        if (session == null) return null;
+        moveSection.begin();
+        try {
+            Location to = move.getTo();
+            return session.contains(to) ? null : session.clamp(to.clone());
+        } finally {
+            moveSection.end();
+        }
+    }
+
+    // ---------- EVENTS ----------
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        if (event.getCause() != PlayerTeleportEvent.TeleportCause.SPECTATE) return;
+        Session session = sessions.get(event.getPlayer().getUniqueId());
+        if (session != null && !session.contains(event.getTo())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onGameModeChange(PlayerGameModeChangeEvent event) {
+        if (event.getNewGameMode() != GameMode.SPECTATOR
+                && sessions.containsKey(event.getPlayer().getUniqueId())) {
+            event.setCancelled(true);
+        }
+    }
+
+    // ---------- SESSION ----------
+
+    /** One spectator's arena box and camera. */
+    private static final class Session {
+        final World world;
+        final double minX, minY, minZ;
+        final double maxX, maxY, maxZ;
+        final ParticipantTable roster;
+        int cameraSlot = ParticipantTable.NO_SLOT;
+
+        Session(World world, BoundingBox box, ParticipantTable roster) {
+            this.world = world;
+            this.minX = box.getMinX();
+            this.minY = box.getMinY();
+            this.minZ = box.getMinZ();
+            this.maxX = box.getMaxX();
+            this.maxY = box.getMaxY() + HEADROOM;
+            this.maxZ = box.getMaxZ();
+            this.roster = roster;
+        }
+
+        boolean contains(Location loc) {
+            double x = loc.getX(), y = loc.getY(), z = loc.getZ();
+            return loc.getWorld() == world
+                    && x >= minX && x <= maxX
+                    && y >= minY && y <= maxY
+                    && z >= minZ && z <= maxZ;
+        }
+
+        /** @return {@code loc}, moved onto the nearest point of the box */
+        Location clamp(Location loc) {
+            loc.setWorld(world);
+            loc.setX(Math.max(minX, Math.min(maxX, loc.getX())));
+            loc.setY(Math.max(minY, Math.min(maxY, loc.getY())));
+            loc.setZ(Math.max(minZ, Math.min(maxZ, loc.getZ())));
+            return loc;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import com.auroraschaos.minigames.arena.ArenaService;
+import com.auroraschaos.minigames.game.GameManager;
+import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.gui.GUIManager;
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
+import com.auroraschaos.minigames.party.PartyManager;
+import com.auroraschaos.minigames.profiling.TickProfiler;
+import com.auroraschaos.minigames.scoreboard.QueueScoreboardManager;
+import com.auroraschaos.minigames.stats.StatsManager;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+
+import org.bukkit.entity.Player;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue churn: {@code players} solo players join one queue and then leave
+ * it again, last joined first, so every leave scans the whole queue.
+ *
+ * Every join and leave also messages the whole queue, so the cost of one
+ * operation grows with the square of the queue length.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameManagerBenchmark {
+
+    private static final String TYPE = "BENCH";
+
+    @Param({"16", "128"})
+    public int players;
+
+    private GameManager gameManager;
+    private Player[] queued;
+    private List<List<Player>> entries;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.BenchPlugin plugin = Headless.loadPlugin();
+        plugin.getConfig().set("minigames." + TYPE + ".minPlayers", 2);
+        plugin.getConfig().set("minigames." + TYPE + ".maxPlayers", players);
+        Headless.inject(plugin, "queueSB",
+                Mockito.mock(QueueScoreboardManager.class, Mockito.withSettings().stubOnly()));
+        Headless.inject(plugin, "profiler", new TickProfiler());
+        Headless.inject(plugin, "metrics", new MetricsRegistry());
+        gameManager = new GameManager(plugin,
+                Mockito.mock(ArenaService.class),
+                Mockito.mock(PartyManager.class),
+                Mockito.mock(StatsManager.class),
+                Mockito.mock(GUIManager.class));
+
+        Player.Spigot spigot = new Player.Spigot() {
+            @Override
+            public void sendMessage(ChatMessageType position, BaseComponent component) {
+            }
+
+            @Override
+            public void sendMessage(ChatMessageType position, BaseComponent... components) {
+            }
+        };
+        queued = new Player[players];
+        entries = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            String name = "bench" + i;
+            UUID id = UUID.nameUUIDFromBytes(name.getBytes());
+            queued[i] = Headless.stub(Player.class, (method, args) -> {
+                switch (method) {
+                    case "getName":     return name;
+                    case "getUniqueId": return id;
+                    case "spigot":      return spigot;
+                    default:            return Headless.DEFAULT;
+                }
+            });
+            entries.add(Collections.singletonList(queued[i]));
+        }
+    }
+
+    /** Drop the cancelled countdown tasks the scheduler is still holding. */
+    @TearDown(Level.Iteration)
+    public void drainScheduler() {
+        MockBukkit.getMock().getScheduler().performOneTick();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public void joinThenLeaveAll() {
+        for (List<Player> entry : entries) {
+            gameManager.enqueue(TYPE, GameMode.CLASSIC, entry);
+        }
+        for (int i = queued.length - 1; i >= 0; i--) {
+            gameManager.dequeue(TYPE, GameMode.CLASSIC, queued[i]);
+        }
+    }
+}
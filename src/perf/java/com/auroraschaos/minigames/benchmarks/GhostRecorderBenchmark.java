@@ -0,0 +1,90 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import com.auroraschaos.minigames.game.race.Ghost;
+import com.auroraschaos.minigames.game.race.GhostRecorder;
+import com.auroraschaos.minigames.game.race.Heightmap;
+import com.auroraschaos.minigames.game.race.KartPhysics;
+import com.auroraschaos.minigames.game.race.KartState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording kart ghosts: time per recorded tick, and (printed at
+ * the end of each trial) the bytes one tick adds to the ring buffer.
+ *
+ * One operation records one kart for one tick of a pre-simulated lap that
+ * accelerates, weaves and brakes like a driver would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GhostRecorderBenchmark {
+
+    private static final int TICKS = 2400;
+
+    private KartState[] lap;
+    private GhostRecorder recorder;
+    private Ghost ghost;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        KartPhysics physics = new KartPhysics(5, 0.05, 0.02, 0.1, 1.0, 1.0, 0.3, 0.2);
+        KartState s = new KartState(12.5, 65, -40.25, 0);
+        lap = new KartState[TICKS];
+        for (int t = 0; t < TICKS; t++) {
+            int input = KartPhysics.ACCELERATE;
+            if (t % 80 < 20) input |= KartPhysics.STEER_LEFT;
+            if (t % 300 > 280) input = KartPhysics.BRAKE;
+            physics.step(s, input, Heightmap.empty());
+            KartState copy = new KartState(s.x, s.y + Math.sin(t / 40.0) * 0.5, s.z, s.yaw);
+            copy.speed = s.speed;
+            lap[t] = copy;
+        }
+        recorder = new GhostRecorder(1 << 16, 0, 64, 0);
+        ghost = recordLap();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public Ghost recordLap() {
+        recorder.startLap(lap[0]);
+        for (int t = 1; t < TICKS; t++) {
+            recorder.record(lap[t]);
+        }
+        return recorder.finishLap("bench");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public double playLap() {
+        Ghost.Playback p = ghost.playback();
+        double sum = 0;
+        while (p.next()) {
+            sum += p.x() + p.z();
+        }
+        return sum;
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%nGhost size: %d bytes for %d ticks (%.2f bytes/tick)%n",
+                ghost.getDataSize(), ghost.getLapTicks(), (double) ghost.getDataSize() / ghost.getLapTicks());
+    }
+}
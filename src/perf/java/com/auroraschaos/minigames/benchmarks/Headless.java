@@ -0,0 +1,93 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+
+/**
+ * Stand-ins for Bukkit types in benchmarks.
+ *
+ * {@link #stub} builds a dynamic proxy that answers the methods a benchmark
+ * cares about and returns zero, false or null for everything else. Unlike a
+ * Mockito mock it records nothing, so millions of calls neither slow down
+ * nor grow the heap. Code that needs a real server (scheduler, scoreboards,
+ * config) runs against MockBukkit via {@link #loadPlugin()}.
+ */
+final class Headless {
+
+    /** Answers one call; return {@link #DEFAULT} to fall back to a zero value. */
+    @FunctionalInterface
+    interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    static final Object DEFAULT = new Object();
+
+    private Headless() {
+    }
+
+    /** @return a proxy of {@code type}; identity equality, everything else via {@code answer} */
+    static <T> T stub(Class<T> type, Answer answer) {
+        InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "equals":   if (args != null && args.length == 1) return proxy == args[0]; break;
+                    case "hashCode": if (args == null) return System.identityHashCode(proxy); break;
+                    case "toString": if (args == null) return type.getSimpleName() + "@stub"; break;
+                    default: break;
+                }
+                Object result = answer.answer(method.getName(), args);
+                return result == DEFAULT ? zero(method.getReturnType()) : result;
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object zero(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        return 0d;
+    }
+
+    // ---------- MOCKBUKKIT ----------
+
+    /** A plugin with no managers; benchmarks wire the ones they measure. */
+    public static class BenchPlugin extends MinigamesPlugin {
+        @Override
+        public void onEnable() {
+        }
+
+        @Override
+        public void onDisable() {
+        }
+    }
+
+    /** Start a MockBukkit server and load an empty {@link BenchPlugin} into it. */
+    static BenchPlugin loadPlugin() {
+        MockBukkit.mock();
+        return MockBukkit.load(BenchPlugin.class);
+    }
+
+    /** Set a private manager field of {@link MinigamesPlugin}. */
+    static void inject(MinigamesPlugin plugin, String field, Object value) {
+        try {
+            Field f = MinigamesPlugin.class.getDeclaredField(field);
+            f.setAccessible(true);
+            f.set(plugin, value);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot set MinigamesPlugin." + field, ex);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import com.auroraschaos.minigames.config.ConfigurationException;
+import com.auroraschaos.minigames.game.race.KartConfig;
+import com.auroraschaos.minigames.game.race.KartVehicle;
+import com.auroraschaos.minigames.game.race.TrackPath;
+import com.auroraschaos.minigames.game.race.TrackSurface;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Boat;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One server tick of a kart: {@link KartVehicle#updateMovement()} followed
+ * by {@link KartVehicle#handleOffTrack()}, as RaceGame runs them.
+ *
+ * The boat and driver are headless stubs: the boat moves by the velocity it
+ * is given, and the driver sprints around an oval track of rolling terrain,
+ * steering toward the track's tangent and drifting now and then. The kart is
+ * the bundled Drift King, so boost and drift particles are emitted too.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KartVehicleBenchmark {
+
+    private static final int CHECKPOINTS = 16;
+    private static final double RADIUS = 60;
+
+    private KartVehicle kart;
+
+    // Boat and driver state read and written by the stubs
+    private double x, y, z;
+    private float yaw;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        KartConfig cfg = new KartConfig("drift_king", yaml("karts/drift_king.yml"), yaml("karts/defaults.yml"));
+
+        double[] xs = new double[CHECKPOINTS];
+        double[] ys = new double[CHECKPOINTS];
+        double[] zs = new double[CHECKPOINTS];
+        for (int i = 0; i < CHECKPOINTS; i++) {
+            double a = 2 * Math.PI * (i + 1) / CHECKPOINTS;
+            xs[i] = Math.sin(a) * RADIUS;
+            ys[i] = 64;
+            zs[i] = -Math.cos(a) * RADIUS;
+        }
+        TrackPath path = new TrackPath(xs, ys, zs);
+        TrackSurface surface = TrackSurface.sample(-80, -80, 80, 80, (cx, cz, out) -> {
+            out.y = 64 + (int) Math.round(2 * Math.sin(cx / 16.0));
+            double r = Math.hypot(cx, cz);
+            out.onTrack = r > RADIUS - 10 && r < RADIUS + 10;
+        });
+
+        World world = Headless.stub(World.class, (method, args) -> Headless.DEFAULT);
+        x = 0;
+        y = 65;
+        z = -RADIUS;
+        yaw = -90;
+        Boat boat = Headless.stub(Boat.class, (method, args) -> {
+            switch (method) {
+                case "getWorld":
+                    return world;
+                case "getLocation":
+                    if (args == null) return new Location(world, x, y, z, yaw, 0);
+                    Location out = (Location) args[0];
+                    out.setWorld(world);
+                    out.setX(x);
+                    out.setY(y);
+                    out.setZ(z);
+                    out.setYaw(yaw);
+                    out.setPitch(0);
+                    return out;
+                case "setVelocity":
+                    Vector v = (Vector) args[0];
+                    x += v.getX();
+                    y += v.getY();
+                    z += v.getZ();
+                    return null;
+                case "setRotation":
+                    yaw = (Float) args[0];
+                    return null;
+                case "teleport":
+                    Location to = (Location) args[0];
+                    x = to.getX();
+                    y = to.getY();
+                    z = to.getZ();
+                    return true;
+                default:
+                    return Headless.DEFAULT;
+            }
+        });
+        Player driver = Headless.stub(Player.class, (method, args) -> {
+            switch (method) {
+                case "isSprinting":
+                    return true;
+                case "isSneaking":
+                    return tick % 80 < 15;
+                case "getLocation":
+                    // Look along the oval's tangent (clockwise from the north)
+                    float look = (float) Math.toDegrees(Math.atan2(-z, x));
+                    if (args == null) return new Location(world, x, y, z, look, 0);
+                    Location out = (Location) args[0];
+                    out.setYaw(look);
+                    return out;
+                default:
+                    return Headless.DEFAULT;
+            }
+        });
+
+        kart = new KartVehicle(driver, boat, cfg.getStats(), path, Integer.MAX_VALUE,
+                surface, 40);
+    }
+
+    private static YamlConfiguration yaml(String resource) throws Exception {
+        try (InputStream in = KartVehicleBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new ConfigurationException("Missing resource " + resource);
+            }
+            return YamlConfiguration.loadConfiguration(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public double tick() {
+        tick++;
+        kart.updateMovement();
+        kart.handleOffTrack();
+        return kart.getSpeed();
+    }
+}
@@ -0,0 +1,103 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import com.auroraschaos.minigames.game.skywars.LootTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chest-fill throughput: alias-method {@link LootTable} versus the previous
+ * per-chest "sum weights, then cumulative scan" selection.
+ *
+ * One operation fills {@code chests} chests with {@code rolls} draws each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LootTableBenchmark {
+
+    @Param({"8", "64"})
+    public int entries;
+
+    @Param({"32"})
+    public int chests;
+
+    @Param({"4"})
+    public int rolls;
+
+    private LootTable<Integer> table;
+    private List<Integer> items;
+    private int[] weights;
+    private Random rng;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random weightRng = new Random(1234L);
+        items = new ArrayList<>(entries);
+        List<Integer> weightList = new ArrayList<>(entries);
+        weights = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            int w = 1 + weightRng.nextInt(10);
+            items.add(i);
+            weightList.add(w);
+            weights[i] = w;
+        }
+        table = LootTable.compile(items, weightList, rolls, rolls);
+        rng = new Random(42L);
+    }
+
+    @Benchmark
+    public void aliasFill(Blackhole bh) {
+        for (int c = 0; c < chests; c++) {
+            int n = table.rollCount(rng);
+            for (int r = 0; r < n; r++) {
+                bh.consume(table.get(table.sampleIndex(rng)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void linearScanFill(Blackhole bh) {
+        for (int c = 0; c < chests; c++) {
+            for (int r = 0; r < rolls; r++) {
+                int total = 0;
+                for (int w : weights) total += w;
+                int pick = rng.nextInt(total);
+                int cumulative = 0;
+                for (int i = 0; i < weights.length; i++) {
+                    cumulative += weights[i];
+                    if (pick < cumulative) {
+                        bh.consume(items.get(i));
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public LootTable<Integer> compile() {
+        List<Integer> weightList = new ArrayList<>(weights.length);
+        for (int w : weights) weightList.add(w);
+        return LootTable.compile(items, weightList, rolls, rolls);
+    }
+}
@@ -0,0 +1,71 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import com.auroraschaos.minigames.arena.SchematicCache;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SchematicCache} hits, the path every arena paste takes once the
+ * schematics are preloaded.
+ *
+ * The cache is filled with placeholder clipboards up front, since decoding
+ * real schematics needs a running WorldEdit platform; one operation looks
+ * up the next of {@code schematics} files.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchematicCacheBenchmark {
+
+    @Param({"1", "32"})
+    public int schematics;
+
+    private SchematicCache cache;
+    private File[] files;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws ReflectiveOperationException {
+        cache = new SchematicCache();
+        Field field = SchematicCache.class.getDeclaredField("clipboards");
+        field.setAccessible(true);
+        Map<String, Clipboard> clipboards = (Map<String, Clipboard>) field.get(cache);
+
+        File dir = new File("plugins/Minigames/schematics");
+        files = new File[schematics];
+        for (int i = 0; i < schematics; i++) {
+            files[i] = new File(dir, "arena_" + i + ".schem");
+            clipboards.put(files[i].getAbsolutePath(), Mockito.mock(Clipboard.class));
+        }
+    }
+
+    @Benchmark
+    public Clipboard hit() throws IOException {
+        File file = files[next];
+        next = next + 1 == files.length ? 0 : next + 1;
+        return cache.get(file);
+    }
+}
@@ -0,0 +1,81 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sidebar updates as a running game makes them: a timer line whose text
+ * changes every call, and a full refresh of four lines.
+ *
+ * Line texts are built up front so only {@link ScoreboardManager#setScoreLine}
+ * is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreboardBenchmark {
+
+    private static final String GAME = "bench-game";
+    private static final int SECONDS = 600;
+
+    private ScoreboardManager scoreboards;
+    private String[] timerTexts;
+    private String[] playerTexts;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Headless.loadPlugin();
+        scoreboards = new ScoreboardManager();
+        scoreboards.getOrCreateScoreboard(GAME);
+        timerTexts = new String[SECONDS];
+        playerTexts = new String[SECONDS];
+        for (int i = 0; i < SECONDS; i++) {
+            timerTexts[i] = "Time Left: " + (SECONDS - i) + "s";
+            playerTexts[i] = "Players Left: " + (i % 16 + 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private int nextTick() {
+        tick = tick + 1 == SECONDS ? 0 : tick + 1;
+        return tick;
+    }
+
+    @Benchmark
+    public void updateTimerLine() {
+        scoreboards.setScoreLine(GAME, "timer", timerTexts[nextTick()], 3);
+    }
+
+    @Benchmark
+    public void refreshSidebar() {
+        int t = nextTick();
+        scoreboards.setScoreLine(GAME, "title", "§eBench", 4);
+        scoreboards.setScoreLine(GAME, "timer", timerTexts[t], 3);
+        scoreboards.setScoreLine(GAME, "players", playerTexts[t], 2);
+        scoreboards.setScoreLine(GAME, "footer", "§7play.example.net", 1);
+    }
+}
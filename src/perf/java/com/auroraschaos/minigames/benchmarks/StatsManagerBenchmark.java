@@ -0,0 +1,88 @@
+package com.auroraschaos.minigames.benchmarks;
+
+import com.auroraschaos.minigames.config.ConfigurationException;
+import com.auroraschaos.minigames.config.StatsConfig;
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
+import com.auroraschaos.minigames.stats.StatsManager;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flat-file stats: recording a result and reading one back, with
+ * {@code players} players already on file.
+ *
+ * One operation touches the next player in turn, so reads and writes walk
+ * the whole table instead of hitting one hot entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsManagerBenchmark {
+
+    private static final String TYPE = "BENCH";
+
+    @Param({"100", "1000"})
+    public int players;
+
+    private StatsManager stats;
+    private UUID[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws ConfigurationException {
+        Headless.BenchPlugin plugin = Headless.loadPlugin();
+        YamlConfiguration section = new YamlConfiguration();
+        section.set("storage", "flatfile");
+        section.set("flatfileFolder", "bench-stats");
+        Headless.inject(plugin, "metrics", new MetricsRegistry());
+        stats = new StatsManager(plugin, StatsConfig.from(section));
+
+        ids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            ids[i] = UUID.nameUUIDFromBytes(("bench" + i).getBytes());
+            stats.recordLoss(ids[i], TYPE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private UUID nextPlayer() {
+        UUID id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return id;
+    }
+
+    @Benchmark
+    public void recordWin() {
+        stats.recordWin(nextPlayer(), TYPE);
+    }
+
+    @Benchmark
+    public int getTotalPlays() {
+        return stats.getTotalPlays(nextPlayer(), TYPE);
+    }
+}
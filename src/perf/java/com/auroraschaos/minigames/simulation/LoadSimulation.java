@@ -0,0 +1,415 @@
+package com.auroraschaos.minigames.simulation;
+
+import com.auroraschaos.minigames.game.GameManager;
+import com.auroraschaos.minigames.profiling.LatencyHistogram;
+import com.auroraschaos.minigames.profiling.TickProfiler;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+
+/**
+ * Headless load test: thousands of virtual players drive the real
+ * GameManager, ArenaService, PartyManager and StatsManager through the
+ * same commands and events a live server would see, while the MockBukkit
+ * scheduler is stepped one tick at a time.
+ *
+ * Every simulated second each idle player joins a random game type and
+ * mode with probability {@code join}, a queued player leaves with
+ * {@code leave}, a player in a game is eliminated with {@code eliminate}
+ * (and later walks out with {@code leave}), and any player disconnects
+ * with {@code disconnect}, coming back {@code reconnectSeconds} later. A
+ * joining player first forms a party with {@code party}, inviting up to
+ * three idle players. All rates are per player per simulated second.
+ *
+ * The report lists throughput, the distribution of tick times, the tick
+ * profiler's sections, the plugin's own metrics, warnings the plugin
+ * logged, and heap use at the start, peak and end. Run with:
+ *
+ *     mvn -Pperf test-compile exec:exec@simulate -Dsim.args="players=2000 seconds=600"
+ *
+ * Settings are {@code key=value} arguments; see {@link Settings}.
+ */
+public final class LoadSimulation {
+
+    /** A server tick has 50ms before it falls behind. */
+    private static final long TICK_BUDGET_NANOS = 50_000_000L;
+
+    private LoadSimulation() {
+    }
+
+    /** Simulation parameters, from {@code key=value} arguments. */
+    static final class Settings {
+        int players = 500;
+        int seconds = 300;
+        long seed = 42;
+        double join = 0.2;
+        double leave = 0.02;
+        double party = 0.1;
+        double eliminate = 0.05;
+        double disconnect = 0.002;
+        int reconnectSeconds = 10;
+
+        static Settings parse(String[] args) {
+            Settings s = new Settings();
+            for (String arg : args) {
+                for (String pair : arg.trim().split("\\s+")) {
+                    if (pair.isEmpty()) continue;
+                    int eq = pair.indexOf('=');
+                    if (eq <= 0) {
+                        throw new IllegalArgumentException("Expected key=value, got '" + pair + "'");
+                    }
+                    s.set(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+            return s;
+        }
+
+        private void set(String key, String value) {
+            switch (key) {
+                case "players":          players = Integer.parseInt(value); break;
+                case "seconds":          seconds = Integer.parseInt(value); break;
+                case "seed":             seed = Long.parseLong(value); break;
+                case "join":             join = Double.parseDouble(value); break;
+                case "leave":            leave = Double.parseDouble(value); break;
+                case "party":            party = Double.parseDouble(value); break;
+                case "eliminate":        eliminate = Double.parseDouble(value); break;
+                case "disconnect":       disconnect = Double.parseDouble(value); break;
+                case "reconnectSeconds": reconnectSeconds = Integer.parseInt(value); break;
+                default:
+                    throw new IllegalArgumentException("Unknown setting '" + key + "'");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "players=%d seconds=%d seed=%d join=%.3f leave=%.3f party=%.3f eliminate=%.3f"
+                    + " disconnect=%.4f reconnectSeconds=%d",
+                players, seconds, seed, join, leave, party, eliminate, disconnect, reconnectSeconds);
+        }
+    }
+
+    /** Where a virtual player is, as last seen by the harness. */
+    private enum State { IDLE, QUEUED, PLAYING, OFFLINE }
+
+    private static final class VirtualPlayer {
+        final PlayerMock player;
+        State state = State.IDLE;
+        long reconnectAt;
+        boolean eliminated;
+        boolean leader;
+
+        VirtualPlayer(PlayerMock player) {
+            this.player = player;
+        }
+    }
+
+    // ---------- RUN ----------
+
+    public static void main(String[] args) {
+        Settings settings = Settings.parse(args);
+        System.out.println("Load simulation: " + settings);
+
+        ServerMock server = MockBukkit.mock();
+        try {
+            new Run(server, settings).execute();
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    private static final class Run {
+        private final ServerMock server;
+        private final Settings settings;
+        private final Random random;
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        private SimulationPlugin plugin;
+        private GameManager games;
+        private final List<VirtualPlayer> players = new ArrayList<>();
+        private final List<String[]> joinTargets = new ArrayList<>();
+        private final Map<String, Integer> warnings = new LinkedHashMap<>();
+        private final Map<String, Long> actions = new LinkedHashMap<>();
+        private final LatencyHistogram tickTimes = new LatencyHistogram();
+        private long slowTicks;
+        private long peakHeap;
+
+        Run(ServerMock server, Settings settings) {
+            this.server = server;
+            this.settings = settings;
+            this.random = new Random(settings.seed);
+        }
+
+        void execute() {
+            server.addSimpleWorld(SimulationPlugin.WORLD);
+            plugin = MockBukkit.load(SimulationPlugin.class);
+            games = plugin.getGameManager();
+            plugin.getLogger().addHandler(new WarningCounter());
+            plugin.getProfiler().setEnabled(true);
+            collectJoinTargets();
+
+            for (int i = 0; i < settings.players; i++) {
+                PlayerMock player = server.addPlayer("sim" + i);
+                player.addAttachment(plugin, "minigames.play", true);
+                player.addAttachment(plugin, "minigames.party", true);
+                players.add(new VirtualPlayer(player));
+            }
+
+            long startHeap = settledHeap();
+            long ticks = settings.seconds * 20L;
+            long wallStart = System.nanoTime();
+            for (long tick = 0; tick < ticks; tick++) {
+                long t0 = System.nanoTime();
+                act(tick);
+                server.getScheduler().performOneTick();
+                long elapsed = System.nanoTime() - t0;
+                tickTimes.record(elapsed);
+                if (elapsed > TICK_BUDGET_NANOS) slowTicks++;
+                if (tick % 20 == 0) {
+                    peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                }
+            }
+            long wallNanos = System.nanoTime() - wallStart;
+            long endHeap = settledHeap();
+
+            report(ticks, wallNanos, startHeap, endHeap);
+        }
+
+        /** Every type with an arena, paired with each of its enabled modes. */
+        private void collectJoinTargets() {
+            ConfigurationSection types = plugin.getConfig().getConfigurationSection("minigames");
+            if (types == null) return;
+            for (String type : types.getKeys(false)) {
+                if (plugin.getArenaService().getArena(type) == null) continue;
+                for (String mode : types.getStringList(type + ".enabled_modes")) {
+                    joinTargets.add(new String[] {type, mode});
+                }
+            }
+            if (joinTargets.isEmpty()) {
+                throw new IllegalStateException("No game type has an arena; nothing to join");
+            }
+        }
+
+        // ---------- ACTIONS ----------
+
+        private void act(long tick) {
+            double perTick = 1.0 / 20;
+            for (int i = 0; i < players.size(); i++) {
+                VirtualPlayer vp = players.get(i);
+                if (vp.state == State.OFFLINE) {
+                    if (tick >= vp.reconnectAt) {
+                        vp.player.reconnect();
+                        vp.state = State.IDLE;
+                        count("reconnect");
+                    }
+                    continue;
+                }
+                // Games start and end on their own; resync each player once a second
+                if ((tick + i) % 20 == 0) sync(vp);
+
+                if (chance(settings.disconnect * perTick)) {
+                    disconnect(vp, tick);
+                    continue;
+                }
+                switch (vp.state) {
+                    case IDLE:
+                        if (chance(settings.join * perTick)) join(vp);
+                        break;
+                    case QUEUED:
+                        if (chance(settings.leave * perTick)) leave(vp);
+                        break;
+                    case PLAYING:
+                        if (!vp.eliminated && chance(settings.eliminate * perTick)) {
+                            eliminate(vp);
+                        } else if (vp.eliminated && chance(settings.leave * perTick)) {
+                            leave(vp);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private void sync(VirtualPlayer vp) {
+            if (games.isPlayerInActiveGame(vp.player)) {
+                vp.state = State.PLAYING;
+            } else if (games.isPlayerInQueue(vp.player)) {
+                vp.state = State.QUEUED;
+            } else {
+                vp.state = State.IDLE;
+                vp.eliminated = false;
+                if (vp.leader) {
+                    command(vp, "party disband", "party.disband");
+                    vp.leader = false;
+                }
+            }
+        }
+
+        private void join(VirtualPlayer vp) {
+            if (chance(settings.party)) formParty(vp);
+            String[] target = joinTargets.get(random.nextInt(joinTargets.size()));
+            command(vp, "minigames join " + target[0] + " " + target[1], "join");
+            vp.state = State.QUEUED;
+        }
+
+        private void formParty(VirtualPlayer leader) {
+            command(leader, "party create", "party.create");
+            leader.leader = true;
+            int invites = 1 + random.nextInt(3);
+            for (int n = 0; n < invites; n++) {
+                VirtualPlayer other = players.get(random.nextInt(players.size()));
+                if (other != leader && other.state == State.IDLE) {
+                    command(leader, "party invite " + other.player.getName(), "party.invite");
+                }
+            }
+        }
+
+        private void leave(VirtualPlayer vp) {
+            command(vp, "minigames leave", "leave");
+            vp.state = State.IDLE;
+            vp.eliminated = false;
+        }
+
+        /** Fall well below the arena, which every game treats as out. */
+        private void eliminate(VirtualPlayer vp) {
+            Location below = vp.player.getLocation().clone().subtract(0, 128, 0);
+            vp.player.simulatePlayerMove(below);
+            vp.eliminated = true;
+            count("eliminate");
+        }
+
+        private void disconnect(VirtualPlayer vp, long tick) {
+            if (vp.state != State.IDLE) {
+                // There is no quit listener yet, so leave first as a live server should
+                command(vp, "minigames leave", "leave");
+            }
+            vp.player.disconnect();
+            vp.state = State.OFFLINE;
+            vp.eliminated = false;
+            vp.leader = false;
+            vp.reconnectAt = tick + settings.reconnectSeconds * 20L;
+            count("disconnect");
+        }
+
+        private void command(VirtualPlayer vp, String line, String action) {
+            vp.player.performCommand(line);
+            // Chat replies are not read; keep the mock's message queue from growing
+            while (vp.player.nextMessage() != null) {
+            }
+            count(action);
+        }
+
+        private boolean chance(double probability) {
+            return random.nextDouble() < probability;
+        }
+
+        private void count(String action) {
+            actions.merge(action, 1L, Long::sum);
+        }
+
+        private long settledHeap() {
+            System.gc();
+            long used = memory.getHeapMemoryUsage().getUsed();
+            peakHeap = Math.max(peakHeap, used);
+            return used;
+        }
+
+        // ---------- REPORT ----------
+
+        private void report(long ticks, long wallNanos, long startHeap, long endHeap) {
+            double wallSeconds = wallNanos / 1e9;
+            long totalActions = actions.values().stream().mapToLong(Long::longValue).sum();
+
+            System.out.println();
+            System.out.println("== Throughput ==");
+            System.out.printf(Locale.ROOT, "%d ticks in %.1f s wall (%.0f ticks/s, %.1fx real time)%n",
+                ticks, wallSeconds, ticks / wallSeconds, ticks / 20.0 / wallSeconds);
+            System.out.printf(Locale.ROOT, "%d player actions (%.0f/s wall)%n",
+                totalActions, totalActions / wallSeconds);
+            actions.forEach((name, n) -> System.out.printf(Locale.ROOT, "  %-14s %d%n", name, n));
+            System.out.printf(Locale.ROOT, "active games at end: %d%n", games.getActiveGameCount());
+
+            System.out.println();
+            System.out.println("== Tick time (commands, events and scheduled tasks) ==");
+            System.out.printf(Locale.ROOT, "mean %s  p50 %s  p99 %s  p99.9 %s  max %s  over 50ms: %d%n",
+                time(tickTimes.getMean()), time(tickTimes.percentile(50)), time(tickTimes.percentile(99)),
+                time(tickTimes.percentile(99.9)), time(tickTimes.getMax()),
+                slowTicks);
+
+            System.out.println();
+            System.out.println("== Profiler sections ==");
+            for (TickProfiler.Section section : plugin.getProfiler().getRecordedSections()) {
+                LatencyHistogram h = section.getHistogram();
+                System.out.printf(Locale.ROOT, "  %-10s %-24s n=%-9d p50 %-8s p99 %-8s max %s%n",
+                    section.getGroup(), section.getName(), h.getCount(),
+                    time(h.percentile(50)), time(h.percentile(99)), time(h.getMax()));
+            }
+
+            System.out.println();
+            System.out.println("== Metrics ==");
+            StringBuilder metrics = new StringBuilder();
+            plugin.getMetrics().sample();
+            plugin.getMetrics().writeTo(metrics);
+            for (String line : metrics.toString().split("\n")) {
+                if (!line.startsWith("#") && !line.contains("_bucket{")) {
+                    System.out.println("  " + line);
+                }
+            }
+
+            System.out.println();
+            System.out.println("== Warnings logged ==");
+            if (warnings.isEmpty()) System.out.println("  none");
+            warnings.forEach((msg, n) -> System.out.printf(Locale.ROOT, "  %6d  %s%n", n, msg));
+
+            System.out.println();
+            System.out.println("== Heap ==");
+            System.out.printf(Locale.ROOT, "start %s  peak %s  end %s  growth %s%n",
+                mb(startHeap), mb(peakHeap), mb(endHeap), mb(endHeap - startHeap));
+        }
+
+        private static String time(double nanos) {
+            if (nanos >= 1_000_000) return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+            return String.format(Locale.ROOT, "%.0fus", nanos / 1e3);
+        }
+
+        private static String mb(long bytes) {
+            return String.format(Locale.ROOT, "%.1fMB", bytes / (1024.0 * 1024.0));
+        }
+
+        /** Counts WARNING and SEVERE records by message, with numbers folded away. */
+        private final class WarningCounter extends Handler {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel().intValue() < Level.WARNING.intValue()) return;
+                String msg = String.valueOf(record.getMessage()).replaceAll("\\d+", "#");
+                if (msg.length() > 100) msg = msg.substring(0, 100) + "...";
+                warnings.merge(msg, 1, Integer::sum);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.auroraschaos.minigames.simulation;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.arena.SchematicCache;
+import com.auroraschaos.minigames.arena.SchematicLoader;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+
+/**
+ * The real plugin with every manager enabled, except that arena
+ * schematics are not pasted: the loader reports a fixed-size box at the
+ * allocated slot, so arena allocation, the registry and resets still run.
+ *
+ * Before enabling, every game type in {@code minigames} is given an arena
+ * in {@link #WORLD}, keyed by its lowercase name, so each type can start
+ * a game. The world has to exist on the server before the plugin loads.
+ */
+public class SimulationPlugin extends MinigamesPlugin {
+
+    /** World holding every simulated arena. */
+    public static final String WORLD = "minigames_world";
+
+    /** Size of the box reported for every stubbed paste. */
+    private static final Vector ARENA_SIZE = new Vector(64, 32, 64);
+
+    @Override
+    public void onEnable() {
+        saveDefaultConfig();
+        ConfigurationSection types = getConfig().getConfigurationSection("minigames");
+        if (types != null) {
+            for (String type : types.getKeys(false)) {
+                String path = "arenas." + type.toLowerCase();
+                if (!getConfig().isConfigurationSection(path)) {
+                    getConfig().set(path + ".schematic", type.toLowerCase() + ".schem");
+                }
+                getConfig().set(path + ".world", WORLD);
+            }
+        }
+        super.onEnable();
+    }
+
+    @Override
+    protected SchematicLoader createSchematicLoader(SchematicCache cache) {
+        return (name, world, origin) -> BoundingBox.of(origin, origin.clone().add(ARENA_SIZE));
+    }
+}
@@ -0,0 +1,60 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.game.tntrun.BlockDecayQueue;
+
+public class BlockDecayQueueTest {
+
+    @Test
+    public void packRoundTripsNegativeCoordinates() {
+        long packed = BlockDecayQueue.pack(-1234567, -64, 7654321);
+        assertEquals(-1234567, BlockDecayQueue.unpackX(packed));
+        assertEquals(-64, BlockDecayQueue.unpackY(packed));
+        assertEquals(7654321, BlockDecayQueue.unpackZ(packed));
+    }
+
+    @Test
+    public void blocksDecayOnlyAfterDelay() {
+        BlockDecayQueue queue = new BlockDecayQueue(8);
+        long a = BlockDecayQueue.pack(0, 64, 0);
+        long b = BlockDecayQueue.pack(1, 64, 0);
+        queue.offer(a, 0);
+        queue.offer(b, 3);
+
+        List<Long> out = new ArrayList<>();
+        assertEquals(0, queue.drain(7, 100, out::add));
+        assertEquals(1, queue.drain(8, 100, out::add));
+        assertEquals(1, queue.drain(11, 100, out::add));
+        assertEquals(List.of(a, b), out);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void duplicatesAreIgnoredUntilDrained() {
+        BlockDecayQueue queue = new BlockDecayQueue(0);
+        long pos = BlockDecayQueue.pack(5, 70, -5);
+        assertTrue(queue.offer(pos, 0));
+        assertFalse(queue.offer(pos, 0));
+        assertEquals(1, queue.size());
+
+        queue.drain(0, 10, p -> { });
+        assertTrue(queue.offer(pos, 1));
+    }
+
+    @Test
+    public void drainRespectsBudgetAndGrows() {
+        BlockDecayQueue queue = new BlockDecayQueue(1);
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(BlockDecayQueue.pack(i, 64, 0), 0);
+        }
+        List<Long> out = new ArrayList<>();
+        assertEquals(256, queue.drain(1, 256, out::add));
+        assertEquals(744, queue.size());
+        assertEquals(0, BlockDecayQueue.unpackX(out.get(0)));
+        assertEquals(255, BlockDecayQueue.unpackX(out.get(255)));
+    }
+}
@@ -0,0 +1,35 @@
+import static org.junit.Assert.*;
+
+import org.bukkit.Location;
+import org.junit.Test;
+
+import com.auroraschaos.minigames.game.BlockMove;
+
+public class BlockMoveTest {
+
+    @Test
+    public void lookingAroundIsNotABlockMove() {
+        Location from = new Location(null, 10.2, 64.0, -3.7, 0f, 0f);
+        Location to = new Location(null, 10.2, 64.0, -3.7, 90f, 45f);
+        assertNull(BlockMove.of(from, to));
+    }
+
+    @Test
+    public void movingWithinABlockIsNotABlockMove() {
+        Location from = new Location(null, 10.1, 64.0, -3.9);
+        Location to = new Location(null, 10.9, 64.5, -3.1);
+        assertNull(BlockMove.of(from, to));
+    }
+
+    @Test
+    public void crossingABlockEdgeReportsTheNewBlock() {
+        Location from = new Location(null, 10.9, 64.0, -0.1);
+        Location to = new Location(null, 11.1, 63.9, 0.1);
+        BlockMove move = BlockMove.of(from, to);
+        assertNotNull(move);
+        assertEquals(11, move.toX());
+        assertEquals(63, move.toY());
+        assertEquals(0, move.toZ());
+        assertSame(to, move.getTo());
+    }
+}
@@ -9,6 +9,8 @@ import org.junit.Test;
 
 import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.config.ConfigManager;
+import com.auroraschaos.minigames.config.SkyWarsArenaSpec;
+import com.auroraschaos.minigames.config.SkyWarsConfig;
 import com.auroraschaos.minigames.config.SpleefConfig;
 
 public class ConfigManagerTest {
@@ -34,4 +36,22 @@ public class ConfigManagerTest {
         assertNotNull(sc);
         assertEquals(300, sc.getGameDuration());
     }
+
+    @Test
+    public void loadAllParsesSkyWarsArenaSpecs() throws Exception {
+        ConfigManager cm = new ConfigManager(plugin);
+        cm.loadAll();
+        SkyWarsConfig swc = cm.getSkyWarsConfig();
+        assertNotNull(swc);
+        assertEquals(90, swc.getEventInterval());
+        assertEquals(4, swc.getEvents().size());
+
+        SkyWarsArenaSpec arena1 = swc.getArenaSpec("arena1");
+        assertEquals("Arena1", arena1.getName());
+        assertEquals("skyclash.schem", arena1.getSchematic());
+        assertEquals(6, arena1.getSpawnCount());
+        assertNotSame(arena1.getLoot().getIslandTable(), arena1.getLoot().getMidTable());
+
+        assertSame(swc.getDefaults(), swc.getArenaSpec("no_such_arena"));
+    }
 }
@@ -0,0 +1,63 @@
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.auroraschaos.minigames.config.LoggingConfig;
+import com.auroraschaos.minigames.logging.EventLog;
+
+public class EventLogTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static LoggingConfig fileOnly() throws Exception {
+        YamlConfiguration yml = new YamlConfiguration();
+        yml.set("console", false);
+        return LoggingConfig.from(yml);
+    }
+
+    @Test
+    public void writesOneJsonLinePerEvent() throws Exception {
+        File dir = tmp.newFolder("logs");
+        EventLog log = new EventLog();
+        log.start(dir, fileOnly(), () -> true, Logger.getLogger("test"));
+        log.event("queue.join", "type", "TNT_RUN", "players", 2);
+        log.verbose(() -> "say \"hi\"");
+        log.close();
+
+        List<String> lines = Files.readAllLines(new File(dir, "events.jsonl").toPath(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0), lines.get(0).endsWith("\"event\":\"queue.join\",\"type\":\"TNT_RUN\",\"players\":2}"));
+        assertTrue(lines.get(1), lines.get(1).endsWith("\"event\":\"verbose\",\"msg\":\"say \\\"hi\\\"\"}"));
+    }
+
+    @Test
+    public void nothingIsBuiltOrWrittenWhileVerboseIsOff() throws Exception {
+        File dir = tmp.newFolder("logs");
+        EventLog log = new EventLog();
+        log.start(dir, fileOnly(), () -> false, Logger.getLogger("test"));
+        assertFalse(log.isEnabled());
+        log.verbose(() -> { throw new AssertionError("message built while disabled"); });
+        log.event("queue.join", "type", "TNT_RUN");
+        log.close();
+
+        assertFalse(new File(dir, "events.jsonl").exists());
+    }
+
+    @Test
+    public void notStartedMeansDisabled() {
+        EventLog log = new EventLog();
+        assertFalse(log.isRunning());
+        assertFalse(log.isEnabled());
+        log.event("queue.join");
+    }
+}
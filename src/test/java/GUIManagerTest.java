@@ -0,0 +1,153 @@
+import static org.junit.Assert.*;
+import java.lang.reflect.Field;
+import java.util.List;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.game.GameManager;
+import com.auroraschaos.minigames.gui.GUIManager;
+import com.auroraschaos.minigames.gui.Menu;
+import com.auroraschaos.minigames.profiling.TickProfiler;
+
+public class GUIManagerTest {
+    private ServerMock server;
+    private GUIManager gui;
+    private PlayerMock player;
+    private GameManager games;
+
+    public static class TestPlugin extends MinigamesPlugin {
+        @Override
+        public void onEnable() {
+            set(this, "profiler", new TickProfiler());
+            set(this, "gameManager", Mockito.mock(GameManager.class));
+        }
+
+        @Override
+        public void onDisable() {
+        }
+    }
+
+    @Before
+    public void setup() {
+        server = MockBukkit.mock();
+        TestPlugin plugin = MockBukkit.load(TestPlugin.class);
+        games = plugin.getGameManager();
+        Mockito.when(games.getLobbyStatus(Mockito.anyString()))
+                .thenReturn(new GameManager.LobbyStatus(0, 0, 2, -1));
+        gui = new GUIManager(plugin);
+        player = server.addPlayer("p1");
+    }
+
+    @After
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    private static void set(MinigamesPlugin plugin, String name, Object value) {
+        try {
+            Field field = MinigamesPlugin.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(plugin, value);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<String> mainMenuLore(int slot) {
+        Inventory top = player.getOpenInventory().getTopInventory();
+        return top.getItem(slot).getItemMeta().getLore();
+    }
+
+    private InventoryClickEvent click(int slot) {
+        InventoryView view = player.getOpenInventory();
+        InventoryClickEvent event = new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER,
+                slot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        server.getPluginManager().callEvent(event);
+        return event;
+    }
+
+    @Test
+    public void mainMenuIsBuiltFromConfigAndHeldByMenu() {
+        gui.openMainMenu(player);
+
+        Inventory top = player.getOpenInventory().getTopInventory();
+        assertTrue(top.getHolder() instanceof Menu);
+        // TNT_RUN is the first game in the bundled config.yml
+        assertEquals(Material.TNT, top.getItem(0).getType());
+    }
+
+    @Test
+    public void clickingAGameOpensItsModeMenu() {
+        gui.openMainMenu(player);
+        Menu main = (Menu) player.getOpenInventory().getTopInventory().getHolder();
+
+        InventoryClickEvent event = click(0);
+
+        assertTrue(event.isCancelled());
+        Inventory top = player.getOpenInventory().getTopInventory();
+        assertTrue(top.getHolder() instanceof Menu);
+        assertNotSame(main, top.getHolder());
+        assertEquals(Material.PAPER, top.getItem(0).getType());
+        assertEquals(Material.BARRIER, top.getItem(top.getSize() - 1).getType());
+    }
+
+    @Test
+    public void backButtonReturnsToTheSameMainMenu() {
+        gui.openMainMenu(player);
+        Inventory main = player.getOpenInventory().getTopInventory();
+        click(0);
+
+        click(player.getOpenInventory().getTopInventory().getSize() - 1);
+
+        assertSame(main, player.getOpenInventory().getTopInventory());
+    }
+
+    @Test
+    public void otherInventoriesAreNotTouched() {
+        player.openInventory(Bukkit.createInventory(null, 9, "Chest"));
+
+        assertFalse(click(0).isCancelled());
+    }
+
+    @Test
+    public void gameIconsShowLobbyCounts() {
+        Mockito.when(games.getLobbyStatus("TNT_RUN")).thenReturn(new GameManager.LobbyStatus(3, 1, 0, 42));
+
+        gui.openMainMenu(player);
+
+        List<String> lore = mainMenuLore(0);
+        assertEquals("In queue: 3", ChatColor.stripColor(lore.get(lore.size() - 3)));
+        assertEquals("Games running: 1", ChatColor.stripColor(lore.get(lore.size() - 2)));
+        assertEquals("Est. wait: 42s", ChatColor.stripColor(lore.get(lore.size() - 1)));
+        List<String> other = mainMenuLore(1);
+        assertEquals("Est. wait: 2 more players", ChatColor.stripColor(other.get(other.size() - 1)));
+    }
+
+    @Test
+    public void closedMenuIsNotRefreshed() {
+        gui.openMainMenu(player);
+        player.closeInventory();
+        Mockito.clearInvocations(games);
+
+        server.getScheduler().performTicks(100);
+
+        Mockito.verify(games, Mockito.never()).getLobbyStatus(Mockito.anyString());
+    }
+}
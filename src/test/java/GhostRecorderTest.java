@@ -0,0 +1,95 @@
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.game.race.Ghost;
+import com.auroraschaos.minigames.game.race.GhostRecorder;
+import com.auroraschaos.minigames.game.race.Heightmap;
+import com.auroraschaos.minigames.game.race.KartPhysics;
+import com.auroraschaos.minigames.game.race.KartState;
+
+public class GhostRecorderTest {
+    private static final int TICKS = 1200;
+
+    private final KartPhysics physics = new KartPhysics(5, 0.05, 0.02, 0.1, 1.0, 1.0, 0.3, 0.2);
+
+    /** Drive a lap that accelerates, weaves and brakes, recording every tick. */
+    private Ghost drive(GhostRecorder recorder, KartState s, double[][] truth) {
+        recorder.startLap(s);
+        truth[0] = new double[] {s.x, s.y, s.z, s.yaw, s.speed};
+        for (int t = 1; t < TICKS; t++) {
+            int input = KartPhysics.ACCELERATE;
+            if (t % 80 < 20) input |= KartPhysics.STEER_LEFT;
+            if (t % 300 > 280) input = KartPhysics.BRAKE;
+            physics.step(s, input, Heightmap.empty());
+            s.y += Math.sin(t / 40.0) * 0.1;
+            recorder.record(s);
+            truth[t] = new double[] {s.x, s.y, s.z, s.yaw, s.speed};
+        }
+        return recorder.finishLap("Racer");
+    }
+
+    @Test
+    public void replaysWithinQuantizationAtAFewBytesPerTick() {
+        GhostRecorder recorder = new GhostRecorder(1 << 16, 100, 64, -50);
+        KartState s = new KartState(110.3, 65, -47.9, 30);
+        double[][] truth = new double[TICKS][];
+        Ghost ghost = drive(recorder, s, truth);
+
+        assertNotNull(ghost);
+        assertEquals(TICKS - 1, ghost.getLapTicks());
+        double bytesPerTick = (double) ghost.getDataSize() / ghost.getLapTicks();
+        assertTrue("bytes per tick: " + bytesPerTick, bytesPerTick <= 6);
+
+        Ghost.Playback p = ghost.playback();
+        for (int t = 0; t < TICKS; t++) {
+            assertTrue(p.next());
+            assertEquals(truth[t][0] - 100, p.x(), 1.0 / 64);
+            assertEquals(truth[t][1] - 64, p.y(), 1.0 / 64);
+            assertEquals(truth[t][2] + 50, p.z(), 1.0 / 64);
+            assertEquals(0, KartState.wrapDegrees(truth[t][3] - p.yaw()), 360.0 / 512 + 1e-6);
+            assertEquals(truth[t][4], p.speed(), 1.0 / 512);
+        }
+        assertFalse(p.next());
+    }
+
+    @Test
+    public void lapLongerThanTheRingIsDropped() {
+        GhostRecorder recorder = new GhostRecorder(256, 0, 0, 0);
+        Ghost ghost = drive(recorder, new KartState(0, 64, 0, 0), new double[TICKS][]);
+        assertNull(ghost);
+        assertNull(recorder.finishLap("Racer"));
+    }
+
+    @Test
+    public void fileFormatRoundTrips() {
+        GhostRecorder recorder = new GhostRecorder(1 << 16, 0, 0, 0);
+        Ghost ghost = drive(recorder, new KartState(3, 64, 4, 90), new double[TICKS][]);
+
+        ByteBuffer buf = ByteBuffer.allocate(ghost.encodedSize());
+        ghost.write(buf);
+        assertEquals(0, buf.remaining());
+        buf.flip();
+        Ghost read = Ghost.read(buf);
+
+        assertEquals("Racer", read.getDriver());
+        assertEquals(ghost.getLapTicks(), read.getLapTicks());
+        Ghost.Playback a = ghost.playback();
+        Ghost.Playback b = read.playback();
+        while (a.next()) {
+            assertTrue(b.next());
+            assertEquals(a.x(), b.x(), 0);
+            assertEquals(a.z(), b.z(), 0);
+            assertEquals(a.yaw(), b.yaw(), 0);
+        }
+        assertFalse(b.next());
+
+        try {
+            Ghost.read(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+            fail("expected a truncated file to be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
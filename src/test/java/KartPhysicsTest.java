@@ -0,0 +1,103 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.game.race.Heightmap;
+import com.auroraschaos.minigames.game.race.KartPhysics;
+import com.auroraschaos.minigames.game.race.KartState;
+import com.auroraschaos.minigames.game.race.TrackSurface;
+
+public class KartPhysicsTest {
+    private static final double EPS = 1e-9;
+
+    private final KartPhysics physics = new KartPhysics(5, 0.25, 0.1, 0.5, 1.0, 1.0, 0.3, 0.2);
+
+    @Test
+    public void acceleratesAlongHeadingUpToMaxSpeed() {
+        KartState s = new KartState(0, 64, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            physics.step(s, KartPhysics.ACCELERATE, Heightmap.empty());
+        }
+        assertEquals(1.0, s.speed, EPS);
+        // Yaw 0 faces +Z
+        assertEquals(0, s.x, EPS);
+        assertTrue(s.z > 5);
+        assertEquals(64, s.y, EPS);
+    }
+
+    @Test
+    public void brakeWinsOverThrottleAndSpeedNeverGoesNegative() {
+        KartState s = new KartState(0, 64, 0, 0);
+        s.speed = 0.6;
+        physics.step(s, KartPhysics.ACCELERATE | KartPhysics.BRAKE, Heightmap.empty());
+        assertEquals(0.1, s.speed, EPS);
+        physics.step(s, KartPhysics.BRAKE, Heightmap.empty());
+        assertEquals(0, s.speed, EPS);
+    }
+
+    @Test
+    public void steeringFollowsLookDirectionAndWraps() {
+        assertEquals(KartPhysics.STEER_RIGHT, KartPhysics.input(10, 0, false, false));
+        assertEquals(KartPhysics.STEER_LEFT, KartPhysics.input(-10, 0, false, false));
+        assertEquals(0, KartPhysics.input(1, 0, false, false));
+        // 179 -> -179 is a 2 degree turn to the right, not 358 to the left
+        assertEquals(KartPhysics.STEER_RIGHT, KartPhysics.input(-170, 179, false, false));
+
+        KartState s = new KartState(0, 64, 0, 178);
+        physics.step(s, KartPhysics.STEER_RIGHT, Heightmap.empty());
+        assertEquals(-177, s.yaw, EPS);
+        assertEquals(1.0, Math.hypot(s.dirX, s.dirZ), EPS);
+    }
+
+    @Test
+    public void climbsSmallStepsAndSettlesOnLowerGround() {
+        // Ground at y=63 for z < 3, one block higher from z=3 on
+        Heightmap step = Heightmap.sample(-8, -8, 8, 8, (x, z) -> z >= 3 ? 64 : 63);
+        KartState s = new KartState(0.5, 64, 2.5, 0);
+        physics.step(s, 0, step);
+        assertEquals(0.3, s.vy, EPS);
+
+        Heightmap flat = Heightmap.sample(-8, -8, 8, 8, (x, z) -> 60);
+        KartState high = new KartState(0.5, 61.1, 0.5, 0);
+        physics.step(high, 0, flat);
+        assertEquals(-0.1, high.vy, EPS);
+        assertEquals(61, high.y, EPS);
+        physics.step(high, 0, flat);
+        assertEquals(0, high.vy, EPS);
+    }
+
+    @Test
+    public void heightmapSamplesEachColumnOnce() {
+        int[] calls = new int[1];
+        Heightmap map = Heightmap.sample(0, 0, 3, 3, (x, z) -> {
+            calls[0]++;
+            return x + z;
+        });
+        assertEquals(16, calls[0]);
+        assertEquals(5, map.heightAt(2, 3));
+        assertEquals(5, map.heightAt(2, 3));
+        assertEquals(16, calls[0]);
+        assertEquals(Heightmap.UNKNOWN, map.heightAt(4, 0));
+        assertEquals(Heightmap.UNKNOWN, map.heightAt(-1, 0));
+    }
+
+    @Test
+    public void trackSurfaceMasksOffTrackColumns() {
+        // A 2-wide road along x = 0..1, grass elsewhere
+        TrackSurface surface = TrackSurface.sample(-4, -4, 4, 4, (x, z, out) -> {
+            out.y = 63;
+            out.onTrack = x == 0 || x == 1;
+        });
+        assertTrue(surface.hasMask());
+        assertEquals(18, surface.getTrackColumns());
+        assertTrue(surface.isOnTrack(1, -4));
+        assertFalse(surface.isOnTrack(2, 0));
+        assertFalse(surface.isOnTrack(0, 5));
+        assertEquals(63, surface.getHeights().heightAt(-4, 4));
+
+        TrackSurface unmarked = TrackSurface.sample(0, 0, 1, 1, (x, z, out) -> out.y = 63);
+        assertFalse(unmarked.hasMask());
+        assertTrue(unmarked.isOnTrack(50, 50));
+        assertTrue(TrackSurface.empty().isOnTrack(0, 0));
+    }
+}
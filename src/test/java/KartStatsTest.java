@@ -0,0 +1,50 @@
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.auroraschaos.minigames.config.ConfigurationException;
+import com.auroraschaos.minigames.game.race.KartConfig;
+import com.auroraschaos.minigames.game.race.KartStats;
+
+public class KartStatsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private KartConfig load(String kartYaml) throws Exception {
+        File defaults = folder.newFile("defaults.yml");
+        Files.writeString(defaults.toPath(), "stats:\n  maxSpeed: 1.2\n  accelRate: 0.05\n  totalLaps: 3\n");
+        File kart = folder.newFile("kart.yml");
+        Files.writeString(kart.toPath(), kartYaml);
+        return new KartConfig(kart, defaults);
+    }
+
+    @Test
+    public void compilesStatsWithDefaults() throws Exception {
+        KartStats stats = load("stats:\n  maxSpeed: 1.5\n  turnRate: 4\n").getStats();
+        assertEquals(1.5, stats.getMaxSpeed(), 0);
+        assertEquals(0.05, stats.getAccelRate(), 0);
+        assertEquals(4, stats.getTurnRate(), 0);
+        assertEquals(3, stats.getTotalLaps());
+        assertFalse(stats.getBoostParticles().isDue(0));
+    }
+
+    @Test
+    public void rejectsZeroParticleInterval() throws Exception {
+        try {
+            load("particles:\n  boost:\n    type: CLOUD\n    count: 5\n    interval: 0\n");
+            fail("interval 0 should be rejected");
+        } catch (ConfigurationException expected) {
+            assertTrue(expected.getMessage().contains("particles.boost.interval"));
+        }
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void rejectsNegativeStat() throws Exception {
+        load("stats:\n  brakeRate: -0.1\n");
+    }
+}
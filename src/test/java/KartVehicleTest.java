@@ -1,6 +1,5 @@
 import static org.junit.Assert.*;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,6 +17,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import com.auroraschaos.minigames.game.race.KartConfig;
+import com.auroraschaos.minigames.game.race.KartStats;
 import com.auroraschaos.minigames.game.race.KartVehicle;
 
 public class KartVehicleTest {
@@ -36,11 +36,22 @@ public class KartVehicleTest {
         boat = Mockito.mock(Boat.class);
         boatLoc = new Location(world, 0, 64, 0);
         Mockito.when(boat.getLocation()).thenAnswer(inv -> boatLoc);
+        Mockito.when(boat.getLocation(Mockito.any(Location.class))).thenAnswer(inv -> {
+            Location out = inv.getArgument(0);
+            out.setWorld(boatLoc.getWorld());
+            out.setX(boatLoc.getX());
+            out.setY(boatLoc.getY());
+            out.setZ(boatLoc.getZ());
+            out.setYaw(boatLoc.getYaw());
+            out.setPitch(boatLoc.getPitch());
+            return out;
+        });
         Mockito.when(boat.getVelocity()).thenReturn(new Vector());
         Mockito.when(boat.getWorld()).thenReturn(world);
         cfg = Mockito.mock(KartConfig.class);
         Mockito.when(cfg.getStat(Mockito.anyString())).thenReturn(0.0);
         Mockito.when(cfg.getString(Mockito.anyString())).thenReturn("BARRIER");
+        Mockito.when(cfg.getStats()).thenAnswer(inv -> KartStats.from(cfg));
     }
 
     @After
@@ -53,7 +64,7 @@ public class KartVehicleTest {
     }
 
     @Test
-    public void updateMovementAcceleratesWhenSprinting() throws Exception {
+    public void updateMovementAcceleratesWhenSprinting() {
         Mockito.when(cfg.getStat("accelRate")).thenReturn(0.5);
         Mockito.when(cfg.getStat("maxSpeed")).thenReturn(1.0);
         Mockito.when(cfg.getStat("decelRate")).thenReturn(0.1);
@@ -65,10 +76,7 @@ public class KartVehicleTest {
         player.setSprinting(true);
         kv.updateMovement();
 
-        Field f = KartVehicle.class.getDeclaredField("speed");
-        f.setAccessible(true);
-        double speed = (double) f.get(kv);
-        assertTrue("Speed should increase", speed > 0);
+        assertTrue("Speed should increase", kv.getSpeed() > 0);
     }
 
     @Test
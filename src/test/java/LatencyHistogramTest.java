@@ -0,0 +1,39 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.profiling.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 20; v++) h.record(v);
+        assertEquals(20, h.getCount());
+        assertEquals(10, h.percentile(50));
+        assertEquals(20, h.percentile(100));
+        assertEquals(10.5, h.getMean(), 1e-9);
+    }
+
+    @Test
+    public void largeValuesStayWithinOneSixteenth() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1_000; v <= 100_000; v += 1_000) h.record(v * 1_000);
+        long p50 = h.percentile(50);
+        long p99 = h.percentile(99);
+        assertTrue("p50 " + p50, p50 >= 50_000_000L && p50 <= 50_000_000L * 17 / 16);
+        assertTrue("p99 " + p99, p99 >= 99_000_000L && p99 <= 100_000_000L);
+        assertEquals(100_000_000L, h.getMax());
+    }
+
+    @Test
+    public void percentileNeverExceedsMaxAndResetClears() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(1_000_001);
+        assertEquals(1_000_001, h.percentile(99));
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.percentile(50));
+    }
+}
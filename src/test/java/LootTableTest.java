@@ -0,0 +1,63 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.game.skywars.LootTable;
+
+public class LootTableTest {
+
+    @Test
+    public void samplingFollowsWeights() {
+        LootTable<String> table = LootTable.compile(
+            List.of("common", "uncommon", "rare"),
+            List.of(6, 3, 1),
+            1, 1
+        );
+
+        int[] counts = new int[3];
+        Random rng = new Random(42L);
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) {
+            counts[table.sampleIndex(rng)]++;
+        }
+
+        assertEquals(0.6, counts[0] / (double) draws, 0.01);
+        assertEquals(0.3, counts[1] / (double) draws, 0.01);
+        assertEquals(0.1, counts[2] / (double) draws, 0.01);
+    }
+
+    @Test
+    public void seededRollsAreReproducible() {
+        LootTable<Integer> table = LootTable.compile(
+            List.of(1, 2, 3, 4),
+            List.of(5, 1, 2, 8),
+            2, 5
+        );
+
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        table.roll(new Random(7L), first::add);
+        table.roll(new Random(7L), second::add);
+
+        assertEquals(first, second);
+        assertTrue(first.size() >= 2 && first.size() <= 5);
+    }
+
+    @Test
+    public void emptyTableProducesNothing() {
+        LootTable<String> table = LootTable.compile(List.of(), List.of(), 3, 3);
+        List<String> out = new ArrayList<>();
+        table.roll(new Random(1L), out::add);
+        assertTrue(out.isEmpty());
+        assertNull(table.sample(new Random(1L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveWeights() {
+        LootTable.compile(List.of("a", "b"), List.of(1, 0), 1, 1);
+    }
+}
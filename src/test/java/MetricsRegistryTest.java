@@ -0,0 +1,70 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.metrics.MetricsRegistry;
+
+public class MetricsRegistryTest {
+
+    private static String render(MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder();
+        registry.writeTo(out);
+        return out.toString();
+    }
+
+    @Test
+    public void countersRenderWithLabels() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter started = registry.counter("games_started_total", "Games started.", "type");
+        started.inc("SPLEEF");
+        started.inc("SPLEEF");
+        started.inc("TT\"T");
+
+        String text = render(registry);
+        assertTrue(text.contains("# TYPE games_started_total counter\n"));
+        assertTrue(text.contains("games_started_total{type=\"SPLEEF\"} 2\n"));
+        assertTrue(text.contains("games_started_total{type=\"TT\\\"T\"} 1\n"));
+    }
+
+    @Test
+    public void gaugeShowsOnlyTheLastPublishedSample() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Gauge queued = registry.gauge("queue_players", "Queued.", "type");
+        registry.onSample(() -> queued.update().set(3, "TNT_RUN").publish());
+        registry.sample();
+        assertTrue(render(registry).contains("queue_players{type=\"TNT_RUN\"} 3\n"));
+
+        MetricsRegistry.Gauge.Update pending = queued.update().set(5, "SPLEEF");
+        assertTrue("unpublished values stay hidden", render(registry).contains("TNT_RUN"));
+        pending.publish();
+        String text = render(registry);
+        assertFalse(text.contains("TNT_RUN"));
+        assertTrue(text.contains("queue_players{type=\"SPLEEF\"} 5\n"));
+    }
+
+    @Test
+    public void histogramBucketsAreCumulative() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Histogram paste = registry.histogram("paste_seconds", "Paste time.", 0.01, 0.1);
+        paste.observeNanos(5_000_000L);
+        paste.observeNanos(50_000_000L);
+        paste.observeNanos(2_000_000_000L);
+
+        String text = render(registry);
+        assertTrue(text.contains("paste_seconds_bucket{le=\"0.01\"} 1\n"));
+        assertTrue(text.contains("paste_seconds_bucket{le=\"0.1\"} 2\n"));
+        assertTrue(text.contains("paste_seconds_bucket{le=\"+Inf\"} 3\n"));
+        assertTrue(text.contains("paste_seconds_count 3\n"));
+    }
+
+    @Test
+    public void registeringTheSameNameReturnsTheSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.counter("x_total", "X."), registry.counter("x_total", "X."));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void labelCountMustMatch() {
+        new MetricsRegistry().counter("y_total", "Y.", "type").inc();
+    }
+}
@@ -0,0 +1,128 @@
+import static org.junit.Assert.*;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.UUID;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.config.ConfigManager;
+import com.auroraschaos.minigames.config.GameModeConfig;
+import com.auroraschaos.minigames.game.GameManager;
+import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.integrations.MinigamesPlaceholderExpansion;
+import com.auroraschaos.minigames.stats.StatsManager;
+
+public class PlaceholderExpansionTest {
+    private ServerMock server;
+    private MinigamesPlaceholderExpansion expansion;
+    private GameManager games;
+    private StatsManager stats;
+    private PlayerMock player;
+    private TestPlugin plugin;
+
+    public static class TestPlugin extends MinigamesPlugin {
+        @Override
+        public void onEnable() {
+            try {
+                set("gameManager", Mockito.mock(GameManager.class));
+                set("statsManager", Mockito.mock(StatsManager.class));
+                ConfigManager cm = Mockito.mock(ConfigManager.class);
+                Mockito.when(cm.getGameModeConfig())
+                        .thenReturn(GameModeConfig.from(getConfig().getConfigurationSection("minigames")));
+                set("configManager", cm);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void onDisable() {
+        }
+
+        private void set(String name, Object value) throws ReflectiveOperationException {
+            Field field = MinigamesPlugin.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(this, value);
+        }
+    }
+
+    @Before
+    public void setup() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(TestPlugin.class);
+        games = plugin.getGameManager();
+        stats = plugin.getStatsManager();
+        expansion = new MinigamesPlaceholderExpansion(plugin);
+        player = server.addPlayer("p1");
+    }
+
+    @After
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    public void queueSplitsTypesContainingUnderscores() {
+        GameManager.QueueSnapshot snapshot = Mockito.mock(GameManager.QueueSnapshot.class);
+        Mockito.when(snapshot.getQueued("TNT_RUN")).thenReturn(5);
+        Mockito.when(snapshot.getQueued("TNT_RUN", GameMode.CLASSIC)).thenReturn(3);
+        Mockito.when(games.getSnapshot()).thenReturn(snapshot);
+
+        assertEquals("5", expansion.onRequest(player, "queue_tnt_run"));
+        assertEquals("3", expansion.onRequest(player, "queue_tnt_run_classic"));
+        assertEquals("", expansion.onRequest(player, "queue_tnt_run_nonsense"));
+        assertEquals("", expansion.onRequest(player, "queue_unknown"));
+    }
+
+    @Test
+    public void statsAreReadOncePerTtl() {
+        UUID id = player.getUniqueId();
+        Mockito.when(stats.getWins(id, "TNT_RUN")).thenReturn(7);
+
+        assertEquals("7", expansion.onRequest(player, "wins_tnt_run"));
+        assertEquals("7", expansion.onRequest(player, "wins_tnt_run"));
+
+        Mockito.verify(stats, Mockito.times(1)).getWins(id, "TNT_RUN");
+    }
+
+    @Test
+    public void unknownIdentifiersResolveEmpty() {
+        GameManager.QueueSnapshot snapshot = Mockito.mock(GameManager.QueueSnapshot.class);
+        Mockito.when(snapshot.getActiveGames()).thenReturn(2);
+        Mockito.when(games.getSnapshot()).thenReturn(snapshot);
+
+        assertEquals("2", expansion.onRequest(player, "active_games"));
+        assertEquals("", expansion.onRequest(player, "nothing_here"));
+        assertEquals("", expansion.onRequest(null, "wins_tnt_run"));
+    }
+
+    @Test
+    public void unknownTypesAreNotResolved() {
+        assertEquals("", expansion.onRequest(player, "wins_no_such_game"));
+        Mockito.verifyNoInteractions(stats);
+    }
+
+    @Test
+    public void reloadPicksUpNewTypes() throws Exception {
+        UUID id = player.getUniqueId();
+        Mockito.when(stats.getWins(id, "PARKOUR")).thenReturn(4);
+        assertEquals("", expansion.onRequest(player, "wins_parkour"));
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("minigames.PARKOUR.enabled_modes", List.of("CLASSIC"));
+        GameModeConfig modes = GameModeConfig.from(config.getConfigurationSection("minigames"));
+        Mockito.when(plugin.getConfigManager().getGameModeConfig()).thenReturn(modes);
+        expansion.reload();
+
+        assertEquals("4", expansion.onRequest(player, "wins_parkour"));
+    }
+}
@@ -0,0 +1,73 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.game.race.RaceRanking;
+import com.auroraschaos.minigames.game.race.TrackPath;
+
+public class RaceRankingTest {
+    private static final double EPS = 1e-9;
+
+    // Square loop: finish at (0,0), then (10,0), (10,10), (0,10), back to (0,0)
+    private final TrackPath square = new TrackPath(
+            new double[] {10, 10, 0, 0},
+            new double[] {64, 64, 64, 64},
+            new double[] {0, 10, 10, 0});
+
+    @Test
+    public void pathMeasuresDistanceAlongCurrentLeg() {
+        assertEquals(40, square.getLapLength(), EPS);
+        // Heading for checkpoint 0 from the finish line
+        assertEquals(4, square.lapDistance(0, 4, 1), EPS);
+        // Behind the line still counts as the start of the leg
+        assertEquals(0, square.lapDistance(0, -3, 0), EPS);
+        // Heading for checkpoint 2, halfway along the top edge
+        assertEquals(25, square.lapDistance(2, 5, 10), EPS);
+    }
+
+    @Test
+    public void checkpointReachedByRadiusOrCrossingTheLine() {
+        assertFalse(square.reached(0, 7, 0, 2));
+        assertTrue(square.reached(0, 9, 0.5, 2));
+        // Overshot the radius in one tick but crossed the line close enough
+        assertTrue(square.reached(0, 13, 1, 2));
+        // Crossed the line far to the side: a shortcut, not a pass
+        assertFalse(square.reached(0, 13, 6, 2));
+    }
+
+    @Test
+    public void ordersByProgressAndMeasuresGapsAtTimingLines() {
+        RaceRanking ranking = new RaceRanking(3, 4);
+        ranking.update(0, 0, 5, 0);
+        ranking.update(1, 0, 8, 0);
+        ranking.update(2, 0, 2, 0);
+        assertTrue(ranking.sort());
+        assertEquals(1, ranking.kartAt(0));
+        assertEquals(0, ranking.kartAt(1));
+        assertEquals(2, ranking.kartAt(2));
+        assertEquals(2, ranking.placeOf(2));
+        assertFalse(ranking.sort());
+
+        // Kart 1 passes checkpoint 1 on tick 10, kart 0 on tick 16
+        ranking.update(1, 1, 11, 10);
+        ranking.update(0, 1, 10.5, 16);
+        assertEquals(0, ranking.gapTicks(1));
+        assertEquals(6, ranking.gapTicks(0));
+    }
+
+    @Test
+    public void finishedKartsStayAheadInFinishOrder() {
+        RaceRanking ranking = new RaceRanking(2, 1);
+        ranking.update(0, 1, 40, 100);
+        ranking.finish(0, 100);
+        ranking.update(1, 0, 39, 101);
+        ranking.update(1, 1, 40, 104);
+        ranking.finish(1, 104);
+        // Progress reported after finishing is ignored
+        ranking.update(1, 2, 500, 105);
+        ranking.sort();
+        assertEquals(0, ranking.kartAt(0));
+        assertEquals(1, ranking.kartAt(1));
+        assertEquals(4, ranking.gapTicks(1));
+    }
+}
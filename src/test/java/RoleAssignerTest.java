@@ -0,0 +1,54 @@
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.auroraschaos.minigames.game.ttt.RoleAssigner;
+import com.auroraschaos.minigames.game.ttt.TTTRole;
+
+public class RoleAssignerTest {
+
+    @Test
+    public void assignsExactRoleCounts() {
+        double[] weights = {1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000};
+        int traitors = RoleAssigner.traitorCount(weights.length, 0.25);
+        int detectives = RoleAssigner.detectiveCount(weights.length, traitors, 0.15);
+        assertEquals(2, traitors);
+        assertEquals(1, detectives);
+
+        TTTRole[] roles = RoleAssigner.assign(weights, traitors, detectives, new Random(7));
+        int[] counts = new int[TTTRole.count()];
+        for (TTTRole r : roles) counts[r.ordinal()]++;
+        assertEquals(2, counts[TTTRole.TRAITOR.ordinal()]);
+        assertEquals(1, counts[TTTRole.DETECTIVE.ordinal()]);
+        assertEquals(5, counts[TTTRole.INNOCENT.ordinal()]);
+    }
+
+    @Test
+    public void higherKarmaIsPickedMoreOften() {
+        // Slot 0 has ten times the karma of each of the other three
+        double[] weights = {1000, 100, 100, 100};
+        Random rng = new Random(42);
+        int picked = 0;
+        int rounds = 10_000;
+        for (int i = 0; i < rounds; i++) {
+            if (RoleAssigner.assign(weights, 1, 0, rng)[0] == TTTRole.TRAITOR) picked++;
+        }
+        // Expected share 1000 / 1300 ≈ 0.77
+        double share = (double) picked / rounds;
+        assertTrue("share " + share, share > 0.72 && share < 0.82);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMoreSpecialRolesThanPlayers() {
+        RoleAssigner.assign(new double[] {1, 1}, 2, 1, new Random());
+    }
+
+    @Test
+    public void teamsAreTraitorsVersusEveryoneElse() {
+        assertTrue(TTTRole.DETECTIVE.sameTeam(TTTRole.INNOCENT));
+        assertTrue(TTTRole.TRAITOR.sameTeam(TTTRole.TRAITOR));
+        assertFalse(TTTRole.TRAITOR.sameTeam(TTTRole.DETECTIVE));
+    }
+}
@@ -18,6 +18,8 @@ import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.game.GameMode;
 import com.auroraschaos.minigames.game.GameManager;
+import com.auroraschaos.minigames.game.MoveDispatcher;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.game.SpleefGame;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 import com.auroraschaos.minigames.util.CountdownTimer;
@@ -58,6 +60,14 @@ public class SpleefGameTest {
                 arenaServiceField.setAccessible(true);
                 arenaServiceField.set(this, Mockito.mock(ArenaService.class));
 
+                Field profilerField = MinigamesPlugin.class.getDeclaredField("profiler");
+                profilerField.setAccessible(true);
+                profilerField.set(this, new TickProfiler());
+
+                Field movesField = MinigamesPlugin.class.getDeclaredField("moveDispatcher");
+                movesField.setAccessible(true);
+                movesField.set(this, new MoveDispatcher(this));
+
                 Field cfgField = MinigamesPlugin.class.getDeclaredField("configManager");
                 cfgField.setAccessible(true);
                 ConfigManager cm = Mockito.mock(ConfigManager.class);
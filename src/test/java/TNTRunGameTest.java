@@ -19,11 +19,16 @@ import com.auroraschaos.minigames.MinigamesPlugin;
 import com.auroraschaos.minigames.arena.Arena;
 import com.auroraschaos.minigames.game.GameMode;
 import com.auroraschaos.minigames.game.GameManager;
+import com.auroraschaos.minigames.game.MoveDispatcher;
+import com.auroraschaos.minigames.profiling.TickProfiler;
 import com.auroraschaos.minigames.game.TNTRunGame;
 import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
 import com.auroraschaos.minigames.util.CountdownTimer;
 import com.auroraschaos.minigames.stats.StatsManager;
 import com.auroraschaos.minigames.arena.ArenaService;
+import com.auroraschaos.minigames.config.ConfigManager;
+import com.auroraschaos.minigames.config.TNTRunConfig;
+import org.bukkit.configuration.file.YamlConfiguration;
 import com.sk89q.worldedit.math.BlockVector3;
 
 public class TNTRunGameTest {
@@ -55,6 +60,21 @@ public class TNTRunGameTest {
                 Field arenaServiceField = MinigamesPlugin.class.getDeclaredField("arenaService");
                 arenaServiceField.setAccessible(true);
                 arenaServiceField.set(this, Mockito.mock(ArenaService.class));
+
+                Field profilerField = MinigamesPlugin.class.getDeclaredField("profiler");
+                profilerField.setAccessible(true);
+                profilerField.set(this, new TickProfiler());
+
+                Field movesField = MinigamesPlugin.class.getDeclaredField("moveDispatcher");
+                movesField.setAccessible(true);
+                movesField.set(this, new MoveDispatcher(this));
+
+                Field cfgField = MinigamesPlugin.class.getDeclaredField("configManager");
+                cfgField.setAccessible(true);
+                ConfigManager cm = Mockito.mock(ConfigManager.class);
+                TNTRunConfig tc = TNTRunConfig.from(new YamlConfiguration());
+                Mockito.when(cm.getTNTRunConfig()).thenReturn(tc);
+                cfgField.set(this, cm);
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,207 @@
+import static org.junit.Assert.*;
+import java.lang.reflect.Field;
+import java.util.*;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.auroraschaos.minigames.MinigamesPlugin;
+import com.auroraschaos.minigames.arena.Arena;
+import com.auroraschaos.minigames.arena.ArenaService;
+import com.auroraschaos.minigames.config.ConfigManager;
+import com.auroraschaos.minigames.config.SpleefConfig;
+import com.auroraschaos.minigames.config.TNTRunConfig;
+import com.auroraschaos.minigames.config.TTTConfig;
+import com.auroraschaos.minigames.game.GameInstance;
+import com.auroraschaos.minigames.game.GameManager;
+import com.auroraschaos.minigames.game.GameMode;
+import com.auroraschaos.minigames.game.MoveDispatcher;
+import com.auroraschaos.minigames.game.SpleefGame;
+import com.auroraschaos.minigames.game.TNTRunGame;
+import com.auroraschaos.minigames.game.TTTGame;
+import com.auroraschaos.minigames.game.ttt.KarmaTable;
+import com.auroraschaos.minigames.game.ttt.TTTShopService;
+import com.auroraschaos.minigames.profiling.TickProfiler;
+import com.auroraschaos.minigames.scoreboard.ScoreboardManager;
+import com.auroraschaos.minigames.stats.StatsManager;
+import com.auroraschaos.minigames.util.CountdownTimer;
+import com.auroraschaos.minigames.util.SpectatorService;
+import com.sk89q.worldedit.math.BlockVector3;
+
+/**
+ * Allocation budgets for the scheduled game loops, measured with the
+ * TickProfiler's per-thread allocation counter.
+ *
+ * Each game runs with a small and a large roster. Every profiler section
+ * of the game and the countdown is measured on its own, in bytes per run:
+ * the bytes allocated inside the section divided by the number of times it
+ * ran. Loops that run every tick and loops that run once a second are
+ * therefore held to the same budget. A section passes if the large roster
+ * stays under FIXED + PER_PLAYER * players per run, and adding players
+ * costs no more than PER_PLAYER each per run. PER_PLAYER is below the size
+ * of a Location or an iterator, so any object created per player per run
+ * fails the test; FIXED leaves room for a scoreboard line update.
+ *
+ * Collaborators are stub-only mocks, which do not record their calls.
+ */
+public class TickAllocationTest {
+    private static final int SMALL = 4;
+    private static final int LARGE = 32;
+    private static final int WARMUP_TICKS = 200;
+    private static final int MEASURED_TICKS = 400;
+
+    private static final long FIXED_BYTES_PER_RUN = 512;
+    private static final long PER_PLAYER_BYTES_PER_RUN = 16;
+
+    private ServerMock server;
+    private TestPlugin plugin;
+    private World world;
+    private int arenas;
+    private int players;
+
+    public static class TestPlugin extends MinigamesPlugin {
+        @Override
+        public void onEnable() {
+            try {
+                ScoreboardManager sbm = new ScoreboardManager();
+                set("scoreboardManager", sbm);
+                set("countdownTimer", new CountdownTimer(this, sbm));
+                set("gameManager", stub(GameManager.class));
+                set("statsManager", stub(StatsManager.class));
+                set("arenaService", stub(ArenaService.class));
+                set("profiler", new TickProfiler());
+                set("moveDispatcher", new MoveDispatcher(this));
+                set("spectators", new SpectatorService(this));
+                set("tttKarma", new KarmaTable(this));
+                set("tttShops", new TTTShopService(this));
+
+                ConfigManager cm = stub(ConfigManager.class);
+                YamlConfiguration empty = new YamlConfiguration();
+                Mockito.when(cm.getTNTRunConfig()).thenReturn(TNTRunConfig.from(empty));
+                Mockito.when(cm.getSpleefConfig()).thenReturn(SpleefConfig.from(empty));
+                Mockito.when(cm.getTTTConfig()).thenReturn(TTTConfig.from(empty));
+                set("configManager", cm);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void onDisable() {
+        }
+
+        private void set(String name, Object value) throws ReflectiveOperationException {
+            Field field = MinigamesPlugin.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(this, value);
+        }
+
+        private static <T> T stub(Class<T> type) {
+            return Mockito.mock(type, Mockito.withSettings().stubOnly());
+        }
+    }
+
+    /** Builds a game for one arena and roster. */
+    private interface GameFactory {
+        GameInstance create(Arena arena, List<Player> roster);
+    }
+
+    @Before
+    public void setup() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(TestPlugin.class);
+        world = server.addSimpleWorld("alloc");
+        Assume.assumeTrue("JVM cannot count per-thread allocations",
+                plugin.getProfiler().isCountingAllocations());
+    }
+
+    @After
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    public void tntRunDecayLoopStaysWithinBudget() {
+        assertWithinBudget("TNT_RUN",
+                (arena, roster) -> new TNTRunGame("TNT_RUN", GameMode.CLASSIC, plugin, arena, roster));
+    }
+
+    @Test
+    public void spleefCheckLoopStaysWithinBudget() {
+        assertWithinBudget("SPLEEF",
+                (arena, roster) -> new SpleefGame("SPLEEF", GameMode.CLASSIC, plugin, arena, roster));
+    }
+
+    @Test
+    public void tttLoopStaysWithinBudget() {
+        assertWithinBudget("TTT",
+                (arena, roster) -> new TTTGame("TTT", GameMode.CLASSIC, plugin, arena, roster));
+    }
+
+    private void assertWithinBudget(String type, GameFactory factory) {
+        Map<String, Double> small = bytesPerRun(type, SMALL, factory);
+        Map<String, Double> large = bytesPerRun(type, LARGE, factory);
+
+        for (Map.Entry<String, Double> section : large.entrySet()) {
+            double largeRun = section.getValue();
+            double smallRun = small.getOrDefault(section.getKey(), 0.0);
+            double perPlayer = (largeRun - smallRun) / (LARGE - SMALL);
+
+            String measured = String.format(Locale.ROOT,
+                    "%s: %.1f B/run with %d players, %.1f B/run with %d, %.2f B/run per added player",
+                    section.getKey(), smallRun, SMALL, largeRun, LARGE, perPlayer);
+            assertTrue("Over budget. " + measured,
+                    largeRun <= FIXED_BYTES_PER_RUN + PER_PLAYER_BYTES_PER_RUN * LARGE);
+            assertTrue("Allocations grow with players. " + measured,
+                    perPlayer <= PER_PLAYER_BYTES_PER_RUN);
+        }
+    }
+
+    /**
+     * Start a game with {@code count} players, let its loops settle, then
+     * count what each of its sections and the countdown allocate per run.
+     *
+     * @return bytes per run by section, e.g. "SPLEEF/check"
+     */
+    private Map<String, Double> bytesPerRun(String type, int count, GameFactory factory) {
+        List<Player> roster = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            roster.add(server.addPlayer("p" + players++));
+        }
+        BlockVector3 origin = BlockVector3.at(arenas++ * 300, 64, 0);
+        Arena arena = new Arena("arena" + arenas, world, origin, "", Collections.emptyMap(), 0L);
+
+        GameInstance game = factory.create(arena, roster);
+        game.start();
+
+        TickProfiler profiler = plugin.getProfiler();
+        profiler.setEnabled(false);
+        server.getScheduler().performTicks(WARMUP_TICKS);
+        profiler.setEnabled(true);
+        server.getScheduler().performTicks(MEASURED_TICKS);
+        profiler.setEnabled(false);
+        server.getScheduler().cancelTasks(plugin);
+
+        Map<String, Double> perRun = new TreeMap<>();
+        boolean ran = false;
+        for (TickProfiler.Section section : profiler.getRecordedSections()) {
+            if (section.getGroup().equals(type)) ran = true;
+            if (section.getGroup().equals(type) || section.getGroup().equals("Countdown")) {
+                long runs = section.getHistogram().getCount();
+                perRun.put(section.getGroup() + "/" + section.getName(),
+                        (double) section.getAllocatedBytes() / runs);
+            }
+        }
+        assertTrue(type + " loop did not run", ran);
+        return perRun;
+    }
+}